@@ -15,12 +15,27 @@
  */
 package com.axway.ats.agent.core;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import com.axway.ats.agent.core.action.ActionMethod;
+import com.axway.ats.agent.core.action.ActionRequest;
 import com.axway.ats.agent.core.exceptions.ActionExecutionException;
+import com.axway.ats.agent.core.exceptions.AgentException;
 import com.axway.ats.agent.core.exceptions.InternalComponentException;
 import com.axway.ats.agent.core.exceptions.NoCompatibleMethodFoundException;
 import com.axway.ats.agent.core.exceptions.NoSuchActionException;
 import com.axway.ats.agent.core.exceptions.NoSuchComponentException;
+import com.axway.ats.core.threads.ThreadsPerCaller;
 
 /**
  * Class which performs the actual calls to the component actions.
@@ -30,6 +45,17 @@
  */
 public final class ActionHandler {
 
+    // the most actions executed at the same time, for all batches together
+    private static final int           MAX_PARALLEL_ACTIONS = 32;
+
+    // the seconds an idle thread is kept in the pool
+    private static final int           THREADS_KEEP_ALIVE   = 60;
+
+    private static final AtomicInteger threadsCounter       = new AtomicInteger();
+
+    // the threads executing the actions of the parallel batches, created when first needed
+    private static ExecutorService     executor;
+
     /**
      * Execute an action on the remote host, pass the arguments as Objects 
      * 
@@ -71,6 +97,118 @@ public static Object executeAction( String caller, String componentName, String
         return actionMethod.invoke(actionClassInstance, args, true);
     }
 
+    /**
+     * Execute a batch of actions
+     *
+     * @param caller            the remote caller
+     * @param actionRequests    the actions to execute
+     * @param inParallel        whether the actions are independent of each other, so they can be
+     *                          executed at the same time. Otherwise they are executed one after another
+     *                          and the first failed action stops the batch
+     * @return                  the results of the actions, in the order of the requests
+     *
+     * @throws AgentException   the error of the first failed action in the batch
+     */
+    public static Object[] executeActions( final String caller, List<ActionRequest> actionRequests,
+                                           boolean inParallel ) throws AgentException {
+
+        Object[] results = new Object[actionRequests.size()];
+
+        if (!inParallel || actionRequests.size() < 2) {
+            for (int i = 0; i < results.length; i++) {
+                ActionRequest actionRequest = actionRequests.get(i);
+                results[i] = executeAction(caller, actionRequest.getComponentName(),
+                                           actionRequest.getActionName(), actionRequest.getArguments());
+            }
+            return results;
+        }
+
+        ExecutorService executor = getExecutor();
+        List<Future<Object>> futures = new ArrayList<Future<Object>>(results.length);
+        try {
+            for (final ActionRequest actionRequest : actionRequests) {
+                futures.add(executor.submit(new Callable<Object>() {
+
+                    @Override
+                    public Object call() throws Exception {
+
+                        ThreadsPerCaller.registerThread(caller);
+                        try {
+                            return executeAction(caller, actionRequest.getComponentName(),
+                                                 actionRequest.getActionName(), actionRequest.getArguments());
+                        } finally {
+                            ThreadsPerCaller.unregisterThread();
+                        }
+                    }
+                }));
+            }
+
+            // wait for all actions, the error of the first one in the batch is thrown
+            Throwable firstError = null;
+            for (int i = 0; i < results.length; i++) {
+                try {
+                    results[i] = futures.get(i).get();
+                } catch (ExecutionException ee) {
+                    if (firstError == null) {
+                        firstError = ee.getCause();
+                    }
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new AgentException("Interrupted while executing a batch of actions", ie);
+                }
+            }
+
+            if (firstError instanceof AgentException) {
+                throw (AgentException) firstError;
+            } else if (firstError instanceof RuntimeException) {
+                throw (RuntimeException) firstError;
+            } else if (firstError instanceof Error) {
+                throw (Error) firstError;
+            } else if (firstError != null) {
+                throw new AgentException(firstError);
+            }
+
+            return results;
+        } finally {
+            // the actions not started yet are not needed when we are interrupted
+            for (Future<Object> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * The actions of all parallel batches are executed by the same threads,
+     * so there are no more than {@link #MAX_PARALLEL_ACTIONS} of them however many batches are executed.
+     * The actions of a batch wait in the queue when all threads are busy.
+     *
+     * @return the executor
+     */
+    private static synchronized ExecutorService getExecutor() {
+
+        if (executor == null) {
+            ThreadPoolExecutor threadPool = new ThreadPoolExecutor(MAX_PARALLEL_ACTIONS, MAX_PARALLEL_ACTIONS,
+                                                                   THREADS_KEEP_ALIVE, TimeUnit.SECONDS,
+                                                                   new LinkedBlockingQueue<Runnable>(),
+                                                                   new ThreadFactory() {
+
+                                                                       @Override
+                                                                       public Thread newThread( Runnable runnable ) {
+
+                                                                           Thread thread = new Thread(runnable,
+                                                                                                      "ATS_ACTION_BATCH_"
+                                                                                                                + threadsCounter.incrementAndGet());
+                                                                           thread.setDaemon(true);
+                                                                           return thread;
+                                                                       }
+                                                                   });
+            // do not keep idle threads between the batches
+            threadPool.allowCoreThreadTimeOut(true);
+            executor = threadPool;
+        }
+        return executor;
+    }
+
     /**
      * Tells if an Agent component is loaded, so its actions can be called 
      * 
@@ -20,6 +20,8 @@
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.log4j.Logger;
 
@@ -59,13 +61,14 @@ public class ComponentActionMap {
     //we need this map here and only here, because here is where
     //the action classes are registered, and if we use the dynamic
     //class loading we don't want instances where we can't destroy them
-    private Map<String, Object>                        actionClassInstances;
+    //the actions of a parallel batch use it from many threads
+    private ConcurrentMap<String, Object>              actionClassInstances;
 
     public ComponentActionMap( String componentName ) {
 
         this.componentName = componentName;
         this.actions = new HashMap<String, ActionMethodContainer>();
-        this.actionClassInstances = new HashMap<String, Object>();
+        this.actionClassInstances = new ConcurrentHashMap<String, Object>();
     }
 
     /**
@@ -181,7 +184,12 @@ public Object getCachedActionClassInstance( String caller, Class<?> actionClass
                     actionClassInstance = actionClass.newInstance();
                 }
 
-                actionClassInstances.put(actionClassName, actionClassInstance);
+                // when another thread was first, all use its instance
+                Object existingInstance = actionClassInstances.putIfAbsent(actionClassName,
+                                                                                      actionClassInstance);
+                if (existingInstance != null) {
+                    actionClassInstance = existingInstance;
+                }
             }
 
             return actionClassInstance;
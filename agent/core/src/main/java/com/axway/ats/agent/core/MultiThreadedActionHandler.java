@@ -28,10 +28,12 @@
 import com.axway.ats.agent.core.exceptions.NoCompatibleMethodFoundException;
 import com.axway.ats.agent.core.exceptions.NoSuchActionException;
 import com.axway.ats.agent.core.exceptions.NoSuchComponentException;
+import com.axway.ats.agent.core.monitoring.queue.QueueProgressMonitor;
 import com.axway.ats.agent.core.threading.AbstractQueueLoader;
 import com.axway.ats.agent.core.threading.ActionTaskLoaderState;
 import com.axway.ats.agent.core.threading.LoadQueueFactory;
 import com.axway.ats.agent.core.threading.QueueLoader;
+import com.axway.ats.agent.core.threading.data.IndexedParameterDataProviders;
 import com.axway.ats.agent.core.threading.data.ParameterDataProvider;
 import com.axway.ats.agent.core.threading.data.ParameterDataProviderFactory;
 import com.axway.ats.agent.core.threading.data.config.LoaderDataConfig;
@@ -194,6 +196,10 @@ public void scheduleActions( String caller, String queueName, int queueId,
         for (ParameterDataConfig paramDataConfigs : loaderDataConfig.getParameterConfigurations()) {
             parameterDataProviders.add(ParameterDataProviderFactory.createDataProvider(paramDataConfigs));
         }
+        if (IndexedParameterDataProviders.isEnabled()) {
+            // the values will be generated without locking, if all data providers support it
+            parameterDataProviders = IndexedParameterDataProviders.wrap(queueName, parameterDataProviders);
+        }
 
         //create the loader
         queueLoader = LoadQueueFactory.createLoadQueue(queueName, actionRequests, threadingPattern,
@@ -202,6 +208,9 @@ public void scheduleActions( String caller, String queueName, int queueId,
         log.rememberLoadQueueState(queueName, queueId, threadingPattern.getPatternDescription(),
                                    threadingPattern.getThreadCount());
 
+        // start following the queue progress before its threads are started
+        QueueProgressMonitor.getInstance().startQueue(queueName);
+
         //start the queue
         queueLoader.scheduleThreads(caller, isUseSynchronizedIterations);
         queueLoadersMap.put(queueName, queueLoader);
@@ -394,6 +403,7 @@ private class SimpleLoadQueueListener implements QueueLoaderListener {
         public void onFinish( String actionQueueName ) {
 
             log.cleanupLoadQueueState(actionQueueName);
+            QueueProgressMonitor.getInstance().finishQueue(actionQueueName);
 
             log.info("Finished executing queue '" + actionQueueName + "'");
         }
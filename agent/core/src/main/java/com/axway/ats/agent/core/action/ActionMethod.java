@@ -16,10 +16,14 @@
 package com.axway.ats.agent.core.action;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -55,6 +59,20 @@ public class ActionMethod {
     private boolean             isDeprecated;
     protected boolean           hasEnumParameter;
 
+    // ATS internal actions are logged at debug level only
+    private boolean             isInternalAction;
+
+    // the method parameter types, the types of the arguments accepted as they are
+    // and the enum types the String arguments are converted to
+    private Class<?>[]          parameterTypes;
+    private Class<?>[]          argumentTypes;
+    private Class<?>[]          enumParameterTypes;
+
+    // invokes the method with (instance, arguments array), null if it can be invoked by reflection only
+    private MethodHandle        invoker;
+    // the type of the instance the method is invoked on, null for static methods
+    private Class<?>            instanceType;
+
     /**
      * @param componentName name of the component
      * @param actionName name of the action
@@ -102,12 +120,64 @@ public ActionMethod( String componentName, String actionName, Method method, Cla
             this.isDeprecated = true;
         }
 
+        /*
+         * ATS has some actions for internal usage and users should not see them.
+         * Currently we do not have some good way to distinguish these actions from the regular ones, for
+         * example we could use a new attribute in the Action annotation.
+         * For now we can filter these ATS internal actions by expecting their names match the next regular
+         * expression.
+         */
+        this.isInternalAction = actionName.matches("Internal.*Operations.*")
+                                || actionName.startsWith("InternalProcessTalker");
+
         //check if this method has an Enumeration parameter
-        for (Class<?> paramType : method.getParameterTypes()) {
+        //and resolve the conversions once, not on each invocation
+        this.parameterTypes = method.getParameterTypes();
+        this.argumentTypes = new Class<?>[parameterTypes.length];
+        this.enumParameterTypes = new Class[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> paramType = parameterTypes[i];
             if (paramType.isEnum() || (paramType.isArray() && paramType.getComponentType().isEnum())) {
                 this.hasEnumParameter = true;
-                break;
+                this.enumParameterTypes[i] = paramType.isArray()
+                                                                 ? paramType.getComponentType()
+                                                                 : paramType;
             }
+            this.argumentTypes[i] = paramType.isPrimitive()
+                                                            ? MethodType.methodType(paramType)
+                                                                        .wrap()
+                                                                        .returnType()
+                                                            : paramType;
+        }
+
+        this.invoker = createInvoker(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+            this.instanceType = method.getDeclaringClass();
+        }
+    }
+
+    /**
+     * Create a method handle invoking the given method with (instance, arguments array).
+     * It is a lot faster than invoking the method by reflection each time.
+     *
+     * @param method the java method
+     * @return the method handle or null if the method is not accessible this way
+     */
+    private static MethodHandle createInvoker( Method method ) {
+
+        try {
+            MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                // the instance is ignored
+                methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+            }
+
+            int numberParameters = method.getParameterTypes().length;
+            return methodHandle.asType(MethodType.genericMethodType(numberParameters + 1))
+                               .asSpreader(Object[].class, numberParameters);
+        } catch (IllegalAccessException iae) {
+            log.debug("Method '" + method + "' will be invoked by reflection as it is not accessible", iae);
+            return null;
         }
     }
 
@@ -158,16 +228,10 @@ protected Object doInvoke( Object instance, List<String> parameterNames,
 
         /*
          * Here we log the action we are going to be execute.
-         *
-         * ATS has some actions for internal usage and users should not see them.
-         * Currently we do not have some good way to distinguish these actions from the regular ones, for
-         * example we could use a new attribute in the Action annotation.
-         * For now we can filter these ATS internal actions by expecting their names match the next regular
-         * expression.
+         * The ATS internal actions are not logged for the users.
          */
         if (log.isInfoEnabled()) {
-            if (!actionName.matches("Internal.*Operations.*")
-                && !actionName.startsWith("InternalProcessTalker")) {
+            if (!isInternalAction) {
                 log.info("Executing '" + actionName + "' with arguments "
                          + StringUtils.methodInputArgumentsToString(parameterValues));
             } else {
@@ -178,7 +242,49 @@ protected Object doInvoke( Object instance, List<String> parameterNames,
             }
         }
 
-        return method.invoke(instance, parameterValues);
+        if (invoker == null || !isInvokableWithHandle(instance, parameterValues)) {
+            // let the reflection do the argument conversions or report the illegal arguments
+            return method.invoke(instance, parameterValues);
+        }
+
+        try {
+            return invoker.invokeExact(instance, parameterValues);
+        } catch (Throwable t) {
+            // the same as when invoking by reflection
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * The method handle is used when the instance and each argument are of the exact
+     * parameter type or its wrapper, any other case is left to the reflection
+     *
+     * @param instance the instance on which to invoke the method
+     * @param parameterValues the arguments
+     * @return whether the arguments can be passed to the method handle as they are
+     */
+    private boolean isInvokableWithHandle( Object instance, Object[] parameterValues ) {
+
+        if (instanceType != null && !instanceType.isInstance(instance)) {
+            return false;
+        }
+        if (parameterValues == null || parameterValues.length != argumentTypes.length) {
+            return false;
+        }
+
+        for (int i = 0; i < argumentTypes.length; i++) {
+            Object value = parameterValues[i];
+            if (value == null) {
+                if (parameterTypes[i].isPrimitive()) {
+                    return false;
+                }
+            } else if (parameterTypes[i].isPrimitive()
+                                                       ? value.getClass() != argumentTypes[i]
+                                                       : !argumentTypes[i].isInstance(value)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -270,51 +376,35 @@ protected Object[] convertToEnums( Object[] args ) throws ActionExecutionExcepti
         Object[] processedArgs = new Object[args.length];
 
         //try to convert all strings to enums
-        Class<?>[] parameterTypes = method.getParameterTypes();
         for (int i = 0; i < parameterTypes.length; i++) {
 
-            if (args[i] == null) {
-                processedArgs[i] = null;
+            Class enumType = enumParameterTypes[i];
+            if (args[i] == null || enumType == null) {
+                processedArgs[i] = args[i];
                 continue;
             }
 
-            boolean isParamArray = parameterTypes[i].isArray();
-            Class<?> paramType;
-            Class<?> argType;
-            if (isParamArray) {
-                paramType = parameterTypes[i].getComponentType();
-                argType = args[i].getClass().getComponentType();
-            } else {
-                paramType = parameterTypes[i];
-                argType = args[i].getClass();
-            }
-
-            if (argType == String.class && paramType.isEnum()) {
-                try {
-                    if (isParamArray) {
-                        Object convertedEnums = Array.newInstance(paramType, Array.getLength(args[i]));
-
-                        //convert all array elements to enums
-                        for (int j = 0; j < Array.getLength(args[i]); j++) {
-                            String currentValue = (String) Array.get(args[i], j);
-                            if (currentValue != null) {
-                                Array.set(convertedEnums, j,
-                                          Enum.valueOf((Class<? extends Enum>) paramType,
-                                                       currentValue));
-                            }
+            try {
+                if (!parameterTypes[i].isArray() && args[i] instanceof String) {
+                    processedArgs[i] = Enum.valueOf(enumType, (String) args[i]);
+                } else if (parameterTypes[i].isArray() && args[i] instanceof String[]) {
+                    String[] values = (String[]) args[i];
+                    Enum[] convertedEnums = (Enum[]) Array.newInstance(enumType, values.length);
+
+                    //convert all array elements to enums
+                    for (int j = 0; j < values.length; j++) {
+                        if (values[j] != null) {
+                            convertedEnums[j] = Enum.valueOf(enumType, values[j]);
                         }
-
-                        processedArgs[i] = convertedEnums;
-                    } else {
-                        processedArgs[i] = Enum.valueOf((Class<? extends Enum>) paramType,
-                                                        (String) args[i]);
                     }
-                } catch (IllegalArgumentException iae) {
-                    throw new ActionExecutionException("Could not convert string " + args[i]
-                                                       + " to enumeration of type " + paramType.getName());
+
+                    processedArgs[i] = convertedEnums;
+                } else {
+                    processedArgs[i] = args[i];
                 }
-            } else {
-                processedArgs[i] = args[i];
+            } catch (IllegalArgumentException iae) {
+                throw new ActionExecutionException("Could not convert string " + args[i]
+                                                   + " to enumeration of type " + enumType.getName());
             }
         }
 
@@ -0,0 +1,423 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.action;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.axway.ats.agent.core.exceptions.AgentException;
+import com.axway.ats.agent.core.exceptions.InternalComponentException;
+
+/**
+ * Compact binary encoding of the action requests and results sent between the test executor and the agent.
+ *
+ * <p>The strings, the primitive wrappers and their arrays, which are the arguments and results of most actions,
+ * are written with a one byte type tag followed by their value. All other values are Java serialized,
+ * the same way as when the actions are executed through the agent web service.</p>
+ *
+ * <p>A request is: version, component name, action name, number of arguments, arguments.<br>
+ * A response is: version, status and then the result, the agent error message or the
+ * internal component error details.</p>
+ */
+public class BinaryActionCodec {
+
+    public static final String MEDIA_TYPE              = "application/octet-stream";
+
+    private static final byte  VERSION                 = 1;
+
+    // response status
+    private static final byte  STATUS_OK               = 0;
+    private static final byte  STATUS_AGENT_ERROR      = 1;
+    private static final byte  STATUS_COMPONENT_ERROR  = 2;
+
+    // value types
+    private static final byte  TYPE_NULL               = 0;
+    private static final byte  TYPE_STRING             = 1;
+    private static final byte  TYPE_INTEGER            = 2;
+    private static final byte  TYPE_LONG               = 3;
+    private static final byte  TYPE_BOOLEAN            = 4;
+    private static final byte  TYPE_DOUBLE             = 5;
+    private static final byte  TYPE_FLOAT              = 6;
+    private static final byte  TYPE_SHORT              = 7;
+    private static final byte  TYPE_BYTE               = 8;
+    private static final byte  TYPE_CHARACTER          = 9;
+    private static final byte  TYPE_BYTE_ARRAY         = 10;
+    private static final byte  TYPE_STRING_ARRAY       = 11;
+    private static final byte  TYPE_INT_ARRAY          = 12;
+    private static final byte  TYPE_LONG_ARRAY         = 13;
+    private static final byte  TYPE_BOOLEAN_ARRAY      = 14;
+    private static final byte  TYPE_DOUBLE_ARRAY       = 15;
+    private static final byte  TYPE_SERIALIZED         = 100;
+
+    // the length of a null string
+    private static final int   NULL_LENGTH             = -1;
+
+    private BinaryActionCodec() {}
+
+    /**
+     * Encode an action request
+     *
+     * @param actionRequest the action request
+     * @return the encoded request
+     * @throws IOException if some of the arguments can not be serialized
+     */
+    public static byte[] encodeRequest( ActionRequest actionRequest ) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(VERSION);
+        writeString(out, actionRequest.getComponentName());
+        writeString(out, actionRequest.getActionName());
+
+        Object[] arguments = actionRequest.getArguments();
+        if (arguments == null) {
+            arguments = new Object[0];
+        }
+        out.writeInt(arguments.length);
+        for (Object argument : arguments) {
+            writeValue(out, argument);
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode an action request
+     *
+     * @param input the encoded request
+     * @return the action request
+     * @throws IOException if the request is not valid
+     * @throws ClassNotFoundException if the class of some of the serialized arguments is not known
+     */
+    public static ActionRequest decodeRequest( InputStream input ) throws IOException,
+                                                                   ClassNotFoundException {
+
+        DataInputStream in = new DataInputStream(input);
+
+        readVersion(in);
+        String componentName = readString(in);
+        String actionName = readString(in);
+
+        int numberArguments = in.readInt();
+        if (numberArguments < 0) {
+            throw new IOException("Invalid number of action arguments " + numberArguments);
+        }
+        Object[] arguments = new Object[numberArguments];
+        for (int i = 0; i < numberArguments; i++) {
+            arguments[i] = readValue(in);
+        }
+
+        return new ActionRequest(componentName, actionName, arguments);
+    }
+
+    /**
+     * Encode the result of a successfully executed action
+     *
+     * @param result the action result
+     * @return the encoded response
+     * @throws IOException if the result can not be serialized
+     */
+    public static byte[] encodeResult( Object result ) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(VERSION);
+        out.writeByte(STATUS_OK);
+        writeValue(out, result);
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encode an error which happened while executing an action
+     *
+     * @param error the error
+     * @return the encoded response
+     * @throws IOException
+     */
+    public static byte[] encodeError( AgentException error ) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(VERSION);
+        if (error instanceof InternalComponentException) {
+            InternalComponentException ice = (InternalComponentException) error;
+
+            out.writeByte(STATUS_COMPONENT_ERROR);
+            writeString(out, ice.getComponentName());
+            writeString(out, ice.getActionName());
+            writeString(out, ice.getExceptionMessage());
+            writeString(out, ice.getHostIp());
+        } else {
+            out.writeByte(STATUS_AGENT_ERROR);
+            writeString(out, error.getMessage());
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode an action response
+     *
+     * @param input the encoded response
+     * @return the action result
+     * @throws InternalComponentException if the action failed, it has the details sent by the agent
+     * @throws AgentException if the agent could not execute the action, it has the message sent by the agent
+     * @throws IOException if the response is not valid
+     * @throws ClassNotFoundException if the class of the serialized result is not known
+     */
+    public static Object decodeResponse( InputStream input ) throws AgentException, IOException,
+                                                              ClassNotFoundException {
+
+        DataInputStream in = new DataInputStream(input);
+
+        readVersion(in);
+        byte status = in.readByte();
+        switch (status) {
+            case STATUS_OK:
+                return readValue(in);
+            case STATUS_COMPONENT_ERROR:
+                throw new InternalComponentException(readString(in), readString(in), readString(in),
+                                                     readString(in));
+            case STATUS_AGENT_ERROR:
+                throw new AgentException(readString(in));
+            default:
+                throw new IOException("Invalid action response status " + status);
+        }
+    }
+
+    private static void readVersion( DataInputStream in ) throws IOException {
+
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary action encoding version " + version + ", expected "
+                                  + VERSION);
+        }
+    }
+
+    private static void writeValue( DataOutputStream out, Object value ) throws IOException {
+
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(TYPE_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Short) {
+            out.writeByte(TYPE_SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(TYPE_BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            out.writeByte(TYPE_CHARACTER);
+            out.writeChar((Character) value);
+        } else if (value instanceof byte[]) {
+            byte[] array = (byte[]) value;
+            out.writeByte(TYPE_BYTE_ARRAY);
+            out.writeInt(array.length);
+            out.write(array);
+        } else if (value.getClass() == String[].class) {
+            // not the arrays of String subclasses, there are none, but also not Object[] holding strings
+            String[] array = (String[]) value;
+            out.writeByte(TYPE_STRING_ARRAY);
+            out.writeInt(array.length);
+            for (String element : array) {
+                writeString(out, element);
+            }
+        } else if (value instanceof int[]) {
+            int[] array = (int[]) value;
+            out.writeByte(TYPE_INT_ARRAY);
+            out.writeInt(array.length);
+            for (int element : array) {
+                out.writeInt(element);
+            }
+        } else if (value instanceof long[]) {
+            long[] array = (long[]) value;
+            out.writeByte(TYPE_LONG_ARRAY);
+            out.writeInt(array.length);
+            for (long element : array) {
+                out.writeLong(element);
+            }
+        } else if (value instanceof boolean[]) {
+            boolean[] array = (boolean[]) value;
+            out.writeByte(TYPE_BOOLEAN_ARRAY);
+            out.writeInt(array.length);
+            for (boolean element : array) {
+                out.writeBoolean(element);
+            }
+        } else if (value instanceof double[]) {
+            double[] array = (double[]) value;
+            out.writeByte(TYPE_DOUBLE_ARRAY);
+            out.writeInt(array.length);
+            for (double element : array) {
+                out.writeDouble(element);
+            }
+        } else {
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            ObjectOutputStream objectOutStream = new ObjectOutputStream(serialized);
+            objectOutStream.writeObject(value);
+            objectOutStream.close();
+
+            out.writeByte(TYPE_SERIALIZED);
+            out.writeInt(serialized.size());
+            serialized.writeTo(out);
+        }
+    }
+
+    private static Object readValue( DataInputStream in ) throws IOException, ClassNotFoundException {
+
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return readString(in);
+            case TYPE_INTEGER:
+                return in.readInt();
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            case TYPE_DOUBLE:
+                return in.readDouble();
+            case TYPE_FLOAT:
+                return in.readFloat();
+            case TYPE_SHORT:
+                return in.readShort();
+            case TYPE_BYTE:
+                return in.readByte();
+            case TYPE_CHARACTER:
+                return in.readChar();
+            case TYPE_BYTE_ARRAY: {
+                byte[] array = new byte[readLength(in)];
+                in.readFully(array);
+                return array;
+            }
+            case TYPE_STRING_ARRAY: {
+                String[] array = new String[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = readString(in);
+                }
+                return array;
+            }
+            case TYPE_INT_ARRAY: {
+                int[] array = new int[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readInt();
+                }
+                return array;
+            }
+            case TYPE_LONG_ARRAY: {
+                long[] array = new long[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readLong();
+                }
+                return array;
+            }
+            case TYPE_BOOLEAN_ARRAY: {
+                boolean[] array = new boolean[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readBoolean();
+                }
+                return array;
+            }
+            case TYPE_DOUBLE_ARRAY: {
+                double[] array = new double[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readDouble();
+                }
+                return array;
+            }
+            case TYPE_SERIALIZED: {
+                byte[] serialized = new byte[readLength(in)];
+                in.readFully(serialized);
+
+                ObjectInputStream objectInStream = new ObjectInputStream(new ByteArrayInputStream(serialized));
+                try {
+                    return objectInStream.readObject();
+                } finally {
+                    objectInStream.close();
+                }
+            }
+            default:
+                throw new IOException("Invalid value type " + type);
+        }
+    }
+
+    private static void writeString( DataOutputStream out, String value ) throws IOException {
+
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+        } else {
+            // not writeUTF() as it is limited to 64K
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString( DataInputStream in ) throws IOException {
+
+        int length = in.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0) {
+            throw new IOException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength( DataInputStream in ) throws IOException {
+
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid array length " + length);
+        }
+        return length;
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.axway.ats.agent.core.monitoring;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -72,7 +73,7 @@ private static Map<Long, Map<String, Integer>> parseReadings(
         Map<String, Integer> readingsMap = new HashMap<String, Integer>();
         for (ReadingBean newReading : newReadings) {
             readingsMap.put(String.valueOf(newReading.getDbId()),
-                            Integer.valueOf(newReading.getValue()));
+                            (int) newReading.getNumericValue());
             resultsRead++;
         }
 
@@ -105,16 +106,17 @@ private static int commitToDatabase(
         while (it.hasNext()) {
 
             long timestamp = it.next();
-            // transform all reading info into 2 Strings: one for DB IDs and
-            // one for their values
-            StringBuilder statisticDbIds = new StringBuilder();
-            StringBuilder statisticValues = new StringBuilder();
-            // get the first entry
-            for (Entry<String, Integer> readingIdEntry : userActivityStatisticsMap.get(timestamp)
-                                                                                  .entrySet()) {
+            Map<String, Integer> readingsMap = userActivityStatisticsMap.get(timestamp);
+
+            // the DB IDs and their values, sent to the database at once
+            int[] statisticDbIds = new int[readingsMap.size()];
+            float[] statisticValues = new float[readingsMap.size()];
+            int numberReadings = 0;
+            for (Entry<String, Integer> readingIdEntry : readingsMap.entrySet()) {
                 if (readingIdEntry.getKey() == null) {
                     dbLog.error("This reading ['null' with value '" + readingIdEntry.getValue()
                                 + "'] does not have set a reading ID which indicates an error in the attached monitor. We will not insert this reading in the database.");
+                    continue;
                 }
 
                 int readingDbId = Integer.parseInt(readingIdEntry.getKey());
@@ -123,6 +125,7 @@ private static int commitToDatabase(
                     dbLog.error("We do not have information in the database about this reading ['"
                                 + readingIdEntry.getKey() + "' with value '" + readingIdEntry.getValue()
                                 + "']. We will not insert this reading in the database.");
+                    continue;
                 }
 
                 Integer readingValue = readingIdEntry.getValue();
@@ -131,26 +134,24 @@ private static int commitToDatabase(
                     dbLog.error("Null value is passed for this reading ['" + readingIdEntry.getKey()
                                 + "' with value '" + readingIdEntry.getValue()
                                 + "']. We will not insert this reading in the database.");
+                    continue;
                 }
 
-                statisticDbIds.append(readingDbId);
-                statisticDbIds.append("_");
-
-                statisticValues.append(parseReadingValue(null,
-                                                         Float.parseFloat(String.valueOf(readingValue))));
-                statisticValues.append("_");
-
-                resultsAddeed++;
+                statisticDbIds[numberReadings] = readingDbId;
+                statisticValues[numberReadings] = parseReadingValue(null, readingValue.floatValue());
+                numberReadings++;
             }
 
-            if (statisticDbIds.length() > 0) {
-                statisticDbIds.setLength(statisticDbIds.length() - 1);
-                statisticValues.setLength(statisticValues.length() - 1);
+            if (numberReadings > 0) {
+                long[] timestamps = new long[numberReadings];
+                Arrays.fill(timestamps, timestamp);
+
                 // we are logging [users] Total statistics
-                dbLog.insertUserActivityStatistcs(ATS_AGENT_HOSTS,
-                                                  statisticDbIds.toString(),
-                                                  statisticValues.toString(),
-                                                  timestamp);
+                dbLog.insertUserActivityStatistics(ATS_AGENT_HOSTS,
+                                                   Arrays.copyOf(statisticDbIds, numberReadings),
+                                                   Arrays.copyOf(statisticValues, numberReadings),
+                                                   timestamps);
+                resultsAddeed += numberReadings;
             }
 
         }
@@ -16,6 +16,7 @@
 package com.axway.ats.agent.core.monitoring.agents;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -48,9 +49,6 @@ public class AtsSystemMonitoringAgent extends AbstractMonitoringAgent {
      * */
     private static AtsDbLogger       dblog                       = AtsDbLogger.getLogger(AtsSystemMonitoringAgent.class.getName(), true);
 
-    private static final int         MAX_LENGTH_STATISTIC_IDS    = 950;
-    private static final int         MAX_LENGTH_STATISTIC_VALUES = 7950;
-
     private static final int         MAX_NUMBER_LOGGED_ERRORS    = 10;
     private static final String      CUSTOM_READING_PREFIX       = "[custom] ";
 
@@ -351,72 +349,52 @@ private void handlePollError(
         private int logResults(
                                 List<MonitorResults> monitorResults ) {
 
-            // counter to hold the number of results which have logged
-            int resultsAddeed = 0;
-
+            int numberReadings = 0;
             for (MonitorResults newResultsLine : monitorResults) {
-                resultsAddeed += logResultsForOneTimestamp(newResultsLine);
+                numberReadings += newResultsLine.getReadings().size();
             }
 
-            return resultsAddeed;
-        }
-
-        private int logResultsForOneTimestamp(
-                                               MonitorResults resultsLine ) {
+            // all readings of this poll are sent to the database at once, keeping their values as numbers
+            int[] statisticDbIds = new int[numberReadings];
+            float[] statisticValues = new float[numberReadings];
+            long[] timestamps = new long[numberReadings];
 
+            // counter to hold the number of results which have logged
             int resultsAddeed = 0;
+            for (MonitorResults newResultsLine : monitorResults) {
+                for (ReadingBean reading : newResultsLine.getReadings()) {
+                    if (reading.getDbId() == -1) {
+                        log.error("This reading [" + reading.toString()
+                                  + "] does not have set a reading ID which indicates an error in some of the attached monitors. We will not insert this reading in the database.");
+                        continue;
+                    }
+                    if (reading.getValue() == null) {
+                        log.error("Null value is passed for this reading [" + reading.toString()
+                                  + "]. We will not insert this reading in the database.");
+                        continue;
+                    }
 
-            // transform all reading info into 2 Strings: one for DB IDs and one
-            // for their values
-            StringBuilder statisticDbIds = new StringBuilder();
-            StringBuilder statisticValues = new StringBuilder();
-            for (ReadingBean reading : resultsLine.getReadings()) {
-                String readingDbId = String.valueOf(reading.getDbId());
-                if (readingDbId == null) {
-                    /*log.error( "We do not have information in the database about this reading ["
-                               + reading.toString() + "]. We will not insert this reading in the database." );*/
-                    log.error("This reading [" + reading.toString()
-                              + "] does not have set a reading ID which indicates an error in some of the attached monitors. We will not insert this reading in the database.");
-                    continue;
-                }
-                String readingValue = reading.getValue();
-                if (readingValue == null) {
-                    log.error("Null value is passed for this reading [" + reading.toString()
-                              + "]. We will not insert this reading in the database.");
-                    continue;
-                }
-                statisticDbIds.append(readingDbId);
-                statisticDbIds.append("_");
-
-                statisticValues.append(readingValue);
-                statisticValues.append("_");
-
-                resultsAddeed++;
-
-                if (statisticDbIds.length() > MAX_LENGTH_STATISTIC_IDS
-                    || statisticValues.length() > MAX_LENGTH_STATISTIC_VALUES) {
-                    // we have to send a chunk
-                    statisticDbIds.setLength(statisticDbIds.length() - 1);
-                    statisticValues.setLength(statisticValues.length() - 1);
-                    dblog.insertSystemStatistcs(HostUtils.getLocalHostIP(),
-                                                statisticDbIds.toString(),
-                                                statisticValues.toString(),
-                                                resultsLine.getTimestamp());
-
-                    statisticDbIds.setLength(0);
-                    statisticValues.setLength(0);
+                    float readingValue;
+                    try {
+                        readingValue = reading.getNumericValue();
+                    } catch (NumberFormatException nfe) {
+                        log.error("Not a numeric value is passed for this reading [" + reading.toString()
+                                  + "]. We will not insert this reading in the database.");
+                        continue;
+                    }
+
+                    statisticDbIds[resultsAddeed] = reading.getDbId();
+                    statisticValues[resultsAddeed] = readingValue;
+                    timestamps[resultsAddeed] = newResultsLine.getTimestamp();
+                    resultsAddeed++;
                 }
             }
 
-            if (statisticDbIds.length() > 0) {
-                // send the last(or only) chunk
-                statisticDbIds.setLength(statisticDbIds.length() - 1);
-                statisticValues.setLength(statisticValues.length() - 1);
-
-                dblog.insertSystemStatistcs(HostUtils.getLocalHostIP(),
-                                            statisticDbIds.toString(),
-                                            statisticValues.toString(),
-                                            resultsLine.getTimestamp());
+            if (resultsAddeed > 0) {
+                dblog.insertSystemStatistics(HostUtils.getLocalHostIP(),
+                                             Arrays.copyOf(statisticDbIds, resultsAddeed),
+                                             Arrays.copyOf(statisticValues, resultsAddeed),
+                                             Arrays.copyOf(timestamps, resultsAddeed));
             }
 
             return resultsAddeed;
@@ -70,6 +70,10 @@ private void initJMXConnection(
         // we are looking for all jmx port and put them in the mbeanWrappers map
         int jmxPort;
         for (int i = 0; i < readings.length; i++) {
+            if (mbeanWrappers.containsKey(readings[i].getParameter("JMX_PORT"))) {
+                // all readings from the same JVM share one connection
+                continue;
+            }
             try {
                 jmxPort = Integer.parseInt(readings[i].getParameter("JMX_PORT"));
                 mbeanWrappers.put(readings[i].getParameter("JMX_PORT"), new MBeanWrapper(jmxPort));
@@ -84,6 +88,10 @@ private void initJMXConnection(
     @Override
     public void deinit() throws Exception {
 
+        for (MBeanWrapper mbeanWrapper : mbeanWrappers.values()) {
+            mbeanWrapper.close();
+        }
+        mbeanWrappers.clear();
     }
 
     @Override
@@ -114,11 +122,16 @@ private List<ReadingBean> pollReadingInstances(
 
         List<ReadingBean> redingsResult = new ArrayList<ReadingBean>();
 
+        // read all needed MBean attributes at once, the reading instances take their values from there
+        for (MBeanWrapper mbeanWrapper : mbeanWrappers.values()) {
+            mbeanWrapper.refresh();
+        }
+
         for (JvmReadingInstance readingInstance : readingInstances) {
             float value = readingInstance.poll();
 
             ReadingBean newResult = readingInstance.getNewCopy();
-            newResult.setValue(String.valueOf(value));
+            newResult.setNumericValue(value);
             redingsResult.add(newResult);
         }
 
@@ -15,12 +15,17 @@
  */
 package com.axway.ats.agent.core.monitoring.jvmmonitor;
 
+import java.io.IOException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+import javax.management.Attribute;
+import javax.management.AttributeList;
 import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanServerConnection;
 import javax.management.ObjectName;
@@ -43,20 +48,20 @@ public class MBeanWrapper {
 
     private static Object          lock       = new Object();
 
+    private JMXConnector           connector;
     private MBeanServerConnection  connection;
     private int                    jvmPort;
 
+    // Map<MBean name, names of the attributes read on each poll>
+    private Map<ObjectName, String[]>            polledAttributes = new HashMap<ObjectName, String[]>();
+    // Map<MBean name, Map<attribute name, attribute value>> with the values read on the last poll
+    private Map<ObjectName, Map<String, Object>> attributeValues  = new HashMap<ObjectName, Map<String, Object>>();
+
     MBeanWrapper( int jvmPort ) throws MonitorConfigurationException {
 
         this.jvmPort = jvmPort;
         try {
-            JMXConnector connector = JMXConnectorFactory.newJMXConnector(new JMXServiceURL("service:jmx:rmi:///jndi/rmi://localhost:"
-                                                                                           + this.jvmPort
-                                                                                           + "/jmxrmi"),
-                                                                         null);
-            connector.connect();
-
-            this.connection = connector.getMBeanServerConnection();
+            connect();
         } catch (Exception e) {
             final String msg = "Error initializing the JMV monitor. Unable to connect to JVM at port "
                                + this.jvmPort;
@@ -65,6 +70,114 @@ public class MBeanWrapper {
         }
     }
 
+    private void connect() throws IOException {
+
+        this.connector = JMXConnectorFactory.newJMXConnector(new JMXServiceURL("service:jmx:rmi:///jndi/rmi://localhost:"
+                                                                               + this.jvmPort
+                                                                               + "/jmxrmi"),
+                                                             null);
+        this.connector.connect();
+
+        this.connection = connector.getMBeanServerConnection();
+    }
+
+    /**
+     * Close the connection to the monitored JVM
+     */
+    void close() {
+
+        if (connector != null) {
+            try {
+                connector.close();
+            } catch (IOException e) {
+                log.warn("Error closing the connection to JVM at port " + jvmPort, e);
+            }
+            connector = null;
+        }
+    }
+
+    /**
+     * Read the values of all polled attributes. This must be called once at the beginning of each poll.
+     * <br>
+     * All attributes of a MBean are read in one call, so the number of remote calls does not depend on the
+     * number of readings.
+     * If the connection to the monitored JVM is lost, we connect again and try once more.
+     * A MBean which can not be read, for example because it is unregistered, is not polled anymore.
+     * Its attributes are read one by one again when asked for, so they are polled again if the MBean is back
+     * or a proper error is reported if it is not.
+     */
+    void refresh() {
+
+        try {
+            readPolledAttributes();
+        } catch (IOException ioe) {
+            log.warn("Lost the connection to JVM at port " + jvmPort + ". We will try to connect again", ioe);
+
+            close();
+            try {
+                connect();
+                readPolledAttributes();
+            } catch (Exception e) {
+                final String errorMsg = "Error reconnecting to JVM at port " + jvmPort;
+                log.error(errorMsg, e);
+                throw new MonitorConfigurationException(errorMsg, e);
+            }
+        }
+    }
+
+    private void readPolledAttributes() throws IOException {
+
+        attributeValues.clear();
+        Iterator<Map.Entry<ObjectName, String[]>> it = polledAttributes.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<ObjectName, String[]> polledAttribute = it.next();
+
+            AttributeList attributes;
+            try {
+                attributes = connection.getAttributes(polledAttribute.getKey(), polledAttribute.getValue());
+            } catch (IOException ioe) {
+                // the connection is lost, it is not a problem of this MBean
+                throw ioe;
+            } catch (Exception e) {
+                log.warn("Error getting the values of the monitored attributes of MBean with name '"
+                         + polledAttribute.getKey() + "' from JVM at port " + jvmPort
+                         + ". This MBean will not be polled until its attributes are successfully read again",
+                         e);
+                it.remove();
+                continue;
+            }
+
+            // the attributes which could not be read are missing in the returned list,
+            // they will be read one by one, so a proper error is reported
+            Map<String, Object> values = new HashMap<String, Object>();
+            for (Attribute attribute : attributes.asList()) {
+                values.put(attribute.getName(), attribute.getValue());
+            }
+            attributeValues.put(polledAttribute.getKey(), values);
+        }
+    }
+
+    private void addPolledAttribute(
+                                     ObjectName objectName,
+                                     String attributeName ) {
+
+        String[] attributeNames = polledAttributes.get(objectName);
+        if (attributeNames == null) {
+            attributeNames = new String[]{ attributeName };
+        } else {
+            for (String name : attributeNames) {
+                if (name.equals(attributeName)) {
+                    return;
+                }
+            }
+            String[] newAttributeNames = new String[attributeNames.length + 1];
+            System.arraycopy(attributeNames, 0, newAttributeNames, 0, attributeNames.length);
+            newAttributeNames[attributeNames.length] = attributeName;
+            attributeNames = newAttributeNames;
+        }
+        polledAttributes.put(objectName, attributeNames);
+    }
+
     /**
      * Gets the names of MBeans controlled by the MBean server
      * 
@@ -135,7 +248,10 @@ Set<ObjectName> getObjectNames( String regex, boolean oneEntry ) {
     }
 
     /**
-     * Gets the value of a specific attribute of a named MBean
+     * Gets the value of a specific attribute of a named MBean.
+     * <br>
+     * The value read on the last {@link #refresh()} is returned. An attribute which is asked for the first time
+     * is read alone and on the next polls it is read together with the other attributes of its MBean.
      * 
      * @param objectName the object name
      * @param attributeName the attribute name
@@ -145,11 +261,17 @@ Object getMBeanAttribute(
                               ObjectName objectName,
                               String attributeName ) {
 
+        Map<String, Object> values = attributeValues.get(objectName);
+        if (values != null && values.containsKey(attributeName)) {
+            return values.get(attributeName);
+        }
+
         try {
             for (MBeanAttributeInfo attInfo : connection.getMBeanInfo(objectName).getAttributes()) {
 
                 String attName = attInfo.getName();
                 if (attName.equals(attributeName)) {
+                    addPolledAttribute(objectName, attributeName);
                     return connection.getAttribute(objectName, attributeName);
                 }
             }
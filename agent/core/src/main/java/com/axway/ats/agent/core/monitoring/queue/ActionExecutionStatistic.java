@@ -17,17 +17,27 @@
 
 import java.io.Serializable;
 
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
+
 /**
  * Keeps info about one action execution results
  */
 public class ActionExecutionStatistic implements Serializable {
 
-    private static final long serialVersionUID = 1L;
+    private static final long     serialVersionUID   = 1L;
+
+    private String                actionName;
 
-    private String            actionName;
+    private int                   numberPassed       = 0;
+    private int                   numberFailed       = 0;
 
-    private int               numberPassed     = 0;
-    private int               numberFailed     = 0;
+    // the response times of the passed executions, in milliseconds
+    private ResponseTimeHistogram responseTimes      = new ResponseTimeHistogram();
+
+    // when the first execution started and the last one ended,
+    // both are 0 when the statistic comes from an older agent which does not know about them
+    private long                  firstExecutionTime = Long.MAX_VALUE;
+    private long                  lastExecutionTime  = Long.MIN_VALUE;
 
     public ActionExecutionStatistic( String actionName ) {
 
@@ -49,6 +59,32 @@ public int getNumberFailed() {
         return numberFailed;
     }
 
+    /**
+     * @return the response times of the passed executions, in milliseconds.
+     * It is empty when the statistic comes from an older agent.
+     */
+    public ResponseTimeHistogram getResponseTimes() {
+
+        if (responseTimes == null) {
+            // sent by an agent which does not know about response times
+            responseTimes = new ResponseTimeHistogram();
+        }
+        return responseTimes;
+    }
+
+    /**
+     * @return the number of executions per second, from the start of the first execution
+     * to the end of the last one; 0 if not known
+     */
+    public double getThroughput() {
+
+        long duration = lastExecutionTime - firstExecutionTime;
+        if (!hasExecutionTimes() || duration <= 0) {
+            return 0;
+        }
+        return (numberPassed + numberFailed) * 1000d / duration;
+    }
+
     /**
      * Registers the action execution result.
      * 
@@ -67,6 +103,33 @@ public void registerExecutionResult(
         }
     }
 
+    /**
+     * Registers the execution results collected on the agent side
+     * 
+     * @param numberPassed number of passed executions
+     * @param numberFailed number of failed executions
+     * @param responseTimes the response times of the passed executions
+     * @param firstExecutionTime when the first execution started
+     * @param lastExecutionTime when the last execution ended
+     */
+    void registerExecutionResults( int numberPassed, int numberFailed, ResponseTimeHistogram responseTimes,
+                                   long firstExecutionTime, long lastExecutionTime ) {
+
+        this.numberPassed += numberPassed;
+        this.numberFailed += numberFailed;
+        getResponseTimes().merge(responseTimes);
+        if (!hasExecutionTimes()) {
+            // 0 is not a time, so it must not become the start of the merged times
+            this.firstExecutionTime = Long.MAX_VALUE;
+            this.lastExecutionTime = Long.MIN_VALUE;
+        }
+        if (firstExecutionTime > 0 && firstExecutionTime <= lastExecutionTime) {
+            // the times are not known when nothing is executed or the statistic comes from an older agent
+            this.firstExecutionTime = Math.min(this.firstExecutionTime, firstExecutionTime);
+            this.lastExecutionTime = Math.max(this.lastExecutionTime, lastExecutionTime);
+        }
+    }
+
     /**
      * Here we are merge the info between same action
      * run by same queue on different agents
@@ -78,7 +141,27 @@ public void registerExecutionResult(
     public void merge(
                        ActionExecutionStatistic that ) {
 
-        this.numberPassed += that.numberPassed;
-        this.numberFailed += that.numberFailed;
+        registerExecutionResults(that.numberPassed, that.numberFailed, that.responseTimes,
+                                 that.firstExecutionTime, that.lastExecutionTime);
+    }
+
+    /**
+     * @return whether the time of the first and the last execution are known
+     */
+    private boolean hasExecutionTimes() {
+
+        return firstExecutionTime > 0 && firstExecutionTime != Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+
+        ResponseTimeHistogram responseTimes = getResponseTimes();
+        return "'" + actionName + "': " + numberPassed + " passed, " + numberFailed + " failed, "
+               + String.format("%.2f", getThroughput()) + " per second, response times in ms: min "
+               + responseTimes.getMin() + ", mean " + String.format("%.2f", responseTimes.getMean())
+               + ", 50% " + responseTimes.getValueAtPercentile(50) + ", 90% "
+               + responseTimes.getValueAtPercentile(90) + ", 99% " + responseTimes.getValueAtPercentile(99)
+               + ", max " + responseTimes.getMax();
     }
 }
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.queue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.axway.ats.common.systemproperties.AtsSystemProperties;
+import com.axway.ats.log.AtsDbLogger;
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
+import com.axway.ats.log.autodb.io.SQLServerDbWriteAccess;
+import com.axway.ats.log.model.CheckpointLogLevel;
+import com.axway.ats.log.model.CheckpointResult;
+
+/**
+ * Collects the checkpoints of all threads of a load queue when the checkpoint
+ * log level is {@link CheckpointLogLevel#AGGREGATED}.
+ *
+ * <p>The checkpoints are folded into per checkpoint histograms. Once per interval
+ * the collected data is sent to the log DB as one row per checkpoint name - the exact number of
+ * passed and failed checkpoints, the min, max and sum of the response times, the transfer data and
+ * the histogram buckets. This way the DB load does not depend on the number of executed actions,
+ * while the checkpoint summaries stay exact and the percentile charts are still available.</p>
+ *
+ * <p>The data is sent by one of the queue threads, as only they are known as part of the load queue.</p>
+ */
+public class CheckpointsAggregator {
+
+    private static final AtsDbLogger                          log                             = AtsDbLogger.getLogger(CheckpointsAggregator.class.getName(),
+                                                                                                                      true);
+
+    private static final int                                  DEFAULT_AGGREGATION_INTERVAL_MS = 1000;
+
+    private static final Map<String, CheckpointsAggregator>   instances                       = new HashMap<String, CheckpointsAggregator>();
+
+    private final String                                      queueName;
+
+    private final long                                        aggregationInterval;
+
+    private final ConcurrentMap<String, AggregatedCheckpoint> checkpoints                     = new ConcurrentHashMap<String, AggregatedCheckpoint>();
+
+    private final AtomicLong                                  nextFlushTimestamp;
+
+    // the number of queue threads which are still working with this instance
+    private int                                               activeTasks;
+
+    private CheckpointsAggregator( String queueName ) {
+
+        this.queueName = queueName;
+        this.aggregationInterval = AtsSystemProperties.getPropertyAsNumber(AtsSystemProperties.AGENT__CHECKPOINTS_AGGREGATION_INTERVAL,
+                                                                           DEFAULT_AGGREGATION_INTERVAL_MS);
+        this.nextFlushTimestamp = new AtomicLong(System.currentTimeMillis() + aggregationInterval);
+    }
+
+    /**
+     * @return whether the checkpoints must be aggregated instead of logged one by one
+     */
+    public static boolean isAggregationEnabled() {
+
+        return SQLServerDbWriteAccess.getCheckpointLogLevel() == CheckpointLogLevel.AGGREGATED;
+    }
+
+    /**
+     * Called when a queue thread is created
+     *
+     * @param queueName the load queue name
+     * @return the aggregator for this queue
+     */
+    public static synchronized CheckpointsAggregator register( String queueName ) {
+
+        CheckpointsAggregator instance = instances.get(queueName);
+        if (instance == null) {
+            instance = new CheckpointsAggregator(queueName);
+            instances.put(queueName, instance);
+        }
+        instance.activeTasks++;
+
+        return instance;
+    }
+
+    /**
+     * Called by a queue thread when it is about to finish. The last finishing
+     * thread sends all collected data.
+     */
+    public void unregister() {
+
+        boolean isLastTask;
+        synchronized (CheckpointsAggregator.class) {
+            isLastTask = --activeTasks == 0;
+            if (isLastTask) {
+                instances.remove(queueName);
+            }
+        }
+
+        if (isLastTask) {
+            flush();
+        }
+    }
+
+    /**
+     * Add a checkpoint to the data for the current interval
+     *
+     * @param name the checkpoint name
+     * @param responseTime the response time in milliseconds
+     * @param transferSize the transferred data size
+     * @param transferUnit the transfer unit
+     * @param result the checkpoint result
+     */
+    public void addCheckpoint( String name, long responseTime, long transferSize, String transferUnit,
+                               CheckpointResult result ) {
+
+        AggregatedCheckpoint checkpoint = checkpoints.get(name);
+        if (checkpoint == null) {
+            AggregatedCheckpoint newCheckpoint = new AggregatedCheckpoint(name, transferUnit);
+            checkpoint = checkpoints.putIfAbsent(name, newCheckpoint);
+            if (checkpoint == null) {
+                checkpoint = newCheckpoint;
+            }
+        }
+
+        checkpoint.add(responseTime, transferSize, result);
+    }
+
+    /**
+     * Send the collected data if the current interval has passed.
+     * Only one of the calling threads does the job, the others return immediately.
+     */
+    public void flushIfNeeded() {
+
+        long now = System.currentTimeMillis();
+        long nextFlush = nextFlushTimestamp.get();
+        if (now >= nextFlush && nextFlushTimestamp.compareAndSet(nextFlush, now + aggregationInterval)) {
+            flush();
+        }
+    }
+
+    private void flush() {
+
+        for (AggregatedCheckpoint checkpoint : checkpoints.values()) {
+            checkpoint.flush();
+        }
+    }
+
+    /**
+     * The collected data about one checkpoint in the current interval
+     */
+    private static class AggregatedCheckpoint {
+
+        private final String          name;
+        private final String          transferUnit;
+
+        private long                  intervalStartTimestamp;
+        private ResponseTimeHistogram passed = new ResponseTimeHistogram();
+        private long                  passedTransferSize;
+        private double                minTransferRate;
+        private double                maxTransferRate;
+        private double                sumTransferRate;
+        private int                   numberFailed;
+
+        AggregatedCheckpoint( String name, String transferUnit ) {
+
+            this.name = name;
+            this.transferUnit = transferUnit;
+            this.intervalStartTimestamp = System.currentTimeMillis();
+        }
+
+        synchronized void add( long responseTime, long transferSize, CheckpointResult result ) {
+
+            if (result == CheckpointResult.PASSED) {
+                double transferRate = responseTime > 0
+                                                       ? transferSize * 1000.0 / responseTime
+                                                       : 0;
+                if (passed.getCount() == 0) {
+                    minTransferRate = transferRate;
+                    maxTransferRate = transferRate;
+                } else {
+                    minTransferRate = Math.min(minTransferRate, transferRate);
+                    maxTransferRate = Math.max(maxTransferRate, transferRate);
+                }
+                sumTransferRate += transferRate;
+
+                passed.record(responseTime);
+                passedTransferSize += transferSize;
+            } else {
+                numberFailed++;
+            }
+        }
+
+        void flush() {
+
+            // take the data and start a new interval, so the queue threads are not blocked while we talk to the DB
+            ResponseTimeHistogram intervalPassed;
+            long intervalTransferSize;
+            double intervalMinTransferRate;
+            double intervalMaxTransferRate;
+            double intervalSumTransferRate;
+            int intervalFailed;
+            long intervalStart;
+            long intervalEnd;
+            synchronized (this) {
+                if (passed.getCount() == 0 && numberFailed == 0) {
+                    return;
+                }
+                intervalPassed = passed;
+                intervalTransferSize = passedTransferSize;
+                intervalMinTransferRate = minTransferRate;
+                intervalMaxTransferRate = maxTransferRate;
+                intervalSumTransferRate = sumTransferRate;
+                intervalFailed = numberFailed;
+                intervalStart = intervalStartTimestamp;
+                intervalEnd = System.currentTimeMillis();
+
+                passed = new ResponseTimeHistogram();
+                passedTransferSize = 0;
+                minTransferRate = 0;
+                maxTransferRate = 0;
+                sumTransferRate = 0;
+                numberFailed = 0;
+                intervalStartTimestamp = intervalEnd;
+            }
+
+            log.insertAggregatedCheckpoint(name, intervalStart, intervalEnd, intervalPassed, intervalFailed,
+                                           intervalTransferSize, intervalMinTransferRate, intervalMaxTransferRate,
+                                           intervalSumTransferRate, transferUnit);
+        }
+    }
+}
@@ -16,22 +16,25 @@
 package com.axway.ats.agent.core.monitoring.queue;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.axway.ats.agent.core.exceptions.AgentException;
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
 
 /**
  * Singleton keeping info about the action execution results for each queue 
- * running on some agent
+ * running on some agent.
+ * 
+ * The results of each action are collected in {@link ResultsStripe}s,
+ * so the threads running the queues rarely wait for each other.
  */
 public class QueueExecutionStatistics {
 
-    private Map<String, Map<String, ActionExecutionStatistic>> actionsPerQueue = new HashMap<String, Map<String, ActionExecutionStatistic>>();
+    private ConcurrentMap<String, ConcurrentMap<String, ActionExecutionRecorder>> actionsPerQueue = new ConcurrentHashMap<String, ConcurrentMap<String, ActionExecutionRecorder>>();
 
-    private static final QueueExecutionStatistics              instance;
+    private static final QueueExecutionStatistics                                 instance;
 
     static {
         instance = new QueueExecutionStatistics();
@@ -50,15 +53,9 @@ public static QueueExecutionStatistics getInstance() {
     public void initActionExecutionResults(
                                             String queueName ) throws AgentException {
 
-        Map<String, ActionExecutionStatistic> thisQueueStatics = actionsPerQueue.get(queueName);
-        if (thisQueueStatics != null) {
-            // there is already information about queue with same name, maybe this is another run of same test
-            // cleanup this info
-            thisQueueStatics.clear();
-        } else {
-            // unknown queue
-            actionsPerQueue.put(queueName, new HashMap<String, ActionExecutionStatistic>());
-        }
+        // if there is already information about queue with same name, maybe this is another run of same test,
+        // it is replaced
+        actionsPerQueue.put(queueName, new ConcurrentHashMap<String, ActionExecutionRecorder>());
     }
 
     /**
@@ -70,9 +67,12 @@ public void initActionExecutionResults(
     public List<ActionExecutionStatistic> getActionExecutionResults(
                                                                      String queueName ) throws AgentException {
 
-        Collection<ActionExecutionStatistic> thisQueueStatics = actionsPerQueue.get(queueName).values();
+        List<ActionExecutionStatistic> thisQueueStatics = new ArrayList<ActionExecutionStatistic>();
+        for (ActionExecutionRecorder actionRecorder : actionsPerQueue.get(queueName).values()) {
+            thisQueueStatics.add(actionRecorder.getStatistic());
+        }
 
-        return new ArrayList<ActionExecutionStatistic>(thisQueueStatics);
+        return thisQueueStatics;
     }
 
     /**
@@ -82,23 +82,98 @@ public List<ActionExecutionStatistic> getActionExecutionResults(
      * @param actionName
      * @param passed
      */
-    synchronized public void registerActionExecutionResult(
-                                                            String queueName,
-                                                            String actionName,
-                                                            boolean passed ) {
+    public void registerActionExecutionResult(
+                                               String queueName,
+                                               String actionName,
+                                               boolean passed ) {
+
+        getActionRecorder(queueName, actionName).register(passed, 0, -1);
+    }
+
+    /**
+     * Called by any thread right after finishing the execution of an action
+     * 
+     * @param queueName
+     * @param actionName
+     * @param passed
+     * @param startTimestamp when the action started
+     * @param responseTime the action response time in milliseconds
+     */
+    public void registerActionExecutionResult( String queueName, String actionName, boolean passed,
+                                               long startTimestamp, long responseTime ) {
+
+        getActionRecorder(queueName, actionName).register(passed, startTimestamp, responseTime);
+    }
+
+    private ActionExecutionRecorder getActionRecorder( String queueName, String actionName ) {
 
         // find the queue, we know it is available as the initialize method was already called
-        Map<String, ActionExecutionStatistic> thisQueueStatics = actionsPerQueue.get(queueName);
+        ConcurrentMap<String, ActionExecutionRecorder> thisQueueStatics = actionsPerQueue.get(queueName);
 
         // find the action
-        ActionExecutionStatistic thisActionStatistic = thisQueueStatics.get(actionName);
-        if (thisActionStatistic == null) {
+        ActionExecutionRecorder thisActionRecorder = thisQueueStatics.get(actionName);
+        if (thisActionRecorder == null) {
             // new action
-            thisActionStatistic = new ActionExecutionStatistic(actionName);
-            thisQueueStatics.put(actionName, thisActionStatistic);
+            ActionExecutionRecorder newActionRecorder = new ActionExecutionRecorder(actionName);
+            thisActionRecorder = thisQueueStatics.putIfAbsent(actionName, newActionRecorder);
+            if (thisActionRecorder == null) {
+                thisActionRecorder = newActionRecorder;
+            }
+        }
+
+        return thisActionRecorder;
+    }
+
+    /**
+     * Collects the execution results of one action
+     */
+    static class ActionExecutionRecorder {
+
+        private final String   actionName;
+
+        private final ResultsStripe[] stripes;
+
+        ActionExecutionRecorder( String actionName ) {
+
+            this.actionName = actionName;
+            this.stripes = ResultsStripe.createStripes();
         }
 
-        // register the action execution result
-        thisActionStatistic.registerExecutionResult(passed);
+        void register( boolean passed, long startTimestamp, long responseTime ) {
+
+            ResultsStripe stripe = ResultsStripe.getStripe(stripes);
+            synchronized (stripe) {
+                if (passed) {
+                    stripe.numberPassed++;
+                    if (responseTime >= 0) {
+                        stripe.responseTimes.record(responseTime);
+                    }
+                } else {
+                    stripe.numberFailed++;
+                }
+
+                if (startTimestamp > 0) {
+                    stripe.firstExecutionTime = Math.min(stripe.firstExecutionTime, startTimestamp);
+                    stripe.lastExecutionTime = Math.max(stripe.lastExecutionTime,
+                                                        startTimestamp + Math.max(0, responseTime));
+                }
+            }
+        }
+
+        /**
+         * @return the results collected until now
+         */
+        ActionExecutionStatistic getStatistic() {
+
+            ActionExecutionStatistic statistic = new ActionExecutionStatistic(actionName);
+            for (ResultsStripe stripe : stripes) {
+                synchronized (stripe) {
+                    statistic.registerExecutionResults(stripe.numberPassed, stripe.numberFailed,
+                                                       stripe.responseTimes, stripe.firstExecutionTime,
+                                                       stripe.lastExecutionTime);
+                }
+            }
+            return statistic;
+        }
     }
 }
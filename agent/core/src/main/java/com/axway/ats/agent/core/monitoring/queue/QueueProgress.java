@@ -0,0 +1,238 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.queue;
+
+import java.io.Serializable;
+
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
+
+/**
+ * The progress of a running load queue for a short interval, usually one second.
+ *
+ * <p>The iteration times are in milliseconds and are for the passed iterations only. Their whole histogram
+ * is kept, so the progress of the same queue on many agents can be combined exactly.</p>
+ */
+public class QueueProgress implements Serializable {
+
+    private static final long     serialVersionUID = 1L;
+
+    private String                queueName;
+    private long                  sequence;
+    private long                  timestamp;
+    private long                  intervalLength;
+
+    private long                  passedIterations;
+    private long                  failedIterations;
+    private long                  totalPassedIterations;
+    private long                  totalFailedIterations;
+    private int                   activeThreads;
+
+    private ResponseTimeHistogram iterationTimes   = new ResponseTimeHistogram();
+
+    private boolean               finished;
+
+    public QueueProgress() {}
+
+    public QueueProgress( String queueName ) {
+
+        this.queueName = queueName;
+    }
+
+    /**
+     * @return the times of the passed iterations in this interval
+     */
+    public ResponseTimeHistogram getIterationTimes() {
+
+        return iterationTimes;
+    }
+
+    /**
+     * @param iterationTimes the times of the passed iterations in this interval
+     */
+    public void setIterationTimes( ResponseTimeHistogram iterationTimes ) {
+
+        this.iterationTimes = iterationTimes;
+    }
+
+    public String getQueueName() {
+
+        return queueName;
+    }
+
+    public void setQueueName( String queueName ) {
+
+        this.queueName = queueName;
+    }
+
+    /**
+     * @return the number of this progress, it grows with each next progress of the same queue
+     */
+    public long getSequence() {
+
+        return sequence;
+    }
+
+    public void setSequence( long sequence ) {
+
+        this.sequence = sequence;
+    }
+
+    /**
+     * @return when the interval ended
+     */
+    public long getTimestamp() {
+
+        return timestamp;
+    }
+
+    public void setTimestamp( long timestamp ) {
+
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * @return the interval length in milliseconds
+     */
+    public long getIntervalLength() {
+
+        return intervalLength;
+    }
+
+    public void setIntervalLength( long intervalLength ) {
+
+        this.intervalLength = intervalLength;
+    }
+
+    /**
+     * @return the iterations passed in this interval
+     */
+    public long getPassedIterations() {
+
+        return passedIterations;
+    }
+
+    public void setPassedIterations( long passedIterations ) {
+
+        this.passedIterations = passedIterations;
+    }
+
+    /**
+     * @return the iterations failed in this interval
+     */
+    public long getFailedIterations() {
+
+        return failedIterations;
+    }
+
+    public void setFailedIterations( long failedIterations ) {
+
+        this.failedIterations = failedIterations;
+    }
+
+    /**
+     * @return the iterations passed since the queue start
+     */
+    public long getTotalPassedIterations() {
+
+        return totalPassedIterations;
+    }
+
+    public void setTotalPassedIterations( long totalPassedIterations ) {
+
+        this.totalPassedIterations = totalPassedIterations;
+    }
+
+    /**
+     * @return the iterations failed since the queue start
+     */
+    public long getTotalFailedIterations() {
+
+        return totalFailedIterations;
+    }
+
+    public void setTotalFailedIterations( long totalFailedIterations ) {
+
+        this.totalFailedIterations = totalFailedIterations;
+    }
+
+    /**
+     * @return the number of queue threads which are still running
+     */
+    public int getActiveThreads() {
+
+        return activeThreads;
+    }
+
+    public void setActiveThreads( int activeThreads ) {
+
+        this.activeThreads = activeThreads;
+    }
+
+    public long getMinIterationTime() {
+
+        return iterationTimes.getMin();
+    }
+
+    public double getMeanIterationTime() {
+
+        return iterationTimes.getMean();
+    }
+
+    public long getIterationTime50() {
+
+        return iterationTimes.getValueAtPercentile(50);
+    }
+
+    public long getIterationTime90() {
+
+        return iterationTimes.getValueAtPercentile(90);
+    }
+
+    public long getIterationTime99() {
+
+        return iterationTimes.getValueAtPercentile(99);
+    }
+
+    public long getMaxIterationTime() {
+
+        return iterationTimes.getMax();
+    }
+
+    /**
+     * @return whether the queue has finished, this is its last progress
+     */
+    public boolean isFinished() {
+
+        return finished;
+    }
+
+    public void setFinished( boolean finished ) {
+
+        this.finished = finished;
+    }
+
+    @Override
+    public String toString() {
+
+        return "Queue '" + queueName + "': " + passedIterations + " passed and " + failedIterations
+               + " failed iterations in " + intervalLength + " ms, " + activeThreads
+               + " active threads, iteration times min/mean/p50/p90/p99/max " + getMinIterationTime() + "/"
+               + Math.round(getMeanIterationTime()) + "/" + getIterationTime50() + "/" + getIterationTime90()
+               + "/" + getIterationTime99() + "/" + getMaxIterationTime() + " ms" + (finished
+                                                                                           ? ", finished"
+                                                                                           : "");
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
+
+/**
+ * Singleton keeping the live progress of the load queues running on this agent.
+ *
+ * <p>The queue threads register the result of each iteration. Once per second the collected results
+ * are turned into a {@link QueueProgress} for each running queue, which is then available to any number
+ * of watchers, for example the ones streaming it to a remote test executor.
+ * The finished queues are forgotten one progress interval after their last progress, so the watchers
+ * have the time to get it. The progress timer is stopped while there are no queues.</p>
+ *
+ * <p>Like in {@link QueueExecutionStatistics}, the results are collected in {@link ResultsStripe}s,
+ * so the threads running the queues rarely wait for each other.</p>
+ */
+public class QueueProgressMonitor {
+
+    private static final Logger                       log               = Logger.getLogger(QueueProgressMonitor.class);
+
+    // how often the progress of the running queues is taken
+    static final long                                 PROGRESS_INTERVAL = 1000;
+
+    private static final QueueProgressMonitor         instance;
+
+    private final ConcurrentMap<String, QueueTracker> queues            = new ConcurrentHashMap<String, QueueTracker>();
+
+    private ScheduledExecutorService                  progressTimer;
+
+    // increased each time a new progress is taken, the watchers wait for it to change
+    private long                                      round;
+
+    static {
+        instance = new QueueProgressMonitor();
+    }
+
+    public static QueueProgressMonitor getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Called when a queue is scheduled, before its threads are started.
+     * If there is already a queue with the same name, maybe from another run of the same test,
+     * it is replaced.
+     *
+     * @param queueName the queue name
+     */
+    public void startQueue( String queueName ) {
+
+        queues.put(queueName, new QueueTracker(queueName));
+
+        synchronized (this) {
+            if (progressTimer == null) {
+                progressTimer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+                    @Override
+                    public Thread newThread( Runnable runnable ) {
+
+                        Thread thread = new Thread(runnable, "ATS_QUEUE_PROGRESS");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+                progressTimer.scheduleAtFixedRate(new Runnable() {
+
+                    @Override
+                    public void run() {
+
+                        try {
+                            takeProgress();
+                        } catch (Throwable t) {
+                            log.error("Could not take the progress of the running load queues", t);
+                        }
+                    }
+                }, PROGRESS_INTERVAL, PROGRESS_INTERVAL, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Called when a queue has finished, its last progress is taken right away
+     *
+     * @param queueName the queue name
+     */
+    public void finishQueue( String queueName ) {
+
+        QueueTracker tracker = queues.get(queueName);
+        if (tracker != null) {
+            tracker.takeProgress(true);
+            nextRound();
+        }
+    }
+
+    /**
+     * Called by a queue thread when it starts running
+     *
+     * @param queueName the queue name
+     */
+    public void threadStarted( String queueName ) {
+
+        QueueTracker tracker = queues.get(queueName);
+        if (tracker != null) {
+            tracker.activeThreads.incrementAndGet();
+        }
+    }
+
+    /**
+     * Called by a queue thread when it ends
+     *
+     * @param queueName the queue name
+     */
+    public void threadFinished( String queueName ) {
+
+        QueueTracker tracker = queues.get(queueName);
+        if (tracker != null) {
+            tracker.activeThreads.decrementAndGet();
+        }
+    }
+
+    /**
+     * Called by a queue thread right after finishing an iteration
+     *
+     * @param queueName the queue name
+     * @param passed whether the iteration passed
+     * @param iterationTime the iteration time in milliseconds
+     */
+    public void registerIteration( String queueName, boolean passed, long iterationTime ) {
+
+        QueueTracker tracker = queues.get(queueName);
+        if (tracker != null) {
+            tracker.register(passed, iterationTime);
+        }
+    }
+
+    /**
+     * @param queueName the queue name
+     * @return the last progress of this queue or null if the queue is not known or no progress is taken yet
+     */
+    public QueueProgress getProgress( String queueName ) {
+
+        QueueTracker tracker = queues.get(queueName);
+        if (tracker == null) {
+            return null;
+        }
+        return tracker.lastProgress;
+    }
+
+    /**
+     * @return the last progress of all known queues, including the finished ones
+     */
+    public List<QueueProgress> getProgress() {
+
+        List<QueueProgress> progress = new ArrayList<QueueProgress>();
+        for (QueueTracker tracker : queues.values()) {
+            if (tracker.lastProgress != null) {
+                progress.add(tracker.lastProgress);
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * @param queueName the queue name
+     * @return whether this queue is known and has not finished yet
+     */
+    public boolean isQueueRunning( String queueName ) {
+
+        QueueTracker tracker = queues.get(queueName);
+        return tracker != null && !tracker.finished;
+    }
+
+    /**
+     * @return the names of the queues which have not finished yet
+     */
+    public List<String> getRunningQueues() {
+
+        List<String> runningQueues = new ArrayList<String>();
+        for (QueueTracker tracker : queues.values()) {
+            if (!tracker.finished) {
+                runningQueues.add(tracker.queueName);
+            }
+        }
+        return runningQueues;
+    }
+
+    /**
+     * Wait until a new progress is taken
+     *
+     * @param lastRound the round returned by the previous call, 0 on the first call
+     * @param timeout the maximum time to wait in milliseconds
+     * @return the current round
+     * @throws InterruptedException
+     */
+    public synchronized long waitForProgress( long lastRound, long timeout ) throws InterruptedException {
+
+        long endTime = System.currentTimeMillis() + timeout;
+        while (round == lastRound) {
+            long waitTime = endTime - System.currentTimeMillis();
+            if (waitTime <= 0) {
+                break;
+            }
+            wait(waitTime);
+        }
+        return round;
+    }
+
+    /**
+     * @return whether the progress of the queues is taken periodically now
+     */
+    synchronized boolean isProgressTimerRunning() {
+
+        return progressTimer != null;
+    }
+
+    private void takeProgress() {
+
+        long now = System.currentTimeMillis();
+        for (QueueTracker tracker : queues.values()) {
+            if (!tracker.finished) {
+                tracker.takeProgress(false);
+            } else if (now - tracker.lastProgress.getTimestamp() >= PROGRESS_INTERVAL) {
+                // the watchers have already got its last progress
+                queues.remove(tracker.queueName, tracker);
+            }
+        }
+        nextRound();
+
+        synchronized (this) {
+            // a queue started after this check will start the timer again
+            if (queues.isEmpty() && progressTimer != null) {
+                progressTimer.shutdown();
+                progressTimer = null;
+            }
+        }
+    }
+
+    private synchronized void nextRound() {
+
+        round++;
+        notifyAll();
+    }
+
+    /**
+     * Collects the iteration results of one queue
+     */
+    static class QueueTracker {
+
+        private final String           queueName;
+
+        private final ResultsStripe[]  stripes;
+
+        private final AtomicInteger    activeThreads = new AtomicInteger();
+
+        // the fields below are changed while holding the tracker lock
+        private long                   totalPassedIterations;
+        private long                   totalFailedIterations;
+        private long                   lastProgressTime;
+        private long                   sequence;
+        private volatile boolean       finished;
+
+        private volatile QueueProgress lastProgress;
+
+        QueueTracker( String queueName ) {
+
+            this.queueName = queueName;
+            this.lastProgressTime = System.currentTimeMillis();
+
+            this.stripes = ResultsStripe.createStripes();
+        }
+
+        void register( boolean passed, long iterationTime ) {
+
+            ResultsStripe stripe = ResultsStripe.getStripe(stripes);
+            synchronized (stripe) {
+                if (passed) {
+                    stripe.numberPassed++;
+                    stripe.responseTimes.record(iterationTime);
+                } else {
+                    stripe.numberFailed++;
+                }
+            }
+        }
+
+        /**
+         * Take the results collected since the previous progress and start collecting anew
+         *
+         * @param isFinal whether the queue has finished
+         * @return the new progress or the last one if the queue had already finished
+         */
+        synchronized QueueProgress takeProgress( boolean isFinal ) {
+
+            if (finished) {
+                return lastProgress;
+            }
+
+            long passedIterations = 0;
+            long failedIterations = 0;
+            ResponseTimeHistogram iterationTimes = new ResponseTimeHistogram();
+            for (ResultsStripe stripe : stripes) {
+                synchronized (stripe) {
+                    passedIterations += stripe.numberPassed;
+                    failedIterations += stripe.numberFailed;
+                    iterationTimes.merge(stripe.responseTimes);
+                    stripe.reset();
+                }
+            }
+            totalPassedIterations += passedIterations;
+            totalFailedIterations += failedIterations;
+
+            long now = System.currentTimeMillis();
+
+            QueueProgress progress = new QueueProgress(queueName);
+            progress.setSequence(++sequence);
+            progress.setTimestamp(now);
+            progress.setIntervalLength(now - lastProgressTime);
+            progress.setPassedIterations(passedIterations);
+            progress.setFailedIterations(failedIterations);
+            progress.setTotalPassedIterations(totalPassedIterations);
+            progress.setTotalFailedIterations(totalFailedIterations);
+            progress.setActiveThreads(isFinal
+                                              ? 0
+                                              : Math.max(0, activeThreads.get()));
+            progress.setIterationTimes(iterationTimes);
+            progress.setFinished(isFinal);
+
+            lastProgressTime = now;
+            lastProgress = progress;
+            finished = isFinal;
+
+            return progress;
+        }
+    }
+}
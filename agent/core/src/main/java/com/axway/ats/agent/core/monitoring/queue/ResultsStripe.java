@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.queue;
+
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
+
+/**
+ * A part of the results collected by the threads of the load queues.
+ *
+ * <p>The results are split in a number of stripes, each one used by a part of the threads,
+ * so the threads running the queues rarely wait for each other. A stripe is changed and read
+ * while holding its own lock.</p>
+ */
+class ResultsStripe {
+
+    // the number of stripes - the power of 2 which is at least twice the number of CPUs
+    static final int      NUMBER_STRIPES     = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2
+                                                                     - 1) << 1;
+
+    int                   numberPassed;
+    int                   numberFailed;
+    ResponseTimeHistogram responseTimes      = new ResponseTimeHistogram();
+    long                  firstExecutionTime = Long.MAX_VALUE;
+    long                  lastExecutionTime  = Long.MIN_VALUE;
+
+    // keep the stripes of different threads in different cache lines
+    @SuppressWarnings( "unused")
+    private long          p1, p2, p3, p4, p5, p6, p7;
+
+    /**
+     * @return a new set of stripes
+     */
+    static ResultsStripe[] createStripes() {
+
+        ResultsStripe[] stripes = new ResultsStripe[NUMBER_STRIPES];
+        for (int i = 0; i < NUMBER_STRIPES; i++) {
+            stripes[i] = new ResultsStripe();
+        }
+        return stripes;
+    }
+
+    /**
+     * @param stripes the stripes returned by {@link #createStripes()}
+     * @return the stripe of the current thread, each thread always uses the same stripe
+     */
+    static ResultsStripe getStripe( ResultsStripe[] stripes ) {
+
+        return stripes[(int) Thread.currentThread().getId() & (NUMBER_STRIPES - 1)];
+    }
+
+    /**
+     * Start collecting anew
+     */
+    void reset() {
+
+        numberPassed = 0;
+        numberFailed = 0;
+        responseTimes.reset();
+        firstExecutionTime = Long.MAX_VALUE;
+        lastExecutionTime = Long.MIN_VALUE;
+    }
+}
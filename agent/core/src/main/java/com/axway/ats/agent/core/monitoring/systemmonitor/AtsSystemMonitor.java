@@ -164,7 +164,7 @@ private List<ReadingBean> pollReadingInstances(
             float value = readingInstance.poll();
 
             ReadingBean newResult = readingInstance.getNewCopy();
-            newResult.setValue(String.valueOf(value));
+            newResult.setNumericValue(value);
             redingsResult.add(newResult);
         }
 
@@ -181,7 +181,7 @@ private List<ReadingBean> pollParentProcessInstances(
             float value = readingInstance.poll();
 
             ReadingBean newResult = readingInstance.getNewCopy();
-            newResult.setValue(String.valueOf(value));
+            newResult.setNumericValue(value);
             redingsResult.add(newResult);
         }
 
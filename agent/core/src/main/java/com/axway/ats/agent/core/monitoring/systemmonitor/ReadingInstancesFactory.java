@@ -52,6 +52,16 @@ public class ReadingInstancesFactory {
 
     // Map<USER REGEX, Map<Process ID, MatchedProcess>>
     private static Map<String, Map<Long, MatchedProcess>> matchedProcessesMap;
+    // Map<Process ID, KnownProcess> of all processes found alive, not only the matched ones.
+    // Only the new processes are checked against the process patterns, so the expensive reading
+    // of the process start command is not repeated on each poll for each process on the system
+    private static Map<Long, KnownProcess>                knownProcessesMap;
+    // the number of times the processes list is checked, used to find the processes which are not alive anymore
+    private static long                                   processesListChecks;
+    // Map<USER REGEX, compiled pattern>
+    private static Map<String, Pattern>                   processPatterns;
+    // how long it took to update the matched processes on the last poll
+    private static long                                   lastProcessMatchingTimeNanos;
     // list of matched process IDs
     private static Set<Long>                              matchedProcessesIds;
     private static Set<String>                            processesReadingInstanceIdentifiers;
@@ -79,6 +89,10 @@ public static void init(
 
         // clean up the processes map
         matchedProcessesMap = new HashMap<String, Map<Long, MatchedProcess>>();
+        knownProcessesMap = new HashMap<Long, KnownProcess>();
+        processesListChecks = 0;
+        processPatterns = new HashMap<String, Pattern>();
+        lastProcessMatchingTimeNanos = 0;
         matchedProcessesIds = new HashSet<Long>();
         matchedProcessesIndexes = new HashMap<String, Integer>();
         processesReadingInstanceIdentifiers = new HashSet<String>();
@@ -212,6 +226,10 @@ else if (readingName.equalsIgnoreCase(SystemMonitorDefinitions.READING_TCP__CLOS
                 readingInstance = getTcpTotalOutbound(systemInfo, reading);
             }
 
+            else if (readingName.equalsIgnoreCase(SystemMonitorDefinitions.READING_PROCESS_MATCHING__TIME)) {
+                readingInstance = getProcessMatchingTime(systemInfo, reading);
+            }
+
             else {
                 throw new UnsupportedReadingException(readingName);
             }
@@ -1317,6 +1335,27 @@ public float poll() {
         };
     }
 
+    private static ReadingInstance getProcessMatchingTime(
+                                                           ISystemInformation systemInfo,
+                                                           ReadingBean reading ) throws SystemInformationException {
+
+        return new ReadingInstance(systemInfo,
+                                   String.valueOf(reading.getDbId()),
+                                   reading.getMonitorName(),
+                                   reading.getName(),
+                                   reading.getUnit(),
+                                   1.0F) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public float poll() {
+
+                // the matching is done just before the polling of the readings
+                return toFloatWith2DecimalDigits(lastProcessMatchingTimeNanos / 1000000.0);
+            }
+        };
+    }
+
     private static List<ReadingInstance> getProcessCpuUsageRunningUser(
                                                                         ISystemInformation systemInfo,
                                                                         ReadingBean reading,
@@ -1836,15 +1875,17 @@ private static List<ReadingInstance> updateProcessesMatchingMap(
                                                                      List<ReadingBean> initialProcessReadings,
                                                                      List<ReadingInstance> currentReadingInstances ) throws SystemInformationException {
 
+        long startTime = System.nanoTime();
+
         // remember to user process regex and alias
-        Map<String, Pattern> processPatterns = new HashMap<String, Pattern>();
         Map<String, String> processAliases = new HashMap<String, String>();
         Map<String, String> processUsernames = new HashMap<String, String>();
         for (ReadingBean processReading : initialProcessReadings) {
 
             String userRegex = processReading.getParameter(SystemMonitorDefinitions.PARAMETER_NAME__PROCESS_RECOGNITION_PATTERN);
-            Pattern compiledPattern = Pattern.compile(userRegex);
-            processPatterns.put(userRegex, compiledPattern);
+            if (!processPatterns.containsKey(userRegex)) {
+                processPatterns.put(userRegex, Pattern.compile(userRegex));
+            }
 
             String userProcessAlias = processReading.getParameter(SystemMonitorDefinitions.PARAMETER_NAME__PROCESS_ALIAS);
             processAliases.put(userRegex, userProcessAlias);
@@ -1853,70 +1894,91 @@ private static List<ReadingInstance> updateProcessesMatchingMap(
             processUsernames.put(userRegex, processUsername);
         }
 
-        // at the end only processes that are not alive will be in this list
-        Set<Long> finishedProcessesIds = new HashSet<Long>(matchedProcessesIds);
+        processesListChecks++;
+        int checkedProcesses = 0;
 
         // iterate all system processes and remember the ones we want to monitor
         for (long pid : systemInfo.getProcList()) {
+            KnownProcess knownProcess = knownProcessesMap.get(pid);
+            if (knownProcess == null) {
+                knownProcess = new KnownProcess();
+                knownProcessesMap.put(pid, knownProcess);
+            }
+            knownProcess.lastSeenCheck = processesListChecks;
+
             // check if we know this process from a previous poll, we do not want to add it again
-            if (!matchedProcessesIds.contains(pid)) {
+            if (knownProcess.isMatched || knownProcess.patternChecks >= KnownProcess.MAX_PATTERN_CHECKS) {
+                continue;
+            }
+            knownProcess.patternChecks++;
+            checkedProcesses++;
 
-                // we try to match a process by its start command
-                String processStartCommand = constructProcessStartCommand(systemInfo, pid);
-                if (processStartCommand != null && !processStartCommand.isEmpty()) {
+            // we try to match a process by its start command
+            String processStartCommand = constructProcessStartCommand(systemInfo, pid);
+            if (processStartCommand != null && !processStartCommand.isEmpty()) {
 
-                    String processUsername = null;
+                String processUsername = null;
 
-                    // check this process against all patterns
-                    for (String userRegex : processPatterns.keySet()) {
+                // check this process against all patterns
+                for (String userRegex : processAliases.keySet()) {
 
-                        // by default we search processes from all users
-                        boolean isExpectedProcessUsername = true;
+                    // by default we search processes from all users
+                    boolean isExpectedProcessUsername = true;
 
-                        // check if it matters who started this process
-                        String requestedProcessUsername = processUsernames.get(userRegex);
-                        if (!StringUtils.isNullOrEmpty(requestedProcessUsername)) {
-                            // we search processes from a specific user only
+                    // check if it matters who started this process
+                    String requestedProcessUsername = processUsernames.get(userRegex);
+                    if (!StringUtils.isNullOrEmpty(requestedProcessUsername)) {
+                        // we search processes from a specific user only
 
-                            if (processUsername == null) {
-                                // we still do not know the user of this process
-                                try {
-                                    processUsername = systemInfo.getProcessInformation(pid).getUser();
-                                } catch (Exception e) { // SystemInformationException was here before
-                                    // a specific username is required, but we can not get the info about this process
-                                    isExpectedProcessUsername = false;
-                                }
+                        if (processUsername == null) {
+                            // we still do not know the user of this process
+                            try {
+                                processUsername = systemInfo.getProcessInformation(pid).getUser();
+                            } catch (Exception e) { // SystemInformationException was here before
+                                // a specific username is required, but we can not get the info about this process
+                                isExpectedProcessUsername = false;
                             }
-
-                            isExpectedProcessUsername = requestedProcessUsername.equalsIgnoreCase(processUsername);
                         }
 
-                        if (isExpectedProcessUsername) {
-                            Pattern processPattern = processPatterns.get(userRegex);
-                            if (processPattern.matcher(processStartCommand.trim()).matches()) {
-                                Map<Long, MatchedProcess> processesMatchedThisRegex = matchedProcessesMap.get(userRegex);
-                                if (processesMatchedThisRegex == null) {
-                                    processesMatchedThisRegex = new HashMap<Long, MatchedProcess>();
-                                }
-
-                                int processIndexForThisPattern = getNextIndexForThisProcessPattern(userRegex);
-                                MatchedProcess matchedProcess = new MatchedProcess(pid,
-                                                                                   userRegex,
-                                                                                   processAliases.get(userRegex),
-                                                                                   processIndexForThisPattern,
-                                                                                   processStartCommand);
-                                processesMatchedThisRegex.put(pid, matchedProcess);
-                                matchedProcessesMap.put(userRegex, processesMatchedThisRegex);
-                                matchedProcessesIds.add(pid);
-
-                                log.info("We will monitor process: " + matchedProcess.toString());
+                        isExpectedProcessUsername = requestedProcessUsername.equalsIgnoreCase(processUsername);
+                    }
+
+                    if (isExpectedProcessUsername) {
+                        Pattern processPattern = processPatterns.get(userRegex);
+                        if (processPattern.matcher(processStartCommand.trim()).matches()) {
+                            Map<Long, MatchedProcess> processesMatchedThisRegex = matchedProcessesMap.get(userRegex);
+                            if (processesMatchedThisRegex == null) {
+                                processesMatchedThisRegex = new HashMap<Long, MatchedProcess>();
                             }
+
+                            int processIndexForThisPattern = getNextIndexForThisProcessPattern(userRegex);
+                            MatchedProcess matchedProcess = new MatchedProcess(pid,
+                                                                               userRegex,
+                                                                               processAliases.get(userRegex),
+                                                                               processIndexForThisPattern,
+                                                                               processStartCommand);
+                            processesMatchedThisRegex.put(pid, matchedProcess);
+                            matchedProcessesMap.put(userRegex, processesMatchedThisRegex);
+                            matchedProcessesIds.add(pid);
+                            knownProcess.isMatched = true;
+
+                            log.info("We will monitor process: " + matchedProcess.toString());
                         }
                     }
                 }
-            } else {
-                // the process is still alive
-                finishedProcessesIds.remove(pid);
+            }
+        }
+
+        // the processes not found this time are not alive anymore
+        Set<Long> finishedProcessesIds = new HashSet<Long>();
+        Iterator<Map.Entry<Long, KnownProcess>> knownProcessesIterator = knownProcessesMap.entrySet().iterator();
+        while (knownProcessesIterator.hasNext()) {
+            Map.Entry<Long, KnownProcess> knownProcess = knownProcessesIterator.next();
+            if (knownProcess.getValue().lastSeenCheck != processesListChecks) {
+                knownProcessesIterator.remove();
+                if (knownProcess.getValue().isMatched) {
+                    finishedProcessesIds.add(knownProcess.getKey());
+                }
             }
         }
 
@@ -1943,18 +2005,18 @@ private static List<ReadingInstance> updateProcessesMatchingMap(
         // return the updated list of reading instances we poll
         List<ReadingInstance> newReadingInstances = new ArrayList<ReadingInstance>();
         for (ReadingInstance currentReadingInstance : currentReadingInstances) {
-            boolean stillActiveInstance = true;
-            for (Long finishedProcessId : finishedProcessesIds) {
-                if (finishedProcessId == currentReadingInstance.getPid()) {
-                    stillActiveInstance = false;
-                    break;
-                }
-            }
-
-            if (stillActiveInstance) {
+            if (!finishedProcessesIds.contains(currentReadingInstance.getPid())) {
                 newReadingInstances.add(currentReadingInstance);
             }
         }
+
+        lastProcessMatchingTimeNanos = System.nanoTime() - startTime;
+        if (log.isDebugEnabled()) {
+            log.debug("Checked " + checkedProcesses + " new processes out of " + knownProcessesMap.size()
+                      + " running ones against the monitored process patterns for "
+                      + (lastProcessMatchingTimeNanos / 1000000) + " ms");
+        }
+
         return newReadingInstances;
     }
 
@@ -2011,6 +2073,25 @@ private static String constructProcessStartCommand(
     }
 }
 
+/**
+ * A process found alive on the last check of the processes list
+ */
+class KnownProcess {
+
+    /**
+     * How many times a process is checked against the process patterns. It is checked when first seen and
+     * once more on the next poll, in case it was first seen between its fork and exec, when it still had
+     * the start command of its parent
+     */
+    static final int MAX_PATTERN_CHECKS = 2;
+
+    long             lastSeenCheck;
+
+    int              patternChecks;
+
+    boolean          isMatched;
+}
+
 class MatchedProcess {
 
     private Long   pid;
@@ -23,6 +23,7 @@
 
 import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.ISystemInformation;
 import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.exceptions.SystemInformationException;
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.linux.LinuxSystemInformation;
 import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.oshi.OshiSystemInformation;
 import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.sigar.SigarSystemInformation;
 import com.axway.ats.common.systemproperties.AtsSystemProperties;
@@ -38,6 +39,7 @@ public class SystemInformationFactory {
         MONITORING_PROVIDERS_MAP = new HashMap<String, String>();
         MONITORING_PROVIDERS_MAP.put("oshi", OshiSystemInformation.class.getName());
         MONITORING_PROVIDERS_MAP.put("sigar", SigarSystemInformation.class.getName());
+        MONITORING_PROVIDERS_MAP.put("linux", LinuxSystemInformation.class.getName());
     }
 
     private static final Logger LOG = Logger.getLogger(SystemInformationFactory.class);
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.linux;
+
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.IDiskUsage;
+
+/**
+ * The read and written bytes of a block device, as found in /proc/diskstats on the last poll.<br>
+ * One instance is kept per device and it is updated on each poll.
+ */
+public class LinuxDiskUsage implements IDiskUsage {
+
+    /**
+     * The sectors in /proc/diskstats are always 512 bytes, no matter of the real sector size of the device
+     */
+    private static final int SECTOR_SIZE = 512;
+
+    private final String     devName;
+
+    /**
+     * The device name as used by the kernel, for example 'sda1' or 'dm-0'
+     */
+    final byte[]             kernelName;
+
+    boolean                  found;
+
+    private long             readSectors;
+    private long             writtenSectors;
+
+    LinuxDiskUsage( String devName, String kernelName ) {
+
+        this.devName = devName;
+        this.kernelName = ProcFile.toBytes(kernelName);
+    }
+
+    void update( long readSectors, long writtenSectors ) {
+
+        this.readSectors = readSectors;
+        this.writtenSectors = writtenSectors;
+    }
+
+    @Override
+    public String getDevName() {
+
+        return this.devName;
+    }
+
+    @Override
+    public long getReadBytes() {
+
+        return this.readSectors * SECTOR_SIZE;
+    }
+
+    @Override
+    public long getWriteBytes() {
+
+        return this.writtenSectors * SECTOR_SIZE;
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.linux;
+
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.IFileSystem;
+
+public class LinuxFileSystem implements IFileSystem {
+
+    private Type   type;
+
+    private String devName;
+
+    private String mountPoint;
+
+    public LinuxFileSystem( Type type, String devName, String mountPoint ) {
+
+        this.type = type;
+        this.devName = devName;
+        this.mountPoint = mountPoint;
+    }
+
+    @Override
+    public Type getType() {
+
+        return this.type;
+    }
+
+    @Override
+    public String getDevName() {
+
+        return this.devName;
+    }
+
+    public String getMountPoint() {
+
+        return this.mountPoint;
+    }
+
+}
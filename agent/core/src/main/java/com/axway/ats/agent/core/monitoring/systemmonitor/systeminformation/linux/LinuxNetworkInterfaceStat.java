@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.linux;
+
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.INetworkInterfaceStat;
+
+/**
+ * The transferred bytes of a network interface, as found in /proc/net/dev on the last poll.<br>
+ * One instance is kept per interface and it is updated on each poll.
+ */
+public class LinuxNetworkInterfaceStat implements INetworkInterfaceStat {
+
+    private final String interfaceName;
+
+    /**
+     * The interface name followed by ':', as it starts the interface line
+     */
+    final byte[]         linePrefix;
+
+    boolean              found;
+
+    private long         txBytes;
+    private long         rxBytes;
+
+    LinuxNetworkInterfaceStat( String interfaceName ) {
+
+        this.interfaceName = interfaceName;
+        this.linePrefix = ProcFile.toBytes(interfaceName + ":");
+    }
+
+    void update( long rxBytes, long txBytes ) {
+
+        this.rxBytes = rxBytes;
+        this.txBytes = txBytes;
+    }
+
+    @Override
+    public String getInterfaceName() {
+
+        return this.interfaceName;
+    }
+
+    @Override
+    public long getTxBytes() {
+
+        return this.txBytes;
+    }
+
+    @Override
+    public long getRxBytes() {
+
+        return this.rxBytes;
+    }
+
+}
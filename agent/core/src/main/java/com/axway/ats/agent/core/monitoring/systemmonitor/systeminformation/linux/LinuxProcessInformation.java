@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.linux;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.IProcessInformation;
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.exceptions.SystemInformationException;
+
+/**
+ * Information about a process, read from its /proc/[pid]/stat and /proc/[pid]/statm files.<br>
+ * The files are read at most once per poll of the system information, no matter how many values are requested.
+ */
+public class LinuxProcessInformation implements IProcessInformation {
+
+    private final LinuxSystemInformation systemInfo;
+
+    private final long                   pid;
+
+    private final ProcFile               statFile;
+    private final ProcFile               statmFile;
+
+    private long                         statPollCount  = -1;
+    private long                         statmPollCount = -1;
+
+    /*
+     * The process start time is used to find out that the PID is reused by a new process
+     */
+    private long                         startTime      = -1;
+
+    private long                         userTicks;
+    private long                         kernelTicks;
+    private long                         minorFaults;
+    private long                         majorFaults;
+    private long                         virtualMemory;
+    private long                         residentPages;
+    private long                         sharedPages;
+
+    /**
+     * @param systemInfo the system information this process belongs to
+     * @param pid the process ID
+     * @param polled whether the process is polled, in which case its files are kept open until {@link #close()}
+     */
+    LinuxProcessInformation( LinuxSystemInformation systemInfo, long pid, boolean polled ) {
+
+        this.systemInfo = systemInfo;
+        this.pid = pid;
+        this.statFile = new ProcFile(systemInfo.getProcessDirectory(pid) + "/stat", polled);
+        this.statmFile = new ProcFile(systemInfo.getProcessDirectory(pid) + "/statm", polled);
+    }
+
+    @Override
+    public long getPid() {
+
+        return this.pid;
+    }
+
+    @Override
+    public long getCpuUser() {
+
+        updateStat();
+        return systemInfo.ticksToMillis(this.userTicks);
+    }
+
+    @Override
+    public long getCpuKernel() {
+
+        updateStat();
+        return systemInfo.ticksToMillis(this.kernelTicks);
+    }
+
+    @Override
+    public long getCpuTotal() {
+
+        updateStat();
+        return systemInfo.ticksToMillis(this.userTicks + this.kernelTicks);
+    }
+
+    @Override
+    public long getVirtualMemory() {
+
+        updateStat();
+        return this.virtualMemory;
+    }
+
+    @Override
+    public long getResidentMemory() {
+
+        updateStat();
+        return this.residentPages * systemInfo.getPageSize();
+    }
+
+    @Override
+    public long getSharedMemory() {
+
+        updateStatm();
+        return this.sharedPages * systemInfo.getPageSize();
+    }
+
+    @Override
+    public String[] getArguments() {
+
+        ProcFile cmdlineFile = new ProcFile(systemInfo.getProcessDirectory(pid) + "/cmdline", false);
+        try {
+            cmdlineFile.read();
+        } catch (IOException e) {
+            throw new SystemInformationException("Unable to read the arguments of process " + pid, e);
+        }
+
+        // the arguments are separated and terminated by '\0'. Kernel threads have no arguments at all
+        List<String> arguments = new ArrayList<String>();
+        int argumentStart = 0;
+        for (int i = 0; i < cmdlineFile.length; i++) {
+            if (cmdlineFile.buffer[i] == 0) {
+                arguments.add(cmdlineFile.getString(argumentStart, i));
+                argumentStart = i + 1;
+            }
+        }
+        if (argumentStart < cmdlineFile.length) {
+            arguments.add(cmdlineFile.getString(argumentStart, cmdlineFile.length));
+        }
+        return arguments.toArray(new String[arguments.size()]);
+    }
+
+    @Override
+    public long getMemoryPageFaults() {
+
+        updateStat();
+        return this.minorFaults + this.majorFaults;
+    }
+
+    @Override
+    public String getUser() {
+
+        try {
+            return Files.getOwner(Paths.get(systemInfo.getProcessDirectory(pid))).getName();
+        } catch (IOException e) {
+            throw new SystemInformationException("Unable to get the user of process " + pid, e);
+        }
+    }
+
+    void close() {
+
+        statFile.close();
+        statmFile.close();
+    }
+
+    private void updateStat() {
+
+        long pollCount = systemInfo.getPollCount();
+        if (this.statPollCount == pollCount) {
+            return;
+        }
+
+        try {
+            statFile.read();
+        } catch (IOException e) {
+            throw new SystemInformationException("Unable to read " + statFile.getPath(), e);
+        }
+
+        // the executable name is in brackets and can contain anything, so start after its closing bracket
+        int pos = statFile.length - 1;
+        while (pos > 0 && statFile.buffer[pos] != ')') {
+            pos--;
+        }
+        if (pos <= 0) {
+            throw new SystemInformationException("Unexpected content of " + statFile.getPath());
+        }
+
+        // the fields after the executable name start with the state, which is the 3rd field
+        int field = 2;
+        pos = statFile.skipSpaces(pos + 1);
+        while (field < 24 && pos < statFile.length && statFile.buffer[pos] != '\n') {
+            field++;
+            switch (field) {
+                case 10:
+                    minorFaults = statFile.parseLong(pos);
+                    break;
+                case 12:
+                    majorFaults = statFile.parseLong(pos);
+                    break;
+                case 14:
+                    userTicks = statFile.parseLong(pos);
+                    break;
+                case 15:
+                    kernelTicks = statFile.parseLong(pos);
+                    break;
+                case 22:
+                    long processStartTime = statFile.parseLong(pos);
+                    if (startTime == -1) {
+                        startTime = processStartTime;
+                    } else if (startTime != processStartTime) {
+                        throw new SystemInformationException("Process " + pid
+                                                             + " has exited and its PID is now used by another process");
+                    }
+                    break;
+                case 23:
+                    virtualMemory = statFile.parseLong(pos);
+                    break;
+                case 24:
+                    residentPages = statFile.parseLong(pos);
+                    break;
+                default:
+                    break;
+            }
+            pos = statFile.nextToken(pos);
+        }
+        if (field < 24) {
+            throw new SystemInformationException("Unexpected content of " + statFile.getPath());
+        }
+
+        this.statPollCount = pollCount;
+    }
+
+    private void updateStatm() {
+
+        // check that it is still the same process
+        updateStat();
+
+        long pollCount = systemInfo.getPollCount();
+        if (this.statmPollCount == pollCount) {
+            return;
+        }
+
+        try {
+            statmFile.read();
+        } catch (IOException e) {
+            throw new SystemInformationException("Unable to read " + statmFile.getPath(), e);
+        }
+        // size resident shared text lib data dt
+        int pos = statmFile.token(0, 2);
+        if (pos == -1) {
+            throw new SystemInformationException("Unexpected content of " + statmFile.getPath());
+        }
+        sharedPages = statmFile.parseLong(pos);
+
+        this.statmPollCount = pollCount;
+    }
+}
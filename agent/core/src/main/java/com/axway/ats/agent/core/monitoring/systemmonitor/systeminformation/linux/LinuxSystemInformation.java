@@ -0,0 +1,1244 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.linux;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.IDiskUsage;
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.IFileSystem;
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.INetworkInterfaceStat;
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.IProcessInformation;
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.ISystemInformation;
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.exceptions.SystemInformationException;
+import com.axway.ats.common.system.OperatingSystemType;
+import com.axway.ats.core.monitoring.MonitorConfigurationException;
+import com.axway.ats.core.utils.IoUtils;
+
+/**
+ * Monitoring provider for Linux, which reads the system information directly from the /proc file system.<br>
+ * It needs no native libraries and is cheap to poll, which makes it suitable for short polling intervals on busy hosts:
+ * <ul>
+ *  <li>the system-wide files and the files of the polled processes are kept open and are read into buffers
+ *  which are reused on each poll</li>
+ *  <li>the values are parsed in place, without creating strings</li>
+ *  <li>each file is read at most once per poll and only if some of its values are requested</li>
+ *  <li>the disk, network interface and process objects are created once and are updated on each poll</li>
+ * </ul>
+ * <strong>Note</strong> that this class is not thread safe, it is polled by the system monitor thread only.
+ */
+public class LinuxSystemInformation implements ISystemInformation {
+
+    private static final Logger                          log                   = Logger.getLogger(LinuxSystemInformation.class);
+
+    private static final int                             DEFAULT_CLOCK_TICKS   = 100;
+    private static final int                             DEFAULT_PAGE_SIZE     = 4096;
+
+    // the columns of the 'cpu' line in /proc/stat
+    private static final int                             CPU_USER              = 0;
+    private static final int                             CPU_SYSTEM            = 2;
+    private static final int                             CPU_IOWAIT            = 4;
+    // user nice system idle iowait irq softirq steal
+    private static final int                             CPU_COLUMNS           = 8;
+
+    // the TCP states in /proc/net/tcp, see include/net/tcp_states.h
+    private static final int                             TCP_ESTABLISHED       = 0x01;
+    private static final int                             TCP_SYN_SENT          = 0x02;
+    private static final int                             TCP_SYN_RECV          = 0x03;
+    private static final int                             TCP_FIN_WAIT1         = 0x04;
+    private static final int                             TCP_FIN_WAIT2         = 0x05;
+    private static final int                             TCP_TIME_WAIT         = 0x06;
+    private static final int                             TCP_CLOSE             = 0x07;
+    private static final int                             TCP_CLOSE_WAIT        = 0x08;
+    private static final int                             TCP_LAST_ACK          = 0x09;
+    private static final int                             TCP_LISTEN            = 0x0A;
+    private static final int                             TCP_CLOSING           = 0x0B;
+
+    // the TCP counters from /proc/net/snmp, in the order they are kept in tcpCounters
+    private static final String[]                        TCP_COUNTER_NAMES     = new String[]{ "ActiveOpens", "PassiveOpens",
+                                                                                               "AttemptFails", "EstabResets",
+                                                                                               "CurrEstab", "InSegs", "OutSegs",
+                                                                                               "RetransSegs", "InErrs", "OutRsts" };
+    private static final int                             TCP_ACTIVE_OPENS      = 0;
+    private static final int                             TCP_PASSIVE_OPENS     = 1;
+    private static final int                             TCP_ATTEMPT_FAILS     = 2;
+    private static final int                             TCP_ESTAB_RESETS      = 3;
+    private static final int                             TCP_CURR_ESTAB        = 4;
+    private static final int                             TCP_IN_SEGS           = 5;
+    private static final int                             TCP_OUT_SEGS          = 6;
+    private static final int                             TCP_RETRANS_SEGS      = 7;
+    private static final int                             TCP_IN_ERRS           = 8;
+    private static final int                             TCP_OUT_RSTS          = 9;
+
+    private static final byte[]                          CPU_LINE              = ProcFile.toBytes("cpu ");
+    private static final byte[]                          CPU_CORE_LINE         = ProcFile.toBytes("cpu");
+    private static final byte[]                          MEM_TOTAL_LINE        = ProcFile.toBytes("MemTotal:");
+    private static final byte[]                          MEM_FREE_LINE         = ProcFile.toBytes("MemFree:");
+    private static final byte[]                          MEM_AVAILABLE_LINE    = ProcFile.toBytes("MemAvailable:");
+    private static final byte[]                          BUFFERS_LINE          = ProcFile.toBytes("Buffers:");
+    private static final byte[]                          CACHED_LINE           = ProcFile.toBytes("Cached:");
+    private static final byte[]                          SWAP_TOTAL_LINE       = ProcFile.toBytes("SwapTotal:");
+    private static final byte[]                          SWAP_FREE_LINE        = ProcFile.toBytes("SwapFree:");
+    private static final byte[]                          SWAP_IN_LINE          = ProcFile.toBytes("pswpin ");
+    private static final byte[]                          SWAP_OUT_LINE         = ProcFile.toBytes("pswpout ");
+    private static final byte[]                          TCP_LINE              = ProcFile.toBytes("Tcp:");
+
+    private static final Set<String>                     NETWORK_FILE_SYSTEMS  = new HashSet<String>(Arrays.asList("nfs", "nfs4", "cifs", "smbfs",
+                                                                                                                   "smb3", "ncpfs", "afs", "9p", "ceph",
+                                                                                                                   "glusterfs", "lustre", "fuse.sshfs"));
+    private static final Set<String>                     RAM_FILE_SYSTEMS      = new HashSet<String>(Arrays.asList("tmpfs", "ramfs"));
+    private static final Set<String>                     CDROM_FILE_SYSTEMS    = new HashSet<String>(Arrays.asList("iso9660", "udf"));
+
+    /*
+     * The root of the /proc file system, it is changed by the tests only
+     */
+    private final String                                 procRoot;
+
+    private final ProcFile                               statFile;
+    private final ProcFile                               meminfoFile;
+    private final ProcFile                               vmstatFile;
+    private final ProcFile                               loadavgFile;
+    private final ProcFile                               snmpFile;
+    private final ProcFile                               tcpFile;
+    private final ProcFile                               tcp6File;
+    private final ProcFile                               netDevFile;
+    private final ProcFile                               diskstatsFile;
+
+    private final int                                    cpuCount;
+    private final int                                    clockTicks;
+    private final int                                    pageSize;
+
+    /*
+     * Incremented on each refresh. Each file remembers the poll it was last read on,
+     * so it is read again only when some of its values are requested on a later poll
+     */
+    private long                                         pollCount             = 0;
+
+    private long                                         memoryPollCount       = -1;
+    private long                                         vmstatPollCount       = -1;
+    private long                                         loadAvrgPollCount     = -1;
+    private long                                         tcpCountersPollCount  = -1;
+    private long                                         tcpStatesPollCount    = -1;
+    private long                                         netDevPollCount       = -1;
+    private long                                         diskstatsPollCount    = -1;
+
+    private long[]                                       previousCpuTicks      = new long[CPU_COLUMNS];
+    private long[]                                       currentCpuTicks       = new long[CPU_COLUMNS];
+
+    private double                                       cpuPercUser;
+    private double                                       cpuPercSys;
+    private double                                       cpuPercWait;
+
+    private long                                         memoryTotal;
+    private long                                         memoryFree;
+    private long                                         memoryActualFree;
+    private long                                         swapTotal;
+    private long                                         swapFree;
+    private long                                         swapPageIn;
+    private long                                         swapPageOut;
+
+    private final double[]                               loadAvrg              = new double[3];
+
+    /*
+     * The columns of the TCP counters in /proc/net/snmp, they are found on the first read
+     */
+    private int[]                                        tcpCounterColumns;
+    private final long[]                                 tcpCounters           = new long[TCP_COUNTER_NAMES.length];
+
+    private final long[]                                 tcpStates             = new long[TCP_CLOSING + 1];
+    private long                                         tcpInboundTotal;
+    private long                                         tcpOutboundTotal;
+    private final boolean[]                              listeningPorts        = new boolean[65536];
+
+    private final Map<String, LinuxNetworkInterfaceStat> networkInterfaces     = new HashMap<String, LinuxNetworkInterfaceStat>();
+    private final List<LinuxNetworkInterfaceStat>        networkInterfacesList = new ArrayList<LinuxNetworkInterfaceStat>();
+
+    private final Map<String, LinuxDiskUsage>            disks                 = new HashMap<String, LinuxDiskUsage>();
+    private final List<LinuxDiskUsage>                   disksList             = new ArrayList<LinuxDiskUsage>();
+
+    /*
+     * The processes whose CPU or memory usage is polled
+     */
+    private final Map<Long, LinuxProcessInformation>     monitoredProcesses    = new HashMap<Long, LinuxProcessInformation>();
+
+    /*
+     *  This set holds the faulty processes, so we do not poll them anymore
+     */
+    private final Set<Long>                              faultyProcesses       = new HashSet<Long>();
+
+    public LinuxSystemInformation() {
+
+        this(getProcRoot());
+    }
+
+    /**
+     * @param procRoot the root of the /proc file system
+     */
+    LinuxSystemInformation( String procRoot ) {
+
+        this.procRoot = procRoot;
+        this.statFile = new ProcFile(procRoot + "/stat", true);
+        this.meminfoFile = new ProcFile(procRoot + "/meminfo", true);
+        this.vmstatFile = new ProcFile(procRoot + "/vmstat", true);
+        this.loadavgFile = new ProcFile(procRoot + "/loadavg", true);
+        this.snmpFile = new ProcFile(procRoot + "/net/snmp", true);
+        this.tcpFile = new ProcFile(procRoot + "/net/tcp", true);
+        this.tcp6File = new ProcFile(procRoot + "/net/tcp6", true);
+        this.netDevFile = new ProcFile(procRoot + "/net/dev", true);
+        this.diskstatsFile = new ProcFile(procRoot + "/diskstats", true);
+
+        try {
+            statFile.read();
+        } catch (IOException e) {
+            throw new MonitorConfigurationException("Unable to read " + statFile.getPath()
+                                                    + ". Is the /proc file system mounted?", e);
+        }
+
+        int cpuLines = 0;
+        int lineStart = statFile.indexOfLine(CPU_CORE_LINE);
+        while (lineStart != -1) {
+            if (!statFile.startsWith(lineStart, CPU_LINE)) {
+                cpuLines++;
+            }
+            lineStart = statFile.indexOfLine(CPU_CORE_LINE, statFile.nextLine(lineStart));
+        }
+        this.cpuCount = cpuLines > 0
+                                     ? cpuLines
+                                     : Runtime.getRuntime().availableProcessors();
+        this.clockTicks = getSystemConfiguration("CLK_TCK", DEFAULT_CLOCK_TICKS);
+        this.pageSize = getSystemConfiguration("PAGESIZE", DEFAULT_PAGE_SIZE);
+
+        // the first CPU usage will be since this moment
+        parseCpuTicks();
+    }
+
+    @Override
+    public void refresh() {
+
+        pollCount++;
+
+        try {
+            statFile.read();
+        } catch (IOException e) {
+            throw new SystemInformationException("Unable to read " + statFile.getPath(), e);
+        }
+
+        long[] swap = previousCpuTicks;
+        previousCpuTicks = currentCpuTicks;
+        currentCpuTicks = swap;
+        parseCpuTicks();
+
+        long total = 0;
+        for (int i = 0; i < CPU_COLUMNS; i++) {
+            total += currentCpuTicks[i] - previousCpuTicks[i];
+        }
+        if (total > 0) {
+            cpuPercUser = (currentCpuTicks[CPU_USER] - previousCpuTicks[CPU_USER]) / (double) total;
+            cpuPercSys = (currentCpuTicks[CPU_SYSTEM] - previousCpuTicks[CPU_SYSTEM]) / (double) total;
+            cpuPercWait = (currentCpuTicks[CPU_IOWAIT] - previousCpuTicks[CPU_IOWAIT]) / (double) total;
+        } else {
+            cpuPercUser = 0;
+            cpuPercSys = 0;
+            cpuPercWait = 0;
+        }
+    }
+
+    @Override
+    public void destroy() {
+
+        for (ProcFile file : new ProcFile[]{ statFile, meminfoFile, vmstatFile, loadavgFile, snmpFile, tcpFile,
+                                             tcp6File, netDevFile, diskstatsFile }) {
+            file.close();
+        }
+        for (LinuxProcessInformation processInfo : monitoredProcesses.values()) {
+            processInfo.close();
+        }
+        monitoredProcesses.clear();
+    }
+
+    @Override
+    public int getCpuCount() {
+
+        return this.cpuCount;
+    }
+
+    @Override
+    public IDiskUsage getDiskUsage( String devName ) {
+
+        LinuxDiskUsage disk = disks.get(devName);
+        if (disk == null) {
+            disk = new LinuxDiskUsage(devName, getKernelDeviceName(devName));
+            disks.put(devName, disk);
+            disksList.add(disk);
+            // read the file again, so the new device gets its values
+            diskstatsPollCount = -1;
+        }
+
+        if (diskstatsPollCount != pollCount) {
+            parseDiskstats();
+            diskstatsPollCount = pollCount;
+        }
+
+        if (!disk.found) {
+            throw new SystemInformationException("No such disk device '" + devName + "' in "
+                                                 + diskstatsFile.getPath());
+        }
+        return disk;
+    }
+
+    @Override
+    public IFileSystem getFileSystem( String devName ) {
+
+        for (IFileSystem fileSystem : listFileSystems()) {
+            if (fileSystem.getDevName().equals(devName)) {
+                return fileSystem;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public IFileSystem[] listFileSystems() {
+
+        ProcFile mountsFile = new ProcFile(procRoot + "/self/mounts", false);
+        try {
+            mountsFile.read();
+        } catch (IOException e) {
+            throw new SystemInformationException("Unable to list file systems", e);
+        }
+
+        // a device can be mounted more than once, but its IO must be counted once
+        Map<String, IFileSystem> fileSystems = new LinkedHashMap<String, IFileSystem>();
+        int lineStart = 0;
+        while (lineStart < mountsFile.length) {
+            // device mount-point type options dump pass
+            int devNameStart = mountsFile.token(lineStart, 0);
+            int mountPointStart = mountsFile.token(lineStart, 1);
+            int typeStart = mountsFile.token(lineStart, 2);
+            if (devNameStart != -1 && mountPointStart != -1 && typeStart != -1) {
+                String devName = mountsFile.getString(devNameStart, mountsFile.skipToken(devNameStart));
+                String mountPoint = mountsFile.getString(mountPointStart, mountsFile.skipToken(mountPointStart));
+                String type = mountsFile.getString(typeStart, mountsFile.skipToken(typeStart));
+                if (!fileSystems.containsKey(devName)) {
+                    fileSystems.put(devName, new LinuxFileSystem(getFileSystemType(devName, type), devName,
+                                                                 mountPoint));
+                }
+            }
+            lineStart = mountsFile.nextLine(lineStart);
+        }
+        return fileSystems.values().toArray(new IFileSystem[fileSystems.size()]);
+    }
+
+    @Override
+    public long getSwapUsed() {
+
+        updateMemory();
+        return this.swapTotal - this.swapFree;
+    }
+
+    @Override
+    public long getSwapFree() {
+
+        updateMemory();
+        return this.swapFree;
+    }
+
+    @Override
+    public long getSwapTotal() {
+
+        updateMemory();
+        return this.swapTotal;
+    }
+
+    @Override
+    public long getSwapPageIn() {
+
+        updateVmstat();
+        return this.swapPageIn;
+    }
+
+    @Override
+    public long getSwapPageOut() {
+
+        updateVmstat();
+        return this.swapPageOut;
+    }
+
+    @Override
+    public long getMemoryUsed() {
+
+        updateMemory();
+        return this.memoryTotal - this.memoryFree;
+    }
+
+    @Override
+    public long getMemoryFree() {
+
+        updateMemory();
+        return this.memoryFree;
+    }
+
+    @Override
+    public long getMemoryActualUsed() {
+
+        updateMemory();
+        return this.memoryTotal - this.memoryActualFree;
+    }
+
+    @Override
+    public long getMemoryActualFree() {
+
+        updateMemory();
+        return this.memoryActualFree;
+    }
+
+    @Override
+    public double getLoadAvrgLastMinute() {
+
+        updateLoadAvrg();
+        return this.loadAvrg[0];
+    }
+
+    @Override
+    public double getLoadAvrgLastFiveMinutes() {
+
+        updateLoadAvrg();
+        return this.loadAvrg[1];
+    }
+
+    @Override
+    public double getLoadAvrgLast15Minutes() {
+
+        updateLoadAvrg();
+        return this.loadAvrg[2];
+    }
+
+    @Override
+    public double getCpuPercWait() {
+
+        return this.cpuPercWait;
+    }
+
+    @Override
+    public double getCpuPercSys() {
+
+        return this.cpuPercSys;
+    }
+
+    @Override
+    public double getCpuPercUser() {
+
+        return this.cpuPercUser;
+    }
+
+    @Override
+    public String[] listNetworkInterface() {
+
+        readFile(netDevFile);
+
+        // the first two lines are headers, each of the next ones starts with the interface name followed by ':'
+        List<String> ifNames = new ArrayList<String>();
+        int lineStart = netDevFile.nextLine(netDevFile.nextLine(0));
+        while (lineStart < netDevFile.length) {
+            int nameStart = netDevFile.skipSpaces(lineStart);
+            int nameEnd = nameStart;
+            while (nameEnd < netDevFile.length && netDevFile.buffer[nameEnd] != ':'
+                   && netDevFile.buffer[nameEnd] != '\n') {
+                nameEnd++;
+            }
+            if (nameEnd < netDevFile.length && netDevFile.buffer[nameEnd] == ':') {
+                ifNames.add(netDevFile.getString(nameStart, nameEnd));
+            }
+            lineStart = netDevFile.nextLine(lineStart);
+        }
+        return ifNames.toArray(new String[ifNames.size()]);
+    }
+
+    @Override
+    public INetworkInterfaceStat getNetworkInterfaceStat( String ifName ) {
+
+        LinuxNetworkInterfaceStat ifStat = networkInterfaces.get(ifName);
+        if (ifStat == null) {
+            ifStat = new LinuxNetworkInterfaceStat(ifName);
+            networkInterfaces.put(ifName, ifStat);
+            networkInterfacesList.add(ifStat);
+            // read the file again, so the new interface gets its values
+            netDevPollCount = -1;
+        }
+
+        if (netDevPollCount != pollCount) {
+            parseNetDev();
+            netDevPollCount = pollCount;
+        }
+
+        if (!ifStat.found) {
+            throw new SystemInformationException("Could not obtain stats for network interface '" + ifName + "'");
+        }
+        return ifStat;
+    }
+
+    @Override
+    public long getTcpActiveOpens() {
+
+        return getTcpCounter(TCP_ACTIVE_OPENS);
+    }
+
+    @Override
+    public long getTcpPassiveOpens() {
+
+        return getTcpCounter(TCP_PASSIVE_OPENS);
+    }
+
+    @Override
+    public long getTcpAttemptFails() {
+
+        return getTcpCounter(TCP_ATTEMPT_FAILS);
+    }
+
+    @Override
+    public long getTcpEstabResets() {
+
+        return getTcpCounter(TCP_ESTAB_RESETS);
+    }
+
+    @Override
+    public long getTcpCurrEstab() {
+
+        return getTcpCounter(TCP_CURR_ESTAB);
+    }
+
+    @Override
+    public long getTcpInSegs() {
+
+        return getTcpCounter(TCP_IN_SEGS);
+    }
+
+    @Override
+    public long getTcpOutSegs() {
+
+        return getTcpCounter(TCP_OUT_SEGS);
+    }
+
+    @Override
+    public long getTcpRetransSegs() {
+
+        return getTcpCounter(TCP_RETRANS_SEGS);
+    }
+
+    @Override
+    public long getTcpOutRsts() {
+
+        return getTcpCounter(TCP_OUT_RSTS);
+    }
+
+    @Override
+    public long getTcpInErrs() {
+
+        return getTcpCounter(TCP_IN_ERRS);
+    }
+
+    @Override
+    public long getNetstatTcpClose() {
+
+        return getTcpState(TCP_CLOSE);
+    }
+
+    @Override
+    public long getNetstatTcpListen() {
+
+        return getTcpState(TCP_LISTEN);
+    }
+
+    @Override
+    public long getNetstatTcpSynSent() {
+
+        return getTcpState(TCP_SYN_SENT);
+    }
+
+    @Override
+    public long getNetstatTcpSynRecv() {
+
+        return getTcpState(TCP_SYN_RECV);
+    }
+
+    @Override
+    public long getNetstatTcpEstablished() {
+
+        return getTcpState(TCP_ESTABLISHED);
+    }
+
+    @Override
+    public long getNetstatTcpCloseWait() {
+
+        return getTcpState(TCP_CLOSE_WAIT);
+    }
+
+    @Override
+    public long getNetstatTcpLastAck() {
+
+        return getTcpState(TCP_LAST_ACK);
+    }
+
+    @Override
+    public long getNetstatTcpFinWait1() {
+
+        return getTcpState(TCP_FIN_WAIT1);
+    }
+
+    @Override
+    public long getNetstatTcpFinWait2() {
+
+        return getTcpState(TCP_FIN_WAIT2);
+    }
+
+    @Override
+    public long getNetstatTcpClosing() {
+
+        return getTcpState(TCP_CLOSING);
+    }
+
+    @Override
+    public long getNetstatTcpTimeWait() {
+
+        return getTcpState(TCP_TIME_WAIT);
+    }
+
+    @Override
+    public long getNetstatTcpBound() {
+
+        // there is no such state on Linux
+        return 0;
+    }
+
+    @Override
+    public long getNetstatTcpIdle() {
+
+        // there is no such state on Linux
+        return 0;
+    }
+
+    @Override
+    public long getNetstatTcpInboundTotal() {
+
+        updateTcpStates();
+        return this.tcpInboundTotal;
+    }
+
+    @Override
+    public long getNetstatTcpOutboundTotal() {
+
+        updateTcpStates();
+        return this.tcpOutboundTotal;
+    }
+
+    @Override
+    public void loadProcs() {
+
+        // nothing to preload, the process files are read when needed
+    }
+
+    @Override
+    public long[] getProcList() {
+
+        String[] fileNames = new File(procRoot).list();
+        if (fileNames == null) {
+            throw new SystemInformationException("Unable to load PIDs for each process");
+        }
+
+        long[] pids = new long[fileNames.length];
+        int pidsCount = 0;
+        for (String fileName : fileNames) {
+            if (isNumber(fileName)) {
+                pids[pidsCount++] = Long.parseLong(fileName);
+            }
+        }
+        return Arrays.copyOf(pids, pidsCount);
+    }
+
+    @Override
+    public IProcessInformation getProcessInformation( long pid ) {
+
+        if (isFaultyProcess(pid)) {
+            return null;
+        }
+
+        LinuxProcessInformation processInfo = monitoredProcesses.get(pid);
+        if (processInfo != null) {
+            return processInfo;
+        }
+
+        if (!new File(getProcessDirectory(pid)).isDirectory()) {
+            log.error("Unable to collect information for process with PID '" + pid + "'. It does not exist");
+            updateFaultyProcessesList(pid);
+            return null;
+        }
+        // it is not cached until it is polled, as the information of most processes is needed
+        // just once, when searching for the processes to monitor
+        return new LinuxProcessInformation(this, pid, false);
+    }
+
+    @Override
+    public long getProcessCpuTimeRunningUser( Long pid ) {
+
+        LinuxProcessInformation processInfo = getMonitoredProcess(pid);
+        if (processInfo != null) {
+            try {
+                return processInfo.getCpuUser();
+            } catch (SystemInformationException sie) {
+                updateFaultyProcessesList(pid);
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public long getProcessCpuTimeRunningKernel( Long pid ) {
+
+        LinuxProcessInformation processInfo = getMonitoredProcess(pid);
+        if (processInfo != null) {
+            try {
+                return processInfo.getCpuKernel();
+            } catch (SystemInformationException sie) {
+                updateFaultyProcessesList(pid);
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public long getProcessCpuTimeRunningTotal( Long pid ) {
+
+        LinuxProcessInformation processInfo = getMonitoredProcess(pid);
+        if (processInfo != null) {
+            try {
+                return processInfo.getCpuTotal();
+            } catch (SystemInformationException sie) {
+                updateFaultyProcessesList(pid);
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public double getProcessVirtualMemory( Long pid ) {
+
+        LinuxProcessInformation processInfo = getMonitoredProcess(pid);
+        if (processInfo != null) {
+            try {
+                return processInfo.getVirtualMemory();
+            } catch (SystemInformationException sie) {
+                updateFaultyProcessesList(pid);
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public double getProcessResidentMemory( Long pid ) {
+
+        LinuxProcessInformation processInfo = getMonitoredProcess(pid);
+        if (processInfo != null) {
+            try {
+                return processInfo.getResidentMemory();
+            } catch (SystemInformationException sie) {
+                updateFaultyProcessesList(pid);
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public double getProcessSharedMemory( Long pid ) {
+
+        LinuxProcessInformation processInfo = getMonitoredProcess(pid);
+        if (processInfo != null) {
+            try {
+                return processInfo.getSharedMemory();
+            } catch (SystemInformationException sie) {
+                updateFaultyProcessesList(pid);
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public long getProcessMemoryPageFaults( Long pid ) {
+
+        LinuxProcessInformation processInfo = getMonitoredProcess(pid);
+        if (processInfo != null) {
+            try {
+                return processInfo.getMemoryPageFaults();
+            } catch (SystemInformationException sie) {
+                updateFaultyProcessesList(pid);
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public String[] getProcArgs( long pid ) {
+
+        if (!isFaultyProcess(pid)) {
+            try {
+                return new LinuxProcessInformation(this, pid, false).getArguments();
+            } catch (SystemInformationException sie) {
+                updateFaultyProcessesList(pid);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the directory with the information about the given process
+     */
+    String getProcessDirectory( long pid ) {
+
+        return this.procRoot + "/" + pid;
+    }
+
+    long getPollCount() {
+
+        return this.pollCount;
+    }
+
+    int getPageSize() {
+
+        return this.pageSize;
+    }
+
+    long ticksToMillis( long ticks ) {
+
+        return ticks * 1000 / this.clockTicks;
+    }
+
+    private void parseCpuTicks() {
+
+        int lineStart = statFile.indexOfLine(CPU_LINE);
+        if (lineStart == -1) {
+            throw new SystemInformationException("No CPU usage in " + statFile.getPath());
+        }
+        int pos = statFile.nextToken(lineStart);
+        for (int i = 0; i < CPU_COLUMNS; i++) {
+            // the older kernels do not have all of the columns
+            currentCpuTicks[i] = statFile.parseLong(pos);
+            pos = statFile.nextToken(pos);
+        }
+    }
+
+    private void updateMemory() {
+
+        if (memoryPollCount == pollCount) {
+            return;
+        }
+        readFile(meminfoFile);
+
+        memoryTotal = getMeminfoValue(MEM_TOTAL_LINE);
+        memoryFree = getMeminfoValue(MEM_FREE_LINE);
+        long memoryAvailable = getMeminfoValue(MEM_AVAILABLE_LINE);
+        if (memoryAvailable >= 0) {
+            memoryActualFree = memoryAvailable;
+        } else {
+            // MemAvailable is added in kernel 3.14
+            memoryActualFree = memoryFree + Math.max(0, getMeminfoValue(BUFFERS_LINE))
+                               + Math.max(0, getMeminfoValue(CACHED_LINE));
+        }
+        swapTotal = getMeminfoValue(SWAP_TOTAL_LINE);
+        swapFree = getMeminfoValue(SWAP_FREE_LINE);
+
+        memoryPollCount = pollCount;
+    }
+
+    /**
+     * @return the value in bytes, or -1 if there is no such line
+     */
+    private long getMeminfoValue( byte[] linePrefix ) {
+
+        int lineStart = meminfoFile.indexOfLine(linePrefix);
+        if (lineStart == -1) {
+            return -1;
+        }
+        // the values are in kB
+        return meminfoFile.parseLong(meminfoFile.skipSpaces(lineStart + linePrefix.length)) * 1024;
+    }
+
+    private void updateVmstat() {
+
+        if (vmstatPollCount == pollCount) {
+            return;
+        }
+        readFile(vmstatFile);
+
+        int lineStart = vmstatFile.indexOfLine(SWAP_IN_LINE);
+        swapPageIn = lineStart != -1
+                                     ? vmstatFile.parseLong(vmstatFile.nextToken(lineStart))
+                                     : -1;
+        lineStart = vmstatFile.indexOfLine(SWAP_OUT_LINE);
+        swapPageOut = lineStart != -1
+                                      ? vmstatFile.parseLong(vmstatFile.nextToken(lineStart))
+                                      : -1;
+
+        vmstatPollCount = pollCount;
+    }
+
+    private void updateLoadAvrg() {
+
+        if (loadAvrgPollCount == pollCount) {
+            return;
+        }
+        readFile(loadavgFile);
+
+        int pos = loadavgFile.skipSpaces(0);
+        for (int i = 0; i < loadAvrg.length; i++) {
+            loadAvrg[i] = loadavgFile.parseDouble(pos);
+            pos = loadavgFile.nextToken(pos);
+        }
+
+        loadAvrgPollCount = pollCount;
+    }
+
+    private long getTcpCounter( int counter ) {
+
+        if (tcpCountersPollCount != pollCount) {
+            readFile(snmpFile);
+
+            // there is a line with the counter names, followed by a line with their values
+            int namesLineStart = snmpFile.indexOfLine(TCP_LINE);
+            int valuesLineStart = namesLineStart != -1
+                                                       ? snmpFile.indexOfLine(TCP_LINE,
+                                                                              snmpFile.nextLine(namesLineStart))
+                                                       : -1;
+            if (valuesLineStart == -1) {
+                throw new SystemInformationException("No TCP statistics in " + snmpFile.getPath());
+            }
+
+            if (tcpCounterColumns == null) {
+                tcpCounterColumns = new int[TCP_COUNTER_NAMES.length];
+                for (int i = 0; i < TCP_COUNTER_NAMES.length; i++) {
+                    tcpCounterColumns[i] = findColumn(snmpFile, namesLineStart,
+                                                      ProcFile.toBytes(TCP_COUNTER_NAMES[i]));
+                }
+            }
+
+            for (int i = 0; i < tcpCounters.length; i++) {
+                int pos = tcpCounterColumns[i] != -1
+                                                     ? snmpFile.token(valuesLineStart, tcpCounterColumns[i])
+                                                     : -1;
+                tcpCounters[i] = pos != -1
+                                           ? snmpFile.parseLong(pos)
+                                           : -1;
+            }
+
+            tcpCountersPollCount = pollCount;
+        }
+
+        return tcpCounters[counter];
+    }
+
+    private long getTcpState( int state ) {
+
+        updateTcpStates();
+        return tcpStates[state];
+    }
+
+    private void updateTcpStates() {
+
+        if (tcpStatesPollCount == pollCount) {
+            return;
+        }
+        readFile(tcpFile);
+        // IPv6 can be disabled
+        boolean hasTcp6 = true;
+        try {
+            tcp6File.read();
+        } catch (IOException e) {
+            hasTcp6 = false;
+        }
+
+        Arrays.fill(tcpStates, 0);
+        Arrays.fill(listeningPorts, false);
+        tcpInboundTotal = 0;
+        tcpOutboundTotal = 0;
+
+        // first find the listening ports, so then we know which connections are inbound
+        markListeningPorts(tcpFile);
+        if (hasTcp6) {
+            markListeningPorts(tcp6File);
+        }
+        countTcpStates(tcpFile);
+        if (hasTcp6) {
+            countTcpStates(tcp6File);
+        }
+
+        tcpStatesPollCount = pollCount;
+    }
+
+    private void markListeningPorts( ProcFile file ) {
+
+        // skip the header line
+        int lineStart = file.nextLine(0);
+        while (lineStart < file.length) {
+            // sl local_address rem_address st ...
+            int statePos = file.token(lineStart, 3);
+            if (statePos != -1 && file.parseHex(statePos) == TCP_LISTEN) {
+                listeningPorts[getLocalPort(file, lineStart)] = true;
+            }
+            lineStart = file.nextLine(lineStart);
+        }
+    }
+
+    private void countTcpStates( ProcFile file ) {
+
+        int lineStart = file.nextLine(0);
+        while (lineStart < file.length) {
+            int statePos = file.token(lineStart, 3);
+            if (statePos != -1) {
+                int state = (int) file.parseHex(statePos);
+                if (state < tcpStates.length) {
+                    tcpStates[state]++;
+                }
+                if (state != TCP_LISTEN) {
+                    if (listeningPorts[getLocalPort(file, lineStart)]) {
+                        tcpInboundTotal++;
+                    } else {
+                        tcpOutboundTotal++;
+                    }
+                }
+            }
+            lineStart = file.nextLine(lineStart);
+        }
+    }
+
+    /**
+     * @return the port from a local address like '0100007F:1F90'
+     */
+    private int getLocalPort( ProcFile file, int lineStart ) {
+
+        int addressStart = file.token(lineStart, 1);
+        if (addressStart == -1) {
+            return 0;
+        }
+        int addressEnd = file.skipToken(addressStart);
+        int pos = addressEnd - 1;
+        while (pos > addressStart && file.buffer[pos] != ':') {
+            pos--;
+        }
+        return (int) (file.parseHex(pos + 1) & 0xFFFF);
+    }
+
+    private void parseNetDev() {
+
+        readFile(netDevFile);
+
+        for (int i = 0; i < networkInterfacesList.size(); i++) {
+            networkInterfacesList.get(i).found = false;
+        }
+
+        int lineStart = netDevFile.nextLine(netDevFile.nextLine(0));
+        while (lineStart < netDevFile.length) {
+            int nameStart = netDevFile.skipSpaces(lineStart);
+            for (int i = 0; i < networkInterfacesList.size(); i++) {
+                LinuxNetworkInterfaceStat ifStat = networkInterfacesList.get(i);
+                if (netDevFile.startsWith(nameStart, ifStat.linePrefix)) {
+                    // 8 receive columns, starting with the bytes, followed by 8 transmit columns
+                    int rxPos = netDevFile.skipSpaces(nameStart + ifStat.linePrefix.length);
+                    int txPos = netDevFile.token(rxPos, 8);
+                    if (txPos != -1) {
+                        ifStat.update(netDevFile.parseLong(rxPos), netDevFile.parseLong(txPos));
+                        ifStat.found = true;
+                    }
+                    break;
+                }
+            }
+            lineStart = netDevFile.nextLine(lineStart);
+        }
+    }
+
+    private void parseDiskstats() {
+
+        readFile(diskstatsFile);
+
+        for (int i = 0; i < disksList.size(); i++) {
+            disksList.get(i).found = false;
+        }
+
+        int lineStart = 0;
+        while (lineStart < diskstatsFile.length) {
+            // major minor name reads merged-reads read-sectors read-time writes merged-writes written-sectors ...
+            int namePos = diskstatsFile.token(lineStart, 2);
+            if (namePos != -1) {
+                for (int i = 0; i < disksList.size(); i++) {
+                    LinuxDiskUsage disk = disksList.get(i);
+                    if (diskstatsFile.tokenEquals(namePos, disk.kernelName)) {
+                        int readPos = diskstatsFile.token(lineStart, 5);
+                        int writePos = diskstatsFile.token(lineStart, 9);
+                        if (readPos != -1 && writePos != -1) {
+                            disk.update(diskstatsFile.parseLong(readPos), diskstatsFile.parseLong(writePos));
+                            disk.found = true;
+                        }
+                    }
+                }
+            }
+            lineStart = diskstatsFile.nextLine(lineStart);
+        }
+    }
+
+    private LinuxProcessInformation getMonitoredProcess( Long pid ) {
+
+        if (faultyProcesses.contains(pid)) {
+            return null;
+        }
+
+        LinuxProcessInformation processInfo = monitoredProcesses.get(pid);
+        if (processInfo == null) {
+            processInfo = new LinuxProcessInformation(this, pid, true);
+            monitoredProcesses.put(pid, processInfo);
+        }
+        return processInfo;
+    }
+
+    private void readFile( ProcFile file ) {
+
+        try {
+            file.read();
+        } catch (IOException e) {
+            throw new SystemInformationException("Unable to read " + file.getPath(), e);
+        }
+    }
+
+    /**
+     * @return the index of the token with the given name on the given line, or -1 if there is no such token
+     */
+    private static int findColumn( ProcFile file, int lineStart, byte[] name ) {
+
+        int column = 0;
+        int pos = file.skipSpaces(lineStart);
+        int lineEnd = file.nextLine(lineStart);
+        while (pos < lineEnd && file.buffer[pos] != '\n') {
+            if (file.tokenEquals(pos, name)) {
+                return column;
+            }
+            pos = file.nextToken(pos);
+            column++;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the device name used in /proc/diskstats, for example 'dm-0' for '/dev/mapper/vg-root'
+     */
+    private static String getKernelDeviceName( String devName ) {
+
+        if (!devName.startsWith("/")) {
+            return devName;
+        }
+        Path devPath = Paths.get(devName);
+        try {
+            devPath = devPath.toRealPath();
+        } catch (IOException e) {
+            // not a link or not existing at all, for example '/dev/root'
+        }
+        return devPath.getFileName().toString();
+    }
+
+    private static IFileSystem.Type getFileSystemType( String devName, String type ) {
+
+        if (NETWORK_FILE_SYSTEMS.contains(type)) {
+            return IFileSystem.Type.TYPE_NETWORK;
+        } else if (RAM_FILE_SYSTEMS.contains(type)) {
+            return IFileSystem.Type.TYPE_RAM_DISK;
+        } else if (CDROM_FILE_SYSTEMS.contains(type)) {
+            return IFileSystem.Type.TYPE_CDROM;
+        } else if (devName.startsWith("/dev/")) {
+            return IFileSystem.Type.TYPE_LOCAL_DISK;
+        } else {
+            // the virtual file systems like proc, sysfs and cgroup
+            return IFileSystem.Type.TYPE_NONE;
+        }
+    }
+
+    private static String getProcRoot() {
+
+        if (OperatingSystemType.getCurrentOsType() != OperatingSystemType.LINUX) {
+            throw new MonitorConfigurationException("The 'linux' monitoring provider works on Linux only, while the current OS is "
+                                                    + OperatingSystemType.getCurrentOsType());
+        }
+        return "/proc";
+    }
+
+    /**
+     * Get a system configuration value like the clock ticks per second
+     */
+    private static int getSystemConfiguration( String name, int defaultValue ) {
+
+        try {
+            Process process = Runtime.getRuntime().exec(new String[]{ "getconf", name });
+            String value = IoUtils.streamToString(process.getInputStream()).trim();
+            process.waitFor();
+            return Integer.parseInt(value);
+        } catch (Exception e) {
+            log.warn("Unable to get the system configuration value '" + name + "', " + defaultValue
+                     + " will be used");
+            return defaultValue;
+        }
+    }
+
+    private static boolean isNumber( String value ) {
+
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return !value.isEmpty();
+    }
+
+    private void updateFaultyProcessesList( long pid ) {
+
+        log.error("Unable to collect data about process with ID " + pid
+                  + ". No further monitoring will be done for this process!");
+        faultyProcesses.add(pid);
+        LinuxProcessInformation processInfo = monitoredProcesses.remove(pid);
+        if (processInfo != null) {
+            processInfo.close();
+        }
+    }
+
+    private boolean isFaultyProcess( long pid ) {
+
+        return faultyProcesses.contains(pid);
+    }
+
+}
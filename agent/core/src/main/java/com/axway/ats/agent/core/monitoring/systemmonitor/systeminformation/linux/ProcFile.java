@@ -0,0 +1,292 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.linux;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A file from the /proc file system, read as bytes into a buffer which is reused between the reads.<br>
+ * The content is parsed in place, so a poll does not create any strings or other objects.
+ * <p>
+ * The kernel generates the content of these files on each read from the beginning of the file,
+ * so a file which is kept open gives fresh data after each {@link #read()}.
+ * <br>
+ * <strong>Note</strong> that this class is not thread safe
+ * </p>
+ */
+final class ProcFile {
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private final String     path;
+
+    private final boolean    keepOpen;
+
+    private RandomAccessFile file;
+
+    byte[]                   buffer;
+
+    int                      length;
+
+    /**
+     * @param path the file path
+     * @param keepOpen whether to keep the file open between the reads. Use it for the files which are read on each poll
+     * only, otherwise a descriptor is kept for each process ever checked
+     */
+    ProcFile( String path, boolean keepOpen ) {
+
+        this.path = path;
+        this.keepOpen = keepOpen;
+        this.buffer = new byte[INITIAL_BUFFER_SIZE];
+    }
+
+    /**
+     * Read the whole file into the buffer. The buffer grows when the file does not fit in it.
+     *
+     * @return the file length
+     * @throws IOException if the file can not be read, for example the process it belongs to has exited
+     */
+    int read() throws IOException {
+
+        try {
+            if (file == null) {
+                file = new RandomAccessFile(path, "r");
+            } else {
+                file.seek(0);
+            }
+
+            length = 0;
+            int readBytes;
+            while ( (readBytes = file.read(buffer, length, buffer.length - length)) > 0) {
+                length += readBytes;
+                if (length == buffer.length) {
+                    byte[] newBuffer = new byte[buffer.length * 2];
+                    System.arraycopy(buffer, 0, newBuffer, 0, length);
+                    buffer = newBuffer;
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        } finally {
+            if (!keepOpen) {
+                close();
+            }
+        }
+
+        return length;
+    }
+
+    void close() {
+
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                // nothing to do, the file is not used anymore
+            }
+            file = null;
+        }
+    }
+
+    String getPath() {
+
+        return path;
+    }
+
+    /**
+     * @return the start of the first line which begins with the given prefix, or -1 if there is no such line
+     */
+    int indexOfLine( byte[] prefix ) {
+
+        return indexOfLine(prefix, 0);
+    }
+
+    /**
+     * @return the start of the first line after the given position which begins with the given prefix,
+     * or -1 if there is no such line
+     */
+    int indexOfLine( byte[] prefix, int from ) {
+
+        int lineStart = from;
+        while (lineStart < length) {
+            if (startsWith(lineStart, prefix)) {
+                return lineStart;
+            }
+            lineStart = nextLine(lineStart);
+        }
+        return -1;
+    }
+
+    /**
+     * @return the start of the line after the one containing the given position, or the file length
+     */
+    int nextLine( int pos ) {
+
+        while (pos < length && buffer[pos] != '\n') {
+            pos++;
+        }
+        return pos < length
+                            ? pos + 1
+                            : length;
+    }
+
+    boolean startsWith( int pos, byte[] prefix ) {
+
+        if (pos + prefix.length > length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer[pos + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the position of the first non blank character at or after the given position on the same line
+     */
+    int skipSpaces( int pos ) {
+
+        while (pos < length && (buffer[pos] == ' ' || buffer[pos] == '\t')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * @return the position after the token at the given position
+     */
+    int skipToken( int pos ) {
+
+        while (pos < length && !isSeparator(buffer[pos])) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * @return the start of the token after the one at the given position
+     */
+    int nextToken( int pos ) {
+
+        return skipSpaces(skipToken(pos));
+    }
+
+    /**
+     * @return the start of the token with the given index (zero based) on the line starting at the given position,
+     * or -1 if the line has less tokens
+     */
+    int token( int lineStart, int index ) {
+
+        int pos = skipSpaces(lineStart);
+        for (int i = 0; i < index; i++) {
+            pos = nextToken(pos);
+        }
+        return pos < length && !isSeparator(buffer[pos])
+                                                         ? pos
+                                                         : -1;
+    }
+
+    boolean tokenEquals( int pos, byte[] value ) {
+
+        return startsWith(pos, value) && (pos + value.length == length || isSeparator(buffer[pos + value.length]));
+    }
+
+    /**
+     * Parse a decimal number which starts at the given position
+     */
+    long parseLong( int pos ) {
+
+        boolean negative = pos < length && buffer[pos] == '-';
+        if (negative) {
+            pos++;
+        }
+        long value = 0;
+        while (pos < length && buffer[pos] >= '0' && buffer[pos] <= '9') {
+            value = value * 10 + (buffer[pos++] - '0');
+        }
+        return negative
+                        ? -value
+                        : value;
+    }
+
+    /**
+     * Parse a hexadecimal number which starts at the given position
+     */
+    long parseHex( int pos ) {
+
+        long value = 0;
+        while (pos < length) {
+            int digit = Character.digit(buffer[pos], 16);
+            if (digit < 0) {
+                break;
+            }
+            value = value * 16 + digit;
+            pos++;
+        }
+        return value;
+    }
+
+    /**
+     * Parse a number like "0.52" which starts at the given position
+     */
+    double parseDouble( int pos ) {
+
+        boolean negative = pos < length && buffer[pos] == '-';
+        if (negative) {
+            pos++;
+        }
+        double value = 0;
+        while (pos < length && buffer[pos] >= '0' && buffer[pos] <= '9') {
+            value = value * 10 + (buffer[pos++] - '0');
+        }
+        if (pos < length && buffer[pos] == '.') {
+            long fraction = 0;
+            long divider = 1;
+            pos++;
+            while (pos < length && buffer[pos] >= '0' && buffer[pos] <= '9' && divider < 1000000000000L) {
+                fraction = fraction * 10 + (buffer[pos++] - '0');
+                divider *= 10;
+            }
+            value += fraction / (double) divider;
+        }
+        return negative
+                        ? -value
+                        : value;
+    }
+
+    /**
+     * @return the text between the given positions. Used out of the polling, when the result is cached
+     */
+    String getString( int from, int to ) {
+
+        return new String(buffer, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isSeparator( byte b ) {
+
+        return b == ' ' || b == '\t' || b == '\n' || b == 0;
+    }
+
+    static byte[] toBytes( String value ) {
+
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -34,8 +34,12 @@
 import com.axway.ats.agent.core.exceptions.NoSuchActionException;
 import com.axway.ats.agent.core.exceptions.NoSuchComponentException;
 import com.axway.ats.agent.core.monitoring.UserActionsMonitoringAgent;
+import com.axway.ats.agent.core.monitoring.queue.CheckpointsAggregator;
 import com.axway.ats.agent.core.monitoring.queue.QueueExecutionStatistics;
+import com.axway.ats.agent.core.monitoring.queue.QueueProgressMonitor;
 import com.axway.ats.agent.core.templateactions.CompositeResult;
+import com.axway.ats.agent.core.threading.data.IndexedParameterDataProvider;
+import com.axway.ats.agent.core.threading.data.IndexedParameterDataProviders;
 import com.axway.ats.agent.core.threading.data.ParameterDataProvider;
 import com.axway.ats.agent.core.threading.data.config.UsernameDataConfig;
 import com.axway.ats.agent.core.threading.listeners.ActionTaskListener;
@@ -52,6 +56,11 @@
 public abstract class AbstractActionTask implements Runnable {
 
     public static final String            ATS_ACTION__QUEUE_EXECUTION_TIME = "Queue execution time";
+    /**
+     * The time a thread waited for the other threads before starting its next synchronized iteration.
+     * Logged only when enabled in the threading pattern
+     */
+    public static final String            ATS_ACTION__ITERATION_WAIT_TIME  = "Synchronized iteration wait time";
     /**
      * Property to enable fill action time logging in addition to net time
      */
@@ -69,6 +78,9 @@ public abstract class AbstractActionTask implements Runnable {
     protected List<ParameterDataProvider> dataProviders;
     protected List<Object>                actionClassInstances;
 
+    //positions of the data provider values for this thread, when they are generated without locking
+    private IndexedParameterDataProviders.Cursor dataProvidersCursor;
+
     //listeners
     protected List<ActionTaskListener>    listeners;
 
@@ -87,9 +99,15 @@ public abstract class AbstractActionTask implements Runnable {
     //if this thread's iterations are synchronized with the other running threads
     protected boolean                     isUseSynchronizedIterations;
 
+    //if the time waited for the other threads on each synchronized iteration is logged
+    private boolean                       isRegisterIterationWaitTime;
+
     //remember if we are logging some events in batch mode
     private boolean                       isLoggingInBatchMode;
 
+    //collects the checkpoints when they are aggregated instead of logged one by one
+    private CheckpointsAggregator         checkpointsAggregator;
+
     // manager watching for too long iterations
     protected IterationTimeoutManager     itManager;
 
@@ -156,6 +174,9 @@ public AbstractActionTask( String caller, String queueName, ThreadsManager threa
         }
 
         this.dataProviders = dataProviders;
+        if (dataProviders instanceof IndexedParameterDataProviders) {
+            this.dataProvidersCursor = ((IndexedParameterDataProviders) dataProviders).newCursor();
+        }
         this.listeners = listeners;
         this.actionClassInstances = new ArrayList<Object>();
 
@@ -216,6 +237,15 @@ public void setTimedOut( int timedOutSeconds ) {
         this.timedOutSeconds = timedOutSeconds;
     }
 
+    /**
+     * Set whether the time waited for the other threads on each synchronized iteration is logged
+     * @param isRegisterIterationWaitTime
+     */
+    void setRegisterIterationWaitTime( boolean isRegisterIterationWaitTime ) {
+
+        this.isRegisterIterationWaitTime = isRegisterIterationWaitTime;
+    }
+
     /**
      * Tell if iteration was interrupted from outside.
      * Typically this is when user cancels the queue
@@ -233,6 +263,11 @@ public final void run() {
 
         renameThread();
         ThreadsPerCaller.registerThread(caller);
+        QueueProgressMonitor.getInstance().threadStarted(queueName);
+
+        if (CheckpointsAggregator.isAggregationEnabled()) {
+            checkpointsAggregator = CheckpointsAggregator.register(queueName);
+        }
 
         try {
             // set TemplateActionsResponseVerificationConfigurator to the ThreadContext (it is per Actions Queue)
@@ -243,14 +278,21 @@ public final void run() {
             }
 
             boolean runOnce = true;
+            boolean isFirstIteration = true;
             while (runOnce) {
 
                 //wait until this iteration is started
-                threadsManager.waitForStart();
+                long waitTime = threadsManager.waitForStart();
 
                 //notify the listeners on start
                 onStart();
 
+                if (isUseSynchronizedIterations && isRegisterIterationWaitTime && !isFirstIteration) {
+                    // the time this thread waited for the slowest one in the previous iteration
+                    insertCheckpoint(ATS_ACTION__ITERATION_WAIT_TIME, waitTime, CheckpointResult.PASSED);
+                }
+                isFirstIteration = false;
+
                 ActionTaskResult executionResult = execute();
 
                 switch (executionResult) {
@@ -272,6 +314,12 @@ public final void run() {
             //notify the listeners
             onFinish(e);
         } finally {
+            if (checkpointsAggregator != null) {
+                // send what is left while this thread is still known as part of the load queue
+                checkpointsAggregator.unregister();
+                checkpointsAggregator = null;
+            }
+            QueueProgressMonitor.getInstance().threadFinished(queueName);
             ThreadsPerCaller.unregisterThread();
         }
     }
@@ -284,6 +332,20 @@ private void renameThread() {
 
         if (dataProviders.size() > 0) {
 
+            if (dataProvidersCursor != null) {
+                for (ParameterDataProvider dataProvider : dataProviders) {
+                    if (dataProvider.getDataConfiguratorClass() == UsernameDataConfig.class) {
+                        Thread.currentThread()
+                              .setName(dataProvidersCursor.getThreadValue((IndexedParameterDataProvider) dataProvider)
+                                                          .getValue()
+                                                          .toString());
+
+                        break;
+                    }
+                }
+                return;
+            }
+
             synchronized (dataProviders) {
                 for (ParameterDataProvider dataProvider : dataProviders) {
                     if (dataProvider.getDataConfiguratorClass() == UsernameDataConfig.class) {
@@ -309,9 +371,10 @@ private void renameThread() {
     /**
      * Invoke one iteration of all actions in the queue
      * 
+     * @return whether all actions passed
      * @throws InterruptedException
      */
-    protected final void invokeActions() throws InterruptedException {
+    protected final boolean invokeActions() throws InterruptedException {
 
         UserActionsMonitoringAgent userActionsMonitoringAgent = UserActionsMonitoringAgent.getInstance(caller);
 
@@ -322,6 +385,7 @@ protected final void invokeActions() throws InterruptedException {
         //generate the input arguments for all action invokers
         generateInputArguments();
 
+        long iterationStartTimestamp = System.currentTimeMillis();
         long queueDuration = 0;
         long actionStartTimestamp = 0;
         long actionEndTimestamp = 0;
@@ -360,7 +424,7 @@ protected final void invokeActions() throws InterruptedException {
                 userActionsMonitoringAgent.actionStarted(actionName);
                 if (registerActionExecution) {
                     actionStartTimestamp = System.currentTimeMillis();
-                    if (logCheckpoints && !isLoggingInBatchMode) {
+                    if (logCheckpoints && !isLoggingInBatchMode && checkpointsAggregator == null) {
                         log.startCheckpoint(checkpointName, transferUnit, actionStartTimestamp);
                     }
                 }
@@ -373,7 +437,10 @@ protected final void invokeActions() throws InterruptedException {
                     // the action failed - end the checkpoint
                     if (registerActionExecution) {
                         if (logCheckpoints) {
-                            if (isLoggingInBatchMode) {
+                            if (checkpointsAggregator != null) {
+                                checkpointsAggregator.addCheckpoint(checkpointName, 0, 0, transferUnit,
+                                                                    CheckpointResult.FAILED);
+                            } else if (isLoggingInBatchMode) {
                                 log.insertCheckpoint(checkpointName, actionStartTimestamp, 0, 0,
                                                      transferUnit, CheckpointResult.FAILED);
                             } else {
@@ -381,10 +448,12 @@ protected final void invokeActions() throws InterruptedException {
                             }
 
                         }
-                        QueueExecutionStatistics.getInstance().registerActionExecutionResult(queueName,
-                                                                                             actionName,
-                                                                                             false);
-                        log.insertCheckpoint(ATS_ACTION__QUEUE_EXECUTION_TIME, queueDuration, CheckpointResult.FAILED);
+                        long failedActionTime = System.currentTimeMillis() - actionStartTimestamp;
+                        QueueExecutionStatistics.getInstance()
+                                                .registerActionExecutionResult(queueName, actionName, false,
+                                                                               actionStartTimestamp,
+                                                                               failedActionTime);
+                        insertCheckpoint(ATS_ACTION__QUEUE_EXECUTION_TIME, queueDuration, CheckpointResult.FAILED);
                     }
                     // re-throw the exception
                     throw e;
@@ -403,7 +472,10 @@ protected final void invokeActions() throws InterruptedException {
                     }
 
                     if (logCheckpoints) {
-                        if (isLoggingInBatchMode) {
+                        if (checkpointsAggregator != null) {
+                            checkpointsAggregator.addCheckpoint(checkpointName, responseTimeMs, transferSize,
+                                                                transferUnit, CheckpointResult.PASSED);
+                        } else if (isLoggingInBatchMode) {
                             log.insertCheckpoint(checkpointName, actionStartTimestamp, responseTimeMs,
                                                  transferSize, transferUnit, CheckpointResult.PASSED);
                         } else {
@@ -422,8 +494,10 @@ protected final void invokeActions() throws InterruptedException {
                         queueDuration += responseTimeMs;
                     }
 
-                    QueueExecutionStatistics.getInstance().registerActionExecutionResult(queueName,
-                                                                                         actionName, true);
+                    QueueExecutionStatistics.getInstance()
+                                            .registerActionExecutionResult(queueName, actionName, true,
+                                                                           actionStartTimestamp,
+                                                                           actionEndTimestamp - actionStartTimestamp);
                 }
             } // end cycling all actions in this iteration
 
@@ -449,15 +523,41 @@ protected final void invokeActions() throws InterruptedException {
                 log.error("Exception caught during invocation - skipping to next iteration", e);
             }
 
+            QueueProgressMonitor.getInstance()
+                                .registerIteration(queueName, false,
+                                                   System.currentTimeMillis() - iterationStartTimestamp);
+
             //continue to the next iteration
-            return;
+            return false;
         } finally {
             if (this.itManager != null) {
                 this.itManager.clearIterationStartTime();
             }
         }
 
-        log.insertCheckpoint(ATS_ACTION__QUEUE_EXECUTION_TIME, queueDuration, CheckpointResult.PASSED);
+        insertCheckpoint(ATS_ACTION__QUEUE_EXECUTION_TIME, queueDuration, CheckpointResult.PASSED);
+        QueueProgressMonitor.getInstance()
+                            .registerIteration(queueName, true,
+                                               System.currentTimeMillis() - iterationStartTimestamp);
+
+        if (checkpointsAggregator != null) {
+            checkpointsAggregator.flushIfNeeded();
+        }
+
+        return true;
+    }
+
+    /**
+     * Log a checkpoint which has no start and end, or add it to the aggregated checkpoints
+     * when aggregation is enabled
+     */
+    protected final void insertCheckpoint( String name, long responseTime, CheckpointResult result ) {
+
+        if (checkpointsAggregator != null) {
+            checkpointsAggregator.addCheckpoint(name, responseTime, 0, "", result);
+        } else {
+            log.insertCheckpoint(name, responseTime, result);
+        }
     }
 
     /**
@@ -486,8 +586,7 @@ protected boolean sleepBetweenIterations( long endTimestamp ) throws Interrupted
         if (System.currentTimeMillis() + nextInterval < endTimestamp) {
             Thread.sleep(nextInterval);
             if (intervalTimeGenerator != null) {
-                log.insertCheckpoint("[Time between queue executions]", nextInterval,
-                                     CheckpointResult.PASSED);
+                insertCheckpoint("[Time between queue executions]", nextInterval, CheckpointResult.PASSED);
             }
             return true;
         } else {
@@ -517,7 +616,7 @@ protected void sleepBetweenIterations() throws InterruptedException {
 
         Thread.sleep(nextInterval);
         if (intervalTimeGenerator != null) {
-            log.insertCheckpoint("[Time between queue executions]", nextInterval, CheckpointResult.PASSED);
+            insertCheckpoint("[Time between queue executions]", nextInterval, CheckpointResult.PASSED);
         }
     }
 
@@ -578,13 +677,20 @@ protected final void generateInputArguments() {
 
             // We will store here only the arguments which are to be replaced by a data provider.
             // We store all values from all data providers.
-            List<ArgumentValue> argumentValues = new ArrayList<ArgumentValue>();
+            List<ArgumentValue> argumentValues;
 
-            // Generate the new input arguments - all arguments should be
-            // generated at the same time, so other threads do not interfere.
-            synchronized (dataProviders) {
-                for (ParameterDataProvider dataProvider : dataProviders) {
-                    argumentValues.add(dataProvider.getValue(argumentValues));
+            if (dataProvidersCursor != null) {
+                // the values are taken by position, the other threads do not interfere
+                argumentValues = dataProvidersCursor.nextValues();
+            } else {
+                argumentValues = new ArrayList<ArgumentValue>();
+
+                // Generate the new input arguments - all arguments should be
+                // generated at the same time, so other threads do not interfere.
+                synchronized (dataProviders) {
+                    for (ParameterDataProvider dataProvider : dataProviders) {
+                        argumentValues.add(dataProvider.getValue(argumentValues));
+                    }
                 }
             }
 
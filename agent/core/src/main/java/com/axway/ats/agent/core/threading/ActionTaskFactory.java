@@ -25,6 +25,7 @@
 import com.axway.ats.agent.core.threading.data.ParameterDataProvider;
 import com.axway.ats.agent.core.threading.exceptions.ThreadingPatternNotSupportedException;
 import com.axway.ats.agent.core.threading.listeners.ActionTaskListener;
+import com.axway.ats.agent.core.threading.patterns.ThreadingPattern;
 import com.axway.ats.agent.core.threading.patterns.model.ExecutionPattern;
 import com.axway.ats.agent.core.threading.patterns.model.FixedDurationExecutionPattern;
 import com.axway.ats.agent.core.threading.patterns.model.FixedInvocationsExecutionPattern;
@@ -69,6 +70,7 @@ public static final Runnable createTask(
                                                                                    NoCompatibleMethodFoundException,
                                                                                    ThreadingPatternNotSupportedException {
 
+        AbstractActionTask actionTask;
         if (executionPattern instanceof FixedInvocationsExecutionPattern) {
             FixedInvocationsExecutionPattern fixedInvocationsExecutionPattern = (FixedInvocationsExecutionPattern) executionPattern;
 
@@ -78,20 +80,20 @@ public static final Runnable createTask(
             long maxIntervalBetweenIterations = fixedInvocationsExecutionPattern.getMaxIntervalBetweenIterations();
             long timeFrame = fixedInvocationsExecutionPattern.getTimeFrame();
 
-            return new MultipleInvocationsActionTask(caller,
-                                                     queueName,
-                                                     threadsManager,
-                                                     itManager,
-                                                     iterationCount,
-                                                     intervalBetweenIterations,
-                                                     minIntervalBetweenIterations,
-                                                     maxIntervalBetweenIterations,
-                                                     executionsPerTimeFrame,
-                                                     timeFrame,
-                                                     actionRequests,
-                                                     parameterDataProviders,
-                                                     listeners,
-                                                     isUseSynchronizedIterations);
+            actionTask = new MultipleInvocationsActionTask(caller,
+                                                           queueName,
+                                                           threadsManager,
+                                                           itManager,
+                                                           iterationCount,
+                                                           intervalBetweenIterations,
+                                                           minIntervalBetweenIterations,
+                                                           maxIntervalBetweenIterations,
+                                                           executionsPerTimeFrame,
+                                                           timeFrame,
+                                                           actionRequests,
+                                                           parameterDataProviders,
+                                                           listeners,
+                                                           isUseSynchronizedIterations);
 
         } else if (executionPattern instanceof FixedDurationExecutionPattern) {
 
@@ -103,21 +105,26 @@ public static final Runnable createTask(
             long maxIntervalBetweenIterations = fixedDurationExecutionPattern.getMaxIntervalBetweenIterations();
             long timeFrame = fixedDurationExecutionPattern.getTimeFrame();
 
-            return new FixedDurationActionTask(caller, queueName,
-                                               threadsManager,
-                                               itManager,
-                                               duration,
-                                               intervalBetweenIterations,
-                                               minIntervalpBetweenIterations,
-                                               maxIntervalBetweenIterations,
-                                               executionsPerTimeFrame,
-                                               timeFrame,
-                                               actionRequests,
-                                               parameterDataProviders,
-                                               listeners,
-                                               isUseSynchronizedIterations);
+            actionTask = new FixedDurationActionTask(caller, queueName,
+                                                     threadsManager,
+                                                     itManager,
+                                                     duration,
+                                                     intervalBetweenIterations,
+                                                     minIntervalpBetweenIterations,
+                                                     maxIntervalBetweenIterations,
+                                                     executionsPerTimeFrame,
+                                                     timeFrame,
+                                                     actionRequests,
+                                                     parameterDataProviders,
+                                                     listeners,
+                                                     isUseSynchronizedIterations);
         } else {
             throw new ThreadingPatternNotSupportedException(executionPattern.getClass().getSimpleName());
         }
+
+        if (executionPattern instanceof ThreadingPattern) {
+            actionTask.setRegisterIterationWaitTime(((ThreadingPattern) executionPattern).isRegisterIterationWaitTime());
+        }
+        return actionTask;
     }
 }
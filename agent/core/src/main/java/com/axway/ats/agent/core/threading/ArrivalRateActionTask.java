@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.threading;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.axway.ats.agent.core.action.ActionRequest;
+import com.axway.ats.agent.core.exceptions.ActionExecutionException;
+import com.axway.ats.agent.core.exceptions.NoCompatibleMethodFoundException;
+import com.axway.ats.agent.core.exceptions.NoSuchActionException;
+import com.axway.ats.agent.core.exceptions.NoSuchComponentException;
+import com.axway.ats.agent.core.threading.data.ParameterDataProvider;
+import com.axway.ats.agent.core.threading.listeners.ActionTaskListener;
+import com.axway.ats.log.model.CheckpointResult;
+
+/**
+ * Action task that executes the iterations given by an arrival schedule, each one as soon as it can.
+ *
+ * <p>Besides the checkpoints of each action, it logs the time from the moment an iteration
+ * was supposed to start until its end, so the slowness of the tested application is not hidden
+ * when the iterations have to wait for a free thread. The iterations dropped by the schedule, because
+ * all threads were busy for too long, are logged as failed queue response time checkpoints.</p>
+ */
+public class ArrivalRateActionTask extends AbstractActionTask {
+
+    /**
+     * The time from the intended start of a queue iteration until its end
+     */
+    public static final String    ATS_ACTION__QUEUE_RESPONSE_TIME = "Queue response time";
+
+    /**
+     * The time a queue iteration waited for a free thread
+     */
+    public static final String    ATS_ACTION__QUEUE_START_DELAY   = "Queue start delay";
+
+    private final ArrivalSchedule schedule;
+
+    /**
+     * @param caller
+     *            the remote caller
+     * @param queueName
+     *            the name of the load queue
+     * @param threadsManager
+     *            the thread iterations manager
+     * @param itManager
+     *            the iteration timeout manager
+     * @param schedule
+     *            the schedule giving the iterations to execute
+     * @param actionRequests
+     *            the action requests
+     * @param dataProviders
+     *            the data providers list
+     * @param listeners
+     *            the action task listeners
+     *
+     * @throws ActionExecutionException
+     *             if an action cannot be accessed
+     * @throws NoCompatibleMethodFoundException
+     * @throws NoSuchActionException
+     * @throws NoSuchComponentException
+     */
+    public ArrivalRateActionTask( String caller, String queueName, ThreadsManager threadsManager,
+                                  IterationTimeoutManager itManager, ArrivalSchedule schedule,
+                                  List<ActionRequest> actionRequests, List<ParameterDataProvider> dataProviders,
+                                  List<ActionTaskListener> listeners ) throws ActionExecutionException,
+                                                                       NoSuchComponentException,
+                                                                       NoSuchActionException,
+                                                                       NoCompatibleMethodFoundException {
+
+        super(caller, queueName, threadsManager, itManager, actionRequests, dataProviders, 0, -1, -1, listeners);
+
+        this.schedule = schedule;
+    }
+
+    @Override
+    public ActionTaskResult execute() {
+
+        ActionTaskResult executionResult = null;
+
+        try {
+            while (true) {
+
+                //check if we have been interrupted
+                if (Thread.interrupted()) {
+                    log.debug("Actions queue '" + queueName + "' has been cancelled - exiting");
+                    executionResult = ActionTaskResult.CANCELED;
+                    break;
+                }
+
+                try {
+                    Long intendedStartTime = schedule.nextIteration();
+                    insertDroppedIterations();
+                    if (intendedStartTime == null) {
+                        // all iterations are done
+                        break;
+                    }
+
+                    insertCheckpoint(ATS_ACTION__QUEUE_START_DELAY, elapsedMillis(intendedStartTime),
+                                     CheckpointResult.PASSED);
+
+                    //invoke all the actions of 1 queue iteration
+                    boolean passed = invokeActions();
+
+                    insertCheckpoint(ATS_ACTION__QUEUE_RESPONSE_TIME, elapsedMillis(intendedStartTime),
+                                     passed
+                                            ? CheckpointResult.PASSED
+                                            : CheckpointResult.FAILED);
+                } catch (InterruptedException ie) {
+                    log.warn("Actions queue '" + queueName + "' has been cancelled - exiting");
+                    executionResult = ActionTaskResult.CANCELED;
+                    break;
+                }
+            }
+        } finally {
+            if (itManager != null) {
+                // this queue is going down
+                itManager.shutdown();
+            }
+        }
+
+        if (executionResult == null) {
+            executionResult = ActionTaskResult.FINISHED;
+        }
+        return executionResult;
+    }
+
+    /**
+     * Log the iterations which were never started as failed
+     */
+    private void insertDroppedIterations() {
+
+        for (long i = schedule.takeDroppedIterations(); i > 0; i--) {
+            insertCheckpoint(ATS_ACTION__QUEUE_RESPONSE_TIME, 0, CheckpointResult.FAILED);
+        }
+    }
+
+    private static long elapsedMillis( long startTime ) {
+
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, System.nanoTime() - startTime));
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.threading;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.axway.ats.agent.core.action.ActionRequest;
+import com.axway.ats.agent.core.exceptions.ActionExecutionException;
+import com.axway.ats.agent.core.exceptions.NoCompatibleMethodFoundException;
+import com.axway.ats.agent.core.exceptions.NoSuchActionException;
+import com.axway.ats.agent.core.exceptions.NoSuchComponentException;
+import com.axway.ats.agent.core.threading.data.ParameterDataProvider;
+import com.axway.ats.agent.core.threading.exceptions.ActionTaskLoaderException;
+import com.axway.ats.agent.core.threading.listeners.ActionTaskListener;
+import com.axway.ats.agent.core.threading.listeners.QueueLoaderListener;
+import com.axway.ats.agent.core.threading.patterns.ConstantArrivalRatePattern;
+
+/**
+ * Loader for the open model patterns. A scheduling thread starts the queue iterations
+ * at the requested rate and a pool of threads executes them.
+ */
+public class ArrivalRateQueueLoader extends AbstractQueueLoader {
+
+    private ConstantArrivalRatePattern arrivalRatePattern;
+
+    private int                        numThreads;
+
+    //all worker threads are released at once
+    private ThreadsManager             threadsManager;
+
+    //decides when each iteration starts
+    private ArrivalSchedule            schedule;
+    private Thread                     schedulingThread;
+
+    //single end gate to monitor when all
+    //the threads have finished
+    private CountDownLatch             endGate;
+
+    //the futures for all running tasks
+    private List<Future<Object>>       taskFutures;
+
+    //the default task listeners
+    private List<ActionTaskListener>   defaultTaskListeners;
+
+    private IterationTimeoutManager    itManager;
+
+    /**
+     * @param queueName
+     * @param actionRequests
+     * @param arrivalRatePattern
+     * @param parameterDataProviders
+     * @param listeners
+     * @throws NoSuchComponentException
+     * @throws NoSuchActionException
+     * @throws NoCompatibleMethodFoundException
+     */
+    ArrivalRateQueueLoader( String queueName, List<ActionRequest> actionRequests,
+                            ConstantArrivalRatePattern arrivalRatePattern,
+                            List<ParameterDataProvider> parameterDataProviders,
+                            List<QueueLoaderListener> listeners ) throws NoSuchComponentException,
+                                                                  NoSuchActionException,
+                                                                  NoCompatibleMethodFoundException {
+
+        super(queueName, actionRequests, arrivalRatePattern, arrivalRatePattern, null, parameterDataProviders,
+              listeners);
+
+        this.arrivalRatePattern = arrivalRatePattern;
+        this.numThreads = arrivalRatePattern.getThreadCount();
+
+        this.taskFutures = new ArrayList<Future<Object>>();
+
+        //init the default listeners
+        this.defaultTaskListeners = new ArrayList<ActionTaskListener>();
+        this.defaultTaskListeners.add(new SimpleActionTaskListener());
+    }
+
+    @Override
+    public synchronized void scheduleThreads( String caller,
+                                              boolean isUseSynchronizedIterations ) throws ActionExecutionException,
+                                                                                    ActionTaskLoaderException,
+                                                                                    NoSuchComponentException,
+                                                                                    NoSuchActionException,
+                                                                                    NoCompatibleMethodFoundException {
+
+        //check the state first
+        if (state != ActionTaskLoaderState.NOT_STARTED) {
+            throw new ActionTaskLoaderException("Cannot schedule load queue " + queueName
+                                                + " - it has already been scheduled");
+        }
+        if (isUseSynchronizedIterations) {
+            throw new ActionTaskLoaderException("Cannot schedule load queue " + queueName
+                                                + " - synchronized iterations are not possible when the iterations are started at a given rate");
+        }
+
+        //create the executor - terminate threads when finished
+        ExecutorService executor = LoadQueueExecutors.newExecutor(queueName);
+
+        // create the thread for managing max iteration length
+        int iterationTimeout = startPattern.getIterationTimeout();
+        if (iterationTimeout > 0) {
+            itManager = new IterationTimeoutManager(iterationTimeout);
+        }
+
+        // the iterations may wait for a free thread up to about a second,
+        // after that they are dropped as we are hopelessly behind
+        schedule = new ArrivalSchedule(arrivalRatePattern,
+                                       Math.max(numThreads, arrivalRatePattern.getMaxRate()));
+
+        threadsManager = new ThreadsManager();
+        taskFutures = new ArrayList<Future<Object>>();
+        for (int i = 0; i < numThreads; i++) {
+            Future<Object> taskFuture = executor.submit(new ArrivalRateActionTask(caller, queueName,
+                                                                                  threadsManager, itManager,
+                                                                                  schedule, actionRequests,
+                                                                                  parameterDataProviders,
+                                                                                  defaultTaskListeners),
+                                                        null);
+            taskFutures.add(taskFuture);
+        }
+
+        schedulingThread = new Thread(schedule, "ATS_ARRIVAL_SCHEDULER_" + queueName);
+        schedulingThread.setDaemon(true);
+
+        state = ActionTaskLoaderState.SCHEDULED;
+    }
+
+    @Override
+    public synchronized void start() throws ActionExecutionException, ActionTaskLoaderException {
+
+        //check the state first
+        if (state != ActionTaskLoaderState.SCHEDULED) {
+            throw new ActionTaskLoaderException("Cannot start load queue " + queueName
+                                                + " - it has not been scheduled yet");
+        }
+
+        state = ActionTaskLoaderState.RUNNING;
+
+        // start iterations timeout manager before starting the threads
+        if (itManager != null && !itManager.isAlive()) {
+            itManager.start();
+        }
+
+        this.endGate = new CountDownLatch(numThreads);
+
+        threadsManager.start();
+        schedulingThread.start();
+
+        //block until completed if necessary
+        if (blockUntilCompletion) {
+            waitUntilFinished();
+        }
+    }
+
+    @Override
+    public void resume() throws ActionExecutionException, ActionTaskLoaderException {
+
+        throw new ActionTaskLoaderException("Cannot resume load queue " + queueName
+                                            + " - it is never paused as its iterations are started at a given rate");
+    }
+
+    @Override
+    public void cancel() {
+
+        //cancel only if still running
+        log.debug("Cancelling all tasks");
+
+        if (schedulingThread != null) {
+            schedulingThread.interrupt();
+        }
+        if (schedule != null) {
+            schedule.finish();
+        }
+
+        for (Future<Object> taskFuture : taskFutures) {
+            taskFuture.cancel(true);
+        }
+        log.debug("Cancelled all tasks with state " + state);
+
+        //notify the listeners
+        callOnFinish();
+    }
+
+    @Override
+    public synchronized void waitUntilFinished() {
+
+        //wait only if the load queue has already been started
+        //if it was only scheduled, then we don't need to wait
+        while (state == ActionTaskLoaderState.RUNNING) {
+            //block until all tasks exit
+            try {
+                wait();
+            } catch (InterruptedException ie) {
+                log.error("Interrupted exception caught", ie);
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean waitUntilPaused() {
+
+        // this queue never pauses, just wait for its end
+        waitUntilFinished();
+
+        return false;
+    }
+
+    private class SimpleActionTaskListener implements ActionTaskListener {
+
+        @Override
+        public void onStart() {
+
+            log.registerThreadWithLoadQueue(queueName);
+        }
+
+        @Override
+        public synchronized void onPause() {
+
+            // not expected as the tasks do not pause
+        }
+
+        @Override
+        public synchronized void onFinish( Throwable throwable ) {
+
+            if (throwable != null) {
+
+                //log the error
+                log.error("Exception caught while executing a task", throwable);
+            }
+
+            //this task has finished, so decrement the end gate counter
+            endGate.countDown();
+
+            //if all tasks have finished we need to end
+            if (endGate.getCount() == 0) {
+
+                //notify the listeners that execution has finished
+                callOnFinish();
+            }
+        }
+    }
+}
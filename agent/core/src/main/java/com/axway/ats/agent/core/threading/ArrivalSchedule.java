@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.threading;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.log4j.Logger;
+
+import com.axway.ats.agent.core.threading.patterns.model.ArrivalRateExecutionPattern;
+
+/**
+ * Decides when each iteration of an arrival rate load queue is supposed to start
+ * and passes the iterations to the threads executing them.
+ *
+ * <p>The scheduling thread runs this schedule. When it is time for an iteration, the intended start time
+ * is put in a bounded queue and a free worker thread takes it from there. If the workers are so far behind
+ * that the queue is full, the iteration is dropped and counted. The worker threads take the dropped iterations
+ * through {@link #takeDroppedIterations()} and log them as failed, so they are visible in the queue results.</p>
+ */
+public class ArrivalSchedule implements Runnable {
+
+    private static final Logger       log                      = Logger.getLogger(ArrivalSchedule.class);
+
+    private static final long         NANOS_PER_SECOND         = TimeUnit.SECONDS.toNanos(1);
+
+    // how often to tell the user about dropped iterations
+    private static final long         DROPPED_WARNING_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    // for each stage: its start in seconds, the rates at its start and end, its duration in seconds
+    // and the number of iterations started before it
+    private final double[]            stageStarts;
+    private final double[]            stageStartRates;
+    private final double[]            stageEndRates;
+    private final double[]            stageDurations;
+    private final double[]            stageStartIterations;
+
+    private final long                numberIterations;
+
+    // the intended start times(as returned by System.nanoTime()) of the iterations waiting for a thread
+    private final BlockingQueue<Long> pendingIterations;
+
+    private volatile boolean          isFinished;
+
+    private volatile long             numberDroppedIterations;
+
+    // the dropped iterations not taken by a worker thread yet
+    private final AtomicLong          unreportedDroppedIterations = new AtomicLong();
+
+    /**
+     * @param pattern the arrival rate pattern
+     * @param maxPendingIterations the max number of iterations waiting for a free thread
+     */
+    public ArrivalSchedule( ArrivalRateExecutionPattern pattern, int maxPendingIterations ) {
+
+        int[] targetRates = pattern.getStageTargetRates();
+        int[] durations = pattern.getStageDurations();
+
+        stageStarts = new double[targetRates.length];
+        stageStartRates = new double[targetRates.length];
+        stageEndRates = new double[targetRates.length];
+        stageDurations = new double[targetRates.length];
+        stageStartIterations = new double[targetRates.length];
+
+        double stageStart = 0;
+        double stageStartRate = pattern.getStartRate();
+        double iterations = 0;
+        for (int i = 0; i < targetRates.length; i++) {
+            stageStarts[i] = stageStart;
+            stageStartRates[i] = stageStartRate;
+            stageEndRates[i] = targetRates[i];
+            stageDurations[i] = durations[i];
+            stageStartIterations[i] = iterations;
+
+            // the rate changes linearly, so the iterations are the area of a trapezoid
+            iterations += (stageStartRates[i] + stageEndRates[i]) * stageDurations[i] / 2;
+            stageStart += durations[i];
+            stageStartRate = targetRates[i];
+        }
+        numberIterations = (long) Math.floor(iterations + 1e-9);
+
+        pendingIterations = new ArrayBlockingQueue<Long>(Math.max(1, maxPendingIterations));
+    }
+
+    /**
+     * @return the total number of iterations
+     */
+    public long getNumberIterations() {
+
+        return numberIterations;
+    }
+
+    /**
+     * @return the number of iterations dropped as all threads were busy for too long
+     */
+    public long getNumberDroppedIterations() {
+
+        return numberDroppedIterations;
+    }
+
+    /**
+     * Called by the worker threads to take the iterations dropped since the last call, so they can be logged
+     *
+     * @return the number of dropped iterations, each of them is returned just once
+     */
+    public long takeDroppedIterations() {
+
+        return unreportedDroppedIterations.getAndSet(0);
+    }
+
+    /**
+     * @param iteration the iteration number, starting from 0
+     * @return when the iteration must start, in nanoseconds after the start of the schedule;
+     * or -1 if there is no such iteration
+     */
+    public long getIterationOffset( long iteration ) {
+
+        if (iteration < 0 || iteration >= numberIterations) {
+            return -1;
+        }
+
+        // find the stage of this iteration
+        int stage = stageStarts.length - 1;
+        while (stage > 0 && stageStartIterations[stage] > iteration) {
+            stage--;
+        }
+
+        // solve rate0 * t + (rate1 - rate0) / (2 * duration) * t^2 = iterations in this stage
+        double iterationsInStage = iteration - stageStartIterations[stage];
+        double a = (stageEndRates[stage] - stageStartRates[stage]) / (2 * stageDurations[stage]);
+        double b = stageStartRates[stage];
+        double timeInStage;
+        if (Math.abs(a) < 1e-12) {
+            timeInStage = iterationsInStage / b;
+        } else {
+            timeInStage = (-b + Math.sqrt(Math.max(0, b * b + 4 * a * iterationsInStage))) / (2 * a);
+        }
+
+        return (long) ((stageStarts[stage] + timeInStage) * NANOS_PER_SECOND);
+    }
+
+    /**
+     * Called by the scheduling thread. Passes all iterations to the worker threads on time.
+     */
+    @Override
+    public void run() {
+
+        final long startTime = System.nanoTime();
+        long lastWarningTime = startTime;
+        long lastWarningDroppedIterations = 0;
+        try {
+            for (long iteration = 0; iteration < numberIterations; iteration++) {
+
+                long intendedStartTime = startTime + getIterationOffset(iteration);
+
+                // wait for the iteration start time
+                long waitTime;
+                while ((waitTime = intendedStartTime - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(waitTime);
+                    if (Thread.interrupted()) {
+                        return;
+                    }
+                }
+
+                if (!pendingIterations.offer(intendedStartTime)) {
+                    // all threads are busy for too long
+                    numberDroppedIterations++;
+                    unreportedDroppedIterations.incrementAndGet();
+                }
+
+                if (numberDroppedIterations > lastWarningDroppedIterations
+                    && intendedStartTime - lastWarningTime > DROPPED_WARNING_INTERVAL) {
+                    log.warn("Dropped " + (numberDroppedIterations - lastWarningDroppedIterations)
+                             + " iterations as all threads were busy. Increase the number of threads if the "
+                             + "requested rate is to be kept");
+                    lastWarningTime = intendedStartTime;
+                    lastWarningDroppedIterations = numberDroppedIterations;
+                }
+            }
+        } finally {
+            isFinished = true;
+            if (numberDroppedIterations > 0) {
+                log.warn("Dropped " + numberDroppedIterations + " out of " + numberIterations
+                         + " iterations in total as all threads were busy");
+            }
+        }
+    }
+
+    /**
+     * Called by the worker threads to get their next iteration
+     *
+     * @return the intended start time of the next iteration as returned by System.nanoTime(),
+     * or null if all iterations are already started
+     * @throws InterruptedException
+     */
+    public Long nextIteration() throws InterruptedException {
+
+        while (true) {
+            Long intendedStartTime = pendingIterations.poll(100, TimeUnit.MILLISECONDS);
+            if (intendedStartTime != null) {
+                return intendedStartTime;
+            }
+            if (isFinished && pendingIterations.isEmpty()) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Stop scheduling iterations, the worker threads will finish once the pending iterations are done
+     */
+    public void finish() {
+
+        isFinished = true;
+    }
+}
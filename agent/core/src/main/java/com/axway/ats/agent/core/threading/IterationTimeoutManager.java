@@ -15,9 +15,18 @@
  */
 package com.axway.ats.agent.core.threading;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * When the pattern has an iteration timeout set, this class starts a thread which
@@ -28,33 +37,76 @@
  *
  * Does not interrupt while:
  *  - a sleep between iterations is running
+ *
+ * The iteration deadlines are kept in a hashed timer wheel - a ring of buckets, each one holding the threads
+ * whose deadline falls in its tick. Each thread has a single descriptor which is reused for all its iterations,
+ * so arming and disarming a timeout is just an update of the descriptor's deadline and, when the descriptor
+ * is not in the wheel, a lock-free append to one bucket. The manager thread moves the descriptors to the right
+ * bucket when their deadline has changed meanwhile.
  */
 public class IterationTimeoutManager extends Thread {
 
     // the name of the thread managing the iterations
-    public static final String            THREAD_NAME        = "ATS_ITERATION_TIMEOUT_MANAGER_";
+    public static final String                  THREAD_NAME        = "ATS_ITERATION_TIMEOUT_MANAGER_";
+
+    private static final long                   NOT_SET_DEADLINE   = Long.MAX_VALUE;
+
+    // the default length of one tick of the wheel
+    private static final long                   TICK_MILLIS        = 100;
+
+    // the number of buckets, a full rotation of the wheel with the default tick is about 50 seconds
+    static final int                            WHEEL_SIZE         = 512;
 
-    // list of threads to manage
-    // <thread name, thread description>
-    private Map<String, ThreadDescriptor> threads;
+    // how often to look for threads which are gone without telling us
+    private static final long                   SWEEP_INTERVAL     = 1000;
 
     // the max iteration timeout as provided by the user
-    private int                           timeoutMillis;
+    private final int                           timeoutMillis;
+
+    // the length of one tick of the wheel
+    private final long                          tickMillis;
+
+    // the timer wheel, the threads with deadline in tick N are in bucket N % WHEEL_SIZE
+    private final Queue<ThreadDescriptor>[]     wheel;
+
+    // the last tick processed by the manager thread
+    private volatile long                       processedTick;
+
+    // all threads to manage
+    private final Set<ThreadDescriptor>         threads;
+    private final AtomicInteger                 numberThreads;
 
-    // the moment the soonest iteration will start
-    private long                          nextIterationStartTime;
-    private static final long             NOT_SET_START_TIME = Long.MAX_VALUE;
+    // the descriptor of the current thread
+    private final ThreadLocal<ThreadDescriptor> threadDescriptor;
 
     // whether the performance queue is over
-    private boolean                       isQueueOver;
+    private volatile boolean                    isQueueOver;
 
     public IterationTimeoutManager( int timeoutSeconds ) {
 
+        this(timeoutSeconds, TICK_MILLIS);
+    }
+
+    /**
+     * @param timeoutSeconds the iteration timeout
+     * @param tickMillis the length of one tick of the wheel, the tests make it short to turn the wheel faster
+     */
+    @SuppressWarnings( "unchecked")
+    IterationTimeoutManager( int timeoutSeconds, long tickMillis ) {
+
         this.timeoutMillis = timeoutSeconds * 1000;
-        this.nextIterationStartTime = NOT_SET_START_TIME;
+        this.tickMillis = tickMillis;
         this.isQueueOver = false;
 
-        this.threads = new HashMap<>();
+        this.wheel = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.wheel[i] = new ConcurrentLinkedQueue<ThreadDescriptor>();
+        }
+        this.processedTick = System.currentTimeMillis() / tickMillis - 1;
+
+        this.threads = ConcurrentHashMap.newKeySet();
+        this.numberThreads = new AtomicInteger();
+        this.threadDescriptor = new ThreadLocal<ThreadDescriptor>();
     }
 
     /**
@@ -66,25 +118,20 @@ public IterationTimeoutManager( int timeoutSeconds ) {
      */
     public void setIterationStartTime( AbstractActionTask actionTask, long iterationStartTime ) {
 
-        Thread thread = Thread.currentThread();
-
-        synchronized (this.threads) {
-            // find the soonest iteration start time
-            if (this.nextIterationStartTime > iterationStartTime) {
-                this.nextIterationStartTime = iterationStartTime;
-            }
+        ThreadDescriptor threadDesc = this.threadDescriptor.get();
+        if (threadDesc == null) { // add the thread if not known
+            threadDesc = new ThreadDescriptor(actionTask, Thread.currentThread());
+            this.threadDescriptor.set(threadDesc);
+            this.threads.add(threadDesc);
+            this.numberThreads.incrementAndGet();
+        }
 
-            // set the start time of the next iteration for this thread
-            String threadName = thread.getName();
-            ThreadDescriptor threadDesc = this.threads.get(threadName);
-            if (threadDesc == null) { // add the thread if not known
-                threadDesc = new ThreadDescriptor();
-                threadDesc.actionTask = actionTask;
-                threadDesc.thread = thread;
-                this.threads.put(threadName, threadDesc);
-            }
-            threadDesc.iterationStartTime = iterationStartTime;
+        threadDesc.deadline.set(iterationStartTime + timeoutMillis);
+        if (threadDesc.isInWheel.compareAndSet(false, true)) {
+            addToWheel(threadDesc, iterationStartTime + timeoutMillis);
         }
+        // else the descriptor is still in the bucket of an earlier deadline,
+        // the manager thread will move it when it gets there
     }
 
     /**
@@ -92,24 +139,10 @@ public void setIterationStartTime( AbstractActionTask actionTask, long iteration
      */
     public void clearIterationStartTime() {
 
-        String threadName = Thread.currentThread().getName();
-
-        synchronized (this.threads) {
-            ThreadDescriptor threadDesc = this.threads.get(threadName);
-            if (threadDesc != null) {
-                long thisThreadIterationStartTime = threadDesc.iterationStartTime;
-                threadDesc.iterationStartTime = NOT_SET_START_TIME;
-
-                if (thisThreadIterationStartTime == this.nextIterationStartTime) {
-                    // we have to recalculate the start time of the next iteration
-                    this.nextIterationStartTime = NOT_SET_START_TIME;
-                    for (ThreadDescriptor _threadDesc : threads.values()) {
-                        if (this.nextIterationStartTime > _threadDesc.iterationStartTime) {
-                            this.nextIterationStartTime = _threadDesc.iterationStartTime;
-                        }
-                    }
-                }
-            }
+        ThreadDescriptor threadDesc = this.threadDescriptor.get();
+        if (threadDesc != null) {
+            // the descriptor stays in the wheel, it is dropped when its bucket is processed
+            threadDesc.deadline.set(NOT_SET_DEADLINE);
         }
     }
 
@@ -121,72 +154,39 @@ public void run() {
 
         Thread.currentThread().setName(THREAD_NAME + Thread.currentThread().getName());
 
-        // waiting for the first iteration to start
-        waitForNextIterationStart();
+        long lastSweepTime = System.currentTimeMillis();
+        List<ThreadDescriptor> bucketThreads = new ArrayList<ThreadDescriptor>();
 
         // manage the threads until they all die
-        boolean thereAreAliveThreads;
-        do {
-            waitForNextIterationStart();
+        while (!this.isQueueOver) {
 
-            thereAreAliveThreads = false;
             long now = System.currentTimeMillis();
 
-            sleepUntilNextIterationStartTime();
-
-            // clear the next iteration start time, we will calculate it while cycling over the threads
-            this.nextIterationStartTime = NOT_SET_START_TIME;
-
-            synchronized (this.threads) {
-                // check if some iterations are late
-                Iterator<ThreadDescriptor> it = this.threads.values().iterator();
-                while (it.hasNext()) {
-                    ThreadDescriptor threadDesc = it.next();
-
-                    if (!threadDesc.thread.isAlive() || threadDesc.actionTask.isExternallyInterrupted()) {
-                        // 1. thread is not alive
-                        // 2. thread is externally interrupted - for example user canceled the queue
-                        // in both cases, we do not want to manage this thread anymore
-                        it.remove();
-
-                        this.isQueueOver = this.threads.size() == 0; // check if there are more threads present
-                    } else {
-                        thereAreAliveThreads = true; // will keep cycling
-
-                        // check if the thread is timed-out, it is still alive, probably sleeping before next iteration
-                        if (!threadDesc.actionTask.isTimedOut() // do not deal with timed out threads, this flag will be cleared before next iteration
-                            && threadDesc.iterationStartTime != NOT_SET_START_TIME // do not deal with threads with unknown iteration start time
-                        ) {
-                            if (threadDesc.iterationStartTime + timeoutMillis <= now) {
-                                // thread has hit the timeout, it is time to interrupt it
-
-                                // 1. mark the thread as timed out.
-                                // This way when it receive an InterruptedException, it will know
-                                // it was interrupted due to timeout
-                                threadDesc.actionTask.setTimedOut((int) ( (now
-                                                                           - threadDesc.iterationStartTime)
-                                                                          / 1000));
-
-                                // 2. clear the start time.
-                                // If this thread sleeps between iterations, 
-                                // we might meanwhile come here again because it is time to check some other thread for timeout.  
-                                // Without clearing the start time, we will do timeout calculation using the old iteration start time,
-                                // so this thread will appear to have timed out again, so we will interrupt it when this is not right.
-                                threadDesc.iterationStartTime = NOT_SET_START_TIME;
-
-                                // 3. interrupt this thread
-                                threadDesc.thread.interrupt();
-                            } else {
-                                // the timeout is not hit, but we need to find the next iteration start time
-                                if (this.nextIterationStartTime > threadDesc.iterationStartTime) {
-                                    this.nextIterationStartTime = threadDesc.iterationStartTime;
-                                }
-                            }
-                        }
-                    }
+            // process all buckets up to the current tick
+            long currentTick = now / tickMillis;
+            while (this.processedTick < currentTick) {
+                long tick = this.processedTick + 1;
+
+                Queue<ThreadDescriptor> bucket = this.wheel[(int) (tick % WHEEL_SIZE)];
+                ThreadDescriptor threadDesc;
+                while ( (threadDesc = bucket.poll()) != null) {
+                    bucketThreads.add(threadDesc);
                 }
+                this.processedTick = tick;
+
+                for (ThreadDescriptor bucketThread : bucketThreads) {
+                    processThread(bucketThread, now);
+                }
+                bucketThreads.clear();
+            }
+
+            if (now - lastSweepTime >= SWEEP_INTERVAL) {
+                sweepThreads(now);
+                lastSweepTime = now;
             }
-        } while (thereAreAliveThreads && !this.isQueueOver);
+
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(tickMillis));
+        }
     }
 
     /**
@@ -194,63 +194,139 @@ public void run() {
      */
     public void shutdown() {
 
-        String threadName = Thread.currentThread().getName();
-
-        synchronized (this.threads) {
-            ThreadDescriptor threadDesc = this.threads.get(threadName);
-            if (threadDesc != null) {
-                this.threads.remove(threadName);
-                this.isQueueOver = this.threads.size() == 0;
-            }
+        ThreadDescriptor threadDesc = this.threadDescriptor.get();
+        if (threadDesc != null) {
+            this.threadDescriptor.remove();
+            removeThread(threadDesc);
         }
     }
 
     /**
-     * Wait for the soonest iteration to start
+     * Check a thread from the bucket of the current tick
      */
-    private void waitForNextIterationStart() {
+    private void processThread( ThreadDescriptor threadDesc, long now ) {
+
+        if (threadDesc.isRemoved) {
+            return;
+        }
 
-        do {
-            if (this.isQueueOver) {
+        long deadline = threadDesc.deadline.get();
+        if (deadline == NOT_SET_DEADLINE) {
+            // the iteration is over, take the descriptor out of the wheel.
+            // Check the deadline again, as the thread might have started another iteration meanwhile
+            threadDesc.isInWheel.set(false);
+            deadline = threadDesc.deadline.get();
+            if (deadline == NOT_SET_DEADLINE || !threadDesc.isInWheel.compareAndSet(false, true)) {
                 return;
             }
+        }
 
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {}
-        } while (this.nextIterationStartTime == NOT_SET_START_TIME);
+        if (deadline > now) {
+            // the thread has started a new iteration, move it to the bucket of its current deadline
+            addToWheel(threadDesc, deadline);
+        } else {
+            checkTimeout(threadDesc, deadline, now);
+
+            threadDesc.isInWheel.set(false);
+            if (threadDesc.deadline.get() != NOT_SET_DEADLINE
+                && threadDesc.isInWheel.compareAndSet(false, true)) {
+                // a new iteration has been started just now
+                addToWheel(threadDesc, threadDesc.deadline.get());
+            }
+        }
     }
 
     /**
-     * Sleep until the next iteration start time
+     * Interrupt the thread if it is still running the iteration with the given deadline
      */
-    private void sleepUntilNextIterationStartTime() {
+    private void checkTimeout( ThreadDescriptor threadDesc, long deadline, long now ) {
+
+        if (!threadDesc.thread.isAlive() || threadDesc.actionTask.isExternallyInterrupted()) {
+            // 1. thread is not alive
+            // 2. thread is externally interrupted - for example user canceled the queue
+            // in both cases, we do not want to manage this thread anymore
+            removeThread(threadDesc);
+            return;
+        }
+
+        // do not deal with timed out threads, this flag will be cleared before next iteration
+        if (!threadDesc.actionTask.isTimedOut()
+            // Clear the deadline, so we do not interrupt this thread again in the same iteration.
+            // If it fails, the iteration is over or another one is started meanwhile
+            && threadDesc.deadline.compareAndSet(deadline, NOT_SET_DEADLINE)) {
 
-        do {
-            long timeToSleep = this.nextIterationStartTime + this.timeoutMillis - System.currentTimeMillis();;
-            if (timeToSleep <= 0 // there was some delay, no time to sleep
+            // thread has hit the timeout, it is time to interrupt it
+
+            // 1. mark the thread as timed out.
+            // This way when it receive an InterruptedException, it will know
+            // it was interrupted due to timeout
+            long iterationStartTime = deadline - timeoutMillis;
+            threadDesc.actionTask.setTimedOut((int) ( (now - iterationStartTime) / 1000));
+
+            // 2. interrupt this thread
+            threadDesc.thread.interrupt();
+        }
+    }
+
+    /**
+     * Look for threads which are gone without calling {@link #shutdown()}. 
+     * It also checks the timeouts, in case some of them was not found in the wheel on time.
+     */
+    private void sweepThreads( long now ) {
 
-                // do not have a know iteration start time, maybe the threads are currently sleeping between iterations
-                || this.nextIterationStartTime == NOT_SET_START_TIME
+        Iterator<ThreadDescriptor> it = this.threads.iterator();
+        while (it.hasNext()) {
+            ThreadDescriptor threadDesc = it.next();
 
-                || this.isQueueOver // the queue is over
-            ) {
+            long deadline = threadDesc.deadline.get();
+            if (deadline <= now) {
+                checkTimeout(threadDesc, deadline, now);
+            } else if (!threadDesc.thread.isAlive() || threadDesc.actionTask.isExternallyInterrupted()) {
+                removeThread(threadDesc);
+            }
+        }
+    }
+
+    private void addToWheel( ThreadDescriptor threadDesc, long deadline ) {
+
+        // a bucket which is already processed would be visited again after a full rotation,
+        // so late deadlines go to the next bucket to process
+        long tick = Math.max(deadline / tickMillis, this.processedTick + 1);
+        this.wheel[(int) (tick % WHEEL_SIZE)].add(threadDesc);
+    }
+
+    private void removeThread( ThreadDescriptor threadDesc ) {
+
+        synchronized (threadDesc) {
+            if (threadDesc.isRemoved) {
                 return;
             }
+            threadDesc.isRemoved = true;
+        }
+        threadDesc.deadline.set(NOT_SET_DEADLINE);
+        this.threads.remove(threadDesc);
 
-            // It is easier to just sleep for <timeToSleep>, but there is a corner case:
-            // If user set a very long sleep, longer than the total queue execution time,
-            // then we would sleep for that long period of time even after the queue is over.
-            // That is why we sleep shortly and keep checking the <isQueueOver> flag
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {}
-        } while (true);
+        // check if there are more threads present
+        if (this.numberThreads.decrementAndGet() == 0) {
+            this.isQueueOver = true;
+            LockSupport.unpark(this);
+        }
     }
 
     class ThreadDescriptor {
-        private AbstractActionTask actionTask;
-        private Thread             thread;
-        private long               iterationStartTime;
+        private final AbstractActionTask actionTask;
+        private final Thread             thread;
+
+        // when the current iteration times out
+        private final AtomicLong         deadline  = new AtomicLong(NOT_SET_DEADLINE);
+        // whether this descriptor is in some bucket of the wheel
+        private final AtomicBoolean      isInWheel = new AtomicBoolean(false);
+        private volatile boolean         isRemoved;
+
+        ThreadDescriptor( AbstractActionTask actionTask, Thread thread ) {
+
+            this.actionTask = actionTask;
+            this.thread = thread;
+        }
     }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.threading;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+
+import com.axway.ats.common.systemproperties.AtsSystemProperties;
+
+/**
+ * Creates the executors running the threads of the load queues.
+ *
+ * <p>By default each load queue thread is a platform thread. When {@link AtsSystemProperties#AGENT__LOAD_QUEUE_VIRTUAL_THREADS}
+ * is set and the JVM supports it (Java 21 or newer), each load queue thread is a virtual thread instead.
+ * The virtual threads API is accessed by reflection as the Agent is still built for Java 8.</p>
+ *
+ * <p>The virtual threads get unique names, as the callers, the DB logging and the iteration timeouts
+ * keep track of the load queue threads by their names.</p>
+ */
+class LoadQueueExecutors {
+
+    private static final Logger        log                     = Logger.getLogger(LoadQueueExecutors.class);
+
+    static final String                VIRTUAL_THREAD_PREFIX   = "ATS_VIRTUAL_";
+
+    // numbers the virtual thread executors, so their threads have unique names
+    private static final AtomicInteger virtualExecutorsCounter = new AtomicInteger();
+
+    private static Method              newVirtualThreadBuilderMethod;
+    private static Method              nameVirtualThreadsMethod;
+    private static Method              newThreadFactoryMethod;
+    private static Method              newThreadPerTaskExecutorMethod;
+
+    static {
+        try {
+            newVirtualThreadBuilderMethod = Thread.class.getMethod("ofVirtual");
+            Class<?> threadBuilderClass = Class.forName("java.lang.Thread$Builder");
+            nameVirtualThreadsMethod = threadBuilderClass.getMethod("name", String.class, long.class);
+            newThreadFactoryMethod = threadBuilderClass.getMethod("factory");
+            newThreadPerTaskExecutorMethod = Executors.class.getMethod("newThreadPerTaskExecutor",
+                                                                       ThreadFactory.class);
+        } catch (Exception e) {
+            // virtual threads are not supported by this JVM
+            newVirtualThreadBuilderMethod = null;
+        }
+    }
+
+    /**
+     * @return whether this JVM supports virtual threads
+     */
+    static boolean isVirtualThreadsSupported() {
+
+        return newVirtualThreadBuilderMethod != null;
+    }
+
+    /**
+     * @return whether the load queue threads are to be virtual threads
+     */
+    static boolean isVirtualThreadsEnabled() {
+
+        return AtsSystemProperties.getPropertyAsBoolean(AtsSystemProperties.AGENT__LOAD_QUEUE_VIRTUAL_THREADS,
+                                                        false);
+    }
+
+    /**
+     * Create the executor for the threads of a load queue.
+     * It starts a new thread for each task and the thread ends when its task is over.
+     *
+     * @param queueName the load queue name
+     * @return the executor
+     */
+    static ExecutorService newExecutor( String queueName ) {
+
+        if (isVirtualThreadsEnabled()) {
+            if (isVirtualThreadsSupported()) {
+                try {
+                    return newVirtualThreadsExecutor();
+                } catch (Exception e) {
+                    log.warn("Could not create virtual threads for load queue '" + queueName
+                             + "'. Platform threads will be used instead", e);
+                }
+            } else {
+                log.warn("Virtual threads are requested by the '"
+                         + AtsSystemProperties.AGENT__LOAD_QUEUE_VIRTUAL_THREADS + "' property, but Java "
+                         + System.getProperty("java.version") + " does not support them. Load queue '"
+                         + queueName + "' will use platform threads");
+            }
+        }
+
+        //create the executor - terminate threads when finished
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newCachedThreadPool();
+        executor.setKeepAliveTime(0, TimeUnit.SECONDS);
+        return executor;
+    }
+
+    private static ExecutorService newVirtualThreadsExecutor() throws Exception {
+
+        // Executors.newThreadPerTaskExecutor( Thread.ofVirtual().name( prefix, 0 ).factory() )
+        String threadNamePrefix = VIRTUAL_THREAD_PREFIX + virtualExecutorsCounter.incrementAndGet() + "_";
+        Object threadBuilder = newVirtualThreadBuilderMethod.invoke(null);
+        threadBuilder = nameVirtualThreadsMethod.invoke(threadBuilder, threadNamePrefix, 0L);
+        ThreadFactory threadFactory = (ThreadFactory) newThreadFactoryMethod.invoke(threadBuilder);
+
+        return (ExecutorService) newThreadPerTaskExecutorMethod.invoke(null, threadFactory);
+    }
+}
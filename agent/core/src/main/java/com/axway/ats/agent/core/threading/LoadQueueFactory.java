@@ -26,6 +26,7 @@
 import com.axway.ats.agent.core.threading.exceptions.ThreadingPatternNotSupportedException;
 import com.axway.ats.agent.core.threading.listeners.QueueLoaderListener;
 import com.axway.ats.agent.core.threading.patterns.AllAtOncePattern;
+import com.axway.ats.agent.core.threading.patterns.ConstantArrivalRatePattern;
 import com.axway.ats.agent.core.threading.patterns.FixedDurationAllAtOncePattern;
 import com.axway.ats.agent.core.threading.patterns.FixedDurationRampUpPattern;
 import com.axway.ats.agent.core.threading.patterns.RampUpPattern;
@@ -107,6 +108,13 @@ public static final QueueLoader createLoadQueue( String queueName,
                                          (ExecutionPattern) threadingPattern, parameterDataProviders,
                                          listeners);
 
+        } else if (threadingPattern.getClass() == ConstantArrivalRatePattern.class) {
+
+            //the iterations are started at a given rate
+            return new ArrivalRateQueueLoader(queueName, actionRequests,
+                                              (ConstantArrivalRatePattern) threadingPattern,
+                                              parameterDataProviders, listeners);
+
         } else {
             throw new ThreadingPatternNotSupportedException(threadingPattern.getClass().getSimpleName());
         }
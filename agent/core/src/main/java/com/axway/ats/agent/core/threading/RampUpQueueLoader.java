@@ -19,10 +19,8 @@
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorCompletionService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 import com.axway.ats.agent.core.action.ActionRequest;
 import com.axway.ats.agent.core.exceptions.ActionExecutionException;
@@ -129,8 +127,7 @@ public class RampUpQueueLoader extends AbstractQueueLoader {
         }
 
         //create the executor - terminate threads when finished
-        ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newCachedThreadPool();
-        executor.setKeepAliveTime(0, TimeUnit.SECONDS);
+        ExecutorService executor = LoadQueueExecutors.newExecutor(queueName);
 
         ExecutorCompletionService<Object> executionService = new ExecutorCompletionService<Object>(executor);
 
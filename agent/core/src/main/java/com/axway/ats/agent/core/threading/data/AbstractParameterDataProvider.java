@@ -83,6 +83,15 @@ public String getParameterName() {
         return this.parameterName;
     }
 
+    /**
+     * Get the level this provider works on
+     * @return the provider level
+     */
+    public ParameterProviderLevel getParameterProviderLevel() {
+
+        return this.parameterProviderLevel;
+    }
+
     /**
      * Get the data provider instance
      * @return the data provider instance
@@ -113,6 +113,16 @@ public String getFileName( List<ArgumentValue> previousValues ) {
         return getFileName(null, null, previousValues);
     }
 
+    /**
+     *
+     * @param index the file position, the files start over after the last one
+     * @return the file name at the given position
+     */
+    public String getFileName( long index ) {
+
+        return fileList.get((int) (index % fileList.size()));
+    }
+
     /**
      *
      * @param currentThreadId current thread id
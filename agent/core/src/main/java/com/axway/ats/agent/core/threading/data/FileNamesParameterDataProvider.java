@@ -30,7 +30,8 @@
  * Data provider for file names from a given folder - during initialization, the all file names
  * from a folder a put in a list. Upon request, the next value from the list is returned.
  */
-public class FileNamesParameterDataProvider extends AbstractParameterDataProvider {
+public class FileNamesParameterDataProvider extends AbstractParameterDataProvider
+        implements IndexedParameterDataProvider {
 
     private List<FileContainer> fileContainers;
     private List<FileContainer> containersArray;
@@ -39,6 +40,11 @@ public class FileNamesParameterDataProvider extends AbstractParameterDataProvide
     private int                 containersCount;
     private int                 currentFileContainerIndex;
 
+    // for each position in the containers array - how many times its container is in the whole array
+    // and how many times before this position. They give the file position in the container.
+    private int[]               containerFrequencies;
+    private int[]               containerPreviousOccurrences;
+
     FileNamesParameterDataProvider( String parameterName,
                                     List<FileContainer> fileContainers,
                                     boolean recursiveSearch,
@@ -65,6 +71,14 @@ protected void doInitialize() throws ParameterDataProviderInitalizationException
 
         containersCount = containersArray.size();
         currentFileContainerIndex = 0;
+
+        containerFrequencies = new int[containersCount];
+        containerPreviousOccurrences = new int[containersCount];
+        for (int i = 0; i < containersCount; i++) {
+            FileContainer container = containersArray.get(i);
+            containerFrequencies[i] = Collections.frequency(containersArray, container);
+            containerPreviousOccurrences[i] = Collections.frequency(containersArray.subList(0, i), container);
+        }
     }
 
     @Override
@@ -133,6 +147,30 @@ protected ArgumentValue generateNewValuePerThreadStatic(
                                                              alreadyResolvedValues));
     }
 
+    @Override
+    public boolean isIndexed() {
+
+        for (FileContainer container : fileContainers) {
+            if (container.isPatternContainingParams()) {
+                // the file names depend on the values of the other parameters
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public ArgumentValue getValue(
+                                   long index ) {
+
+        int position = (int) (index % containersCount);
+        // the file position is the number of times this container was used before
+        long fileIndex = (index / containersCount) * containerFrequencies[position]
+                         + containerPreviousOccurrences[position];
+
+        return new ArgumentValue(parameterName, containersArray.get(position).getFileName(fileIndex));
+    }
+
     /**
      * Get all the files in a folder
      *
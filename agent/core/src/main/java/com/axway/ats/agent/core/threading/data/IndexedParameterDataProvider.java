@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.threading.data;
+
+import com.axway.ats.agent.core.action.ArgumentValue;
+import com.axway.ats.agent.core.threading.data.config.ParameterProviderLevel;
+
+/**
+ * A parameter data provider which can return the value at any position of its sequence of values.
+ * The sequence is generated once, so the values can be returned to many threads at the same time
+ * without locking.
+ * <br>
+ * Which position each thread gets is decided by {@link IndexedParameterDataProviders}
+ * according to the provider level.
+ */
+public interface IndexedParameterDataProvider extends ParameterDataProvider {
+
+    /**
+     * @return whether the values can be returned by position. It is not possible when they depend
+     * on the values of the other parameters
+     */
+    public boolean isIndexed();
+
+    /**
+     * @return the level this provider works on
+     */
+    public ParameterProviderLevel getParameterProviderLevel();
+
+    /**
+     * Get the value at the given position
+     *
+     * @param index the position, starting from 0. The values start over after the last one
+     * @return the value
+     */
+    public ArgumentValue getValue(
+                                   long index );
+}
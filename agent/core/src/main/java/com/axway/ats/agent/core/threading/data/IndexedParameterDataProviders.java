@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.threading.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+
+import com.axway.ats.agent.core.action.ArgumentValue;
+import com.axway.ats.agent.core.threading.data.config.ParameterProviderLevel;
+import com.axway.ats.common.systemproperties.AtsSystemProperties;
+
+/**
+ * The data providers of a load queue, when all of them can return their values by position.
+ *
+ * <p>The values for the queue threads are then generated without locking the data providers.
+ * Each thread has a {@link Cursor} which decides the position of each value:
+ * <ul>
+ * <li>PER_THREAD - the number of the thread iteration</li>
+ * <li>PER_THREAD_STATIC - the number of the thread, taken once from a counter shared by the queue threads</li>
+ * <li>PER_INVOCATION - the number of the queue iteration, taken from a counter shared by the queue threads</li>
+ * </ul>
+ * All providers of an iteration use the same positions, so the values of the different parameters
+ * go together just like when they are generated under a lock.</p>
+ */
+public class IndexedParameterDataProviders extends ArrayList<ParameterDataProvider> {
+
+    private static final long                    serialVersionUID   = 1L;
+
+    private static final Logger                  log                = Logger.getLogger(IndexedParameterDataProviders.class);
+
+    private final IndexedParameterDataProvider[] indexedProviders;
+
+    // gives the PER_INVOCATION positions, one for each queue iteration
+    private final AtomicLong                     invocationsCounter = new AtomicLong();
+
+    // gives the PER_THREAD_STATIC positions, one for each thread
+    private final AtomicLong                     threadsCounter     = new AtomicLong();
+
+    private IndexedParameterDataProviders( List<IndexedParameterDataProvider> dataProviders ) {
+
+        super(dataProviders);
+
+        this.indexedProviders = dataProviders.toArray(new IndexedParameterDataProvider[dataProviders.size()]);
+    }
+
+    /**
+     * @return whether the data provider values are to be generated without locking
+     */
+    public static boolean isEnabled() {
+
+        return AtsSystemProperties.getPropertyAsBoolean(AtsSystemProperties.AGENT__DATA_PROVIDERS_LOCK_FREE,
+                                                        false);
+    }
+
+    /**
+     * Wrap the data providers of a load queue, so their values are generated without locking
+     *
+     * @param queueName the load queue name
+     * @param dataProviders the data providers
+     * @return the wrapped data providers or the same list if some of the providers
+     * cannot return their values by position
+     */
+    public static List<ParameterDataProvider> wrap( String queueName,
+                                                    List<ParameterDataProvider> dataProviders ) {
+
+        if (dataProviders.isEmpty()) {
+            return dataProviders;
+        }
+
+        List<IndexedParameterDataProvider> indexedProviders = new ArrayList<IndexedParameterDataProvider>();
+        for (ParameterDataProvider dataProvider : dataProviders) {
+            if (! (dataProvider instanceof IndexedParameterDataProvider)
+                || ! ((IndexedParameterDataProvider) dataProvider).isIndexed()) {
+                log.info("The values for load queue '" + queueName
+                         + "' will be generated one iteration at a time, as the data provider for parameter '"
+                         + dataProvider.getParameterName() + "' does not support generating them in advance");
+                return dataProviders;
+            }
+            indexedProviders.add((IndexedParameterDataProvider) dataProvider);
+        }
+
+        return new IndexedParameterDataProviders(indexedProviders);
+    }
+
+    /**
+     * @return a new cursor for one of the queue threads
+     */
+    public Cursor newCursor() {
+
+        return new Cursor();
+    }
+
+    /**
+     * Decides the positions of the values for one of the queue threads.
+     * It must be used by this thread only.
+     */
+    public class Cursor {
+
+        // the position for the PER_THREAD_STATIC values, -1 until the thread gets it
+        private long threadIndex = -1;
+
+        // the position for the next PER_THREAD values
+        private long threadIteration;
+
+        private Cursor() {}
+
+        /**
+         * Get the values for the next iteration of this thread
+         *
+         * @return the values of all providers, in the order of the providers
+         */
+        public List<ArgumentValue> nextValues() {
+
+            List<ArgumentValue> argumentValues = new ArrayList<ArgumentValue>(indexedProviders.length);
+
+            long invocationIndex = -1;
+            for (IndexedParameterDataProvider dataProvider : indexedProviders) {
+                long index;
+                ParameterProviderLevel level = dataProvider.getParameterProviderLevel();
+                if (level == ParameterProviderLevel.PER_THREAD) {
+                    index = threadIteration;
+                } else if (level == ParameterProviderLevel.PER_THREAD_STATIC) {
+                    index = getThreadIndex();
+                } else {
+                    // PER_INVOCATION, one position for all providers of this iteration
+                    if (invocationIndex < 0) {
+                        invocationIndex = invocationsCounter.getAndIncrement();
+                    }
+                    index = invocationIndex;
+                }
+                argumentValues.add(dataProvider.getValue(index));
+            }
+            threadIteration++;
+
+            return argumentValues;
+        }
+
+        /**
+         * Get the value of a provider which identifies this thread, without moving to the next iteration
+         *
+         * @param dataProvider the data provider
+         * @return the value for the next iteration of this thread. For the PER_INVOCATION providers,
+         * which values do not depend on the thread, it is the value at the thread position
+         */
+        public ArgumentValue getThreadValue( IndexedParameterDataProvider dataProvider ) {
+
+            if (dataProvider.getParameterProviderLevel() == ParameterProviderLevel.PER_THREAD) {
+                return dataProvider.getValue(threadIteration);
+            } else {
+                return dataProvider.getValue(getThreadIndex());
+            }
+        }
+
+        private long getThreadIndex() {
+
+            if (threadIndex < 0) {
+                threadIndex = threadsCounter.getAndIncrement();
+            }
+            return threadIndex;
+        }
+    }
+}
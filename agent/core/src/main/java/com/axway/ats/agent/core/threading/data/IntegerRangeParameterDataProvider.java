@@ -21,7 +21,8 @@
 import com.axway.ats.agent.core.threading.data.config.ParameterProviderLevel;
 import com.axway.ats.agent.core.threading.exceptions.ParameterDataProviderInitalizationException;
 
-public class IntegerRangeParameterDataProvider extends AbstractParameterDataProvider {
+public class IntegerRangeParameterDataProvider extends AbstractParameterDataProvider
+        implements IndexedParameterDataProvider {
 
     private int rangeStart;
     private int rangeEnd;
@@ -102,4 +103,19 @@ protected ArgumentValue generateNewValuePerThreadStatic(
         perThreadIndexes.put(currentThreadId, valueIndexPerThread);
         return new ArgumentValue(parameterName, valueIndexPerThread);
     }
+
+    @Override
+    public boolean isIndexed() {
+
+        return rangeEnd >= rangeStart;
+    }
+
+    @Override
+    public ArgumentValue getValue(
+                                   long index ) {
+
+        // the values are computed, there is no need to keep them in a table
+        return new ArgumentValue(parameterName,
+                                 (int) (rangeStart + index % ((long) rangeEnd - rangeStart + 1)));
+    }
 }
@@ -24,11 +24,15 @@
 /**
  * This parameter provider implementation will pick the next value from a list
  */
-public class ListParameterDataProvider extends AbstractParameterDataProvider {
+public class ListParameterDataProvider extends AbstractParameterDataProvider
+        implements IndexedParameterDataProvider {
 
-    private final List<?> values;
-    private final int     valuesSize;
-    private int           currentIndex;
+    private final List<?>  values;
+    private final int      valuesSize;
+    private int            currentIndex;
+
+    // the values to return by position
+    private final Object[] valuesTable;
 
     ListParameterDataProvider( String parameterName,
                                List<?> values,
@@ -39,6 +43,7 @@ public class ListParameterDataProvider extends AbstractParameterDataProvider {
         this.values = values;
         this.valuesSize = values.size();
         this.currentIndex = 0;
+        this.valuesTable = values.toArray();
     }
 
     ListParameterDataProvider( String parameterName,
@@ -51,6 +56,7 @@ public class ListParameterDataProvider extends AbstractParameterDataProvider {
         this.values = values;
         this.valuesSize = values.size();
         this.currentIndex = 0;
+        this.valuesTable = values.toArray();
         this.dataProviderInstance = dataProviderInstance;
     }
 
@@ -110,4 +116,16 @@ protected ArgumentValue generateNewValuePerThreadStatic(
         return new ArgumentValue(parameterName, values.get(valueIndexPerThread));
     }
 
+    @Override
+    public boolean isIndexed() {
+
+        return valuesSize > 0;
+    }
+
+    @Override
+    public ArgumentValue getValue(
+                                   long index ) {
+
+        return new ArgumentValue(parameterName, valuesTable[(int) (index % valuesSize)]);
+    }
 }
@@ -21,15 +21,24 @@
 import com.axway.ats.agent.core.threading.data.config.ParameterProviderLevel;
 import com.axway.ats.agent.core.threading.exceptions.ParameterDataProviderInitalizationException;
 
-public class StringRangeParameterDataProvider extends AbstractParameterDataProvider {
+public class StringRangeParameterDataProvider extends AbstractParameterDataProvider
+        implements IndexedParameterDataProvider {
 
-    private static final String REPLACEMENT_REGEX = "\\{0\\}";
+    private static final String REPLACEMENT_REGEX       = "\\{0\\}";
+
+    // larger ranges are not kept in memory, their values are generated on request
+    private static final int    MAX_PREGENERATED_VALUES = 100000;
 
     private String              staticValue;
     private int                 rangeStart;
     private int                 rangeEnd;
     private int                 currentValue;
 
+    // the values to return by position
+    private String[]            valuesTable;
+    // the static value split by the place holders
+    private String[]            staticValueParts;
+
     /**
      * Constructor - to be used only by the factory
      *
@@ -81,6 +90,22 @@ public class StringRangeParameterDataProvider extends AbstractParameterDataProvi
     protected void doInitialize() throws ParameterDataProviderInitalizationException {
 
         this.currentValue = rangeStart;
+
+        // the values by position are needed when they are generated without locking only
+        this.valuesTable = null;
+        if (staticValue == null || !IndexedParameterDataProviders.isEnabled()) {
+            return;
+        }
+
+        this.staticValueParts = staticValue.split(REPLACEMENT_REGEX, -1);
+        long rangeSize = (long) rangeEnd - rangeStart + 1;
+        if (rangeSize > 0 && rangeSize <= MAX_PREGENERATED_VALUES) {
+            String[] values = new String[(int) rangeSize];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = generateValue(rangeStart + i);
+            }
+            this.valuesTable = values;
+        }
     }
 
     @Override
@@ -139,4 +164,37 @@ protected ArgumentValue generateNewValuePerThreadStatic(
                                  staticValue.replaceAll(REPLACEMENT_REGEX,
                                                         Integer.toString(valueIndexPerThread)));
     }
+
+    @Override
+    public boolean isIndexed() {
+
+        return staticValueParts != null && rangeEnd >= rangeStart;
+    }
+
+    @Override
+    public ArgumentValue getValue(
+                                   long index ) {
+
+        int position = (int) (index % ((long) rangeEnd - rangeStart + 1));
+        if (valuesTable != null) {
+            return new ArgumentValue(parameterName, valuesTable[position]);
+        } else {
+            return new ArgumentValue(parameterName, generateValue(rangeStart + position));
+        }
+    }
+
+    /**
+     * @param number the range number
+     * @return the static value with the range number in place of the place holders
+     */
+    private String generateValue(
+                                  int number ) {
+
+        String numberString = Integer.toString(number);
+        StringBuilder value = new StringBuilder(staticValueParts[0]);
+        for (int i = 1; i < staticValueParts.length; i++) {
+            value.append(numberString).append(staticValueParts[i]);
+        }
+        return value.toString();
+    }
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.threading.patterns;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.axway.ats.agent.core.model.EvenLoadDistributingUtils;
+import com.axway.ats.agent.core.threading.patterns.model.ArrivalRateExecutionPattern;
+import com.axway.ats.common.PublicAtsApi;
+
+/**
+ * Pattern used for starting the queue iterations at a target rate, for example "2000 iterations per second".
+ * <br>
+ * The other patterns keep a number of threads busy, so when the tested application gets slower,
+ * less iterations are executed. With this pattern the iterations keep coming at the requested rate
+ * and are executed by a pool of up to the given number of threads.
+ * <br>
+ * When all threads are busy, the iterations wait for a free thread. Besides the usual checkpoints,
+ * the time between the moment an iteration was supposed to start and its end is logged as
+ * "Queue response time", and the time it waited for a free thread as "Queue start delay".
+ * <br>
+ * The rate may change over time by adding stages with {@link #addStage(int, int)}.
+ */
+@PublicAtsApi
+public final class ConstantArrivalRatePattern extends ThreadingPattern implements ArrivalRateExecutionPattern {
+
+    private static final long serialVersionUID = 1L;
+
+    private int               startRate;
+    private int[]             stageTargetRates = new int[0];
+    private int[]             stageDurations   = new int[0];
+
+    /**
+     * Pattern used for starting the queue iterations at a constant rate
+     *
+     * @param rate the number of iterations to start per second
+     * @param duration the duration time in seconds
+     * @param maxThreadCount the max number of threads executing the iterations
+     * @param blockUntilCompletion block the main thread until all iterations finish
+     */
+    @PublicAtsApi
+    public ConstantArrivalRatePattern( int rate, int duration, int maxThreadCount,
+                                       boolean blockUntilCompletion ) {
+
+        this(rate, maxThreadCount, blockUntilCompletion);
+
+        addStage(rate, duration);
+    }
+
+    /**
+     * Pattern used for starting the queue iterations at a rate which changes in stages.
+     * <br>
+     * At least one stage must be added with {@link #addStage(int, int)}
+     *
+     * @param startRate the number of iterations to start per second at the beginning
+     * @param maxThreadCount the max number of threads executing the iterations
+     * @param blockUntilCompletion block the main thread until all iterations finish
+     */
+    @PublicAtsApi
+    public ConstantArrivalRatePattern( int startRate, int maxThreadCount, boolean blockUntilCompletion ) {
+
+        super(maxThreadCount, 0, -1, -1, blockUntilCompletion);
+
+        if (startRate < 0) {
+            throw new IllegalArgumentException(startRate + " is not a valid number of iterations per second");
+        }
+        this.startRate = startRate;
+    }
+
+    /**
+     * Add a stage during which the rate changes linearly from the rate at the end
+     * of the previous stage to the target rate.
+     * <br>
+     * Use the same target rate as the previous one to keep a constant rate.
+     *
+     * @param targetRate the number of iterations to start per second at the end of this stage
+     * @param duration the stage duration in seconds
+     */
+    @PublicAtsApi
+    public void addStage( int targetRate, int duration ) {
+
+        if (targetRate < 0) {
+            throw new IllegalArgumentException(targetRate + " is not a valid number of iterations per second");
+        }
+        if (duration <= 0) {
+            throw new IllegalArgumentException(duration + " seconds is not a valid stage duration");
+        }
+
+        stageTargetRates = Arrays.copyOf(stageTargetRates, stageTargetRates.length + 1);
+        stageTargetRates[stageTargetRates.length - 1] = targetRate;
+        stageDurations = Arrays.copyOf(stageDurations, stageDurations.length + 1);
+        stageDurations[stageDurations.length - 1] = duration;
+    }
+
+    /**
+     * Not applicable for this pattern, the rate is set by the constructor and the stages
+     */
+    @Override
+    public void setExecutionSpeed( long timeFrame, int executionsPerTimeFrame ) {
+
+        throw new UnsupportedOperationException("The execution speed of " + getClass().getSimpleName()
+                                                + " is set by its iterations per second");
+    }
+
+    @Override
+    public int getStartRate() {
+
+        return startRate;
+    }
+
+    @Override
+    public int[] getStageTargetRates() {
+
+        return Arrays.copyOf(stageTargetRates, stageTargetRates.length);
+    }
+
+    @Override
+    public int[] getStageDurations() {
+
+        return Arrays.copyOf(stageDurations, stageDurations.length);
+    }
+
+    @Override
+    public int getDuration() {
+
+        int duration = 0;
+        for (int stageDuration : stageDurations) {
+            duration += stageDuration;
+        }
+        return duration;
+    }
+
+    /**
+     * @return the highest number of iterations per second during the whole execution
+     */
+    public int getMaxRate() {
+
+        int maxRate = startRate;
+        for (int targetRate : stageTargetRates) {
+            maxRate = Math.max(maxRate, targetRate);
+        }
+        return maxRate;
+    }
+
+    @Override
+    public String getPatternDescription() {
+
+        StringBuilder description = new StringBuilder("Arrival rate - ");
+        if (stageTargetRates.length == 1 && stageTargetRates[0] == startRate) {
+            description.append(startRate + " iterations per second for " + stageDurations[0] + " seconds");
+        } else {
+            description.append("start with " + startRate + " iterations per second");
+            for (int i = 0; i < stageTargetRates.length; i++) {
+                description.append(", " + stageTargetRates[i] + " iterations per second in " + stageDurations[i]
+                                   + " seconds");
+            }
+        }
+        description.append(", up to " + NUMBER_THREADS_TOKEN + " threads");
+        if (iterationTimeout > 0) {
+            description.append(", " + iterationTimeout + " secs iteration timeout");
+        }
+        if (queuePassRateInPercents > 0) {
+            description.append(", pass if " + queuePassRateInPercents + "% of the iterations pass");
+        }
+        return description.toString();
+    }
+
+    private ConstantArrivalRatePattern newInstance( int calculatedThreadCount, int calculatedStartRate,
+                                                    int[] calculatedStageTargetRates ) {
+
+        ConstantArrivalRatePattern pattern = new ConstantArrivalRatePattern(calculatedStartRate,
+                                                                            calculatedThreadCount,
+                                                                            this.blockUntilCompletion);
+        for (int i = 0; i < calculatedStageTargetRates.length; i++) {
+            pattern.addStage(calculatedStageTargetRates[i], this.stageDurations[i]);
+        }
+        pattern.iterationTimeout = this.iterationTimeout;
+        pattern.queuePassRateInPercents = this.queuePassRateInPercents;
+        return pattern;
+    }
+
+    @Override
+    public List<ThreadingPattern> distribute( int numHosts ) {
+
+        List<ThreadingPattern> distributedPatterns = new ArrayList<ThreadingPattern>();
+        if (threadCount < numHosts) {
+            log.warn("We cannot distribute just " + threadCount + " threads on " + numHosts
+                     + " hosts. So all work will be done by one host");
+            distributedPatterns.add(this);
+        } else if (getMaxRate() < numHosts) {
+            log.warn("We cannot distribute just " + getMaxRate() + " iterations per second on " + numHosts
+                     + " hosts. So all work will be done by one host");
+            distributedPatterns.add(this);
+        } else {
+            EvenLoadDistributingUtils distributingUtils = new EvenLoadDistributingUtils();
+
+            // for each host - distribute the threads and all rates
+            int[] threadCountDistributionValues = distributingUtils.getEvenLoad(threadCount, numHosts);
+            int[] startRateDistributionValues = distributingUtils.getEvenLoad(startRate, numHosts);
+            int[][] stageRatesDistributionValues = new int[stageTargetRates.length][];
+            for (int i = 0; i < stageTargetRates.length; i++) {
+                stageRatesDistributionValues[i] = distributingUtils.getEvenLoad(stageTargetRates[i], numHosts);
+            }
+
+            for (int i = 0; i < numHosts; i++) {
+                int[] hostStageTargetRates = new int[stageTargetRates.length];
+                for (int j = 0; j < stageTargetRates.length; j++) {
+                    hostStageTargetRates[j] = stageRatesDistributionValues[j][i];
+                }
+                distributedPatterns.add(newInstance(threadCountDistributionValues[i],
+                                                    startRateDistributionValues[i], hostStageTargetRates));
+            }
+        }
+
+        return distributedPatterns;
+    }
+}
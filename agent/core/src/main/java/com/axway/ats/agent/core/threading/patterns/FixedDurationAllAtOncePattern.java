@@ -104,6 +104,17 @@ public void setUseSynchronizedIterations( boolean useSynchronizedIterations ) {
         this.useSynchronizedIterations = useSynchronizedIterations;
     }
 
+    /**
+     * Whether to log the time each thread waited for the other threads before starting its next
+     * synchronized iteration. It is logged as a checkpoint on each iteration, so it is off by default
+     * @param registerIterationWaitTime
+     */
+    @PublicAtsApi
+    public void setRegisterIterationWaitTime( boolean registerIterationWaitTime ) {
+
+        this.registerIterationWaitTime = registerIterationWaitTime;
+    }
+
     @Override
     public String getPatternDescription() {
 
@@ -171,6 +182,7 @@ public List<ThreadingPattern> distribute( int numHosts ) {
                 newThreadingPattern = newInstance(threadCountValues[i],
                                                   executionsPerTimeFrameDistValues[i]);
                 newThreadingPattern.setUseSynchronizedIterations(this.isUseSynchronizedIterations());
+                newThreadingPattern.setRegisterIterationWaitTime(this.isRegisterIterationWaitTime());
                 distributedPatterns.add(newThreadingPattern);
             }
         }
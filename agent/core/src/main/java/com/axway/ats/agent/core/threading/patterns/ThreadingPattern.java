@@ -34,6 +34,7 @@ public abstract class ThreadingPattern implements StartPattern, Serializable {
     protected int                 iterationTimeout;
 
     protected boolean             useSynchronizedIterations;
+    protected boolean             registerIterationWaitTime;
 
     protected long                intervalBetweenIterations    = 0;
     protected long                minIntervalBetweenIterations = -1;
@@ -248,4 +249,9 @@ public boolean isUseSynchronizedIterations() {
 
         return useSynchronizedIterations;
     }
+
+    public boolean isRegisterIterationWaitTime() {
+
+        return registerIterationWaitTime;
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Axway Software
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.threading.patterns.model;
+
+/**
+ * An open model execution pattern - the iterations are started at a given rate,
+ * no matter how long the previous iterations take.
+ * 
+ * <p>The execution consists of stages. During each stage the rate changes linearly
+ * from the rate at the end of the previous stage (or the start rate for the first stage)
+ * to the stage target rate.</p>
+ */
+public interface ArrivalRateExecutionPattern extends ExecutionPattern {
+
+    /**
+     * @return the duration of all stages in seconds
+     */
+    public int getDuration();
+
+    /**
+     * @return the number of iterations per second at the beginning of the execution
+     */
+    public int getStartRate();
+
+    /**
+     * @return the number of iterations per second at the end of each stage
+     */
+    public int[] getStageTargetRates();
+
+    /**
+     * @return the duration of each stage in seconds
+     */
+    public int[] getStageDurations();
+}
@@ -16,11 +16,16 @@
 package com.axway.ats.agent.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import com.axway.ats.agent.core.action.ActionRequest;
 import com.axway.ats.agent.core.exceptions.AgentException;
 import com.axway.ats.agent.core.exceptions.InternalComponentException;
 import com.axway.ats.agent.core.exceptions.NoCompatibleMethodFoundException;
@@ -119,4 +124,73 @@ public void executeActionIllegalArguments() throws Exception {
                                                    "action double",
                                                    new Object[]{ "3" } );
     }
+
+    @Test
+    public void executeActionsInOrder() throws Exception {
+
+        List<ActionRequest> actionRequests = new ArrayList<ActionRequest>();
+        actionRequests.add( new ActionRequest( TEST_COMPONENT_NAME, "action 1", new Object[]{ 3 } ) );
+        actionRequests.add( new ActionRequest( TEST_COMPONENT_NAME, "action long", new Object[]{ 4L } ) );
+        actionRequests.add( new ActionRequest( TEST_COMPONENT_NAME, "action 1", new Object[]{ 5 } ) );
+
+        Object[] results = ActionHandler.executeActions( TEST_CALLER_IP, actionRequests, false );
+
+        assertEquals( 3, results.length );
+        assertEquals( null, results[0] );
+        assertEquals( 4L, results[1] );
+        // the last action is executed last
+        assertEquals( 5, ActionClassOne.ACTION_VALUE );
+    }
+
+    @Test
+    public void executeActionsStopAtFirstFailure() throws Exception {
+
+        List<ActionRequest> actionRequests = new ArrayList<ActionRequest>();
+        actionRequests.add( new ActionRequest( TEST_COMPONENT_NAME, "action 1", new Object[]{ 3 } ) );
+        actionRequests.add( new ActionRequest( TEST_COMPONENT_NAME, "action checked exception",
+                                               new Object[]{} ) );
+        actionRequests.add( new ActionRequest( TEST_COMPONENT_NAME, "action 1", new Object[]{ 5 } ) );
+
+        try {
+            ActionHandler.executeActions( TEST_CALLER_IP, actionRequests, false );
+            fail( "The action error is not thrown" );
+        } catch( InternalComponentException ice ) {
+            // the actions after the failed one are not executed
+            assertEquals( 3, ActionClassOne.ACTION_VALUE );
+        }
+    }
+
+    @Test
+    public void executeActionsInParallel() throws Exception {
+
+        List<ActionRequest> actionRequests = new ArrayList<ActionRequest>();
+        for( long i = 0; i < 50; i++ ) {
+            actionRequests.add( new ActionRequest( TEST_COMPONENT_NAME, "action long", new Object[]{ i } ) );
+        }
+
+        Object[] results = ActionHandler.executeActions( TEST_CALLER_IP, actionRequests, true );
+
+        // the results are in the order of the requests
+        assertEquals( 50, results.length );
+        for( int i = 0; i < results.length; i++ ) {
+            assertEquals( ( long ) i, results[i] );
+        }
+    }
+
+    @Test
+    public void executeActionsInParallelFirstFailure() throws Exception {
+
+        List<ActionRequest> actionRequests = new ArrayList<ActionRequest>();
+        actionRequests.add( new ActionRequest( TEST_COMPONENT_NAME, "action long", new Object[]{ 1L } ) );
+        actionRequests.add( new ActionRequest( TEST_COMPONENT_NAME, "action 1234", new Object[]{} ) );
+        actionRequests.add( new ActionRequest( TEST_COMPONENT_NAME, "action checked exception",
+                                               new Object[]{} ) );
+
+        try {
+            ActionHandler.executeActions( TEST_CALLER_IP, actionRequests, true );
+            fail( "The action error is not thrown" );
+        } catch( NoSuchActionException nsae ) {
+            // the error of the first failed action in the batch
+        }
+    }
 }
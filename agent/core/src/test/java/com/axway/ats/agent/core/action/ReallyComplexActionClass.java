@@ -46,4 +46,28 @@ public int action1(
 
         return 2;
     }
+
+    @Action(name = "action long")
+    public long actionLong(
+                            @Parameter(name = "arg0")
+                            long arg0 ) {
+
+        return arg0 + 1;
+    }
+
+    @Action(name = "action static")
+    public static String actionStatic(
+                                       @Parameter(name = "arg0")
+                                       String arg0 ) {
+
+        return "static " + arg0;
+    }
+
+    @Action(name = "action throws")
+    public void actionThrows(
+                              @Parameter(name = "arg0")
+                              String arg0 ) {
+
+        throw new IllegalStateException(arg0);
+    }
 }
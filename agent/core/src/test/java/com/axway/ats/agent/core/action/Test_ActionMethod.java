@@ -16,6 +16,7 @@
 package com.axway.ats.agent.core.action;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -25,7 +26,9 @@
 import com.axway.ats.agent.core.Component;
 import com.axway.ats.agent.core.ComponentActionMap;
 import com.axway.ats.agent.core.ComponentRepository;
+import com.axway.ats.agent.core.exceptions.ActionExecutionException;
 import com.axway.ats.agent.core.exceptions.AgentException;
+import com.axway.ats.agent.core.exceptions.InternalComponentException;
 import com.axway.ats.agent.core.exceptions.NoCompatibleMethodFoundException;
 
 public class Test_ActionMethod extends BaseTest {
@@ -99,4 +102,57 @@ public void executeActionIncompatibleArgsZeroArgs() throws Exception {
                                                                  "action 1",
                                                                  new Object[]{} ) );
     }
+
+    @Test
+    public void invokeWithWideningArgument() throws Exception {
+
+        ActionMethod actionMethod = new ActionMethod( TEST_COMPONENT_NAME, "action long",
+                                                      ReallyComplexActionClass.class.getMethod( "actionLong",
+                                                                                                long.class ),
+                                                      ReallyComplexActionClass.class );
+
+        ReallyComplexActionClass instance = new ReallyComplexActionClass();
+        assertEquals( 4L, actionMethod.invoke( instance, new Object[]{ 3L }, false ) );
+        // an int is passed, so the reflection does the widening
+        assertEquals( 4L, actionMethod.invoke( instance, new Object[]{ 3 }, false ) );
+    }
+
+    @Test
+    public void invokeStaticMethod() throws Exception {
+
+        ActionMethod actionMethod = new ActionMethod( TEST_COMPONENT_NAME, "action static",
+                                                      ReallyComplexActionClass.class.getMethod( "actionStatic",
+                                                                                                String.class ),
+                                                      ReallyComplexActionClass.class );
+
+        assertEquals( "static value", actionMethod.invoke( null, new Object[]{ "value" }, false ) );
+    }
+
+    @Test(expected = ActionExecutionException.class)
+    public void invokeWithIllegalArgument() throws Exception {
+
+        ActionMethod actionMethod = new ActionMethod( TEST_COMPONENT_NAME, "action long",
+                                                      ReallyComplexActionClass.class.getMethod( "actionLong",
+                                                                                                long.class ),
+                                                      ReallyComplexActionClass.class );
+
+        actionMethod.invoke( new ReallyComplexActionClass(), new Object[]{ "3" }, false );
+    }
+
+    @Test
+    public void invokeThrowingMethod() throws Exception {
+
+        ActionMethod actionMethod = new ActionMethod( TEST_COMPONENT_NAME, "action throws",
+                                                      ReallyComplexActionClass.class.getMethod( "actionThrows",
+                                                                                                String.class ),
+                                                      ReallyComplexActionClass.class );
+
+        try {
+            actionMethod.invoke( new ReallyComplexActionClass(), new Object[]{ "some error" }, false );
+        } catch( InternalComponentException ice ) {
+            assertTrue( ice.getCause() instanceof IllegalStateException );
+            return;
+        }
+        throw new AssertionError( "InternalComponentException is expected" );
+    }
 }
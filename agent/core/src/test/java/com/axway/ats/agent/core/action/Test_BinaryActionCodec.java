@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.action;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.Test;
+
+import com.axway.ats.agent.core.BaseTest;
+import com.axway.ats.agent.core.exceptions.AgentException;
+import com.axway.ats.agent.core.exceptions.InternalComponentException;
+
+public class Test_BinaryActionCodec extends BaseTest {
+
+    @Test
+    public void requestRoundTrip() throws Exception {
+
+        char[] longString = new char[70000];
+        Arrays.fill( longString, '\u0436' );
+
+        Object[] args = new Object[]{ "hello", "", null, new String( longString ), 3, 4L, true, 1.5d, 2.5f,
+                                      ( short ) 6, ( byte ) 7, 'c', new byte[]{ 1, 2 },
+                                      new String[]{ "a", null, "b" }, new int[]{ 1, 2 }, new long[]{ 3 },
+                                      new boolean[]{ true, false }, new double[]{ 0.5 }, new Date( 1000 ),
+                                      new Integer[]{ 1, 2 }, TestEnum.SECOND };
+
+        ActionRequest actionRequest = roundTrip( new ActionRequest( "component", "action name", args ) );
+
+        assertEquals( "component", actionRequest.getComponentName() );
+        assertEquals( "action name", actionRequest.getActionName() );
+        // the values and their types are the same
+        assertArrayEquals( args, actionRequest.getArguments() );
+        for( int i = 0; i < args.length; i++ ) {
+            if( args[i] != null ) {
+                assertEquals( args[i].getClass(), actionRequest.getArguments()[i].getClass() );
+            }
+        }
+    }
+
+    @Test
+    public void requestWithoutArguments() throws Exception {
+
+        ActionRequest actionRequest = roundTrip( new ActionRequest( "component", "action", null ) );
+
+        assertEquals( 0, actionRequest.getArguments().length );
+    }
+
+    @Test
+    public void resultRoundTrip() throws Exception {
+
+        assertEquals( "result", decode( BinaryActionCodec.encodeResult( "result" ) ) );
+        assertEquals( 5L, decode( BinaryActionCodec.encodeResult( 5L ) ) );
+        assertNull( decode( BinaryActionCodec.encodeResult( null ) ) );
+        assertEquals( TestEnum.FIRST, decode( BinaryActionCodec.encodeResult( TestEnum.FIRST ) ) );
+    }
+
+    @Test
+    public void agentError() throws Exception {
+
+        try {
+            decode( BinaryActionCodec.encodeError( new AgentException( "no such action" ) ) );
+            fail( "The agent error is not thrown" );
+        } catch( InternalComponentException ice ) {
+            fail( "The agent error is thrown as internal component error" );
+        } catch( AgentException ae ) {
+            assertEquals( "no such action", ae.getMessage() );
+        }
+    }
+
+    @Test
+    public void internalComponentError() throws Exception {
+
+        try {
+            decode( BinaryActionCodec.encodeError( new InternalComponentException( "component",
+                                                                                   "action",
+                                                                                   new IllegalStateException( "bad state" ) ) ) );
+            fail( "The internal component error is not thrown" );
+        } catch( InternalComponentException ice ) {
+            assertEquals( "component", ice.getComponentName() );
+            assertEquals( "action", ice.getActionName() );
+            assertTrue( ice.getExceptionMessage().contains( "java.lang.IllegalStateException: bad state" ) );
+        }
+    }
+
+    @Test( expected = IOException.class)
+    public void unknownVersion() throws Exception {
+
+        BinaryActionCodec.decodeRequest( new ByteArrayInputStream( new byte[]{ 99, 0, 0, 0, 0 } ) );
+    }
+
+    private ActionRequest roundTrip( ActionRequest actionRequest ) throws Exception {
+
+        return BinaryActionCodec.decodeRequest( new ByteArrayInputStream( BinaryActionCodec.encodeRequest( actionRequest ) ) );
+    }
+
+    private Object decode( byte[] response ) throws Exception {
+
+        return BinaryActionCodec.decodeResponse( new ByteArrayInputStream( response ) );
+    }
+
+    private enum TestEnum {
+        FIRST, SECOND
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.jvmmonitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.net.ServerSocket;
+import java.rmi.registry.LocateRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnectorServer;
+import javax.management.remote.JMXConnectorServerFactory;
+import javax.management.remote.JMXServiceURL;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.axway.ats.agent.core.BaseTest;
+import com.axway.ats.core.monitoring.MonitorConfigurationException;
+
+public class Test_MBeanWrapper extends BaseTest {
+
+    private static int         jmxPort;
+
+    private MBeanServer        mBeanServer;
+    private JMXConnectorServer connectorServer;
+    private ObjectName         firstName;
+    private ObjectName         secondName;
+    private CountingMBean      firstMBean;
+    private CountingMBean      secondMBean;
+
+    private MBeanWrapper       mBeanWrapper;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+
+        ServerSocket socket = new ServerSocket( 0 );
+        jmxPort = socket.getLocalPort();
+        socket.close();
+
+        LocateRegistry.createRegistry( jmxPort );
+    }
+
+    @Before
+    public void before() throws Exception {
+
+        mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        firstName = new ObjectName( "com.axway.ats.test:type=First" );
+        firstMBean = new CountingMBean();
+        firstMBean.values.put( "A", 1 );
+        firstMBean.values.put( "B", 2 );
+        mBeanServer.registerMBean( firstMBean, firstName );
+
+        secondName = new ObjectName( "com.axway.ats.test:type=Second" );
+        secondMBean = new CountingMBean();
+        secondMBean.values.put( "C", 3 );
+        mBeanServer.registerMBean( secondMBean, secondName );
+
+        startConnectorServer();
+
+        mBeanWrapper = new MBeanWrapper( jmxPort );
+    }
+
+    @After
+    public void after() throws Exception {
+
+        mBeanWrapper.close();
+        connectorServer.stop();
+
+        for( ObjectName name : new ObjectName[]{ firstName, secondName } ) {
+            if( mBeanServer.isRegistered( name ) ) {
+                mBeanServer.unregisterMBean( name );
+            }
+        }
+    }
+
+    @Test
+    public void attributesOfOneMBeanAreReadTogether() throws Exception {
+
+        // asked for the first time, so read one by one
+        assertEquals( 1, mBeanWrapper.getMBeanAttribute( firstName, "A" ) );
+        assertEquals( 2, mBeanWrapper.getMBeanAttribute( firstName, "B" ) );
+        assertEquals( 2, firstMBean.getAttributeCalls.get() );
+
+        firstMBean.values.put( "A", 10 );
+        firstMBean.values.put( "B", 20 );
+        mBeanWrapper.refresh();
+        mBeanWrapper.refresh();
+
+        // one call per MBean on each poll
+        assertEquals( 2, firstMBean.getAttributesCalls.get() );
+        assertEquals( 10, mBeanWrapper.getMBeanAttribute( firstName, "A" ) );
+        assertEquals( 20, mBeanWrapper.getMBeanAttribute( firstName, "B" ) );
+        assertEquals( 2, firstMBean.getAttributeCalls.get() );
+    }
+
+    @Test
+    public void failingMBeanDoesNotFailThePoll() throws Exception {
+
+        mBeanWrapper.getMBeanAttribute( firstName, "A" );
+        mBeanWrapper.getMBeanAttribute( secondName, "C" );
+
+        mBeanServer.unregisterMBean( firstName );
+        secondMBean.values.put( "C", 30 );
+        mBeanWrapper.refresh();
+
+        assertEquals( 30, mBeanWrapper.getMBeanAttribute( secondName, "C" ) );
+        try {
+            mBeanWrapper.getMBeanAttribute( firstName, "A" );
+            fail( "The attribute of an unregistered MBean must not be returned" );
+        } catch( MonitorConfigurationException e ) {
+            // expected
+        }
+
+        // the MBean is back, it is polled again once its attribute is read
+        CountingMBean newFirstMBean = new CountingMBean();
+        newFirstMBean.values.put( "A", 100 );
+        mBeanServer.registerMBean( newFirstMBean, firstName );
+        assertEquals( 100, mBeanWrapper.getMBeanAttribute( firstName, "A" ) );
+
+        newFirstMBean.values.put( "A", 200 );
+        mBeanWrapper.refresh();
+        assertEquals( 1, newFirstMBean.getAttributesCalls.get() );
+        assertEquals( 200, mBeanWrapper.getMBeanAttribute( firstName, "A" ) );
+    }
+
+    @Test
+    public void reconnectWhenTheConnectionIsLost() throws Exception {
+
+        mBeanWrapper.getMBeanAttribute( firstName, "A" );
+
+        // the JMX client reconnects by itself when the server is reachable,
+        // so close the connection to make the calls on it fail
+        mBeanWrapper.close();
+
+        firstMBean.values.put( "A", 10 );
+        mBeanWrapper.refresh();
+
+        assertEquals( 1, firstMBean.getAttributesCalls.get() );
+        assertEquals( 10, mBeanWrapper.getMBeanAttribute( firstName, "A" ) );
+    }
+
+    private void startConnectorServer() throws Exception {
+
+        JMXServiceURL url = new JMXServiceURL( "service:jmx:rmi:///jndi/rmi://localhost:" + jmxPort + "/jmxrmi" );
+        connectorServer = JMXConnectorServerFactory.newJMXConnectorServer( url, null, mBeanServer );
+        connectorServer.start();
+    }
+
+    /**
+     * A MBean with integer attributes, it counts how it is read
+     */
+    public static class CountingMBean implements DynamicMBean {
+
+        private Map<String, Object> values             = new ConcurrentHashMap<String, Object>();
+
+        private AtomicInteger       getAttributeCalls  = new AtomicInteger();
+        private AtomicInteger       getAttributesCalls = new AtomicInteger();
+
+        @Override
+        public Object getAttribute( String attribute ) throws AttributeNotFoundException {
+
+            getAttributeCalls.incrementAndGet();
+
+            Object value = values.get( attribute );
+            if( value == null ) {
+                throw new AttributeNotFoundException( attribute );
+            }
+            return value;
+        }
+
+        @Override
+        public AttributeList getAttributes( String[] attributes ) {
+
+            getAttributesCalls.incrementAndGet();
+
+            AttributeList list = new AttributeList();
+            for( String attribute : attributes ) {
+                Object value = values.get( attribute );
+                if( value != null ) {
+                    list.add( new Attribute( attribute, value ) );
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute( Attribute attribute ) {
+
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AttributeList setAttributes( AttributeList attributes ) {
+
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke( String actionName, Object[] params, String[] signature ) {
+
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+
+            MBeanAttributeInfo[] attributeInfos = new MBeanAttributeInfo[values.size()];
+            int i = 0;
+            for( String name : values.keySet() ) {
+                attributeInfos[i++] = new MBeanAttributeInfo( name, Integer.class.getName(), name, true, false,
+                                                              false );
+            }
+            return new MBeanInfo( CountingMBean.class.getName(), "counting MBean", attributeInfos, null,
+                                  new MBeanOperationInfo[0], null );
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.queue;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.axway.ats.agent.core.BaseTest;
+
+public class Test_QueueExecutionStatistics extends BaseTest {
+
+    private static final String QUEUE = "statistics queue";
+
+    @Test
+    public void manyThreads() throws Exception {
+
+        QueueExecutionStatistics.getInstance().initActionExecutionResults( QUEUE );
+
+        final long startTime = System.currentTimeMillis();
+        Thread[] threads = new Thread[20];
+        for( int i = 0; i < threads.length; i++ ) {
+            threads[i] = new Thread( new Runnable() {
+                @Override
+                public void run() {
+
+                    for( int j = 0; j < 1000; j++ ) {
+                        QueueExecutionStatistics.getInstance()
+                                                .registerActionExecutionResult( QUEUE, "action 1", j % 10 != 0,
+                                                                                startTime + j, j % 100 );
+                        QueueExecutionStatistics.getInstance()
+                                                .registerActionExecutionResult( QUEUE, "action 2", true,
+                                                                                startTime + j, 10 );
+                    }
+                }
+            } );
+            threads[i].start();
+        }
+        for( Thread thread : threads ) {
+            thread.join();
+        }
+
+        List<ActionExecutionStatistic> statistics = QueueExecutionStatistics.getInstance()
+                                                                            .getActionExecutionResults( QUEUE );
+        assertEquals( 2, statistics.size() );
+        for( ActionExecutionStatistic statistic : statistics ) {
+            if( "action 1".equals( statistic.getActionName() ) ) {
+                assertEquals( 18000, statistic.getNumberPassed() );
+                assertEquals( 2000, statistic.getNumberFailed() );
+                assertEquals( 18000, statistic.getResponseTimes().getCount() );
+                assertEquals( 1, statistic.getResponseTimes().getMin() );
+                assertEquals( 99, statistic.getResponseTimes().getMax() );
+            } else {
+                assertEquals( 20000, statistic.getNumberPassed() );
+                assertEquals( 0, statistic.getNumberFailed() );
+                assertEquals( 10, statistic.getResponseTimes().getValueAtPercentile( 99 ) );
+                // 20000 executions in about 1 second
+                assertEquals( 20000 * 1000d / 1009, statistic.getThroughput(), 0.1 );
+            }
+        }
+    }
+
+    @Test
+    public void mergeFromAgents() throws Exception {
+
+        QueueExecutionStatistics.getInstance().initActionExecutionResults( QUEUE );
+        for( int i = 1; i <= 100; i++ ) {
+            QueueExecutionStatistics.getInstance().registerActionExecutionResult( QUEUE, "action", true,
+                                                                                  1000 * i, i );
+        }
+        ActionExecutionStatistic agent1Statistic = serialize( QueueExecutionStatistics.getInstance()
+                                                                                      .getActionExecutionResults( QUEUE )
+                                                                                      .get( 0 ) );
+
+        QueueExecutionStatistics.getInstance().initActionExecutionResults( QUEUE );
+        for( int i = 101; i <= 200; i++ ) {
+            QueueExecutionStatistics.getInstance().registerActionExecutionResult( QUEUE, "action", true,
+                                                                                  1000 * i, i );
+        }
+        ActionExecutionStatistic agent2Statistic = serialize( QueueExecutionStatistics.getInstance()
+                                                                                      .getActionExecutionResults( QUEUE )
+                                                                                      .get( 0 ) );
+
+        agent1Statistic.merge( agent2Statistic );
+
+        assertEquals( 200, agent1Statistic.getNumberPassed() );
+        assertEquals( 200, agent1Statistic.getResponseTimes().getCount() );
+        assertEquals( 100, agent1Statistic.getResponseTimes().getValueAtPercentile( 50 ), 5 );
+        assertEquals( 200, agent1Statistic.getResponseTimes().getMax() );
+        // 200 executions from 1 to 200 seconds
+        assertEquals( 200 / 199.2, agent1Statistic.getThroughput(), 0.001 );
+    }
+
+    @Test
+    public void mergeWithOlderAgent() throws Exception {
+
+        ActionExecutionStatistic newerAgentStatistic = createStatistic( 1000, 101 );
+
+        // the older agent is on either side of the merge
+        ActionExecutionStatistic olderAgentStatistic = fromOlderAgent( createStatistic( 500000, 100 ) );
+        olderAgentStatistic.merge( newerAgentStatistic );
+        assertEquals( 201, olderAgentStatistic.getNumberPassed() );
+        // the times of the newer agent only, from 1 to 101.001 seconds
+        assertEquals( 201 / 100.001, olderAgentStatistic.getThroughput(), 0.001 );
+
+        newerAgentStatistic.merge( fromOlderAgent( createStatistic( 500000, 100 ) ) );
+        assertEquals( 201, newerAgentStatistic.getNumberPassed() );
+        assertEquals( 201 / 100.001, newerAgentStatistic.getThroughput(), 0.001 );
+
+        // no times are known at all
+        ActionExecutionStatistic olderAgentsStatistic = fromOlderAgent( createStatistic( 1000, 10 ) );
+        olderAgentsStatistic.merge( fromOlderAgent( createStatistic( 1000, 10 ) ) );
+        assertEquals( 20, olderAgentsStatistic.getNumberPassed() );
+        assertEquals( 0, olderAgentsStatistic.getThroughput(), 0 );
+    }
+
+    private ActionExecutionStatistic createStatistic( long firstStartTime, int numberExecutions ) throws Exception {
+
+        QueueExecutionStatistics.getInstance().initActionExecutionResults( QUEUE );
+        for( int i = 0; i < numberExecutions; i++ ) {
+            QueueExecutionStatistics.getInstance().registerActionExecutionResult( QUEUE, "action", true,
+                                                                                  firstStartTime + 1000 * i,
+                                                                                  1 );
+        }
+        return QueueExecutionStatistics.getInstance().getActionExecutionResults( QUEUE ).get( 0 );
+    }
+
+    /**
+     * An older agent does not send the execution times, so they are 0 after the deserialization
+     */
+    private ActionExecutionStatistic fromOlderAgent( ActionExecutionStatistic statistic ) throws Exception {
+
+        ActionExecutionStatistic olderStatistic = serialize( statistic );
+        for( String fieldName : new String[]{ "firstExecutionTime", "lastExecutionTime" } ) {
+            Field field = ActionExecutionStatistic.class.getDeclaredField( fieldName );
+            field.setAccessible( true );
+            field.setLong( olderStatistic, 0 );
+        }
+        return olderStatistic;
+    }
+
+    private ActionExecutionStatistic serialize( ActionExecutionStatistic statistic ) throws Exception {
+
+        ByteArrayOutputStream byteOutStream = new ByteArrayOutputStream();
+        ObjectOutputStream objectOutStream = new ObjectOutputStream( byteOutStream );
+        objectOutStream.writeObject( statistic );
+        objectOutStream.close();
+
+        return ( ActionExecutionStatistic ) new ObjectInputStream( new ByteArrayInputStream( byteOutStream.toByteArray() ) ).readObject();
+    }
+}
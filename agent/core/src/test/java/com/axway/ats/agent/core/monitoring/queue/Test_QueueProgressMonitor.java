@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.axway.ats.agent.core.BaseTest;
+
+public class Test_QueueProgressMonitor extends BaseTest {
+
+    private static final String QUEUE = "progress queue";
+
+    @Test
+    public void manyThreads() throws Exception {
+
+        final QueueProgressMonitor monitor = QueueProgressMonitor.getInstance();
+        monitor.startQueue( QUEUE );
+        assertTrue( monitor.isQueueRunning( QUEUE ) );
+
+        Thread[] threads = new Thread[10];
+        for( int i = 0; i < threads.length; i++ ) {
+            threads[i] = new Thread( new Runnable() {
+                @Override
+                public void run() {
+
+                    monitor.threadStarted( QUEUE );
+                    for( int j = 1; j <= 100; j++ ) {
+                        monitor.registerIteration( QUEUE, j % 10 != 0, j );
+                    }
+                    monitor.threadFinished( QUEUE );
+                }
+            } );
+            threads[i].start();
+        }
+        for( Thread thread : threads ) {
+            thread.join();
+        }
+
+        long round = monitor.waitForProgress( 0, 0 );
+        monitor.finishQueue( QUEUE );
+        assertTrue( monitor.waitForProgress( round, 0 ) > round );
+        assertFalse( monitor.isQueueRunning( QUEUE ) );
+
+        // the progress taken each second is somewhere between, so check the totals only
+        QueueProgress progress = monitor.getProgress( QUEUE );
+        assertTrue( progress.isFinished() );
+        assertEquals( 900, progress.getTotalPassedIterations() );
+        assertEquals( 100, progress.getTotalFailedIterations() );
+        assertEquals( 0, progress.getActiveThreads() );
+
+        // nothing changes after the queue is finished
+        monitor.registerIteration( QUEUE, true, 1 );
+        monitor.finishQueue( QUEUE );
+        assertEquals( progress.getSequence(), monitor.getProgress( QUEUE ).getSequence() );
+    }
+
+    @Test
+    public void finishedQueuesAreForgotten() throws Exception {
+
+        QueueProgressMonitor monitor = QueueProgressMonitor.getInstance();
+        monitor.startQueue( "short queue" );
+        assertTrue( monitor.isProgressTimerRunning() );
+        monitor.finishQueue( "short queue" );
+
+        // the last progress is still available to the watchers
+        assertTrue( monitor.getProgress( "short queue" ).isFinished() );
+
+        long endTime = System.currentTimeMillis() + 5 * QueueProgressMonitor.PROGRESS_INTERVAL;
+        while( ( monitor.getProgress( "short queue" ) != null || monitor.isProgressTimerRunning() )
+               && System.currentTimeMillis() < endTime ) {
+            Thread.sleep( 50 );
+        }
+        assertNull( monitor.getProgress( "short queue" ) );
+        assertFalse( monitor.isProgressTimerRunning() );
+    }
+
+    @Test
+    public void iterationTimes() {
+
+        // not the tracker of the monitor, so the progress is not taken in the meantime
+        QueueProgressMonitor.QueueTracker tracker = new QueueProgressMonitor.QueueTracker( QUEUE );
+        for( int i = 1; i <= 100; i++ ) {
+            tracker.register( true, i );
+        }
+        // the failed iterations are not part of the iteration times
+        tracker.register( false, 1000 );
+
+        QueueProgress progress = tracker.takeProgress( false );
+        assertEquals( 1, progress.getSequence() );
+        assertEquals( 100, progress.getPassedIterations() );
+        assertEquals( 1, progress.getFailedIterations() );
+        assertEquals( 1, progress.getMinIterationTime() );
+        assertEquals( 50.5, progress.getMeanIterationTime(), 0.001 );
+        assertEquals( 100, progress.getMaxIterationTime() );
+        assertTrue( Math.abs( progress.getIterationTime90() - 90 ) <= 90 * 0.07 );
+
+        // the next progress starts anew
+        progress = tracker.takeProgress( true );
+        assertEquals( 2, progress.getSequence() );
+        assertEquals( 0, progress.getPassedIterations() );
+        assertEquals( 100, progress.getTotalPassedIterations() );
+        assertEquals( 0, progress.getMaxIterationTime() );
+        assertTrue( progress.isFinished() );
+    }
+}
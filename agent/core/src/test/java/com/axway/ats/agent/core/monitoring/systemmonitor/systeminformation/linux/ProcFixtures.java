@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.linux;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import com.axway.ats.agent.core.BaseTest;
+
+/**
+ * A copy of the /proc files from the test resources, which the tests can change
+ */
+class ProcFixtures {
+
+    private static final File FIXTURES_DIR = new File( BaseTest.RELATIVE_PATH_TO_TEST_RESOURCES + "/linuxproc" );
+
+    private final File        procRoot;
+
+    ProcFixtures( File procRoot ) throws IOException {
+
+        this.procRoot = procRoot;
+        copy( FIXTURES_DIR, procRoot );
+    }
+
+    String getProcRoot() {
+
+        return procRoot.getPath();
+    }
+
+    /**
+     * Replace the content of a file, the path is relative to the /proc root
+     */
+    void write( String path, String content ) throws IOException {
+
+        File file = new File( procRoot, path );
+        file.getParentFile().mkdirs();
+        Files.write( file.toPath(), content.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    void delete( String path ) throws IOException {
+
+        Files.delete( new File( procRoot, path ).toPath() );
+    }
+
+    private static void copy( File source, File target ) throws IOException {
+
+        if (source.isDirectory()) {
+            target.mkdirs();
+            for (String name : source.list()) {
+                copy( new File( source, name ), new File( target, name ) );
+            }
+        } else {
+            Files.copy( source.toPath(), target.toPath() );
+        }
+    }
+}
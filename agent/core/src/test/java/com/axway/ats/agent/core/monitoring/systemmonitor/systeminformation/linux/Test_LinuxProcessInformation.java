@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.linux;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.axway.ats.agent.core.BaseTest;
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.exceptions.SystemInformationException;
+
+public class Test_LinuxProcessInformation extends BaseTest {
+
+    // the fixture process has an executable name with spaces and brackets
+    private static final String    STAT_FORMAT = "1234 (my (weird) app) S 1 1234 1234 0 -1 4194304 %d 0 25 0 %d 150 0 0 20 0 4 0 %d 104857600 2560 18446744073709551615 1 1 0 0 0 0 0 0 0 0 0 0 17 1 0 0 0 0 0\n";
+
+    @Rule
+    public TemporaryFolder         folder      = new TemporaryFolder();
+
+    private ProcFixtures           proc;
+
+    private LinuxSystemInformation systemInfo;
+
+    @Before
+    public void before() throws IOException {
+
+        proc = new ProcFixtures( folder.newFolder( "proc" ) );
+        systemInfo = new LinuxSystemInformation( proc.getProcRoot() );
+    }
+
+    @After
+    public void after() {
+
+        systemInfo.destroy();
+    }
+
+    @Test
+    public void processStat() {
+
+        LinuxProcessInformation processInfo = new LinuxProcessInformation( systemInfo, 1234, false );
+
+        assertEquals( 1234, processInfo.getPid() );
+        assertEquals( systemInfo.ticksToMillis( 300 ), processInfo.getCpuUser() );
+        assertEquals( systemInfo.ticksToMillis( 150 ), processInfo.getCpuKernel() );
+        assertEquals( systemInfo.ticksToMillis( 450 ), processInfo.getCpuTotal() );
+        assertEquals( 1500 + 25, processInfo.getMemoryPageFaults() );
+        assertEquals( 104857600, processInfo.getVirtualMemory() );
+        assertEquals( 2560L * systemInfo.getPageSize(), processInfo.getResidentMemory() );
+        assertEquals( 512L * systemInfo.getPageSize(), processInfo.getSharedMemory() );
+    }
+
+    @Test
+    public void executableNameWithBracketAtTheEnd() throws IOException {
+
+        proc.write( "1234/stat", STAT_FORMAT.replace( "(my (weird) app)", "(a) b c d e f)" ).replace( "%d", "7" ) );
+
+        LinuxProcessInformation processInfo = new LinuxProcessInformation( systemInfo, 1234, false );
+        assertEquals( 7 + 25, processInfo.getMemoryPageFaults() );
+        assertEquals( systemInfo.ticksToMillis( 7 ), processInfo.getCpuUser() );
+    }
+
+    @Test
+    public void processValuesAreUpdatedOnEachPoll() throws IOException {
+
+        assertEquals( systemInfo.ticksToMillis( 300 ), systemInfo.getProcessCpuTimeRunningUser( 1234L ) );
+
+        // the process is polled, so its files are kept open
+        proc.write( "1234/stat", String.format( STAT_FORMAT, 1600, 400, 98765 ) );
+        assertEquals( systemInfo.ticksToMillis( 300 ), systemInfo.getProcessCpuTimeRunningUser( 1234L ) );
+
+        systemInfo.refresh();
+        assertEquals( systemInfo.ticksToMillis( 400 ), systemInfo.getProcessCpuTimeRunningUser( 1234L ) );
+        assertEquals( 1600 + 25, systemInfo.getProcessMemoryPageFaults( 1234L ) );
+    }
+
+    @Test
+    public void reusedPid() throws IOException {
+
+        LinuxProcessInformation processInfo = new LinuxProcessInformation( systemInfo, 1234, true );
+        assertEquals( systemInfo.ticksToMillis( 300 ), processInfo.getCpuUser() );
+
+        // another process with the same PID, it has another start time
+        proc.write( "1234/stat", String.format( STAT_FORMAT, 10, 20, 99999 ) );
+        systemInfo.refresh();
+
+        try {
+            processInfo.getCpuUser();
+            fail( "The values of another process are returned" );
+        } catch (SystemInformationException e) {
+            // expected
+        }
+        // the shared memory checks the process as well
+        try {
+            processInfo.getSharedMemory();
+            fail( "The values of another process are returned" );
+        } catch (SystemInformationException e) {
+            // expected
+        }
+        processInfo.close();
+    }
+
+    @Test
+    public void reusedPidIsNotPolledAnymore() throws IOException {
+
+        assertEquals( systemInfo.ticksToMillis( 300 ), systemInfo.getProcessCpuTimeRunningUser( 1234L ) );
+
+        proc.write( "1234/stat", String.format( STAT_FORMAT, 10, 20, 99999 ) );
+        systemInfo.refresh();
+        assertEquals( -1, systemInfo.getProcessCpuTimeRunningUser( 1234L ) );
+
+        // even when the new process values can be read
+        systemInfo.refresh();
+        assertEquals( -1, systemInfo.getProcessCpuTimeRunningUser( 1234L ) );
+        assertEquals( -1, systemInfo.getProcessResidentMemory( 1234L ), 0 );
+    }
+
+    @Test
+    public void exitedProcess() throws IOException {
+
+        LinuxProcessInformation processInfo = new LinuxProcessInformation( systemInfo, 1234, false );
+        proc.delete( "1234/stat" );
+
+        try {
+            processInfo.getCpuUser();
+            fail( "The values of an exited process are returned" );
+        } catch (SystemInformationException e) {
+            // expected
+        }
+    }
+
+    @Test( expected = SystemInformationException.class)
+    public void shortStat() throws IOException {
+
+        proc.write( "1234/stat", "1234 (app) S 1 1234 1234 0 -1 4194304 1500 0 25 0 300 150\n" );
+
+        new LinuxProcessInformation( systemInfo, 1234, false ).getCpuUser();
+    }
+
+    @Test( expected = SystemInformationException.class)
+    public void statWithoutExecutableName() throws IOException {
+
+        proc.write( "1234/stat", "1234 app S 1 1234 1234 0 -1 4194304 1500 0 25 0 300 150\n" );
+
+        new LinuxProcessInformation( systemInfo, 1234, false ).getCpuUser();
+    }
+
+    @Test( expected = SystemInformationException.class)
+    public void shortStatm() throws IOException {
+
+        proc.write( "1234/statm", "25600 2560\n" );
+
+        new LinuxProcessInformation( systemInfo, 1234, false ).getSharedMemory();
+    }
+
+    @Test
+    public void arguments() throws IOException {
+
+        assertArrayEquals( new String[]{ "/usr/bin/my app", "--option", "value with spaces" },
+                           systemInfo.getProcArgs( 1234 ) );
+
+        // not terminated by '\0'
+        proc.write( "1234/cmdline", "app\0arg" );
+        assertArrayEquals( new String[]{ "app", "arg" }, systemInfo.getProcArgs( 1234 ) );
+
+        // a kernel thread
+        proc.write( "1234/cmdline", "" );
+        assertArrayEquals( new String[0], systemInfo.getProcArgs( 1234 ) );
+    }
+}
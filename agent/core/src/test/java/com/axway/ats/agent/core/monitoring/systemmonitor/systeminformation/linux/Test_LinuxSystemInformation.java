@@ -0,0 +1,304 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.linux;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.axway.ats.agent.core.BaseTest;
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.IDiskUsage;
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.IFileSystem;
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.INetworkInterfaceStat;
+import com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.exceptions.SystemInformationException;
+
+public class Test_LinuxSystemInformation extends BaseTest {
+
+    private static final long      KB = 1024;
+
+    @Rule
+    public TemporaryFolder         folder = new TemporaryFolder();
+
+    private ProcFixtures           proc;
+
+    private LinuxSystemInformation systemInfo;
+
+    @Before
+    public void before() throws IOException {
+
+        proc = new ProcFixtures( folder.newFolder( "proc" ) );
+        systemInfo = new LinuxSystemInformation( proc.getProcRoot() );
+    }
+
+    @After
+    public void after() {
+
+        systemInfo.destroy();
+    }
+
+    @Test
+    public void cpuUsage() throws IOException {
+
+        assertEquals( 2, systemInfo.getCpuCount() );
+
+        // 1000 ticks since the first read
+        proc.write( "stat", "cpu  1100 50 550 8800 250 0 10 0 0 0\n"
+                            + "cpu0 550 25 275 4400 125 0 5 0 0 0\n"
+                            + "cpu1 550 25 275 4400 125 0 5 0 0 0\n" );
+        systemInfo.refresh();
+
+        assertEquals( 0.1, systemInfo.getCpuPercUser(), 0.0000001 );
+        assertEquals( 0.05, systemInfo.getCpuPercSys(), 0.0000001 );
+        assertEquals( 0.05, systemInfo.getCpuPercWait(), 0.0000001 );
+
+        // no ticks at all
+        systemInfo.refresh();
+        assertEquals( 0, systemInfo.getCpuPercUser(), 0 );
+    }
+
+    @Test
+    public void cpuUsageOfOldKernel() throws IOException {
+
+        // no steal column
+        proc.write( "stat", "cpu  1000 50 500 8000 200 0 10\ncpu0 1000 50 500 8000 200 0 10\n" );
+        systemInfo = new LinuxSystemInformation( proc.getProcRoot() );
+        assertEquals( 1, systemInfo.getCpuCount() );
+
+        proc.write( "stat", "cpu  1300 50 600 8550 250 0 10\ncpu0 1300 50 600 8550 250 0 10\n" );
+        systemInfo.refresh();
+        assertEquals( 0.3, systemInfo.getCpuPercUser(), 0.0000001 );
+    }
+
+    @Test
+    public void memory() {
+
+        assertEquals( 7000000 * KB, systemInfo.getMemoryUsed() );
+        assertEquals( 1000000 * KB, systemInfo.getMemoryFree() );
+        assertEquals( 5000000 * KB, systemInfo.getMemoryActualUsed() );
+        assertEquals( 3000000 * KB, systemInfo.getMemoryActualFree() );
+        assertEquals( 2000000 * KB, systemInfo.getSwapTotal() );
+        assertEquals( 1500000 * KB, systemInfo.getSwapFree() );
+        assertEquals( 500000 * KB, systemInfo.getSwapUsed() );
+
+        assertEquals( 120, systemInfo.getSwapPageIn() );
+        assertEquals( 340, systemInfo.getSwapPageOut() );
+    }
+
+    @Test
+    public void memoryOfOldKernel() throws IOException {
+
+        // no MemAvailable, the buffers and cache are counted as free
+        proc.write( "meminfo", "MemTotal:        8000000 kB\nMemFree:         1000000 kB\n"
+                               + "Buffers:          200000 kB\nCached:          1500000 kB\n" );
+
+        assertEquals( 2700000 * KB, systemInfo.getMemoryActualFree() );
+        // no swap at all
+        assertEquals( -1, systemInfo.getSwapTotal() );
+    }
+
+    @Test
+    public void memoryIsReadOncePerPoll() throws IOException {
+
+        assertEquals( 1000000 * KB, systemInfo.getMemoryFree() );
+
+        proc.write( "meminfo", "MemTotal: 8000000 kB\nMemFree: 2000000 kB\n" );
+        assertEquals( 1000000 * KB, systemInfo.getMemoryFree() );
+
+        systemInfo.refresh();
+        assertEquals( 2000000 * KB, systemInfo.getMemoryFree() );
+    }
+
+    @Test
+    public void loadAverage() {
+
+        assertEquals( 0.52, systemInfo.getLoadAvrgLastMinute(), 0.0000001 );
+        assertEquals( 1.25, systemInfo.getLoadAvrgLastFiveMinutes(), 0.0000001 );
+        assertEquals( 10.07, systemInfo.getLoadAvrgLast15Minutes(), 0.0000001 );
+    }
+
+    @Test
+    public void tcpCounters() {
+
+        assertEquals( 11, systemInfo.getTcpActiveOpens() );
+        assertEquals( 12, systemInfo.getTcpPassiveOpens() );
+        assertEquals( 13, systemInfo.getTcpAttemptFails() );
+        assertEquals( 14, systemInfo.getTcpEstabResets() );
+        assertEquals( 15, systemInfo.getTcpCurrEstab() );
+        assertEquals( 16, systemInfo.getTcpInSegs() );
+        assertEquals( 17, systemInfo.getTcpOutSegs() );
+        assertEquals( 18, systemInfo.getTcpRetransSegs() );
+        assertEquals( 19, systemInfo.getTcpInErrs() );
+        assertEquals( 20, systemInfo.getTcpOutRsts() );
+    }
+
+    @Test
+    public void tcpCountersOfOldKernel() throws IOException {
+
+        // no OutRsts column and a short values line
+        proc.write( "net/snmp", "Tcp: RtoAlgorithm ActiveOpens PassiveOpens InErrs\nTcp: 1 21 22\n" );
+
+        assertEquals( 21, systemInfo.getTcpActiveOpens() );
+        assertEquals( 22, systemInfo.getTcpPassiveOpens() );
+        assertEquals( -1, systemInfo.getTcpInErrs() );
+        assertEquals( -1, systemInfo.getTcpOutRsts() );
+    }
+
+    @Test( expected = SystemInformationException.class)
+    public void noTcpCounters() throws IOException {
+
+        proc.write( "net/snmp", "Ip: Forwarding\nIp: 1\nTcp: ActiveOpens\n" );
+
+        systemInfo.getTcpActiveOpens();
+    }
+
+    @Test
+    public void tcpStates() {
+
+        // IPv4 and IPv6 connections
+        assertEquals( 2, systemInfo.getNetstatTcpListen() );
+        assertEquals( 3, systemInfo.getNetstatTcpEstablished() );
+        assertEquals( 1, systemInfo.getNetstatTcpTimeWait() );
+        assertEquals( 0, systemInfo.getNetstatTcpCloseWait() );
+
+        // the connections to a listening port are inbound
+        assertEquals( 2, systemInfo.getNetstatTcpInboundTotal() );
+        assertEquals( 2, systemInfo.getNetstatTcpOutboundTotal() );
+    }
+
+    @Test
+    public void tcpStatesWithoutIpv6() throws IOException {
+
+        proc.delete( "net/tcp6" );
+
+        assertEquals( 1, systemInfo.getNetstatTcpListen() );
+        assertEquals( 1, systemInfo.getNetstatTcpInboundTotal() );
+        assertEquals( 2, systemInfo.getNetstatTcpOutboundTotal() );
+    }
+
+    @Test
+    public void networkInterfaces() {
+
+        assertArrayEquals( new String[]{ "lo", "eth0", "eth01", "eth0.100", "broken" },
+                           systemInfo.listNetworkInterface() );
+
+        // the interface names starting with the same prefix
+        INetworkInterfaceStat eth0 = systemInfo.getNetworkInterfaceStat( "eth0" );
+        assertEquals( 1000000, eth0.getRxBytes() );
+        assertEquals( 2000000, eth0.getTxBytes() );
+        INetworkInterfaceStat eth01 = systemInfo.getNetworkInterfaceStat( "eth01" );
+        assertEquals( 3000000, eth01.getRxBytes() );
+        assertEquals( 4000000, eth01.getTxBytes() );
+
+        // no space after the name
+        INetworkInterfaceStat vlan = systemInfo.getNetworkInterfaceStat( "eth0.100" );
+        assertEquals( 5000000, vlan.getRxBytes() );
+        assertEquals( 6000000, vlan.getTxBytes() );
+    }
+
+    @Test
+    public void networkInterfaceIsUpdated() throws IOException {
+
+        INetworkInterfaceStat eth0 = systemInfo.getNetworkInterfaceStat( "eth0" );
+
+        proc.write( "net/dev", "header 1\nheader 2\n"
+                               + "  eth0: 1000500 10 0 0 0 0 0 0 2000700 20 0 0 0 0 0 0\n" );
+        systemInfo.refresh();
+
+        assertEquals( 1000500, systemInfo.getNetworkInterfaceStat( "eth0" ).getRxBytes() );
+        assertEquals( 2000700, eth0.getTxBytes() );
+    }
+
+    @Test( expected = SystemInformationException.class)
+    public void networkInterfaceOnShortLine() {
+
+        systemInfo.getNetworkInterfaceStat( "broken" );
+    }
+
+    @Test( expected = SystemInformationException.class)
+    public void missingNetworkInterface() {
+
+        systemInfo.getNetworkInterfaceStat( "eth" );
+    }
+
+    @Test
+    public void disks() {
+
+        // the disk names starting with the same prefix
+        IDiskUsage sda = systemInfo.getDiskUsage( "sda" );
+        assertEquals( "sda", sda.getDevName() );
+        assertEquals( 20000 * 512, sda.getReadBytes() );
+        assertEquals( 40000 * 512, sda.getWriteBytes() );
+
+        IDiskUsage sda1 = systemInfo.getDiskUsage( "sda1" );
+        assertEquals( 10000 * 512, sda1.getReadBytes() );
+        assertEquals( 20000 * 512, sda1.getWriteBytes() );
+
+        IDiskUsage dm0 = systemInfo.getDiskUsage( "dm-0" );
+        assertEquals( 3000 * 512, dm0.getReadBytes() );
+        assertEquals( 5000 * 512, dm0.getWriteBytes() );
+    }
+
+    @Test( expected = SystemInformationException.class)
+    public void diskOnShortLine() {
+
+        systemInfo.getDiskUsage( "loop0" );
+    }
+
+    @Test
+    public void fileSystems() {
+
+        IFileSystem[] fileSystems = systemInfo.listFileSystems();
+
+        // the device mounted twice is listed once, the short line is skipped
+        assertEquals( 5, fileSystems.length );
+        assertFileSystem( fileSystems[0], IFileSystem.Type.TYPE_LOCAL_DISK, "/dev/sda1", "/" );
+        assertFileSystem( fileSystems[1], IFileSystem.Type.TYPE_NONE, "proc", "/proc" );
+        assertFileSystem( fileSystems[2], IFileSystem.Type.TYPE_RAM_DISK, "tmpfs", "/run" );
+        assertFileSystem( fileSystems[3], IFileSystem.Type.TYPE_NETWORK, "server:/export", "/mnt/nfs" );
+        assertFileSystem( fileSystems[4], IFileSystem.Type.TYPE_CDROM, "/dev/sr0", "/media/cdrom" );
+
+        assertEquals( "/run", ((LinuxFileSystem) systemInfo.getFileSystem( "tmpfs" )).getMountPoint() );
+        assertNull( systemInfo.getFileSystem( "/dev/sdb1" ) );
+    }
+
+    @Test
+    public void processes() {
+
+        assertArrayEquals( new long[]{ 1234 }, systemInfo.getProcList() );
+        assertEquals( 1234, systemInfo.getProcessInformation( 1234 ).getPid() );
+
+        assertNull( systemInfo.getProcessInformation( 4321 ) );
+        // the missing process is not checked anymore
+        assertEquals( -1, systemInfo.getProcessCpuTimeRunningUser( 4321L ) );
+        assertNull( systemInfo.getProcArgs( 4321 ) );
+    }
+
+    private void assertFileSystem( IFileSystem fileSystem, IFileSystem.Type type, String devName,
+                                   String mountPoint ) {
+
+        assertEquals( type, fileSystem.getType() );
+        assertEquals( devName, fileSystem.getDevName() );
+        assertEquals( mountPoint, ((LinuxFileSystem) fileSystem).getMountPoint() );
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.monitoring.systemmonitor.systeminformation.linux;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.axway.ats.agent.core.BaseTest;
+
+public class Test_ProcFile extends BaseTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void parseLines() throws IOException {
+
+        ProcFile file = createFile( "first 1 2\nsecond -15 1F90 0.52\nsecond 3\nlast" );
+
+        int lineStart = file.indexOfLine( ProcFile.toBytes( "second" ) );
+        assertEquals( 10, lineStart );
+        assertEquals( 31, file.indexOfLine( ProcFile.toBytes( "second" ), file.nextLine( lineStart ) ) );
+        assertEquals( -1, file.indexOfLine( ProcFile.toBytes( "third" ) ) );
+
+        assertEquals( -15, file.parseLong( file.token( lineStart, 1 ) ) );
+        assertEquals( 0x1F90, file.parseHex( file.token( lineStart, 2 ) ) );
+        assertEquals( 0.52, file.parseDouble( file.token( lineStart, 3 ) ), 0.0000001 );
+        assertTrue( file.tokenEquals( lineStart, ProcFile.toBytes( "second" ) ) );
+        assertFalse( file.tokenEquals( lineStart, ProcFile.toBytes( "sec" ) ) );
+
+        // the last line has no new line character
+        int lastLineStart = file.indexOfLine( ProcFile.toBytes( "last" ) );
+        assertTrue( file.tokenEquals( lastLineStart, ProcFile.toBytes( "last" ) ) );
+        assertEquals( file.length, file.nextLine( lastLineStart ) );
+        assertEquals( "last", file.getString( lastLineStart, file.skipToken( lastLineStart ) ) );
+    }
+
+    @Test
+    public void tokenOfShortLine() throws IOException {
+
+        ProcFile file = createFile( "  a b\nc d e f\n" );
+
+        assertEquals( 2, file.token( 0, 0 ) );
+        assertEquals( 4, file.token( 0, 1 ) );
+        // the token is not taken from the next line
+        assertEquals( -1, file.token( 0, 2 ) );
+        assertEquals( -1, file.token( 0, 5 ) );
+        // the last line
+        assertEquals( 12, file.token( 6, 3 ) );
+        assertEquals( -1, file.token( 6, 4 ) );
+    }
+
+    @Test
+    public void bufferGrows() throws IOException {
+
+        // exactly the initial buffer size, then much more than it
+        for (int fileLength : new int[]{ 4096, 10000 }) {
+            byte[] content = new byte[fileLength];
+            Arrays.fill( content, (byte) 'x' );
+            content[fileLength - 1] = '7';
+            ProcFile file = createFile( new String( content, StandardCharsets.US_ASCII ) );
+
+            assertEquals( fileLength, file.length );
+            assertTrue( file.buffer.length > fileLength );
+            assertEquals( 7, file.parseLong( fileLength - 1 ) );
+        }
+    }
+
+    @Test
+    public void readAgainKeptOpenFile() throws IOException {
+
+        File path = folder.newFile( "kept-open" );
+        Files.write( path.toPath(), "0123456789".getBytes( StandardCharsets.US_ASCII ) );
+        ProcFile file = new ProcFile( path.getPath(), true );
+        try {
+            assertEquals( 10, file.read() );
+
+            // the file gets shorter, the buffer is reused
+            byte[] buffer = file.buffer;
+            Files.write( path.toPath(), "42".getBytes( StandardCharsets.US_ASCII ) );
+            assertEquals( 2, file.read() );
+            assertEquals( 42, file.parseLong( 0 ) );
+            assertTrue( buffer == file.buffer );
+        } finally {
+            file.close();
+        }
+    }
+
+    @Test( expected = IOException.class)
+    public void readMissingFile() throws IOException {
+
+        new ProcFile( new File( folder.getRoot(), "missing" ).getPath(), true ).read();
+    }
+
+    private ProcFile createFile( String content ) throws IOException {
+
+        File path = folder.newFile();
+        Files.write( path.toPath(), content.getBytes( StandardCharsets.US_ASCII ) );
+
+        ProcFile file = new ProcFile( path.getPath(), false );
+        file.read();
+        return file;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Axway Software
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.threading;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.axway.ats.agent.core.BaseTest;
+import com.axway.ats.agent.core.threading.patterns.ConstantArrivalRatePattern;
+
+public class Test_ArrivalSchedule extends BaseTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos( 1 );
+
+    @Test
+    public void constantRate() {
+
+        ArrivalSchedule schedule = new ArrivalSchedule( new ConstantArrivalRatePattern( 100, 10, 5, false ), 10 );
+
+        assertEquals( 1000, schedule.getNumberIterations() );
+        assertEquals( 0, schedule.getIterationOffset( 0 ) );
+        assertEquals( 10 * MILLIS, schedule.getIterationOffset( 1 ), 1 );
+        assertEquals( 5000 * MILLIS, schedule.getIterationOffset( 500 ), 1 );
+        assertEquals( 9990 * MILLIS, schedule.getIterationOffset( 999 ), 1 );
+        assertEquals( -1, schedule.getIterationOffset( 1000 ) );
+    }
+
+    @Test
+    public void rampUp() {
+
+        // from 0 to 100 iterations per second in 10 seconds, then 100 iterations per second for 10 seconds
+        ConstantArrivalRatePattern pattern = new ConstantArrivalRatePattern( 0, 5, false );
+        pattern.addStage( 100, 10 );
+        pattern.addStage( 100, 10 );
+        ArrivalSchedule schedule = new ArrivalSchedule( pattern, 10 );
+
+        assertEquals( 500 + 1000, schedule.getNumberIterations() );
+
+        // 5 * t^2 iterations for t seconds
+        assertEquals( 0, schedule.getIterationOffset( 0 ) );
+        assertEquals( 1000 * MILLIS, schedule.getIterationOffset( 5 ), MILLIS );
+        assertEquals( 5000 * MILLIS, schedule.getIterationOffset( 125 ), MILLIS );
+        assertEquals( 10000 * MILLIS, schedule.getIterationOffset( 500 ), MILLIS );
+
+        // constant rate in the second stage
+        assertEquals( 15000 * MILLIS, schedule.getIterationOffset( 1000 ), MILLIS );
+    }
+
+    @Test
+    public void rampDown() {
+
+        // from 100 to 0 iterations per second in 10 seconds
+        ConstantArrivalRatePattern pattern = new ConstantArrivalRatePattern( 100, 5, false );
+        pattern.addStage( 0, 10 );
+        ArrivalSchedule schedule = new ArrivalSchedule( pattern, 10 );
+
+        assertEquals( 500, schedule.getNumberIterations() );
+
+        // 100 * t - 5 * t^2 iterations for t seconds
+        assertEquals( 1000 * MILLIS, schedule.getIterationOffset( 95 ), MILLIS );
+        assertEquals( 5000 * MILLIS, schedule.getIterationOffset( 375 ), MILLIS );
+    }
+
+    @Test
+    public void iterationsAreIncreasing() {
+
+        ConstantArrivalRatePattern pattern = new ConstantArrivalRatePattern( 10, 5, false );
+        pattern.addStage( 1000, 3 );
+        pattern.addStage( 0, 2 );
+        pattern.addStage( 0, 2 );
+        pattern.addStage( 50, 2 );
+        ArrivalSchedule schedule = new ArrivalSchedule( pattern, 10 );
+
+        long previousOffset = -1;
+        for( long i = 0; i < schedule.getNumberIterations(); i++ ) {
+            long offset = schedule.getIterationOffset( i );
+            assertTrue( "Iteration " + i + " starts before the previous one", offset >= previousOffset );
+            previousOffset = offset;
+        }
+        assertTrue( previousOffset <= 9000 * MILLIS );
+    }
+
+    @Test
+    public void iterationsArePassedToTheThreads() throws Exception {
+
+        ArrivalSchedule schedule = new ArrivalSchedule( new ConstantArrivalRatePattern( 1000, 1, 1, false ),
+                                                        10 );
+
+        // nobody takes the iterations, so just 10 of them wait and the others are dropped
+        schedule.run();
+        assertEquals( 990, schedule.getNumberDroppedIterations() );
+
+        // the dropped iterations are taken just once
+        assertEquals( 990, schedule.takeDroppedIterations() );
+        assertEquals( 0, schedule.takeDroppedIterations() );
+
+        for( int i = 0; i < 10; i++ ) {
+            assertTrue( schedule.nextIteration() != null );
+        }
+        assertNull( schedule.nextIteration() );
+    }
+}
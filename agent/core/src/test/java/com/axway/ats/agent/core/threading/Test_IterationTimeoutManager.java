@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.threading;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.axway.ats.agent.core.BaseTest;
+import com.axway.ats.agent.core.action.ActionRequest;
+import com.axway.ats.agent.core.threading.data.ParameterDataProvider;
+import com.axway.ats.agent.core.threading.listeners.ActionTaskListener;
+
+public class Test_IterationTimeoutManager extends BaseTest {
+
+    private static final int        TIMEOUT_SECONDS = 1;
+
+    private static final long       TIMEOUT_MILLIS  = TIMEOUT_SECONDS * 1000;
+
+    private IterationTimeoutManager itManager;
+
+    @After
+    public void after() throws InterruptedException {
+
+        // the manager stops when all its threads are gone
+        itManager.join( 5000 );
+        assertFalse( itManager.isAlive() );
+    }
+
+    @Test
+    public void timedOutIterationIsInterrupted() throws Exception {
+
+        itManager = startManager( 10 );
+
+        IterationsThread thread = new IterationsThread( itManager, 0, 5000 );
+        thread.start();
+        thread.join();
+
+        assertEquals( 1, thread.interruptedIterations );
+        assertTrue( thread.task.isTimedOut() );
+        assertTrue( thread.interruptedAfter >= TIMEOUT_MILLIS );
+        assertTrue( thread.interruptedAfter < TIMEOUT_MILLIS + 1000 );
+    }
+
+    @Test
+    public void finishedIterationIsNotInterrupted() throws Exception {
+
+        itManager = startManager( 10 );
+
+        // the second iteration is not started before the deadline of the first one
+        IterationsThread thread = new IterationsThread( itManager, 0, 200 );
+        thread.sleepAfterIterations = 2 * TIMEOUT_MILLIS;
+        thread.start();
+        thread.join();
+
+        assertEquals( 0, thread.interruptedIterations );
+        assertFalse( thread.task.isTimedOut() );
+    }
+
+    @Test
+    public void timeoutLongerThanOneRotation() throws Exception {
+
+        // a rotation of the wheel is about the half of the timeout, so the bucket of the deadline
+        // is visited once before the deadline
+        long tickMillis = 1;
+        assertTrue( IterationTimeoutManager.WHEEL_SIZE * tickMillis < TIMEOUT_MILLIS / 2 + 100 );
+        itManager = startManager( tickMillis );
+
+        // start the iteration out of the sweeps of the manager, so it is the wheel which finds the timeout
+        Thread.sleep( 400 );
+        IterationsThread thread = new IterationsThread( itManager, 0, 5000 );
+        thread.start();
+        thread.join();
+
+        assertEquals( 1, thread.interruptedIterations );
+        assertTrue( "Interrupted too early, after " + thread.interruptedAfter + " ms",
+                    thread.interruptedAfter >= TIMEOUT_MILLIS );
+        assertTrue( "Interrupted too late, after " + thread.interruptedAfter + " ms",
+                    thread.interruptedAfter < TIMEOUT_MILLIS + 400 );
+    }
+
+    @Test
+    public void deadlineRearmedBeforeTheBucketIsProcessed() throws Exception {
+
+        itManager = startManager( 10 );
+
+        // the first iteration is over quickly, the second one starts while the thread
+        // is still in the bucket of the first deadline
+        IterationsThread thread = new IterationsThread( itManager, 0, 100, 500, 5000 );
+        thread.start();
+        thread.join();
+
+        assertEquals( 1, thread.interruptedIterations );
+        // the second iteration gets its own timeout
+        assertTrue( "Interrupted after " + thread.interruptedAfter + " ms",
+                    thread.interruptedAfter >= TIMEOUT_MILLIS );
+    }
+
+    @Test
+    public void deadlineRearmedDuringTheBucketSweep() throws Exception {
+
+        // the manager processes a bucket each millisecond, while the thread keeps starting
+        // and finishing short iterations
+        itManager = startManager( 1 );
+
+        long[] iterations = new long[2 * 3000];
+        for (int i = 0; i < iterations.length - 2; i += 2) {
+            iterations[i] = 0;
+            iterations[i + 1] = i % 4 == 0
+                                           ? 0
+                                           : 1;
+        }
+        // the last iteration is longer than the timeout
+        iterations[iterations.length - 1] = 5000;
+
+        IterationsThread thread = new IterationsThread( itManager, iterations );
+        thread.start();
+        thread.join();
+
+        // only the last iteration is interrupted, so the thread is never lost from the wheel
+        assertEquals( 1, thread.interruptedIterations );
+        assertEquals( iterations.length / 2 - 1, thread.lastInterruptedIteration );
+        assertTrue( thread.interruptedAfter >= TIMEOUT_MILLIS );
+    }
+
+    private IterationTimeoutManager startManager( long tickMillis ) {
+
+        IterationTimeoutManager manager = new IterationTimeoutManager( TIMEOUT_SECONDS, tickMillis );
+        manager.setDaemon( true );
+        manager.start();
+        return manager;
+    }
+
+    /**
+     * A load queue thread which runs a list of iterations
+     */
+    private static class IterationsThread extends Thread {
+
+        private final IterationTimeoutManager itManager;
+
+        private final TestActionTask          task;
+
+        // the sleep before and the length of each iteration
+        private final long[]                  iterations;
+
+        private long                          sleepAfterIterations;
+
+        volatile int                          interruptedIterations;
+        volatile int                          lastInterruptedIteration = -1;
+        volatile long                         interruptedAfter;
+
+        IterationsThread( IterationTimeoutManager itManager,
+                          long... iterations ) throws Exception {
+
+            this.itManager = itManager;
+            this.task = new TestActionTask( itManager );
+            this.iterations = iterations;
+        }
+
+        @Override
+        public void run() {
+
+            try {
+                for (int i = 0; i < iterations.length; i += 2) {
+                    sleep( iterations[i] );
+
+                    long iterationStartTime = System.currentTimeMillis();
+                    itManager.setIterationStartTime( task, iterationStartTime );
+                    try {
+                        if (iterations[i + 1] > 0) {
+                            sleep( iterations[i + 1] );
+                        }
+                    } catch (InterruptedException e) {
+                        interruptedIterations++;
+                        lastInterruptedIteration = i / 2;
+                        interruptedAfter = System.currentTimeMillis() - iterationStartTime;
+                    }
+                    itManager.clearIterationStartTime();
+                }
+
+                if (sleepAfterIterations > 0) {
+                    sleep( sleepAfterIterations );
+                }
+            } catch (InterruptedException e) {
+                // interrupted out of an iteration
+                interruptedIterations++;
+            } finally {
+                itManager.shutdown();
+            }
+        }
+    }
+
+    private static class TestActionTask extends AbstractActionTask {
+
+        TestActionTask( IterationTimeoutManager itManager ) throws Exception {
+
+            super( "caller", "queue", null, itManager, new ArrayList<ActionRequest>(),
+                   new ArrayList<ParameterDataProvider>(), 0, -1, -1, new ArrayList<ActionTaskListener>() );
+        }
+
+        @Override
+        public ActionTaskResult execute() {
+
+            return ActionTaskResult.FINISHED;
+        }
+    }
+}
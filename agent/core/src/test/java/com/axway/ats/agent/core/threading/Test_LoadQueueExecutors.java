@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.threading;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.axway.ats.agent.core.BaseTest;
+import com.axway.ats.common.systemproperties.AtsSystemProperties;
+
+public class Test_LoadQueueExecutors extends BaseTest {
+
+    private static final int N_TASKS = 100;
+
+    @After
+    public void tearDown() {
+
+        System.clearProperty( AtsSystemProperties.AGENT__LOAD_QUEUE_VIRTUAL_THREADS );
+    }
+
+    @Test
+    public void platformThreadsByDefault() throws Exception {
+
+        ExecutorService executor = LoadQueueExecutors.newExecutor( "test" );
+
+        assertTrue( executor instanceof ThreadPoolExecutor );
+        for( String threadName : runTasks( executor ) ) {
+            assertFalse( threadName.startsWith( LoadQueueExecutors.VIRTUAL_THREAD_PREFIX ) );
+        }
+    }
+
+    @Test
+    public void virtualThreadsWhenSupported() throws Exception {
+
+        System.setProperty( AtsSystemProperties.AGENT__LOAD_QUEUE_VIRTUAL_THREADS, "true" );
+
+        ExecutorService executor = LoadQueueExecutors.newExecutor( "test" );
+
+        // on older JVMs we keep using platform threads
+        assertEquals( !LoadQueueExecutors.isVirtualThreadsSupported(),
+                      executor instanceof ThreadPoolExecutor );
+        for( String threadName : runTasks( executor ) ) {
+            assertEquals( LoadQueueExecutors.isVirtualThreadsSupported(),
+                          threadName.startsWith( LoadQueueExecutors.VIRTUAL_THREAD_PREFIX ) );
+        }
+    }
+
+    @Test
+    public void uniqueVirtualThreadNames() throws Exception {
+
+        System.setProperty( AtsSystemProperties.AGENT__LOAD_QUEUE_VIRTUAL_THREADS, "true" );
+
+        // the threads of different queues must not have the same names
+        Set<String> threadNames = new HashSet<String>();
+        threadNames.addAll( runTasks( LoadQueueExecutors.newExecutor( "queue 1" ) ) );
+        threadNames.addAll( runTasks( LoadQueueExecutors.newExecutor( "queue 2" ) ) );
+
+        if( LoadQueueExecutors.isVirtualThreadsSupported() ) {
+            assertEquals( 2 * N_TASKS, threadNames.size() );
+        }
+    }
+
+    /**
+     * Run tasks which are all running at the same time, so each one has its own thread
+     *
+     * @return the names of the threads
+     */
+    private Set<String> runTasks( ExecutorService executor ) throws Exception {
+
+        final CountDownLatch allTasksRunning = new CountDownLatch( N_TASKS );
+
+        Set<Future<String>> futures = new HashSet<Future<String>>();
+        for( int i = 0; i < N_TASKS; i++ ) {
+            futures.add( executor.submit( new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+
+                    allTasksRunning.countDown();
+                    allTasksRunning.await();
+                    return Thread.currentThread().getName();
+                }
+            } ) );
+        }
+
+        Set<String> threadNames = new HashSet<String>();
+        for( Future<String> future : futures ) {
+            threadNames.add( future.get() );
+        }
+        assertEquals( N_TASKS, threadNames.size() );
+
+        executor.shutdown();
+        return threadNames;
+    }
+}
@@ -26,6 +26,7 @@
 import com.axway.ats.agent.core.threading.data.ParameterDataProvider;
 import com.axway.ats.agent.core.threading.exceptions.ThreadingPatternNotSupportedException;
 import com.axway.ats.agent.core.threading.patterns.AllAtOncePattern;
+import com.axway.ats.agent.core.threading.patterns.ConstantArrivalRatePattern;
 import com.axway.ats.agent.core.threading.patterns.FixedDurationAllAtOncePattern;
 import com.axway.ats.agent.core.threading.patterns.FixedDurationRampUpPattern;
 import com.axway.ats.agent.core.threading.patterns.RampUpPattern;
@@ -81,6 +82,18 @@ public void createQueueFixedDurationRampUpPatternPositive() throws Exception {
         assertEquals( RampUpQueueLoader.class, loader.getClass() );
     }
 
+    @Test
+    public void createQueueConstantArrivalRatePatternPositive() throws Exception {
+
+        ConstantArrivalRatePattern pattern = new ConstantArrivalRatePattern( 200, 60, 50, false );
+
+        QueueLoader loader = LoadQueueFactory.createLoadQueue( "test", new ArrayList<ActionRequest>(),
+                                                               pattern,
+                                                               new ArrayList<ParameterDataProvider>(), null );
+
+        assertEquals( ArrivalRateQueueLoader.class, loader.getClass() );
+    }
+
     @Test(expected = ThreadingPatternNotSupportedException.class)
     public void createQueueNegativePatternNotSupported() throws Exception {
 
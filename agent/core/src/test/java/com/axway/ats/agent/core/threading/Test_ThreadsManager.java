@@ -15,7 +15,9 @@
  */
 package com.axway.ats.agent.core.threading;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Random;
 import java.util.concurrent.ExecutorCompletionService;
@@ -85,6 +87,47 @@ public void positiveTest() {
         checkAllRemainingThreads();
     }
 
+    @Test
+    public void fastThreadWaitsForNextIteration() throws Exception {
+
+        final ThreadsManager manager = new ThreadsManager();
+        final long[] waitTimes = new long[3];
+
+        // this thread runs its iterations instantly
+        Thread worker = new Thread( new Runnable() {
+            @Override
+            public void run() {
+
+                for( int i = 0; i < waitTimes.length; i++ ) {
+                    waitTimes[i] = manager.waitForStart();
+                }
+            }
+        } );
+        worker.start();
+
+        for( int i = 0; i < waitTimes.length; i++ ) {
+            Thread.sleep( 500 );
+            manager.start();
+        }
+        worker.join( 5000 );
+
+        assertFalse( worker.isAlive() );
+        // each iteration is started only after the main thread has fired START
+        for( long waitTime : waitTimes ) {
+            assertTrue( "Waited just " + waitTime + " ms", waitTime >= 400 );
+        }
+    }
+
+    @Test
+    public void slowThreadDoesNotWait() {
+
+        ThreadsManager manager = new ThreadsManager();
+
+        // the iteration is already started when the thread asks for it
+        manager.start();
+        assertEquals( 0, manager.waitForStart() );
+    }
+
     void runThisIteration() {
 
         synchronized( Test_ThreadsManager.waitForIterationCompletionObject ) {
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.threading.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.axway.ats.agent.core.BaseTest;
+import com.axway.ats.agent.core.action.ArgumentValue;
+import com.axway.ats.agent.core.threading.data.config.ParameterProviderLevel;
+import com.axway.ats.agent.core.threading.exceptions.ParameterDataProviderInitalizationException;
+
+public class Test_IndexedParameterDataProviders extends BaseTest {
+
+    private static final List<String> VALUES = Arrays.asList( "value1", "value2", "value3" );
+
+    @Test
+    public void perThreadValuesAreTheSameAsWithLocking() throws Exception {
+
+        assertSameValues( ParameterProviderLevel.PER_THREAD );
+    }
+
+    @Test
+    public void perThreadStaticValuesAreTheSameAsWithLocking() throws Exception {
+
+        assertSameValues( ParameterProviderLevel.PER_THREAD_STATIC );
+    }
+
+    @Test
+    public void perInvocationValuesAreTheSameAsWithLocking() throws Exception {
+
+        assertSameValues( ParameterProviderLevel.PER_INVOCATION );
+    }
+
+    @Test
+    public void integerRangeValues() throws Exception {
+
+        IntegerRangeParameterDataProvider dataProvider = new IntegerRangeParameterDataProvider( "param1",
+                                                                                                10,
+                                                                                                12,
+                                                                                                ParameterProviderLevel.PER_INVOCATION );
+        dataProvider.initialize();
+
+        IndexedParameterDataProviders.Cursor cursor = wrap( dataProvider ).newCursor();
+        for( int i = 0; i < 7; i++ ) {
+            assertEquals( 10 + i % 3, cursor.nextValues().get( 0 ).getValue() );
+        }
+    }
+
+    @Test
+    public void valuesOfOneIterationGoTogether() throws Exception {
+
+        List<String> users = new ArrayList<String>();
+        List<String> passwords = new ArrayList<String>();
+        for( int i = 0; i < 100; i++ ) {
+            users.add( "user" + i );
+            passwords.add( "password" + i );
+        }
+
+        final IndexedParameterDataProviders dataProviders = wrap( new ListParameterDataProvider( "user",
+                                                                                                 users,
+                                                                                                 ParameterProviderLevel.PER_INVOCATION ),
+                                                                  new ListParameterDataProvider( "password",
+                                                                                                 passwords,
+                                                                                                 ParameterProviderLevel.PER_INVOCATION ) );
+
+        final AtomicInteger numberMismatches = new AtomicInteger();
+        List<Thread> threads = new ArrayList<Thread>();
+        for( int i = 0; i < 8; i++ ) {
+            threads.add( new Thread( new Runnable() {
+
+                @Override
+                public void run() {
+
+                    IndexedParameterDataProviders.Cursor cursor = dataProviders.newCursor();
+                    for( int j = 0; j < 10000; j++ ) {
+                        List<ArgumentValue> values = cursor.nextValues();
+                        String user = ( String ) values.get( 0 ).getValue();
+                        String password = ( String ) values.get( 1 ).getValue();
+                        if( !user.substring( "user".length() )
+                                 .equals( password.substring( "password".length() ) ) ) {
+                            numberMismatches.incrementAndGet();
+                        }
+                    }
+                }
+            } ) );
+        }
+        for( Thread thread : threads ) {
+            thread.start();
+        }
+        for( Thread thread : threads ) {
+            thread.join();
+        }
+
+        assertEquals( 0, numberMismatches.get() );
+    }
+
+    @Test
+    public void notIndexedProvidersAreNotWrapped() {
+
+        List<ParameterDataProvider> dataProviders = new ArrayList<ParameterDataProvider>();
+        dataProviders.add( new ListParameterDataProvider( "param1",
+                                                          VALUES,
+                                                          ParameterProviderLevel.PER_INVOCATION ) );
+        dataProviders.add( new ParameterDataProvider() {
+
+            @Override
+            public void initialize() {
+
+            }
+
+            @Override
+            public ArgumentValue getValue( List<ArgumentValue> alreadyResolvedValues ) {
+
+                return new ArgumentValue( "param2", "value" );
+            }
+
+            @Override
+            public String getParameterName() {
+
+                return "param2";
+            }
+
+            @Override
+            public Class<?> getDataConfiguratorClass() {
+
+                return null;
+            }
+        } );
+
+        assertSame( dataProviders, IndexedParameterDataProviders.wrap( "queue", dataProviders ) );
+        assertSame( Collections.emptyList(),
+                    IndexedParameterDataProviders.wrap( "queue",
+                                                        Collections.<ParameterDataProvider> emptyList() ) );
+    }
+
+    /**
+     * Get the values for 3 threads, one after another, with and without locking
+     */
+    private void assertSameValues( final ParameterProviderLevel level ) throws Exception {
+
+        final ListParameterDataProvider lockedDataProvider = new ListParameterDataProvider( "param1",
+                                                                                            VALUES,
+                                                                                            level );
+        final IndexedParameterDataProviders indexedDataProviders = wrap( new ListParameterDataProvider( "param1",
+                                                                                                        VALUES,
+                                                                                                        level ) );
+
+        for( int i = 0; i < 3; i++ ) {
+            final List<Object> lockedValues = new ArrayList<Object>();
+            final List<Object> indexedValues = new ArrayList<Object>();
+            Thread thread = new Thread( new Runnable() {
+
+                @Override
+                public void run() {
+
+                    IndexedParameterDataProviders.Cursor cursor = indexedDataProviders.newCursor();
+                    for( int j = 0; j < 5; j++ ) {
+                        lockedValues.add( lockedDataProvider.getValue( new ArrayList<ArgumentValue>() )
+                                                            .getValue() );
+                        indexedValues.add( cursor.nextValues().get( 0 ).getValue() );
+                    }
+                }
+            } );
+            thread.start();
+            thread.join();
+
+            assertEquals( 5, indexedValues.size() );
+            assertEquals( lockedValues, indexedValues );
+        }
+    }
+
+    private IndexedParameterDataProviders wrap( ParameterDataProvider... dataProviders ) throws ParameterDataProviderInitalizationException {
+
+        for( ParameterDataProvider dataProvider : dataProviders ) {
+            dataProvider.initialize();
+        }
+        List<ParameterDataProvider> wrapped = IndexedParameterDataProviders.wrap( "queue",
+                                                                                   Arrays.asList( dataProviders ) );
+        assertTrue( wrapped instanceof IndexedParameterDataProviders );
+
+        return ( IndexedParameterDataProviders ) wrapped;
+    }
+}
@@ -145,6 +145,20 @@ public void distributeSeveralHostsUneven() {
         }
     }
 
+    @Test
+    public void distributeSynchronizedIterations() {
+
+        AllAtOncePattern pattern = new AllAtOncePattern( 100, true, 20, 500 );
+        pattern.setUseSynchronizedIterations( true );
+        assertFalse( pattern.isRegisterIterationWaitTime() );
+
+        pattern.setRegisterIterationWaitTime( true );
+        for( ThreadingPattern currentPattern : pattern.distribute( 3 ) ) {
+            assertTrue( currentPattern.isUseSynchronizedIterations() );
+            assertTrue( currentPattern.isRegisterIterationWaitTime() );
+        }
+    }
+
     @Test
     public void distributeOneHost() {
 
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Axway Software
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.core.threading.patterns;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.axway.ats.agent.core.BaseTest;
+
+public class Test_ConstantArrivalRatePattern extends BaseTest {
+
+    @Test
+    public void constantRate() {
+
+        ConstantArrivalRatePattern pattern = new ConstantArrivalRatePattern( 2000, 60, 100, true );
+
+        assertEquals( 100, pattern.getThreadCount() );
+        assertEquals( true, pattern.isBlockUntilCompletion() );
+        assertEquals( 2000, pattern.getStartRate() );
+        assertArrayEquals( new int[]{ 2000 }, pattern.getStageTargetRates() );
+        assertArrayEquals( new int[]{ 60 }, pattern.getStageDurations() );
+        assertEquals( 60, pattern.getDuration() );
+        assertEquals( 2000, pattern.getMaxRate() );
+    }
+
+    @Test
+    public void stages() {
+
+        ConstantArrivalRatePattern pattern = new ConstantArrivalRatePattern( 100, 100, false );
+        pattern.addStage( 2000, 30 );
+        pattern.addStage( 2000, 60 );
+        pattern.addStage( 0, 10 );
+
+        assertEquals( 100, pattern.getStartRate() );
+        assertArrayEquals( new int[]{ 2000, 2000, 0 }, pattern.getStageTargetRates() );
+        assertArrayEquals( new int[]{ 30, 60, 10 }, pattern.getStageDurations() );
+        assertEquals( 100, pattern.getDuration() );
+        assertEquals( 2000, pattern.getMaxRate() );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeRate() {
+
+        new ConstantArrivalRatePattern( -1, 60, 100, true );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroStageDuration() {
+
+        new ConstantArrivalRatePattern( 100, 0, 100, true );
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void executionSpeedNotSupported() {
+
+        new ConstantArrivalRatePattern( 100, 60, 100, true ).setExecutionSpeed( 10, 100 );
+    }
+
+    @Test
+    public void distributeSeveralHosts() {
+
+        ConstantArrivalRatePattern pattern = new ConstantArrivalRatePattern( 100, 100, true );
+        pattern.addStage( 2000, 30 );
+        pattern.setIterationTimeout( 5 );
+        List<ThreadingPattern> distributedPatterns = pattern.distribute( 3 );
+
+        assertEquals( 3, distributedPatterns.size() );
+        int totalThreads = 0;
+        int totalStartRate = 0;
+        int totalTargetRate = 0;
+        for( ThreadingPattern distributedPattern : distributedPatterns ) {
+            ConstantArrivalRatePattern currentPattern = ( ConstantArrivalRatePattern ) distributedPattern;
+
+            totalThreads += currentPattern.getThreadCount();
+            totalStartRate += currentPattern.getStartRate();
+            totalTargetRate += currentPattern.getStageTargetRates()[0];
+            assertEquals( 30, currentPattern.getDuration() );
+            assertEquals( 5, currentPattern.getIterationTimeout() );
+            assertEquals( true, currentPattern.isBlockUntilCompletion() );
+        }
+        assertEquals( 100, totalThreads );
+        assertEquals( 100, totalStartRate );
+        assertEquals( 2000, totalTargetRate );
+    }
+
+    @Test
+    public void distributeOneHost() {
+
+        ConstantArrivalRatePattern pattern = new ConstantArrivalRatePattern( 2, 60, 100, true );
+        List<ThreadingPattern> distributedPatterns = pattern.distribute( 3 );
+
+        assertEquals( 1, distributedPatterns.size() );
+        assertEquals( pattern, distributedPatterns.get( 0 ) );
+    }
+
+    @Test
+    public void toStringPositive() {
+
+        ConstantArrivalRatePattern pattern1 = new ConstantArrivalRatePattern( 2000, 60, 100, true );
+        assertEquals( "Arrival rate - 2000 iterations per second for 60 seconds, up to <number_threads> threads",
+                      pattern1.getPatternDescription() );
+
+        ConstantArrivalRatePattern pattern2 = new ConstantArrivalRatePattern( 0, 100, true );
+        pattern2.addStage( 2000, 30 );
+        pattern2.addStage( 2000, 60 );
+        assertEquals( "Arrival rate - start with 0 iterations per second, 2000 iterations per second in 30 seconds, "
+                      + "2000 iterations per second in 60 seconds, up to <number_threads> threads",
+                      pattern2.getPatternDescription() );
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.axway.ats.agent.webapp.client;
 
+import java.util.List;
+
 import com.axway.ats.agent.core.action.ActionRequest;
 import com.axway.ats.agent.core.exceptions.AgentException;
 import com.axway.ats.agent.webapp.client.executors.LocalExecutor;
@@ -112,6 +114,36 @@ protected Object executeAction(
         return getActionResult(actionName, arguments, metaKeys, metaValues, true);
     }
 
+    /**
+     * Execute a batch of actions with a single call to the agent. It saves the round trips
+     * to the agent when a number of actions are to be executed one after another.<br>
+     * The actions are not registered in the database.
+     *
+     * @param actionRequests the actions to execute, they may be of any component loaded on the agent
+     * @param inParallel whether the actions are independent of each other, so the agent can execute them
+     * at the same time. Otherwise they are executed in the given order until some of them fails
+     * @return the results of the actions, in the order of the requests
+     * @throws AgentException the error of the first failed action
+     */
+    public Object[] executeActionBatch( List<ActionRequest> actionRequests,
+                                        boolean inParallel ) throws AgentException {
+
+        // Check if we are queuing - in this case all actions will be routed to the queue
+        ActionQueue actionQueue = ActionQueue.getCurrentInstance();
+        if (actionQueue.isInQueueMode()) {
+            for (ActionRequest actionRequest : actionRequests) {
+                actionQueue.addActionRequest(actionRequest);
+            }
+            return new Object[actionRequests.size()];
+        }
+
+        if (atsAgent.equals(LOCAL_JVM)) {
+            return new LocalExecutor().executeActionBatch(actionRequests, inParallel);
+        } else {
+            return new RemoteExecutor(atsAgent).executeActionBatch(actionRequests, inParallel);
+        }
+    }
+
     private Object getActionResult(
                                     String actionName,
                                     Object[] arguments,
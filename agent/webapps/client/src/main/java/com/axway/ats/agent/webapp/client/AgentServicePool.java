@@ -62,7 +62,7 @@ private AgentServicePool() {
         Thread.currentThread().getContextClassLoader().setPackageAssertionStatus("com.sun.xml.ws", false);
     }
 
-    public static AgentServicePool getInstance() {
+    public static synchronized AgentServicePool getInstance() {
 
         if (instance == null) {
             instance = new AgentServicePool();
@@ -81,7 +81,7 @@ public static void useCachedUniqueId() {
         useNewUuId = false;
     }
 
-    public AgentService getClient( String atsAgent ) throws AgentException {
+    public synchronized AgentService getClient( String atsAgent ) throws AgentException {
 
         // we assume the ATS Agent address here comes with IP and PORT
 
@@ -94,6 +94,15 @@ public AgentService getClient( String atsAgent ) throws AgentException {
         return servicePort;
     }
 
+    /**
+     * @return the unique ID sent to the agents to recognize this caller,
+     * it is known once a client for some agent is created
+     */
+    public synchronized String getUniqueId() {
+
+        return uniqueId;
+    }
+
     private AgentService createServicePort( String host ) throws AgentException {
 
         try {
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.webapp.client;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.log4j.Logger;
+
+import com.axway.ats.agent.core.exceptions.AgentException;
+import com.axway.ats.agent.core.monitoring.queue.QueueProgress;
+import com.axway.ats.agent.webapp.client.configuration.AgentConfigurationLandscape;
+import com.axway.ats.agent.webapp.client.listeners.QueueProgressListener;
+import com.axway.ats.agent.webapp.restservice.model.QueueProgressJson;
+import com.axway.ats.core.utils.HostUtils;
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
+
+/**
+ * Follows the live progress of load queues running on one or more agents.
+ *
+ * <p>Each agent pushes the progress of its queues once per second over a Server-Sent Events stream.
+ * The progress from all agents is combined for each queue, the combined progress is available
+ * from {@link #getProgress(String)} and is given to the registered {@link QueueProgressListener}s.</p>
+ *
+ * <p>The agents send the histograms of the iteration times, so the combined iteration percentiles are
+ * calculated from all iterations on all agents.</p>
+ */
+public class QueueProgressClient {
+
+    private static final Logger                           log                  = Logger.getLogger(QueueProgressClient.class);
+
+    private static final String                           PROGRESS_SERVICE_URI = "/agentapp/restservice/queues/progress";
+
+    private static final int                              CONNECT_TIMEOUT      = 10000;
+    // the agents send something at least every 5 seconds
+    private static final int                              READ_TIMEOUT         = 30000;
+
+    private final List<String>                            atsAgents;
+    private final List<String>                            queueNames;
+
+    private final List<QueueProgressListener>             listeners            = new CopyOnWriteArrayList<QueueProgressListener>();
+
+    // the last progress for each queue from each agent
+    private final Map<String, Map<String, QueueProgress>> agentsProgress       = new HashMap<String, Map<String, QueueProgress>>();
+
+    private final List<HttpURLConnection>                 connections          = new ArrayList<HttpURLConnection>();
+    private final List<Thread>                            readingThreads       = new ArrayList<Thread>();
+
+    // the agents which reported that all followed queues are finished
+    private final Set<String>                             finishedAgents       = Collections.synchronizedSet(new HashSet<String>());
+
+    /**
+     * @param atsAgents the agents running the queues
+     * @param queueNames the names of the followed queues. If none is given, all queues running
+     * on the agents are followed
+     */
+    public QueueProgressClient( Collection<String> atsAgents, String... queueNames ) {
+
+        this.atsAgents = new ArrayList<String>();
+        for (String atsAgent : atsAgents) {
+            // add default port in case none is provided by the user
+            this.atsAgents.add(HostUtils.getAtsAgentIpAndPort(atsAgent));
+        }
+        this.queueNames = Arrays.asList(queueNames);
+    }
+
+    public void addListener( QueueProgressListener listener ) {
+
+        listeners.add(listener);
+    }
+
+    public void removeListener( QueueProgressListener listener ) {
+
+        listeners.remove(listener);
+    }
+
+    /**
+     * Connect to all agents and start following the queues progress
+     *
+     * @throws AgentException if some of the agents can not be connected
+     */
+    public synchronized void start() throws AgentException {
+
+        if (!connections.isEmpty()) {
+            throw new AgentException("The progress of load queues " + queueNames + " is already followed");
+        }
+
+        try {
+            for (final String atsAgent : atsAgents) {
+                final HttpURLConnection connection = connect(atsAgent);
+                connections.add(connection);
+
+                Thread readingThread = new Thread(new Runnable() {
+
+                    @Override
+                    public void run() {
+
+                        readProgress(atsAgent, connection);
+                    }
+                }, "ATS_QUEUE_PROGRESS_" + atsAgent);
+                readingThread.setDaemon(true);
+                readingThreads.add(readingThread);
+            }
+        } catch (IOException ioe) {
+            stop();
+            throw new AgentException("Could not follow the progress of load queues " + queueNames, ioe);
+        }
+
+        for (Thread readingThread : readingThreads) {
+            readingThread.start();
+        }
+    }
+
+    /**
+     * Stop following the queues progress, the last received progress is still available
+     */
+    public synchronized void stop() {
+
+        for (HttpURLConnection connection : connections) {
+            connection.disconnect();
+        }
+        connections.clear();
+        readingThreads.clear();
+    }
+
+    /**
+     * Wait until the agents report that all followed queues are finished
+     *
+     * @param timeout the maximum time to wait in milliseconds
+     * @return whether all agents reported that the queues are finished
+     * @throws InterruptedException
+     */
+    public boolean waitUntilFinished( long timeout ) throws InterruptedException {
+
+        long endTime = System.currentTimeMillis() + timeout;
+
+        List<Thread> threads;
+        synchronized (this) {
+            threads = new ArrayList<Thread>(readingThreads);
+        }
+        for (Thread thread : threads) {
+            long waitTime = endTime - System.currentTimeMillis();
+            if (waitTime <= 0) {
+                return false;
+            }
+            thread.join(waitTime);
+            if (thread.isAlive()) {
+                return false;
+            }
+        }
+
+        return finishedAgents.size() == atsAgents.size();
+    }
+
+    /**
+     * @param queueName the queue name
+     * @return the progress of this queue on all agents or null if no agent has sent it yet
+     */
+    public QueueProgress getProgress( String queueName ) {
+
+        synchronized (agentsProgress) {
+            Map<String, QueueProgress> queueProgress = agentsProgress.get(queueName);
+            if (queueProgress == null) {
+                return null;
+            }
+            return combine(queueName, queueProgress.values());
+        }
+    }
+
+    /**
+     * @return the progress of all queues on all agents
+     */
+    public List<QueueProgress> getProgress() {
+
+        List<QueueProgress> progress = new ArrayList<QueueProgress>();
+        synchronized (agentsProgress) {
+            for (Map.Entry<String, Map<String, QueueProgress>> queueProgress : agentsProgress.entrySet()) {
+                progress.add(combine(queueProgress.getKey(), queueProgress.getValue().values()));
+            }
+        }
+        return progress;
+    }
+
+    private HttpURLConnection connect( String atsAgent ) throws IOException {
+
+        String protocol = AgentConfigurationLandscape.getInstance(atsAgent).getConnectionProtocol();
+        if (protocol == null) {
+            protocol = "http";
+        }
+
+        StringBuilder url = new StringBuilder(protocol + "://" + atsAgent + PROGRESS_SERVICE_URI);
+        char separator = '?';
+        for (String queueName : queueNames) {
+            url.append(separator).append("queueName=").append(URLEncoder.encode(queueName, "UTF-8"));
+            separator = '&';
+        }
+
+        HttpURLConnection connection = (HttpURLConnection) new URL(url.toString()).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT);
+        connection.setReadTimeout(READ_TIMEOUT);
+        connection.setRequestProperty("Accept", "text/event-stream");
+
+        int responseCode = connection.getResponseCode();
+        if (responseCode != HttpURLConnection.HTTP_OK) {
+            connection.disconnect();
+            throw new IOException("Agent " + atsAgent + " returned " + responseCode + " "
+                                  + connection.getResponseMessage());
+        }
+
+        return connection;
+    }
+
+    private void readProgress( String atsAgent, HttpURLConnection connection ) {
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(),
+                                                                              "UTF-8"))) {
+            String event = null;
+            StringBuilder data = new StringBuilder();
+            String line;
+            while ( (line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    // the end of an event
+                    if ("end".equals(event)) {
+                        finishedAgents.add(atsAgent);
+                        return;
+                    }
+                    if ("progress".equals(event) && data.length() > 0) {
+                        onProgress(atsAgent, QueueProgressJson.fromJson(data.toString()));
+                    }
+                    event = null;
+                    data.setLength(0);
+                } else if (line.startsWith("event:")) {
+                    event = line.substring("event:".length()).trim();
+                } else if (line.startsWith("data:")) {
+                    if (data.length() > 0) {
+                        data.append('\n');
+                    }
+                    data.append(line.substring("data:".length()).trim());
+                }
+                // the lines starting with ':' are comments
+            }
+
+            log.warn("Agent " + atsAgent + " closed the load queues progress stream before all queues finished");
+        } catch (IOException ioe) {
+            log.error("Error reading the load queues progress from agent " + atsAgent, ioe);
+        } catch (IllegalArgumentException iae) {
+            log.error("Bad load queue progress from agent " + atsAgent, iae);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private void onProgress( String atsAgent, QueueProgress agentProgress ) {
+
+        String queueName = agentProgress.getQueueName();
+
+        QueueProgress totalProgress;
+        synchronized (agentsProgress) {
+            Map<String, QueueProgress> queueProgress = agentsProgress.get(queueName);
+            if (queueProgress == null) {
+                queueProgress = new HashMap<String, QueueProgress>();
+                agentsProgress.put(queueName, queueProgress);
+            }
+            queueProgress.put(atsAgent, agentProgress);
+
+            totalProgress = combine(queueName, queueProgress.values());
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug(totalProgress);
+        }
+
+        for (QueueProgressListener listener : listeners) {
+            try {
+                listener.onProgress(atsAgent, agentProgress, totalProgress);
+            } catch (Exception e) {
+                log.error("Error in load queue progress listener " + listener, e);
+            }
+        }
+    }
+
+    /**
+     * Combine the last progress of a queue on each agent
+     */
+    static QueueProgress combine( String queueName, Collection<QueueProgress> agentsProgress ) {
+
+        QueueProgress total = new QueueProgress(queueName);
+        total.setFinished(true);
+
+        ResponseTimeHistogram iterationTimes = new ResponseTimeHistogram();
+        for (QueueProgress progress : agentsProgress) {
+            total.setSequence(Math.max(total.getSequence(), progress.getSequence()));
+            total.setTimestamp(Math.max(total.getTimestamp(), progress.getTimestamp()));
+            total.setIntervalLength(Math.max(total.getIntervalLength(), progress.getIntervalLength()));
+
+            total.setPassedIterations(total.getPassedIterations() + progress.getPassedIterations());
+            total.setFailedIterations(total.getFailedIterations() + progress.getFailedIterations());
+            total.setTotalPassedIterations(total.getTotalPassedIterations()
+                                           + progress.getTotalPassedIterations());
+            total.setTotalFailedIterations(total.getTotalFailedIterations()
+                                           + progress.getTotalFailedIterations());
+            total.setActiveThreads(total.getActiveThreads() + progress.getActiveThreads());
+            total.setFinished(total.isFinished() && progress.isFinished());
+
+            iterationTimes.merge(progress.getIterationTimes());
+        }
+        total.setIterationTimes(iterationTimes);
+
+        return total;
+    }
+}
@@ -23,7 +23,9 @@
 import com.axway.ats.agent.core.action.ActionRequest;
 import com.axway.ats.agent.core.exceptions.AgentException;
 import com.axway.ats.agent.core.threading.AbstractActionTask;
+import com.axway.ats.agent.core.threading.ArrivalRateActionTask;
 import com.axway.ats.agent.core.threading.data.config.LoaderDataConfig;
+import com.axway.ats.agent.core.threading.patterns.ConstantArrivalRatePattern;
 import com.axway.ats.agent.core.threading.patterns.ThreadingPattern;
 import com.axway.ats.log.AtsDbLogger;
 import com.axway.ats.log.appenders.ActiveDbAppender;
@@ -76,6 +78,17 @@ public void executeActions( List<ActionRequest> actionRequests ) throws AgentExc
         }
     }
 
+    public Object[] executeActionBatch( List<ActionRequest> actionRequests,
+                                        boolean inParallel ) throws AgentException {
+
+        // one after another, the executors which can do better override it
+        Object[] results = new Object[actionRequests.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = executeAction(actionRequests.get(i));
+        }
+        return results;
+    }
+
     public abstract void waitUntilQueueFinish() throws AgentException;
 
     /**
@@ -156,6 +169,16 @@ public void populateCheckpointsSummary( int loadQueueId,
 
             dbAccess.populateCheckpointSummary(loadQueueId, AbstractActionTask.ATS_ACTION__QUEUE_EXECUTION_TIME, "",
                                                true);
+            if (threadingPattern.isUseSynchronizedIterations() && threadingPattern.isRegisterIterationWaitTime()) {
+                dbAccess.populateCheckpointSummary(loadQueueId, AbstractActionTask.ATS_ACTION__ITERATION_WAIT_TIME,
+                                                   "", true);
+            }
+            if (threadingPattern instanceof ConstantArrivalRatePattern) {
+                dbAccess.populateCheckpointSummary(loadQueueId, ArrivalRateActionTask.ATS_ACTION__QUEUE_RESPONSE_TIME,
+                                                   "", true);
+                dbAccess.populateCheckpointSummary(loadQueueId, ArrivalRateActionTask.ATS_ACTION__QUEUE_START_DELAY,
+                                                   "", true);
+            }
         } catch (DatabaseAccessException e) {
             throw new AgentException("Unable to populate checkpoint summary data for queued actions", e);
         }
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.webapp.client.executors;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.log4j.Logger;
+
+import com.axway.ats.agent.core.action.ActionRequest;
+import com.axway.ats.agent.core.action.BinaryActionCodec;
+import com.axway.ats.agent.core.context.ApplicationContext;
+import com.axway.ats.agent.core.exceptions.AgentException;
+import com.axway.ats.agent.core.exceptions.InternalComponentException;
+import com.axway.ats.agent.webapp.client.AgentServicePool;
+import com.axway.ats.agent.webapp.client.configuration.AgentConfigurationLandscape;
+import com.axway.ats.common.systemproperties.AtsSystemProperties;
+import com.axway.ats.core.utils.HostUtils;
+
+/**
+ * Executes actions on a remote agent in the {@link BinaryActionCodec} form over HTTP.
+ *
+ * <p>It is used when {@link AtsSystemProperties#AGENT__BINARY_ACTIONS_TRANSPORT} is set.
+ * The connections are kept alive and reused by the JDK between the calls to the same agent.</p>
+ *
+ * <p>The agents which do not know this transport answer with an HTTP error before executing the action.
+ * They are remembered, so the following actions go directly through the agent web service.</p>
+ */
+class BinaryActionTransport {
+
+    private static final Logger      log                  = Logger.getLogger(BinaryActionTransport.class);
+
+    private static final String      ACTION_SERVICE_URI   = "/agentapp/restservice/actions/execute";
+
+    private static final int         CONNECT_TIMEOUT      = 10000;
+
+    // the agents which must be called through the web service
+    private static final Set<String> webServiceOnlyAgents = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /**
+     * Thrown when the agent does not support this transport, the action is not executed
+     */
+    @SuppressWarnings( "serial")
+    static class NotSupportedException extends Exception {
+
+        NotSupportedException( String message ) {
+
+            super(message);
+        }
+    }
+
+    private BinaryActionTransport() {}
+
+    /**
+     * @param atsAgent the agent address
+     * @return whether the actions on this agent are to be executed through this transport
+     */
+    static boolean isUsedFor( String atsAgent ) {
+
+        return AtsSystemProperties.getPropertyAsBoolean(AtsSystemProperties.AGENT__BINARY_ACTIONS_TRANSPORT,
+                                                        false)
+               && !webServiceOnlyAgents.contains(atsAgent);
+    }
+
+    /**
+     * Execute an action on a remote agent
+     *
+     * @param atsAgent the agent address
+     * @param actionRequest the action request
+     * @return the action result
+     * @throws NotSupportedException if the agent does not support this transport
+     * @throws AgentException if the action fails
+     */
+    static Object executeAction( String atsAgent,
+                                 ActionRequest actionRequest ) throws NotSupportedException, AgentException {
+
+        byte[] request;
+        try {
+            request = BinaryActionCodec.encodeRequest(actionRequest);
+        } catch (IOException ioe) {
+            throw new AgentException("Could not serialize input arguments", ioe);
+        }
+
+        // it makes sure the unique ID of this caller is known
+        AgentServicePool.getInstance().getClient(atsAgent);
+        String uniqueId = AgentServicePool.getInstance().getUniqueId();
+
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(getProtocol(atsAgent) + "://"
+                                                                       + atsAgent
+                                                                       + ACTION_SERVICE_URI).openConnection();
+            connection.setConnectTimeout(CONNECT_TIMEOUT);
+            connection.setDoOutput(true);
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", BinaryActionCodec.MEDIA_TYPE);
+            connection.setRequestProperty("Accept", BinaryActionCodec.MEDIA_TYPE);
+            connection.setRequestProperty(ApplicationContext.ATS_UID_SESSION_TOKEN, uniqueId);
+            connection.setFixedLengthStreamingMode(request.length);
+
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(request);
+            }
+
+            int responseCode = connection.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_NOT_FOUND
+                || responseCode == HttpURLConnection.HTTP_BAD_METHOD
+                || responseCode == HttpURLConnection.HTTP_UNSUPPORTED_TYPE) {
+                // an agent without this transport, the action is not executed
+                consume(connection.getErrorStream());
+                webServiceOnlyAgents.add(atsAgent);
+                log.info("Agent at " + atsAgent + " does not support the binary actions transport (HTTP "
+                         + responseCode + "), its actions will be executed through the agent web service");
+                throw new NotSupportedException("HTTP " + responseCode);
+            }
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                consume(connection.getErrorStream());
+                throw new AgentException("Error while executing action on agent at " + atsAgent
+                                         + ". HTTP response: " + responseCode + " "
+                                         + connection.getResponseMessage());
+            }
+
+            try (InputStream in = connection.getInputStream()) {
+                Object result = BinaryActionCodec.decodeResponse(in);
+                // read to the end, so the connection is reused
+                consume(in);
+                return result;
+            } catch (InternalComponentException ice) {
+                throw new InternalComponentException(ice.getComponentName(), ice.getActionName(),
+                                                     ice.getExceptionMessage() + "\n["
+                                                                                      + HostUtils.getLocalHostIP()
+                                                                                      + " stacktrace]",
+                                                     atsAgent);
+            } catch (AgentException ae) {
+                throw new AgentException("Error while executing action on agent at " + atsAgent
+                                         + ". Exception message: " + ae.getMessage());
+            }
+        } catch (IOException ioe) {
+            throw new AgentException("Could not execute action on agent at " + atsAgent, ioe);
+        } catch (ClassNotFoundException cnfe) {
+            throw new AgentException("Could not deserialize returned result from agent at " + atsAgent,
+                                     cnfe);
+        }
+    }
+
+    private static String getProtocol( String atsAgent ) {
+
+        String protocol = AgentConfigurationLandscape.getInstance(atsAgent).getConnectionProtocol();
+        if (protocol == null) {
+            protocol = "http";
+        }
+        return protocol;
+    }
+
+    private static void consume( InputStream in ) throws IOException {
+
+        if (in == null) {
+            return;
+        }
+        byte[] buffer = new byte[1024];
+        while (in.read(buffer) != -1) {
+            // nothing to do
+        }
+        in.close();
+    }
+}
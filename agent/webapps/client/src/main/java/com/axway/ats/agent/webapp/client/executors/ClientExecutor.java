@@ -44,6 +44,19 @@ Object executeAction(
     void executeActions(
                          List<ActionRequest> actionRequests ) throws AgentException;
 
+    /**
+     * Execute a batch of actions and return their results
+     *
+     * @param actionRequests list of request beans
+     * @param inParallel whether the actions are independent of each other, so they can be executed
+     * at the same time. Otherwise they are executed in the given order until some of them fails
+     * @return the results of the actions, in the order of the requests
+     * @throws AgentException the error of the first failed action
+     */
+    Object[] executeActionBatch(
+                                 List<ActionRequest> actionRequests,
+                                 boolean inParallel ) throws AgentException;
+
     /**
      * Wait until the execution of all actions in multiple threads finishes
      *
@@ -22,7 +22,6 @@
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -38,6 +37,7 @@
 import com.axway.ats.agent.webapp.client.AgentServicePool;
 import com.axway.ats.agent.webapp.client.InternalComponentException;
 import com.axway.ats.agent.webapp.client.InternalComponentException_Exception;
+import com.axway.ats.agent.webapp.client.executors.ParallelAgentCalls.AgentCall;
 import com.axway.ats.core.events.TestcaseStateEventsDispacher;
 import com.axway.ats.core.utils.HostUtils;
 import com.axway.ats.log.model.LoadQueueResult;
@@ -48,8 +48,11 @@
  */
 public class DistributedLoadExecutor extends RemoteExecutor {
 
-    private List<String> atsAgents;
-    private int          queueSequence;
+    private List<String>                   atsAgents;
+    private int                            queueSequence;
+
+    // the statistics of each action, merged from all agents, once the queue is over
+    private List<ActionExecutionStatistic> actionStatistics;
 
     public DistributedLoadExecutor( String name, int sequence, List<String> atsAgents,
                                     ThreadingPattern threadingPattern,
@@ -102,29 +105,39 @@ public void executeActions( List<ActionRequest> actionRequests ) throws AgentExc
         //call the web service now
         try {
 
-            //first schedule the loaders on all hosts
+            //serialize the threading patterns - it's easier to pass them to the web service that way
+            final List<byte[]> serializedThreadingPatterns = new ArrayList<byte[]>();
+            final List<byte[]> serializedLoaderDataConfigs = new ArrayList<byte[]>();
             for (int i = 0; i < distributedPatterns.size(); i++) {
+                serializedThreadingPatterns.add(serializeObject(distributedPatterns.get(i)));
+                serializedLoaderDataConfigs.add(serializeObject(distributedLoaderDataConfigs.get(i)));
+            }
 
-                //serialize the threading pattern - it's easier to pass it to the web service that way
-                byte[] serializedThreadingPattern = serializeObject(distributedPatterns.get(i));
-                byte[] serializedLoaderDataConfig = serializeObject(distributedLoaderDataConfigs.get(i));
+            //wrap all the action requests
+            final List<ActionWrapper> actionWrappers = new ArrayList<ActionWrapper>();
+            for (ActionRequest actionRequest : actionRequests) {
+                actionWrappers.add(wrapActionRequest(actionRequest));
+            }
 
-                //wrap all the action requests
-                List<ActionWrapper> actionWrappers = new ArrayList<ActionWrapper>();
-                for (ActionRequest actionRequest : actionRequests) {
-                    actionWrappers.add(wrapActionRequest(actionRequest));
+            //first schedule the loaders on all hosts, but do not execute
+            final int finalQueueId = queueId;
+            final boolean isUseSynchronizedIterations = distributedPatterns.get(0)
+                                                                           .isUseSynchronizedIterations();
+            AgentCall<Void> scheduleCall = new AgentCall<Void>() {
+
+                @Override
+                public Void call( int agentIndex, String atsAgent,
+                                  AgentService agentServicePort ) throws Exception {
+
+                    agentServicePort.scheduleActionsInMultipleThreads(queueName, finalQueueId, actionWrappers,
+                                                                      serializedThreadingPatterns.get(agentIndex),
+                                                                      serializedLoaderDataConfigs.get(agentIndex),
+                                                                      isUseSynchronizedIterations);
+                    return null;
                 }
-
-                //schedule the actions, but do not execute
-                //get the client
-                AgentService agentServicePort = AgentServicePool.getInstance()
-                                                                .getClient(atsAgents.get(i));
-                agentServicePort.scheduleActionsInMultipleThreads(queueName, queueId, actionWrappers,
-                                                                  serializedThreadingPattern,
-                                                                  serializedLoaderDataConfig,
-                                                                  distributedPatterns.get(0)
-                                                                                     .isUseSynchronizedIterations());
-            }
+            };
+            ParallelAgentCalls.callAll("Schedule action queue '" + queueName + "'",
+                                       atsAgents.subList(0, distributedPatterns.size()), false, scheduleCall);
 
             boolean useSynchronizedIterations = distributedPatterns.get(0).isUseSynchronizedIterations();
             if (useSynchronizedIterations && !blockUntilCompletion) {
@@ -179,17 +192,11 @@ public void run() {
     public void waitUntilQueueFinish() throws AgentException {
 
         try {
-            for (String host : atsAgents) {
-                AgentService agentServicePort = AgentServicePool.getInstance().getClient(host);
+            log.info("Waiting until action queue '" + queueName + "' finish its execution on agents "
+                     + atsAgents);
 
-                log.info("Waiting until action queue '" + queueName + "' finish its execution on agent '"
-                         + host + "'");
-
-                //wait until finished on this host
-                agentServicePort.waitUntilQueueFinish(queueName);
-
-                log.info("Action queue '" + queueName + "' finished on agent '" + host + "'");
-            }
+            //wait until finished on all hosts
+            waitUntilQueueFinishOnEachAgent();
         } catch (AgentException_Exception ae) {
             throw new AgentException(ae.getMessage());
         } catch (InternalComponentException_Exception ice) {
@@ -206,38 +213,60 @@ public void waitUntilQueueFinish() throws AgentException {
      */
     public void cancelAllActions() {
 
-        for (String host : atsAgents) {
-            try {
-                AgentService agentServicePort = AgentServicePool.getInstance().getClient(host);
+        log.info("Cancelling action queue '" + queueName + "' on agents " + atsAgents);
+
+        AgentCall<Void> cancelCall = new AgentCall<Void>() {
 
-                log.info("Cancelling action queue '" + queueName + "' on agent '" + host + "'");
+            @Override
+            public Void call( int agentIndex, String atsAgent, AgentService agentServicePort ) {
 
-                //cancel any running queues
-                agentServicePort.cancelAllQueues();
+                try {
+                    //cancel any running queues
+                    agentServicePort.cancelAllQueues();
 
-                log.info("Cancelled action queue '" + queueName + "' on agent '" + host + "'");
-            } catch (Exception e) {
-                log.error("Error cancelling action queue '" + queueName + "' on agent '" + host + "'", e);
+                    log.info("Cancelled action queue '" + queueName + "' on agent '" + atsAgent + "'");
+                } catch (Exception e) {
+                    log.error("Error cancelling action queue '" + queueName + "' on agent '" + atsAgent + "'",
+                              e);
+                }
+                return null;
             }
+        };
+        try {
+            ParallelAgentCalls.callAll("Cancel action queue '" + queueName + "'", atsAgents, false, cancelCall);
+        } catch (Exception e) {
+            log.error("Error cancelling action queue '" + queueName + "'", e);
         }
     }
 
-    public boolean isQueueRunning( String queueName ) {
+    public boolean isQueueRunning( final String queueName ) {
 
-        for (String host : atsAgents) {
-            try {
-                AgentService agentServicePort = AgentServicePool.getInstance().getClient(host);
-                if (agentServicePort.isQueueRunning(queueName)) {
-                    log.info("Queue with name '" + queueName + "' is still running on " + host);
-                    return true;
+        AgentCall<Boolean> isRunningCall = new AgentCall<Boolean>() {
+
+            @Override
+            public Boolean call( int agentIndex, String atsAgent, AgentService agentServicePort ) {
+
+                try {
+                    if (agentServicePort.isQueueRunning(queueName)) {
+                        log.info("Queue with name '" + queueName + "' is still running on " + atsAgent);
+                        return true;
+                    }
+                } catch (Exception e) {
+                    log.error("Error checking if an action queue with name '" + queueName
+                              + "' is running on agent " + atsAgent, e);
                 }
-            } catch (Exception e) {
-                log.error("Error checking if an action queue with name '" + queueName
-                          + "' is running on agent " + host, e);
+                return false;
             }
-        }
+        };
 
-        return false;
+        try {
+            return ParallelAgentCalls.callAll("Check if action queue '" + queueName + "' is running",
+                                              atsAgents, false, isRunningCall)
+                                     .contains(Boolean.TRUE);
+        } catch (Exception e) {
+            log.error("Error checking if an action queue with name '" + queueName + "' is running", e);
+            return false;
+        }
     }
 
     // TODO When running non blocking, this method is started from a dedicated thread,
@@ -253,12 +282,7 @@ private void runNotSynchedIterations( boolean blockUntilCompletion ) {
                                          : "Will not wait to finish."));
         try {
             // start the actions on all loaders
-            for (int i = 0; i < atsAgents.size(); i++) {
-                String host = atsAgents.get(i);
-
-                AgentService agentServicePort = AgentServicePool.getInstance().getClient(host);
-                agentServicePort.startQueue(queueName);
-            }
+            startQueueOnEachAgent();
         } catch (Exception e) {
             String msg = "Error starting action queue '" + queueName + "'";
             log.error(msg, e);
@@ -295,14 +319,7 @@ private void waitUntilQueueFinishOnAllLoaders() {
         try {
             log.info("Action queue '" + queueName + "' is running on " + atsAgents.toString());
 
-            for (int i = 0; i < atsAgents.size(); i++) {
-                String host = atsAgents.get(i);
-
-                log.info("Waiting until queue '" + queueName + "' finish on '" + host + "'");
-                AgentService agentServicePort = AgentServicePool.getInstance().getClient(host);
-                agentServicePort.waitUntilQueueFinish(queueName);
-                log.info("Finished executing action queue '" + queueName + "' on '" + host + "'");
-            }
+            waitUntilQueueFinishOnEachAgent();
 
             // the queue finished but there might be some failed actions
             // check if the wanted actions pass rate is met
@@ -330,10 +347,7 @@ private void startSynchedIterations() {
                  + atsAgents.toString());
 
         try {
-            for (String host : atsAgents) {
-                AgentService agentServicePort = AgentServicePool.getInstance().getClient(host);
-                agentServicePort.startQueue(queueName);
-            }
+            startQueueOnEachAgent();
         } catch (Exception e) {
             String msg = "Error running action queue '" + queueName + "'";
             log.error(msg, e);
@@ -341,6 +355,43 @@ private void startSynchedIterations() {
         }
     }
 
+    /**
+     * Start the queue on all agents at the same time
+     */
+    private void startQueueOnEachAgent() throws Exception {
+
+        AgentCall<Void> startCall = new AgentCall<Void>() {
+
+            @Override
+            public Void call( int agentIndex, String atsAgent,
+                              AgentService agentServicePort ) throws Exception {
+
+                agentServicePort.startQueue(queueName);
+                return null;
+            }
+        };
+        ParallelAgentCalls.callAll("Start action queue '" + queueName + "'", atsAgents, true, startCall);
+    }
+
+    /**
+     * Wait for the queue on all agents at the same time, so it takes as long as the slowest agent
+     */
+    private void waitUntilQueueFinishOnEachAgent() throws Exception {
+
+        AgentCall<Void> waitCall = new AgentCall<Void>() {
+
+            @Override
+            public Void call( int agentIndex, String atsAgent,
+                              AgentService agentServicePort ) throws Exception {
+
+                agentServicePort.waitUntilQueueFinish(queueName);
+                log.info("Finished executing action queue '" + queueName + "' on '" + atsAgent + "'");
+                return null;
+            }
+        };
+        ParallelAgentCalls.callAll("Wait for action queue '" + queueName + "'", atsAgents, false, waitCall);
+    }
+
     // TODO When running non blocking, this method is started from a dedicated thread,
     // so throwing an error does not affect the main test execution thread,
     // so the test does not fail.
@@ -350,17 +401,37 @@ private void runSynchedIterations() {
 
         List<String> atsAgentsTmp = new ArrayList<String>(atsAgents);
 
+        AgentCall<Boolean> waitPausedCall = new AgentCall<Boolean>() {
+
+            @Override
+            public Boolean call( int agentIndex, String atsAgent,
+                                 AgentService agentServicePort ) throws Exception {
+
+                return agentServicePort.waitUntilQueueIsPaused(queueName);
+            }
+        };
+        AgentCall<Void> resumeCall = new AgentCall<Void>() {
+
+            @Override
+            public Void call( int agentIndex, String atsAgent,
+                              AgentService agentServicePort ) throws Exception {
+
+                agentServicePort.resumeQueue(queueName);
+                return null;
+            }
+        };
+
         // the actions queue is running, control its execution
         try {
             while (true) {
 
-                Iterator<String> agentsIterator = atsAgentsTmp.iterator();
-                while (agentsIterator.hasNext()) {
-                    AgentService agentServicePort = AgentServicePool.getInstance()
-                                                                    .getClient(agentsIterator.next());
-                    boolean needToRunAgain = agentServicePort.waitUntilQueueIsPaused(queueName);
-                    if (!needToRunAgain) {
-                        agentsIterator.remove();
+                // wait for the current iteration on all agents
+                List<Boolean> needToRunAgain = ParallelAgentCalls.callAll("Wait for paused action queue '"
+                                                                          + queueName + "'", atsAgentsTmp,
+                                                                          false, waitPausedCall);
+                for (int i = needToRunAgain.size() - 1; i >= 0; i--) {
+                    if (!needToRunAgain.get(i)) {
+                        atsAgentsTmp.remove(i);
                     }
                 }
 
@@ -368,11 +439,9 @@ private void runSynchedIterations() {
                     break;
                 }
 
-                // resume the actions on all agents
-                for (String agent : atsAgentsTmp) {
-                    AgentService agentServicePort = AgentServicePool.getInstance().getClient(agent);
-                    agentServicePort.resumeQueue(queueName);
-                }
+                // resume the actions on all agents at the same time
+                ParallelAgentCalls.callAll("Resume action queue '" + queueName + "'", atsAgentsTmp, true,
+                                           resumeCall);
             }
 
             // the queue finished but there might be some failed actions
@@ -402,10 +471,28 @@ private LoadQueueResult getQueueResult( float queuePassRate,
                                             List<String> agentsRunningThisQueue ) throws AgentException {
 
         // the queue has ended, collect info about the executed actions on all agents
+        AgentCall<List<ActionExecutionStatistic>> statisticsCall = new AgentCall<List<ActionExecutionStatistic>>() {
+
+            @Override
+            public List<ActionExecutionStatistic> call( int agentIndex, String atsAgent,
+                                                        AgentService agentServicePort ) throws Exception {
+
+                return getActionExecutionResults(atsAgent, queueName);
+            }
+        };
+
+        List<List<ActionExecutionStatistic>> agentsStatistics;
+        try {
+            agentsStatistics = ParallelAgentCalls.callAll("Get the action statistics of queue '" + queueName + "'",
+                                                          agentsRunningThisQueue, false, statisticsCall);
+        } catch (AgentException ae) {
+            throw ae;
+        } catch (Exception e) {
+            throw new AgentException(e.getMessage(), e);
+        }
         List<ActionExecutionStatistic> queueStatistics = new ArrayList<ActionExecutionStatistic>();
-        Iterator<String> agentsIterator = agentsRunningThisQueue.iterator();
-        while (agentsIterator.hasNext()) {
-            queueStatistics.addAll(getActionExecutionResults(agentsIterator.next(), queueName));
+        for (List<ActionExecutionStatistic> agentStatistics : agentsStatistics) {
+            queueStatistics.addAll(agentStatistics);
         }
 
         // sum up statistics for same actions from different queues
@@ -421,6 +508,11 @@ private LoadQueueResult getQueueResult( float queuePassRate,
             }
         }
 
+        actionStatistics = new ArrayList<ActionExecutionStatistic>(summedQueueStatistics.values());
+        for (ActionExecutionStatistic statistic : actionStatistics) {
+            log.info("Action " + statistic + " in queue '" + queueName + "'");
+        }
+
         // calculate the pass rate for this queue
         int maxNumberExecutions = 0; // tells us the number of queue iterations
         int minNumberPassed = Integer.MAX_VALUE; // tells us the number of passed queue iterations
@@ -447,6 +539,17 @@ private LoadQueueResult getQueueResult( float queuePassRate,
         }
     }
 
+    /**
+     * Get the execution statistics of each action in this queue, merged from all agents.
+     * They include the number of passed and failed executions, the throughput and the response times.
+     *
+     * @return the statistics or null if the queue is not over yet
+     */
+    public List<ActionExecutionStatistic> getActionStatistics() {
+
+        return actionStatistics;
+    }
+
     /**
      * Get the action execution results for a given queue on a given agent
      */
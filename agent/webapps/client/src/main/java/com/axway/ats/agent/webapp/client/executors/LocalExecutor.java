@@ -72,6 +72,21 @@ public Object executeAction( ActionRequest actionRequest ) throws AgentException
         return result;
     }
 
+    @Override
+    public Object[] executeActionBatch( List<ActionRequest> actionRequests,
+                                        boolean inParallel ) throws AgentException {
+
+        log.info("Start executing a batch of " + actionRequests.size() + " actions" + (inParallel
+                                                                                                 ? " in parallel"
+                                                                                                 : ""));
+
+        Object[] results = ActionHandler.executeActions(ComponentRepository.DEFAULT_CALLER, actionRequests,
+                                                        inParallel);
+        log.info("Successfully executed a batch of " + actionRequests.size() + " actions");
+
+        return results;
+    }
+
     @Override
     public boolean isComponentLoaded( ActionRequest actionRequest ) throws AgentException {
 
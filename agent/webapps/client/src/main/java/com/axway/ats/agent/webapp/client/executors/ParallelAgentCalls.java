@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.webapp.client.executors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+
+import com.axway.ats.agent.webapp.client.AgentService;
+import com.axway.ats.agent.webapp.client.AgentServicePool;
+
+/**
+ * Makes the same call to a number of agents at the same time, each agent is called from its own thread.
+ *
+ * <p>Up to {@link #MAX_PARALLEL_CALLS} agents are called at the same time, the threads are taken from a pool
+ * shared by all calls. When a start barrier is requested,
+ * the calls wait until all threads are ready and are then released together, so for example a queue
+ * starts on all agents within milliseconds of each other.</p>
+ *
+ * <p>The time taken by each agent is logged once all calls are over.</p>
+ */
+class ParallelAgentCalls {
+
+    private static final Logger        log                = Logger.getLogger(ParallelAgentCalls.class);
+
+    // the most agents called at the same time
+    static final int                   MAX_PARALLEL_CALLS = 64;
+
+    private static final AtomicInteger threadsCounter     = new AtomicInteger();
+
+    // the threads calling the agents, created on first use, an idle thread ends after a minute
+    private static ExecutorService     executor;
+
+    /**
+     * A call to a single agent
+     */
+    interface AgentCall<T> {
+
+        /**
+         * @param agentIndex the position of the agent in the list of called agents
+         * @param atsAgent the agent address
+         * @param agentServicePort the agent service
+         * @return the call result
+         * @throws Exception
+         */
+        T call( int agentIndex, String atsAgent, AgentService agentServicePort ) throws Exception;
+    }
+
+    private ParallelAgentCalls() {}
+
+    /**
+     * Call all agents and wait for all calls to end
+     *
+     * @param operation description of the call, used for logging
+     * @param atsAgents the agents
+     * @param useStartBarrier whether all agents are to be called at the same moment
+     * @param agentCall the call
+     * @return the results, in the order of the agents
+     * @throws Exception the error from the first agent which failed, after all calls are over
+     */
+    static <T> List<T> callAll( String operation, final List<String> atsAgents, boolean useStartBarrier,
+                                final AgentCall<T> agentCall ) throws Exception {
+
+        final int agentsCount = atsAgents.size();
+
+        // the service ports are created on first use, so get them from this thread only
+        final List<AgentService> agentServicePorts = new ArrayList<AgentService>(agentsCount);
+        for (String atsAgent : atsAgents) {
+            agentServicePorts.add(AgentServicePool.getInstance().getClient(atsAgent));
+        }
+
+        final long[] startTimes = new long[agentsCount];
+        final long[] endTimes = new long[agentsCount];
+
+        List<T> results = new ArrayList<T>(agentsCount);
+        if (agentsCount == 1) {
+            // no need of other threads
+            startTimes[0] = System.currentTimeMillis();
+            try {
+                results.add(agentCall.call(0, atsAgents.get(0), agentServicePorts.get(0)));
+            } finally {
+                endTimes[0] = System.currentTimeMillis();
+                logTimes(operation, atsAgents, startTimes, endTimes);
+            }
+            return results;
+        }
+
+        final int threadsCount = Math.min(agentsCount, MAX_PARALLEL_CALLS);
+        if (useStartBarrier && threadsCount < agentsCount) {
+            log.warn("'" + operation + "' will be started on the first " + threadsCount + " of " + agentsCount
+                     + " agents at the same time, the others will follow as soon as possible");
+        }
+
+        // each thread tells when it is ready, then they all wait for the start signal
+        final CountDownLatch readyGate = new CountDownLatch(useStartBarrier
+                                                                            ? threadsCount
+                                                                            : 0);
+        final CountDownLatch startGate = new CountDownLatch(useStartBarrier
+                                                                            ? 1
+                                                                            : 0);
+
+        // each thread calls the next agent not called yet, until all agents are called
+        final AtomicInteger nextAgentIndex = new AtomicInteger();
+        final Object[] agentResults = new Object[agentsCount];
+        final Throwable[] agentErrors = new Throwable[agentsCount];
+
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(threadsCount);
+        try {
+            ExecutorService executor = getExecutor();
+            for (int i = 0; i < threadsCount; i++) {
+                futures.add(executor.submit(new Callable<Void>() {
+
+                    @Override
+                    public Void call() throws Exception {
+
+                        readyGate.countDown();
+                        startGate.await();
+
+                        int agentIndex;
+                        while ((agentIndex = nextAgentIndex.getAndIncrement()) < agentsCount) {
+                            startTimes[agentIndex] = System.currentTimeMillis();
+                            try {
+                                agentResults[agentIndex] = agentCall.call(agentIndex, atsAgents.get(agentIndex),
+                                                                          agentServicePorts.get(agentIndex));
+                            } catch (Throwable t) {
+                                agentErrors[agentIndex] = t;
+                            } finally {
+                                endTimes[agentIndex] = System.currentTimeMillis();
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            // release all threads at once
+            readyGate.await();
+            startGate.countDown();
+
+            // wait for all agents, even if some of them fail
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            // the threads are still waiting or calling agents only if this thread is interrupted
+            for (Future<Void> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        logTimes(operation, atsAgents, startTimes, endTimes);
+
+        Throwable firstError = null;
+        for (int i = 0; i < agentsCount; i++) {
+            if (firstError == null) {
+                firstError = agentErrors[i];
+            }
+            @SuppressWarnings( "unchecked")
+            T result = (T) agentResults[i];
+            results.add(result);
+        }
+
+        if (firstError instanceof Exception) {
+            throw (Exception) firstError;
+        } else if (firstError instanceof Error) {
+            throw (Error) firstError;
+        } else if (firstError != null) {
+            throw new ExecutionException(firstError);
+        }
+
+        return results;
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+
+        if (executor == null) {
+            executor = Executors.newCachedThreadPool(new ThreadFactory() {
+
+                @Override
+                public Thread newThread( Runnable runnable ) {
+
+                    Thread thread = new Thread(runnable, "ATS_AGENT_CALL_" + threadsCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        return executor;
+    }
+
+    private static void logTimes( String operation, List<String> atsAgents, long[] startTimes,
+                                  long[] endTimes ) {
+
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+
+        long firstStart = Long.MAX_VALUE;
+        long lastStart = Long.MIN_VALUE;
+        long lastEnd = Long.MIN_VALUE;
+        StringBuilder agentTimes = new StringBuilder();
+        for (int i = 0; i < atsAgents.size(); i++) {
+            if (startTimes[i] == 0) {
+                // not called
+                continue;
+            }
+            firstStart = Math.min(firstStart, startTimes[i]);
+            lastStart = Math.max(lastStart, startTimes[i]);
+            lastEnd = Math.max(lastEnd, endTimes[i]);
+
+            if (agentTimes.length() > 0) {
+                agentTimes.append(", ");
+            }
+            agentTimes.append(atsAgents.get(i)).append(" ").append(endTimes[i] - startTimes[i]).append(" ms");
+        }
+        if (agentTimes.length() == 0) {
+            return;
+        }
+
+        log.info("'" + operation + "' took " + (lastEnd - firstStart) + " ms on " + atsAgents.size()
+                 + " agents with start skew " + (lastStart - firstStart) + " ms: " + agentTimes);
+    }
+}
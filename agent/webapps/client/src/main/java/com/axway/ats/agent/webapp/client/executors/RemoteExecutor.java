@@ -92,13 +92,71 @@ public Object executeAction( ActionRequest actionRequest ) throws AgentException
         String componentName = actionRequest.getComponentName();
         Object[] arguments = actionRequest.getArguments();
 
+        if (BinaryActionTransport.isUsedFor(atsAgent)) {
+            try {
+                return BinaryActionTransport.executeAction(atsAgent, actionRequest);
+            } catch (BinaryActionTransport.NotSupportedException nse) {
+                // an older agent, the action was not executed, so go on through the web service
+            }
+        }
+
         Object result = null;
 
+        List<ArgumentWrapper> wrappedArguments = wrapArguments(arguments);
+
+        //get the client
+        AgentService agentServicePort = AgentServicePool.getInstance().getClient(atsAgent);
+
+        try {
+            //FIXME: swap with ActionWrapper
+            byte[] resultAsBytes = agentServicePort.executeAction(componentName, actionName,
+                                                                  wrappedArguments);
+
+            //the result is returned as serialized stream
+            //so we need to deserialize it
+            result = deserialize(resultAsBytes);
+        } catch (Exception e) {
+            throw toAgentException(e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Execute a batch of actions with a single call to the agent
+     *
+     * @param actionRequests the actions to execute
+     * @param inParallel whether the actions are independent of each other, so the agent can execute them
+     * at the same time. Otherwise they are executed in the given order until some of them fails
+     * @return the results of the actions, in the order of the requests
+     * @throws AgentException the error of the first failed action in the batch
+     */
+    @Override
+    public Object[] executeActionBatch( List<ActionRequest> actionRequests,
+                                        boolean inParallel ) throws AgentException {
+
+        List<ActionWrapper> actionWrappers = new ArrayList<ActionWrapper>(actionRequests.size());
+        for (ActionRequest actionRequest : actionRequests) {
+            actionWrappers.add(wrapActionRequest(actionRequest));
+        }
+
+        AgentService agentServicePort = AgentServicePool.getInstance().getClient(atsAgent);
+
+        try {
+            return (Object[]) deserialize(agentServicePort.executeActionBatch(actionWrappers, inParallel));
+        } catch (Exception e) {
+            throw toAgentException(e);
+        }
+    }
+
+    /**
+     * Wrap the arguments - each argument is serialized as a byte stream
+     */
+    private List<ArgumentWrapper> wrapArguments( Object[] arguments ) throws AgentException {
+
         List<ArgumentWrapper> wrappedArguments = new ArrayList<ArgumentWrapper>();
 
         try {
-            //wrap the arguments - each argument is serialized as
-            //a byte stream
             for (Object argument : arguments) {
                 ArgumentWrapper argWrapper = new ArgumentWrapper();
 
@@ -113,46 +171,43 @@ public Object executeAction( ActionRequest actionRequest ) throws AgentException
             throw new AgentException("Could not serialize input arguments", ioe);
         }
 
-        //get the client
-        AgentService agentServicePort = AgentServicePool.getInstance().getClient(atsAgent);
+        return wrappedArguments;
+    }
 
-        try {
-            //FIXME: swap with ActionWrapper
-            byte[] resultAsBytes = agentServicePort.executeAction(componentName, actionName,
-                                                                  wrappedArguments);
+    private Object deserialize( byte[] bytes ) throws IOException, ClassNotFoundException {
 
-            //the result is returned as serialized stream
-            //so we need to deserialize it
-            ByteArrayInputStream byteInStream = new ByteArrayInputStream(resultAsBytes);
-            ObjectInputStream objectInStream = new ObjectInputStream(byteInStream);
+        ByteArrayInputStream byteInStream = new ByteArrayInputStream(bytes);
+        ObjectInputStream objectInStream = new ObjectInputStream(byteInStream);
 
-            result = objectInStream.readObject();
+        return objectInStream.readObject();
+    }
 
-        } catch (IOException ioe) {
-            throw new AgentException("Could not deserialize returned result from agent at " + atsAgent,
-                                     ioe);
-        } catch (AgentException_Exception ae) {
-            throw new AgentException("Error while executing action on agent at " + atsAgent
-                                     + ". Exception message: " + ae.getMessage());
-        } catch (InternalComponentException_Exception ice) {
+    /**
+     * Turn the error of a web service call to execute actions into the exception thrown to the test
+     */
+    private AgentException toAgentException( Exception e ) {
+
+        if (e instanceof IOException) {
+            return new AgentException("Could not deserialize returned result from agent at " + atsAgent, e);
+        } else if (e instanceof AgentException_Exception) {
+            return new AgentException("Error while executing action on agent at " + atsAgent
+                                      + ". Exception message: " + e.getMessage());
+        } else if (e instanceof InternalComponentException_Exception) {
 
             //we need to get internal component exception info from the soap fault
-            InternalComponentException faultInfo = ice.getFaultInfo();
+            InternalComponentException faultInfo = ((InternalComponentException_Exception) e).getFaultInfo();
 
             //then construct and throw a real InternalComponentException (not the JAXB mapping type above)
-            throw new com.axway.ats.agent.core.exceptions.InternalComponentException(faultInfo.getComponentName(),
-                                                                                     faultInfo.getActionName(),
-                                                                                     faultInfo.getExceptionMessage()
-                                                                                                                + "\n["
-                                                                                                                + HostUtils.getLocalHostIP()
-                                                                                                                + " stacktrace]",
-                                                                                     atsAgent);
-
-        } catch (Exception e) {
-            throw new AgentException(e.getMessage(), e);
+            return new com.axway.ats.agent.core.exceptions.InternalComponentException(faultInfo.getComponentName(),
+                                                                                      faultInfo.getActionName(),
+                                                                                      faultInfo.getExceptionMessage()
+                                                                                                                 + "\n["
+                                                                                                                 + HostUtils.getLocalHostIP()
+                                                                                                                 + " stacktrace]",
+                                                                                      atsAgent);
+        } else {
+            return new AgentException(e.getMessage(), e);
         }
-
-        return result;
     }
 
     @Override
@@ -319,32 +374,11 @@ public void waitUntilQueueFinish() throws AgentException {
      */
     protected final ActionWrapper wrapActionRequest( ActionRequest actionRequest ) throws AgentException {
 
-        Object[] arguments = actionRequest.getArguments();
-
-        List<ArgumentWrapper> wrappedArguments = new ArrayList<ArgumentWrapper>();
-
-        try {
-            //wrap the arguments - each argument is serialized as
-            //a byte stream
-            for (Object argument : arguments) {
-                ArgumentWrapper argWrapper = new ArgumentWrapper();
-
-                ByteArrayOutputStream byteOutStream = new ByteArrayOutputStream();
-                ObjectOutputStream objectOutStream = new ObjectOutputStream(byteOutStream);
-                objectOutStream.writeObject(argument);
-
-                argWrapper.setArgumentValue(byteOutStream.toByteArray());
-                wrappedArguments.add(argWrapper);
-            }
-        } catch (IOException ioe) {
-            throw new AgentException("Could not serialize input arguments", ioe);
-        }
-
         //construct the action wrapper
         ActionWrapper actionWrapper = new ActionWrapper();
         actionWrapper.setComponentName(actionRequest.getComponentName());
         actionWrapper.setActionName(actionRequest.getActionName());
-        actionWrapper.getArgs().addAll(wrappedArguments);
+        actionWrapper.getArgs().addAll(wrapArguments(actionRequest.getArguments()));
 
         return actionWrapper;
     }
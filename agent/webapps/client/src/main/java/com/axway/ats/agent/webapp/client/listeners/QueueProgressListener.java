@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.webapp.client.listeners;
+
+import com.axway.ats.agent.core.monitoring.queue.QueueProgress;
+
+/**
+ * Implement this listener to follow the live progress of load queues,
+ * see {@link com.axway.ats.agent.webapp.client.QueueProgressClient}
+ */
+public interface QueueProgressListener {
+
+    /**
+     * Called each time some of the agents sends the progress of a queue.
+     * It is called from the threads reading the agent streams, so it should return quickly.
+     *
+     * @param atsAgent the agent which sent the progress
+     * @param agentProgress the queue progress on this agent
+     * @param totalProgress the queue progress on all agents
+     */
+    public void onProgress( String atsAgent, QueueProgress agentProgress, QueueProgress totalProgress );
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.webapp.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.axway.ats.agent.core.monitoring.queue.QueueProgress;
+import com.axway.ats.agent.webapp.client.listeners.QueueProgressListener;
+import com.axway.ats.agent.webapp.restservice.model.QueueProgressJson;
+import com.axway.ats.junit.BaseTestWebapps;
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class Test_QueueProgressClient extends BaseTestWebapps {
+
+    private final List<HttpServer> agents = new ArrayList<HttpServer>();
+
+    @After
+    public void after() {
+
+        for (HttpServer agent : agents) {
+            agent.stop(0);
+        }
+    }
+
+    @Test
+    public void followTheAgentsProgress() throws Exception {
+
+        String fastAgent = startAgent(createStream(createProgress(1, 900, 10, false),
+                                                   createProgress(2, 900, 10, true)));
+        String slowAgent = startAgent(createStream(createProgress(1, 100, 1000, true)));
+
+        final List<String> receivedProgress = new ArrayList<String>();
+        QueueProgressClient client = new QueueProgressClient(Arrays.asList(fastAgent, slowAgent), "queue");
+        client.addListener(new QueueProgressListener() {
+
+            @Override
+            public void onProgress( String atsAgent, QueueProgress agentProgress, QueueProgress totalProgress ) {
+
+                synchronized (receivedProgress) {
+                    receivedProgress.add(atsAgent + ":" + agentProgress.getSequence());
+                }
+            }
+        });
+        client.start();
+
+        assertTrue(client.waitUntilFinished(10000));
+        synchronized (receivedProgress) {
+            assertEquals(3, receivedProgress.size());
+            assertTrue(receivedProgress.indexOf(fastAgent + ":1") < receivedProgress.indexOf(fastAgent + ":2"));
+            assertTrue(receivedProgress.contains(slowAgent + ":1"));
+        }
+
+        // the last progress from each agent
+        QueueProgress total = client.getProgress("queue");
+        assertTrue(total.isFinished());
+        assertEquals(1000, total.getPassedIterations());
+        assertEquals(1000, total.getIterationTimes().getCount());
+        assertEquals(1, client.getProgress().size());
+    }
+
+    @Test
+    public void streamClosedBeforeTheEnd() throws Exception {
+
+        String atsAgent = startAgent("event: progress\ndata: "
+                                     + QueueProgressJson.toJson(createProgress(1, 5, 10, false)) + "\n\n");
+
+        QueueProgressClient client = new QueueProgressClient(Arrays.asList(atsAgent), "queue");
+        client.start();
+
+        assertFalse(client.waitUntilFinished(10000));
+        assertEquals(5, client.getProgress("queue").getPassedIterations());
+    }
+
+    @Test
+    public void combineAgentsProgress() {
+
+        // a fast agent and a slow one
+        QueueProgress fastProgress = createProgress(5, 900, 10, true);
+        QueueProgress slowProgress = createProgress(7, 100, 1000, false);
+
+        QueueProgress total = QueueProgressClient.combine("queue", Arrays.asList(fastProgress, slowProgress));
+
+        assertEquals("queue", total.getQueueName());
+        assertEquals(7, total.getSequence());
+        assertEquals(1000, total.getPassedIterations());
+        assertEquals(2, total.getFailedIterations());
+        assertEquals(4, total.getActiveThreads());
+        assertFalse(total.isFinished());
+
+        // the percentiles of all iterations, not the highest agent percentiles
+        assertEquals(1000, total.getIterationTimes().getCount());
+        assertEquals(10, total.getMinIterationTime());
+        assertEquals(109, total.getMeanIterationTime(), 0.001);
+        assertEquals(10, total.getIterationTime50());
+        assertEquals(10, total.getIterationTime90());
+        assertTrue(total.getIterationTime99() >= 1000 * 0.93);
+        assertEquals(1000, total.getMaxIterationTime());
+
+        // the agents progress is not changed
+        assertEquals(900, fastProgress.getIterationTimes().getCount());
+        assertEquals(100, slowProgress.getIterationTimes().getCount());
+    }
+
+    @Test
+    public void combineNoIterations() {
+
+        QueueProgress total = QueueProgressClient.combine("queue",
+                                                          Arrays.asList(createProgress(1, 0, 0, true)));
+
+        assertTrue(total.isFinished());
+        assertEquals(0, total.getMinIterationTime());
+        assertEquals(0, total.getIterationTime99());
+    }
+
+    /**
+     * Start a fake agent which sends the same progress stream to each caller
+     *
+     * @return the agent address
+     */
+    private String startAgent( final String stream ) throws IOException {
+
+        HttpServer agent = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        agent.createContext("/agentapp/restservice/queues/progress", new HttpHandler() {
+
+            @Override
+            public void handle( HttpExchange exchange ) throws IOException {
+
+                byte[] body = stream.getBytes("UTF-8");
+                exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+                exchange.sendResponseHeaders(200, body.length);
+                OutputStream output = exchange.getResponseBody();
+                output.write(body);
+                output.close();
+            }
+        });
+        agent.start();
+        agents.add(agent);
+
+        return "127.0.0.1:" + agent.getAddress().getPort();
+    }
+
+    private String createStream( QueueProgress... progress ) {
+
+        StringBuilder stream = new StringBuilder(": streaming the progress of load queues [queue]\n\n");
+        for (QueueProgress queueProgress : progress) {
+            stream.append("event: progress\ndata: ").append(QueueProgressJson.toJson(queueProgress)).append("\n\n");
+        }
+        stream.append("event: end\ndata: {}\n\n");
+        return stream.toString();
+    }
+
+    private QueueProgress createProgress( long sequence, int passedIterations, long iterationTime,
+                                          boolean finished ) {
+
+        ResponseTimeHistogram iterationTimes = new ResponseTimeHistogram();
+        for (int i = 0; i < passedIterations; i++) {
+            iterationTimes.record(iterationTime);
+        }
+
+        QueueProgress progress = new QueueProgress("queue");
+        progress.setSequence(sequence);
+        progress.setTimestamp(System.currentTimeMillis());
+        progress.setIntervalLength(1000);
+        progress.setPassedIterations(passedIterations);
+        progress.setFailedIterations(1);
+        progress.setTotalPassedIterations(passedIterations);
+        progress.setTotalFailedIterations(1);
+        progress.setActiveThreads(2);
+        progress.setIterationTimes(iterationTimes);
+        progress.setFinished(finished);
+        return progress;
+    }
+}
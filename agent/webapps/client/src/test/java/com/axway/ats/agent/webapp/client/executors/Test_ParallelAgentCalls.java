@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.webapp.client.executors;
+
+import static org.easymock.EasyMock.anyString;
+import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.powermock.api.easymock.PowerMock.createMock;
+import static org.powermock.api.easymock.PowerMock.mockStatic;
+import static org.powermock.api.easymock.PowerMock.replayAll;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.axway.ats.agent.core.exceptions.AgentException;
+import com.axway.ats.agent.webapp.client.AgentService;
+import com.axway.ats.agent.webapp.client.AgentServicePool;
+import com.axway.ats.agent.webapp.client.executors.ParallelAgentCalls.AgentCall;
+import com.axway.ats.junit.BaseTestWebapps;
+
+@RunWith( PowerMockRunner.class)
+@PrepareForTest( { AgentServicePool.class })
+public class Test_ParallelAgentCalls extends BaseTestWebapps {
+
+    private List<String> atsAgents;
+
+    @Before
+    public void setUp() throws Exception {
+
+        mockStatic(AgentServicePool.class);
+        AgentServicePool mockAgentServicePool = createMock(AgentServicePool.class);
+        AgentService mockAgentService = createMock(AgentService.class);
+
+        expect(AgentServicePool.getInstance()).andReturn(mockAgentServicePool).anyTimes();
+        expect(mockAgentServicePool.getClient(anyString())).andReturn(mockAgentService).anyTimes();
+        replayAll();
+
+        atsAgents = new ArrayList<String>();
+        for (int i = 0; i < 20; i++) {
+            atsAgents.add("10.1.1." + i);
+        }
+    }
+
+    @Test
+    public void allAgentsAreCalledAtTheSameTime() throws Exception {
+
+        final CountDownLatch runningCalls = new CountDownLatch(atsAgents.size());
+
+        List<String> results = ParallelAgentCalls.callAll("test", atsAgents, true, new AgentCall<String>() {
+
+            @Override
+            public String call( int agentIndex, String atsAgent,
+                                AgentService agentServicePort ) throws Exception {
+
+                // this works only if all agents are called at the same time
+                runningCalls.countDown();
+                assertTrue(runningCalls.await(10, TimeUnit.SECONDS));
+
+                return agentIndex + " " + atsAgent;
+            }
+        });
+
+        assertEquals(atsAgents.size(), results.size());
+        for (int i = 0; i < atsAgents.size(); i++) {
+            assertEquals(i + " " + atsAgents.get(i), results.get(i));
+        }
+    }
+
+    @Test
+    public void errorIsThrownWhenAllCallsAreOver() throws Exception {
+
+        final AtomicInteger finishedCalls = new AtomicInteger();
+
+        try {
+            ParallelAgentCalls.callAll("test", atsAgents, false, new AgentCall<Void>() {
+
+                @Override
+                public Void call( int agentIndex, String atsAgent,
+                                  AgentService agentServicePort ) throws Exception {
+
+                    if (agentIndex == 3) {
+                        throw new AgentException("error on " + atsAgent);
+                    }
+                    Thread.sleep(100);
+                    finishedCalls.incrementAndGet();
+                    return null;
+                }
+            });
+            fail("The error on agent 3 is not thrown");
+        } catch (AgentException ae) {
+            assertEquals("error on 10.1.1.3", ae.getMessage());
+        }
+
+        assertEquals(atsAgents.size() - 1, finishedCalls.get());
+    }
+
+    @Test
+    public void parallelCallsAreLimited() throws Exception {
+
+        List<String> manyAgents = new ArrayList<String>();
+        for (int i = 0; i < ParallelAgentCalls.MAX_PARALLEL_CALLS * 2 + 5; i++) {
+            manyAgents.add("10.1.2." + i);
+        }
+
+        final AtomicInteger runningCalls = new AtomicInteger();
+        final AtomicInteger maxRunningCalls = new AtomicInteger();
+
+        List<Integer> results = ParallelAgentCalls.callAll("test", manyAgents, true, new AgentCall<Integer>() {
+
+            @Override
+            public Integer call( int agentIndex, String atsAgent,
+                                 AgentService agentServicePort ) throws Exception {
+
+                int running = runningCalls.incrementAndGet();
+                synchronized (maxRunningCalls) {
+                    maxRunningCalls.set(Math.max(maxRunningCalls.get(), running));
+                }
+                Thread.sleep(20);
+                runningCalls.decrementAndGet();
+                return agentIndex;
+            }
+        });
+
+        assertEquals(ParallelAgentCalls.MAX_PARALLEL_CALLS, maxRunningCalls.get());
+        assertEquals(manyAgents.size(), results.size());
+        for (int i = 0; i < manyAgents.size(); i++) {
+            assertEquals(Integer.valueOf(i), results.get(i));
+        }
+    }
+
+    @Test
+    public void threadsAreReused() throws Exception {
+
+        Set<String> firstCallThreads = callAndGetThreadNames();
+        assertEquals(atsAgents.size(), firstCallThreads.size());
+        assertFalse(firstCallThreads.contains(Thread.currentThread().getName()));
+
+        // let the threads return to the pool
+        Thread.sleep(100);
+        Set<String> poolThreads = getAgentCallThreads();
+        assertTrue(poolThreads.containsAll(firstCallThreads));
+
+        // no new threads are started
+        assertTrue(poolThreads.containsAll(callAndGetThreadNames()));
+        assertEquals(poolThreads, getAgentCallThreads());
+    }
+
+    private Set<String> callAndGetThreadNames() throws Exception {
+
+        final Set<String> threadNames = new HashSet<String>();
+        ParallelAgentCalls.callAll("test", atsAgents, true, new AgentCall<Void>() {
+
+            @Override
+            public Void call( int agentIndex, String atsAgent,
+                              AgentService agentServicePort ) throws Exception {
+
+                synchronized (threadNames) {
+                    threadNames.add(Thread.currentThread().getName());
+                }
+                // keep the thread busy, so each agent is called from its own thread
+                Thread.sleep(50);
+                return null;
+            }
+        });
+        return threadNames;
+    }
+
+    private Set<String> getAgentCallThreads() {
+
+        Set<String> threadNames = new HashSet<String>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("ATS_AGENT_CALL_")) {
+                threadNames.add(thread.getName());
+            }
+        }
+        return threadNames;
+    }
+}
@@ -256,6 +256,46 @@ public byte[] executeAction(
         }
     }
 
+    /**
+     * Execute a batch of actions with a single call
+     *
+     * @param actions the actions to execute
+     * @param inParallel whether the actions are independent of each other, so they can be executed
+     * at the same time. Otherwise they are executed in the given order until some of them fails
+     * @return the serialized array with the results of the actions, in the order of the given actions
+     * @throws AgentException if any error occurs
+     * @throws InternalComponentException if an exception occurs in some of the Agent actions,
+     * this is the exception from the first failed action in the batch
+     */
+    @WebMethod
+    public byte[] executeActionBatch(
+                                      @WebParam( name = "actions") ActionWrapper[] actions,
+                                      @WebParam( name = "inParallel") boolean inParallel ) throws AgentException,
+                                                                                           InternalComponentException {
+
+        final String caller = getCaller();
+        ThreadsPerCaller.registerThread(caller);
+
+        try {
+            Object[] results = ActionHandler.executeActions(caller, unwrapActionRequests(actions), inParallel);
+
+            ByteArrayOutputStream byteOutStream = new ByteArrayOutputStream();
+            ObjectOutputStream objectOutStream = new ObjectOutputStream(byteOutStream);
+            objectOutStream.writeObject(results);
+
+            return byteOutStream.toByteArray();
+        } catch (Exception e) {
+            handleExceptions(e);
+
+            // should never reach this line because handleExceptions() will
+            // always throw
+            // but the compiler is not aware of this
+            return null;
+        } finally {
+            ThreadsPerCaller.unregisterThread();
+        }
+    }
+
     /**
      * @param caller the IP of the WS caller
      * @param componentName name of the Agent component
@@ -294,6 +334,46 @@ private Object executeAction(
         return ActionHandler.executeAction(caller, componentName, actionName, arguments);
     }
 
+    /**
+     * @param actions the wrapped actions
+     * @return the action requests with deserialized arguments
+     */
+    private List<ActionRequest> unwrapActionRequests(
+                                                      ActionWrapper[] actions ) throws IOException,
+                                                                                ClassNotFoundException {
+
+        List<ActionRequest> actionRequests = new ArrayList<ActionRequest>();
+        if (actions == null) { // Apache CXF impl. provides null instead of empty array
+            return actionRequests;
+        }
+
+        for (ActionWrapper actionWrapper : actions) {
+
+            List<ArgumentWrapper> args = actionWrapper.getArgs();
+
+            int numArguments = args.size();
+            Object[] arguments = new Object[numArguments];
+
+            // unwrap the action arguments
+            for (int i = 0; i < numArguments; i++) {
+                ArgumentWrapper argWrapper = args.get(i);
+
+                ByteArrayInputStream byteInStream = new ByteArrayInputStream(argWrapper.getArgumentValue());
+                ObjectInputStream objectInStream = new ObjectInputStream(byteInStream);
+
+                arguments[i] = objectInStream.readObject();
+            }
+
+            // construct the action request
+            ActionRequest actionRequest = new ActionRequest(actionWrapper.getComponentName(),
+                                                            actionWrapper.getActionName(),
+                                                            arguments);
+            actionRequests.add(actionRequest);
+        }
+
+        return actionRequests;
+    }
+
     /**
      * Tells if an Agent component is loaded, so its actions can be called
      *
@@ -407,31 +487,7 @@ public void scheduleActionsInMultipleThreads(
         ThreadsPerCaller.registerThread(caller);
 
         try {
-            ArrayList<ActionRequest> actionRequests = new ArrayList<ActionRequest>();
-
-            for (ActionWrapper actionWrapper : actions) {
-
-                List<ArgumentWrapper> args = actionWrapper.getArgs();
-
-                int numArguments = args.size();
-                Object[] arguments = new Object[numArguments];
-
-                // unwrap the action arguments
-                for (int i = 0; i < numArguments; i++) {
-                    ArgumentWrapper argWrapper = args.get(i);
-
-                    ByteArrayInputStream byteInStream = new ByteArrayInputStream(argWrapper.getArgumentValue());
-                    ObjectInputStream objectInStream = new ObjectInputStream(byteInStream);
-
-                    arguments[i] = objectInStream.readObject();
-                }
-
-                // construct the action request
-                ActionRequest actionRequest = new ActionRequest(actionWrapper.getComponentName(),
-                                                                actionWrapper.getActionName(),
-                                                                arguments);
-                actionRequests.add(actionRequest);
-            }
+            List<ActionRequest> actionRequests = unwrapActionRequests(actions);
 
             ByteArrayInputStream byteInStream;
             ObjectInputStream objectInStream;
@@ -569,7 +625,11 @@ public boolean isQueueRunning(
         final String caller = getCaller();
         ThreadsPerCaller.registerThread(caller);
 
-        return MultiThreadedActionHandler.getInstance(caller).isQueueRunning(queueName);
+        try {
+            return MultiThreadedActionHandler.getInstance(caller).isQueueRunning(queueName);
+        } finally {
+            ThreadsPerCaller.unregisterThread();
+        }
     }
 
     /**
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.webapp.restservice;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+
+import com.axway.ats.agent.core.ActionHandler;
+import com.axway.ats.agent.core.action.ActionRequest;
+import com.axway.ats.agent.core.action.BinaryActionCodec;
+import com.axway.ats.agent.core.exceptions.AgentException;
+import com.axway.ats.agent.core.exceptions.InternalComponentException;
+import com.axway.ats.agent.webapp.restservice.model.pojo.BasePojo;
+import com.axway.ats.core.threads.ThreadsPerCaller;
+import com.axway.ats.log.AtsDbLogger;
+
+/**
+ * Executes actions sent in the compact {@link BinaryActionCodec} form.
+ *
+ * <p>It does the same as the executeAction method of the agent web service, without the SOAP envelope
+ * and the per argument Java serialization. The action errors are sent back as part of the response,
+ * not as HTTP errors.</p>
+ */
+@Path( "actions")
+public class ActionServiceImpl extends BaseRestServiceImpl {
+
+    /** skip test for checking if ActiveDbAppender is presented in test executor's log4j.xml **/
+    private AtsDbLogger dbLog = AtsDbLogger.getLogger("com.axway.ats.agent.webapp.agentservice", true);
+
+    @POST
+    @Path( "execute")
+    @Consumes( BinaryActionCodec.MEDIA_TYPE)
+    @Produces( BinaryActionCodec.MEDIA_TYPE)
+    public Response executeAction(
+                                   @Context HttpServletRequest request,
+                                   InputStream requestBody ) {
+
+        final String caller = getCaller(request, new BasePojo(), false);
+        ThreadsPerCaller.registerThread(caller);
+
+        try {
+            byte[] response;
+            try {
+                ActionRequest actionRequest = BinaryActionCodec.decodeRequest(requestBody);
+
+                Object result = ActionHandler.executeAction(caller, actionRequest.getComponentName(),
+                                                            actionRequest.getActionName(),
+                                                            actionRequest.getArguments());
+                response = BinaryActionCodec.encodeResult(result);
+            } catch (Exception e) {
+                response = BinaryActionCodec.encodeError(handleException(e));
+            }
+
+            return Response.ok(response, BinaryActionCodec.MEDIA_TYPE).build();
+        } catch (IOException ioe) {
+            // could not even encode the error
+            dbLog.error("Could not send the action response to " + caller, ioe);
+            return Response.serverError().build();
+        } finally {
+            ThreadsPerCaller.unregisterThread();
+        }
+    }
+
+    /**
+     * Log the exception the way the agent web service does and turn it into the error sent to the caller
+     */
+    private AgentException handleException( Exception e ) {
+
+        if (e instanceof InternalComponentException) {
+            InternalComponentException ice = (InternalComponentException) e;
+
+            // we need to log it on the server, otherwise we loose the stack trace
+            if (ice.getCause() instanceof InterruptedException) {
+                dbLog.error("InterruptedException exception: ", ice.getCause());
+            } else {
+                dbLog.error("Internal component exception: ", ice.getCause());
+            }
+            return ice;
+        } else if (e instanceof AgentException) {
+            dbLog.error("Agent exception: ", e);
+            return (AgentException) e;
+        } else {
+            dbLog.error("Unhandled exception thrown during action execution", e);
+            return new AgentException(e.getMessage());
+        }
+    }
+}
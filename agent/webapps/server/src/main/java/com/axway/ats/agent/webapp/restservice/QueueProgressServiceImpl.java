@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.webapp.restservice;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import com.axway.ats.agent.core.monitoring.queue.QueueProgress;
+import com.axway.ats.agent.core.monitoring.queue.QueueProgressMonitor;
+import com.axway.ats.agent.webapp.restservice.model.QueueProgressJson;
+import com.axway.ats.log.AtsDbLogger;
+
+/**
+ * Streams the live progress of the load queues running on this agent.
+ *
+ * <p>The stream is in the Server-Sent Events format. Once per second there is a "progress" event
+ * for each running watched queue, its data is a {@link QueueProgress} as JSON, see {@link QueueProgressJson}.
+ * When all watched queues are finished, an "end" event is sent and the stream is closed.</p>
+ */
+@Path( "queues")
+public class QueueProgressServiceImpl extends BaseRestServiceImpl {
+
+    public static final String EVENT_STREAM_MEDIA_TYPE = "text/event-stream";
+
+    public static final String PROGRESS_EVENT          = "progress";
+    public static final String END_EVENT               = "end";
+
+    // the longest time without an event, after that a comment is sent so the broken connections are noticed
+    private static final long  KEEP_ALIVE_INTERVAL     = 5000;
+
+    /** skip test for checking if ActiveDbAppender is presented in test executor's log4j.xml **/
+    private AtsDbLogger        dbLog                   = AtsDbLogger.getLogger(QueueProgressServiceImpl.class.getName(),
+                                                                               true);
+
+    /**
+     * Stream the progress of some load queues
+     *
+     * @param queueNames the names of the watched queues. The stream waits for the queues which are
+     * not started yet. If no names are given, all queues running on this agent or started
+     * while streaming are watched
+     */
+    @GET
+    @Path( "progress")
+    @Produces( EVENT_STREAM_MEDIA_TYPE)
+    public Response streamProgress(
+                                    @Context HttpServletRequest request,
+                                    @QueryParam( "queueName") final List<String> queueNames ) {
+
+        // the queue names are the same for all callers, so no ATS UID is needed
+        final String caller = request.getRemoteAddr();
+        dbLog.debug("Start streaming the progress of " + (queueNames.isEmpty()
+                                                                                ? "all load queues"
+                                                                                : "load queues " + queueNames)
+                    + " to " + caller);
+
+        StreamingOutput stream = new StreamingOutput() {
+
+            @Override
+            public void write( OutputStream output ) throws IOException {
+
+                try {
+                    streamProgress(output, queueNames);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException ioe) {
+                    // the watcher has gone away
+                    dbLog.debug("Stopped streaming the load queues progress to " + caller + ": "
+                                + ioe.getMessage());
+                }
+            }
+        };
+
+        return Response.ok(stream, EVENT_STREAM_MEDIA_TYPE)
+                       .header("Cache-Control", "no-cache")
+                       .build();
+    }
+
+    private void streamProgress( OutputStream output,
+                                 List<String> queueNames ) throws IOException, InterruptedException {
+
+        QueueProgressMonitor monitor = QueueProgressMonitor.getInstance();
+
+        Set<String> watchedQueues = new LinkedHashSet<String>(queueNames);
+        boolean isWatchingAllQueues = watchedQueues.isEmpty();
+        if (isWatchingAllQueues) {
+            watchedQueues.addAll(monitor.getRunningQueues());
+        }
+
+        // the sequence of the last progress sent for each queue
+        Map<String, Long> sentSequences = new HashMap<String, Long>();
+        long streamStartTime = System.currentTimeMillis();
+
+        writeComment(output, "streaming the progress of " + (isWatchingAllQueues
+                                                                                 ? "all load queues"
+                                                                                 : "load queues "
+                                                                                   + watchedQueues));
+
+        long round = 0;
+        long lastWriteTime = System.currentTimeMillis();
+        while (true) {
+            round = monitor.waitForProgress(round, KEEP_ALIVE_INTERVAL);
+
+            if (isWatchingAllQueues) {
+                // the queues started after the stream start, even if they are already finished
+                for (QueueProgress progress : monitor.getProgress()) {
+                    if (progress.getTimestamp() >= streamStartTime) {
+                        watchedQueues.add(progress.getQueueName());
+                    }
+                }
+                watchedQueues.addAll(monitor.getRunningQueues());
+            }
+
+            boolean allFinished = true;
+            for (String queueName : watchedQueues) {
+                QueueProgress progress = monitor.getProgress(queueName);
+                if (progress == null) {
+                    // not started yet
+                    allFinished = false;
+                    continue;
+                }
+
+                Long sentSequence = sentSequences.get(queueName);
+                if (sentSequence == null || progress.getSequence() != sentSequence) {
+                    sentSequences.put(queueName, progress.getSequence());
+                    writeEvent(output, PROGRESS_EVENT, QueueProgressJson.toJson(progress));
+                    lastWriteTime = System.currentTimeMillis();
+                }
+
+                if (!progress.isFinished()) {
+                    allFinished = false;
+                }
+            }
+
+            if (allFinished && !watchedQueues.isEmpty()) {
+                writeEvent(output, END_EVENT, "{}");
+                return;
+            }
+
+            if (System.currentTimeMillis() - lastWriteTime >= KEEP_ALIVE_INTERVAL) {
+                writeComment(output, "keep alive");
+                lastWriteTime = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private void writeEvent( OutputStream output, String event, String data ) throws IOException {
+
+        output.write(("event: " + event + "\ndata: " + data + "\n\n").getBytes("UTF-8"));
+        output.flush();
+    }
+
+    private void writeComment( OutputStream output, String comment ) throws IOException {
+
+        output.write((": " + comment + "\n\n").getBytes("UTF-8"));
+        output.flush();
+    }
+}
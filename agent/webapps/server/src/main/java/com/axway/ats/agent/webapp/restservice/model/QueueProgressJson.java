@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.webapp.restservice.model;
+
+import java.io.StringReader;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+import com.axway.ats.agent.core.monitoring.queue.QueueProgress;
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
+
+/**
+ * Converts a {@link QueueProgress} to a JSON object and back.
+ *
+ * <p>Besides the iteration times histogram, the object has the min/mean/p50/p90/p99/max iteration times,
+ * so the progress stream is readable without the ATS classes. They are not read back, as they come
+ * from the histogram.</p>
+ */
+public class QueueProgressJson {
+
+    /**
+     * @param progress the progress
+     * @return the progress as a JSON object
+     */
+    public static String toJson( QueueProgress progress ) {
+
+        return Json.createObjectBuilder()
+                   .add("queueName", progress.getQueueName())
+                   .add("sequence", progress.getSequence())
+                   .add("timestamp", progress.getTimestamp())
+                   .add("intervalLength", progress.getIntervalLength())
+                   .add("passedIterations", progress.getPassedIterations())
+                   .add("failedIterations", progress.getFailedIterations())
+                   .add("totalPassedIterations", progress.getTotalPassedIterations())
+                   .add("totalFailedIterations", progress.getTotalFailedIterations())
+                   .add("activeThreads", progress.getActiveThreads())
+                   .add("minIterationTime", progress.getMinIterationTime())
+                   .add("meanIterationTime", progress.getMeanIterationTime())
+                   .add("iterationTime50", progress.getIterationTime50())
+                   .add("iterationTime90", progress.getIterationTime90())
+                   .add("iterationTime99", progress.getIterationTime99())
+                   .add("maxIterationTime", progress.getMaxIterationTime())
+                   .add("iterationTimes", progress.getIterationTimes().toCompactString())
+                   .add("finished", progress.isFinished())
+                   .build()
+                   .toString();
+    }
+
+    /**
+     * Read a progress returned by {@link #toJson(QueueProgress)}. Unknown fields are skipped.
+     *
+     * @param json the JSON object
+     * @return the progress
+     * @throws IllegalArgumentException if this is not a valid progress
+     */
+    public static QueueProgress fromJson( String json ) {
+
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            JsonObject object = reader.readObject();
+
+            QueueProgress progress = new QueueProgress(object.getString("queueName"));
+            progress.setSequence(getLong(object, "sequence"));
+            progress.setTimestamp(getLong(object, "timestamp"));
+            progress.setIntervalLength(getLong(object, "intervalLength"));
+            progress.setPassedIterations(getLong(object, "passedIterations"));
+            progress.setFailedIterations(getLong(object, "failedIterations"));
+            progress.setTotalPassedIterations(getLong(object, "totalPassedIterations"));
+            progress.setTotalFailedIterations(getLong(object, "totalFailedIterations"));
+            progress.setActiveThreads(object.getInt("activeThreads", 0));
+            String iterationTimes = object.getString("iterationTimes", null);
+            if (iterationTimes != null) {
+                progress.setIterationTimes(ResponseTimeHistogram.fromCompactString(iterationTimes));
+            }
+            progress.setFinished(object.getBoolean("finished", false));
+
+            return progress;
+        } catch (JsonException | ClassCastException | NullPointerException e) {
+            throw new IllegalArgumentException("Not a load queue progress: " + json, e);
+        }
+    }
+
+    private static long getLong( JsonObject object, String name ) {
+
+        JsonNumber value = object.getJsonNumber(name);
+        return value == null
+                             ? 0
+                             : value.longValue();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.webapp.restservice;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.junit.Test;
+
+import com.axway.ats.agent.core.monitoring.queue.QueueProgress;
+import com.axway.ats.agent.core.monitoring.queue.QueueProgressMonitor;
+import com.axway.ats.agent.webapp.agentservice.BaseTestWebapps;
+import com.axway.ats.agent.webapp.restservice.model.QueueProgressJson;
+
+public class Test_QueueProgressServiceImpl extends BaseTestWebapps {
+
+    private final QueueProgressMonitor monitor = QueueProgressMonitor.getInstance();
+
+    @Test
+    public void progressIsStreamedUntilTheQueueFinishes() throws Exception {
+
+        monitor.startQueue("streamed queue");
+        StreamingThread stream = startStreaming(Arrays.asList("streamed queue"));
+
+        monitor.threadStarted("streamed queue");
+        for (int i = 1; i <= 10; i++) {
+            monitor.registerIteration("streamed queue", i != 10, i);
+        }
+        monitor.threadFinished("streamed queue");
+        monitor.finishQueue("streamed queue");
+
+        List<String[]> events = stream.getEvents();
+        String[] endEvent = events.get(events.size() - 1);
+        assertEquals(QueueProgressServiceImpl.END_EVENT, endEvent[0]);
+
+        String[] lastProgressEvent = events.get(events.size() - 2);
+        assertEquals(QueueProgressServiceImpl.PROGRESS_EVENT, lastProgressEvent[0]);
+        QueueProgress lastProgress = QueueProgressJson.fromJson(lastProgressEvent[1]);
+        assertEquals("streamed queue", lastProgress.getQueueName());
+        assertTrue(lastProgress.isFinished());
+        assertEquals(9, lastProgress.getTotalPassedIterations());
+        assertEquals(1, lastProgress.getTotalFailedIterations());
+
+        // each progress is sent once
+        long lastSequence = 0;
+        for (String[] event : events.subList(0, events.size() - 1)) {
+            QueueProgress progress = QueueProgressJson.fromJson(event[1]);
+            assertTrue(progress.getSequence() > lastSequence);
+            lastSequence = progress.getSequence();
+        }
+    }
+
+    @Test
+    public void streamWaitsForTheQueuesNotStartedYet() throws Exception {
+
+        StreamingThread stream = startStreaming(Arrays.asList("late queue"));
+
+        Thread.sleep(200);
+        assertTrue(stream.isAlive());
+
+        monitor.startQueue("late queue");
+        monitor.registerIteration("late queue", true, 5);
+        monitor.finishQueue("late queue");
+
+        List<String[]> events = stream.getEvents();
+        assertEquals(QueueProgressServiceImpl.END_EVENT, events.get(events.size() - 1)[0]);
+        QueueProgress lastProgress = QueueProgressJson.fromJson(events.get(events.size() - 2)[1]);
+        assertEquals("late queue", lastProgress.getQueueName());
+        assertEquals(1, lastProgress.getTotalPassedIterations());
+    }
+
+    private StreamingThread startStreaming( List<String> queueNames ) {
+
+        HttpServletRequest request = createMock(HttpServletRequest.class);
+        expect(request.getRemoteAddr()).andReturn("127.0.0.1").anyTimes();
+        replay(request);
+
+        Response response = new QueueProgressServiceImpl().streamProgress(request, queueNames);
+        assertEquals(QueueProgressServiceImpl.EVENT_STREAM_MEDIA_TYPE, response.getMediaType().toString());
+
+        StreamingThread stream = new StreamingThread((StreamingOutput) response.getEntity());
+        stream.setDaemon(true);
+        stream.start();
+        return stream;
+    }
+
+    /**
+     * Writes the event stream into memory
+     */
+    private static class StreamingThread extends Thread {
+
+        private final StreamingOutput       streamingOutput;
+
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        StreamingThread( StreamingOutput streamingOutput ) {
+
+            this.streamingOutput = streamingOutput;
+        }
+
+        @Override
+        public void run() {
+
+            try {
+                streamingOutput.write(output);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        /**
+         * Wait for the end of the stream
+         *
+         * @return the name and data of each event
+         */
+        List<String[]> getEvents() throws Exception {
+
+            join(10000);
+            assertFalse("The stream has not ended", isAlive());
+
+            List<String[]> events = new ArrayList<String[]>();
+            for (String block : output.toString("UTF-8").split("\n\n")) {
+                if (block.startsWith(":")) {
+                    // a comment
+                    continue;
+                }
+                String[] lines = block.split("\n");
+                assertTrue(lines[0].startsWith("event: "));
+                assertTrue(lines[1].startsWith("data: "));
+                events.add(new String[]{ lines[0].substring("event: ".length()),
+                                         lines[1].substring("data: ".length()) });
+            }
+            return Collections.unmodifiableList(events);
+        }
+    }
+}
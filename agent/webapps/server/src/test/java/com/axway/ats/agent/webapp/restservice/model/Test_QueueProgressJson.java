@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.agent.webapp.restservice.model;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.axway.ats.agent.core.monitoring.queue.QueueProgress;
+import com.axway.ats.agent.webapp.agentservice.BaseTestWebapps;
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
+
+public class Test_QueueProgressJson extends BaseTestWebapps {
+
+    @Test
+    public void roundTrip() {
+
+        ResponseTimeHistogram iterationTimes = new ResponseTimeHistogram();
+        for (int i = 1; i <= 40; i++) {
+            iterationTimes.record(i * 3);
+        }
+
+        QueueProgress progress = new QueueProgress("queue \"1\" \\ 2");
+        progress.setSequence(3);
+        progress.setTimestamp(1234567890123L);
+        progress.setIntervalLength(1001);
+        progress.setPassedIterations(40);
+        progress.setFailedIterations(2);
+        progress.setTotalPassedIterations(400);
+        progress.setTotalFailedIterations(20);
+        progress.setActiveThreads(7);
+        progress.setIterationTimes(iterationTimes);
+        progress.setFinished(true);
+
+        String json = QueueProgressJson.toJson(progress);
+        QueueProgress readProgress = QueueProgressJson.fromJson(json);
+
+        assertEquals(progress.getQueueName(), readProgress.getQueueName());
+        assertEquals(iterationTimes.toCompactString(), readProgress.getIterationTimes().toCompactString());
+        assertEquals(progress.toString(), readProgress.toString());
+        assertEquals(json, QueueProgressJson.toJson(readProgress));
+    }
+
+    @Test
+    public void unknownFieldsAreSkipped() {
+
+        QueueProgress progress = QueueProgressJson.fromJson("{\"queueName\":\"q\",\"passedIterations\":5,"
+                                                            + "\"newField\":[1,2]}");
+
+        assertEquals("q", progress.getQueueName());
+        assertEquals(5, progress.getPassedIterations());
+        assertEquals(0, progress.getIterationTimes().getCount());
+    }
+
+    @Test( expected = IllegalArgumentException.class)
+    public void notAnObject() {
+
+        QueueProgressJson.fromJson("[1, 2]");
+    }
+
+    @Test( expected = IllegalArgumentException.class)
+    public void noQueueName() {
+
+        QueueProgressJson.fromJson("{\"passedIterations\":5}");
+    }
+}
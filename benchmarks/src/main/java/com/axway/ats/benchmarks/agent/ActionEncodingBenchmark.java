@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.benchmarks.agent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.axway.ats.agent.core.action.ActionRequest;
+import com.axway.ats.agent.core.action.BinaryActionCodec;
+
+/**
+ * Measures the encoding and decoding of an action request and its result, as done for each remote action
+ * on both the test executor and the agent side. It needs no agent, so it shows the part of
+ * {@link ActionTransportBenchmark} which does not depend on the network.
+ *
+ * <p>The web service serializes each argument and the result with their own object stream, the bytes
+ * are then base64 encoded in the SOAP XML. The XML itself is not part of this benchmark.</p>
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar ActionEncodingBenchmark -prof gc
+ * </pre>
+ */
+@State( Scope.Benchmark)
+@BenchmarkMode( Mode.AverageTime)
+@OutputTimeUnit( TimeUnit.NANOSECONDS)
+@Warmup( iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement( iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork( 1)
+public class ActionEncodingBenchmark {
+
+    private final Object[] arguments = new Object[]{ "/tmp/some/file.txt", 1024L, true,
+                                                     new String[]{ "first", "second", "third" } };
+
+    private final Object   result    = "the action result";
+
+    @Benchmark
+    public Object webService() throws Exception {
+
+        // the test executor serializes each argument
+        String[] encodedArguments = new String[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            encodedArguments[i] = Base64.getEncoder().encodeToString(serialize(arguments[i]));
+        }
+
+        // the agent deserializes them and serializes the result
+        Object[] decodedArguments = new Object[encodedArguments.length];
+        for (int i = 0; i < encodedArguments.length; i++) {
+            decodedArguments[i] = deserialize(Base64.getDecoder().decode(encodedArguments[i]));
+        }
+        String encodedResult = Base64.getEncoder().encodeToString(serialize(result));
+
+        // the test executor deserializes the result
+        return deserialize(Base64.getDecoder().decode(encodedResult));
+    }
+
+    @Benchmark
+    public Object binary() throws Exception {
+
+        byte[] request = BinaryActionCodec.encodeRequest(new ActionRequest("component", "action", arguments));
+
+        BinaryActionCodec.decodeRequest(new ByteArrayInputStream(request));
+        byte[] response = BinaryActionCodec.encodeResult(result);
+
+        return BinaryActionCodec.decodeResponse(new ByteArrayInputStream(response));
+    }
+
+    private static byte[] serialize( Object value ) throws IOException {
+
+        ByteArrayOutputStream byteOutStream = new ByteArrayOutputStream();
+        ObjectOutputStream objectOutStream = new ObjectOutputStream(byteOutStream);
+        objectOutStream.writeObject(value);
+        return byteOutStream.toByteArray();
+    }
+
+    private static Object deserialize( byte[] bytes ) throws IOException, ClassNotFoundException {
+
+        return new ObjectInputStream(new ByteArrayInputStream(bytes)).readObject();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.benchmarks.agent;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.axway.ats.agent.core.action.ActionRequest;
+import com.axway.ats.agent.webapp.client.executors.RemoteExecutor;
+import com.axway.ats.common.systemproperties.AtsSystemProperties;
+
+/**
+ * Measures the round trip of a remote action - from the test executor to a running ATS Agent and back,
+ * through the agent web service or through the binary actions transport.
+ *
+ * <p>The actions are from the system operations component, which is part of every agent.
+ * They do almost nothing, so what is measured is the cost of the transport. One of them has a small result,
+ * the other one returns the agent class path - an array with hundreds of strings.</p>
+ *
+ * <p>Start an agent and run with:
+ * <pre>
+ * mvn package -P benchmarks -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar ActionTransportBenchmark -p atsAgent=127.0.0.1:8089
+ * </pre>
+ * The agents without the binary actions transport are called through the web service in both cases,
+ * the test executor logs it when this happens.</p>
+ */
+@State( Scope.Benchmark)
+@BenchmarkMode( { Mode.SampleTime, Mode.Throughput })
+@OutputTimeUnit( TimeUnit.MICROSECONDS)
+@Warmup( iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement( iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork( 1)
+@Threads( 1)
+public class ActionTransportBenchmark {
+
+    private static final String COMPONENT_NAME      = "auto-system-operations";
+
+    private static final String SYSTEM_PROPERTY     = "Internal System Operations Get System Property";
+    private static final String CLASS_PATH          = "Internal System Operations get Class Path";
+
+    /**
+     * The agent address
+     */
+    @Param( { "127.0.0.1:8089" })
+    public String               atsAgent;
+
+    /**
+     * How the actions are sent to the agent - "webService" or "binary"
+     */
+    @Param( { "webService", "binary" })
+    public String               transport;
+
+    private RemoteExecutor      remoteExecutor;
+
+    @Setup( org.openjdk.jmh.annotations.Level.Trial)
+    public void setup() throws Exception {
+
+        System.setProperty(AtsSystemProperties.AGENT__BINARY_ACTIONS_TRANSPORT,
+                           String.valueOf("binary".equals(transport)));
+
+        remoteExecutor = new RemoteExecutor(atsAgent, false);
+
+        // fail fast if the agent is not there
+        smallResult();
+    }
+
+    @TearDown( org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+
+        System.clearProperty(AtsSystemProperties.AGENT__BINARY_ACTIONS_TRANSPORT);
+    }
+
+    /**
+     * An action with one string argument and a short string result
+     */
+    @Benchmark
+    public Object smallResult() throws Exception {
+
+        return remoteExecutor.executeAction(new ActionRequest(COMPONENT_NAME, SYSTEM_PROPERTY,
+                                                              new Object[]{ "java.version" }));
+    }
+
+    /**
+     * An action without arguments and with a large string array result
+     */
+    @Benchmark
+    public Object largeResult() throws Exception {
+
+        return remoteExecutor.executeAction(new ActionRequest(COMPONENT_NAME, CLASS_PATH, new Object[0]));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.benchmarks.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.axway.ats.core.threads.ThreadsPerCaller;
+
+/**
+ * Measures {@link ThreadsPerCaller#getCaller()}, which is called for each event logged by a load queue thread.
+ *
+ * <p>It is compared with the way the caller was found before - in a map keyed by the thread name, with
+ * all threads synchronized on one lock.</p>
+ *
+ * <p>Run it for 1000 threads with:
+ * <pre>
+ * mvn package -P benchmarks -DskipTests
+ * java -cp benchmarks/target/benchmarks.jar com.axway.ats.benchmarks.core.ThreadsPerCallerBenchmark
+ * </pre>
+ * </p>
+ */
+@BenchmarkMode( { Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit( TimeUnit.MICROSECONDS)
+@Warmup( iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement( iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork( 1)
+@Threads( 1000)
+public class ThreadsPerCallerBenchmark {
+
+    /**
+     * Each benchmark thread is registered for one of a few callers
+     */
+    @State( Scope.Thread)
+    public static class RegisteredThread {
+
+        private static final int CALLERS_COUNT = 10;
+
+        @Setup( Level.Trial)
+        public void register() {
+
+            String caller = "caller " + (Thread.currentThread().getId() % CALLERS_COUNT);
+            ThreadsPerCaller.registerThread(caller);
+            SynchronizedMapCallers.registerThread(caller);
+        }
+
+        @TearDown( Level.Trial)
+        public void unregister() {
+
+            ThreadsPerCaller.unregisterThread();
+            SynchronizedMapCallers.unregisterThread();
+        }
+    }
+
+    @Benchmark
+    public String getCaller( RegisteredThread thread ) {
+
+        return ThreadsPerCaller.getCaller();
+    }
+
+    @Benchmark
+    public String getCallerFromSynchronizedMap( RegisteredThread thread ) {
+
+        return SynchronizedMapCallers.getCaller();
+    }
+
+    /**
+     * The way the callers were kept before
+     */
+    static class SynchronizedMapCallers {
+
+        private static Map<String, String> threads = new HashMap<String, String>();
+
+        synchronized static void registerThread( String caller ) {
+
+            threads.put(Thread.currentThread().getName(), caller);
+        }
+
+        synchronized static void unregisterThread() {
+
+            threads.remove(Thread.currentThread().getName());
+        }
+
+        synchronized static String getCaller() {
+
+            return threads.get(Thread.currentThread().getName());
+        }
+    }
+
+    /**
+     * Run the benchmarks for 1000 threads
+     *
+     * @param args not used
+     * @throws RunnerException
+     */
+    public static void main( String[] args ) throws RunnerException {
+
+        Options options = new OptionsBuilder().include(ThreadsPerCallerBenchmark.class.getSimpleName())
+                                              .build();
+        new Runner(options).run();
+    }
+}
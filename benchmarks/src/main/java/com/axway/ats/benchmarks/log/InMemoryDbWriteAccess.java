@@ -0,0 +1,355 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.benchmarks.log;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.axway.ats.log.autodb.CheckpointInfo;
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
+import com.axway.ats.log.autodb.exceptions.DatabaseAccessException;
+import com.axway.ats.log.autodb.io.AbstractDbAccess;
+import com.axway.ats.log.autodb.model.IDbWriteAccess;
+
+/**
+ * A DB access layer which only counts the events it receives,
+ * so the logging pipeline can be measured without the cost of a real database.
+ *
+ * <p>In batch mode the events are "cached" and "flushed" the way the real DB writers do,
+ * so the flushed events count grows in chunks.</p>
+ */
+public class InMemoryDbWriteAccess implements IDbWriteAccess {
+
+    private final boolean       isBatchMode;
+
+    private final AtomicInteger idsGenerator       = new AtomicInteger();
+
+    // all events received by this layer
+    private final AtomicLong    numberEvents       = new AtomicLong();
+    // the events which would be in the DB by now
+    private final AtomicLong    numberStoredEvents = new AtomicLong();
+
+    private int                 maxNumberOfCachedEvents;
+    private int                 numberCachedEvents;
+
+    public InMemoryDbWriteAccess( boolean isBatchMode ) {
+
+        this.isBatchMode = isBatchMode;
+        this.maxNumberOfCachedEvents = AbstractDbAccess.DEFAULT_CHUNK_SIZE;
+    }
+
+    /**
+     * @return the number of events received so far
+     */
+    public long getNumberEvents() {
+
+        return numberEvents.get();
+    }
+
+    /**
+     * @return the number of events which are not waiting in the batch mode cache
+     */
+    public long getNumberStoredEvents() {
+
+        return numberStoredEvents.get();
+    }
+
+    @Override
+    public void setMaxNumberOfCachedEvents( int maxNumberOfCachedEvents ) {
+
+        this.maxNumberOfCachedEvents = maxNumberOfCachedEvents;
+    }
+
+    @Override
+    public int startRun( String runName, String osName, String productName, String versionName, String buildName,
+                         long timestamp, String hostName, boolean closeConnection ) {
+
+        return idsGenerator.incrementAndGet();
+    }
+
+    @Override
+    public void endRun( long timestamp, int runId, boolean closeConnection ) throws DatabaseAccessException {
+
+        flushCache();
+    }
+
+    @Override
+    public void updateRun( int runId, String runName, String osName, String productName, String versionName,
+                           String buildName, String userNote, String hostName, boolean closeConnection ) {
+
+    }
+
+    @Override
+    public void deleteTestcase( List<Object> objectsToDelete ) {
+
+    }
+
+    @Override
+    public void addRunMetainfo( int runId, String metaKey, String metaValue, boolean closeConnection ) {
+
+    }
+
+    @Override
+    public int startSuite( String packageName, String suiteName, long timestamp, int runId,
+                           boolean closeConnection ) {
+
+        return idsGenerator.incrementAndGet();
+    }
+
+    @Override
+    public void endSuite( long timestamp, int suiteId, boolean closeConnection ) {
+
+    }
+
+    @Override
+    public void updateSuite( int suiteId, String suiteName, String userNote, boolean closeConnection ) {
+
+    }
+
+    @Override
+    public void addScenarioMetainfo( int testcaseId, String metaKey, String metaValue, boolean closeConnection ) {
+
+    }
+
+    @Override
+    public void addTestcaseMetainfo( int testcaseId, String metaKey, String metaValue, boolean closeConnection ) {
+
+    }
+
+    @Override
+    public void clearScenarioMetainfo( int scenarioId, boolean closeConnection ) {
+
+    }
+
+    @Override
+    public int startTestCase( String suiteName, String scenarioName, String scenarioDescription,
+                              String testCaseName, long timestamp, int suiteId, boolean closeConnection ) {
+
+        return idsGenerator.incrementAndGet();
+    }
+
+    @Override
+    public void endTestCase( int testcaseResult, long timestamp, int testcaseId,
+                             boolean closeConnection ) throws DatabaseAccessException {
+
+        flushCache();
+    }
+
+    @Override
+    public void updateTestcase( String suiteFullName, String scenarioName, String scenarioDescription,
+                                String testcaseName, String userNote, int testcaseResult, int testcaseId,
+                                long timestamp, boolean closeConnection ) {
+
+    }
+
+    @Override
+    public int startLoadQueue( String name, int sequence, String hostsList, String threadingPattern,
+                               int numberThreads, String machine, long timestamp, int testcaseId,
+                               boolean closeConnection ) {
+
+        return idsGenerator.incrementAndGet();
+    }
+
+    @Override
+    public void endLoadQueue( int result, long timestamp, int loadQueueId, boolean closeConnection ) {
+
+    }
+
+    @Override
+    public boolean insertMessage( String message, int level, boolean escapeHtml, String machineName,
+                                  String threadName, long timestamp, int testCaseId,
+                                  boolean closeConnection ) {
+
+        return addEvent();
+    }
+
+    @Override
+    public boolean insertRunMessage( String message, int level, boolean escapeHtml, String machineName,
+                                     String threadName, long timestamp, int runId, boolean closeConnection ) {
+
+        return addEvent();
+    }
+
+    @Override
+    public boolean insertSuiteMessage( String message, int level, boolean escapeHtml, String machineName,
+                                       String threadName, long timestamp, int suiteId,
+                                       boolean closeConnection ) {
+
+        return addEvent();
+    }
+
+    @Override
+    public boolean insertCheckpoint( String name, long startTimestamp, long responseTime, long transferSize,
+                                     String transferUnit, int result, int loadQueueId,
+                                     boolean closeConnection ) {
+
+        return addEvent();
+    }
+
+    @Override
+    public CheckpointInfo startCheckpoint( String name, String threadName, long startTimestamp,
+                                           String transferUnit, int loadQueueId, boolean closeConnection ) {
+
+        addEvent();
+        return new CheckpointInfo(name, idsGenerator.incrementAndGet(), idsGenerator.incrementAndGet(),
+                                  startTimestamp);
+    }
+
+    @Override
+    public void endCheckpoint( CheckpointInfo runningCheckpointInfo, long endTimestamp, long transferSize,
+                               int result, boolean closeConnection ) {
+
+        addEvent();
+    }
+
+    @Override
+    public void insertCheckpointSummary( String name, int numRunning, int numPassed, int numFailed,
+                                         int minResponseTime, double avgResponseTime, int maxResponseTime,
+                                         double minTransferRate, double avgTransferRate, double maxTransferRate,
+                                         String transferRateUnit, int loadQueueId, boolean closeConnection ) {
+
+    }
+
+    @Override
+    public void insertAggregatedCheckpoint( String name, long startTimestamp, long endTimestamp,
+                                            ResponseTimeHistogram responseTimes, int numberFailed,
+                                            long transferSize, double minTransferRate, double maxTransferRate,
+                                            double sumTransferRate, String transferUnit, int loadQueueId,
+                                            boolean closeConnection ) {
+
+        addEvent();
+    }
+
+    @Override
+    public void updateCheckpointSummaryPercentiles( int loadQueueId, String name, int p50ResponseTime,
+                                                    int p90ResponseTime, int p95ResponseTime,
+                                                    int p99ResponseTime, boolean closeConnection ) {
+
+    }
+
+    @Override
+    public void insertSystemStatistics( int testCaseId, String machine, String statisticIds,
+                                        String statisticValues, long timestamp, boolean closeConnection ) {
+
+        addEvent();
+    }
+
+    @Override
+    public void insertUserActivityStatistics( int testCaseId, String machine, String statisticIds,
+                                              String statisticValues, long timestamp,
+                                              boolean closeConnection ) {
+
+        addEvent();
+    }
+
+    @Override
+    public void insertSystemStatistics( int testCaseId, String machine, int[] statisticIds,
+                                        float[] statisticValues, long[] timestamps, boolean closeConnection ) {
+
+        addEvent();
+    }
+
+    @Override
+    public void insertUserActivityStatistics( int testCaseId, String machine, int[] statisticIds,
+                                              float[] statisticValues, long[] timestamps,
+                                              boolean closeConnection ) {
+
+        addEvent();
+    }
+
+    @Override
+    public int populateSystemStatisticDefinition( String name, String parentName, String internalName,
+                                                  String unit, String params ) {
+
+        return idsGenerator.incrementAndGet();
+    }
+
+    @Override
+    public int populateCheckpointSummary( int loadQueueId, String name, String transferRateUnit,
+                                          boolean closeConnection ) {
+
+        return idsGenerator.incrementAndGet();
+    }
+
+    @Override
+    public void updateMachineInfo( String machineName, String machineInfo, boolean closeConnection ) {
+
+    }
+
+    @Override
+    public boolean isRunPresent( int runId ) {
+
+        return true;
+    }
+
+    @Override
+    public boolean isSuitePresent( int suiteId ) {
+
+        return true;
+    }
+
+    @Override
+    public boolean isTestcasePresent( int testcaseId ) {
+
+        return true;
+    }
+
+    @Override
+    public synchronized void flushCache() {
+
+        numberStoredEvents.addAndGet(numberCachedEvents);
+        numberCachedEvents = 0;
+    }
+
+    @Override
+    public synchronized void flushCacheIfNeeded() {
+
+        if (numberCachedEvents >= maxNumberOfCachedEvents) {
+            flushCache();
+        }
+    }
+
+    @Override
+    public synchronized int getNumberOfCachedEvents() {
+
+        return numberCachedEvents;
+    }
+
+    @Override
+    public void setEventsQueueOccupancy( int queuedEvents, int queueCapacity ) {
+
+    }
+
+    @Override
+    public void runDbSanityCheck() {
+
+    }
+
+    private boolean addEvent() {
+
+        numberEvents.incrementAndGet();
+        if (isBatchMode) {
+            synchronized (this) {
+                numberCachedEvents++;
+            }
+            flushCacheIfNeeded();
+        } else {
+            numberStoredEvents.incrementAndGet();
+        }
+        return true;
+    }
+}
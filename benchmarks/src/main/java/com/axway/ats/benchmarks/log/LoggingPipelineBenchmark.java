@@ -0,0 +1,277 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.benchmarks.log;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.PatternLayout;
+import org.apache.log4j.spi.LoggingEvent;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.axway.ats.log.autodb.DbAppenderConfiguration;
+import com.axway.ats.log.autodb.events.InsertCheckpointEvent;
+import com.axway.ats.log.autodb.events.RegisterThreadWithLoadQueueEvent;
+import com.axway.ats.log.autodb.events.RememberLoadQueueStateEvent;
+import com.axway.ats.log.autodb.events.StartRunEvent;
+import com.axway.ats.log.autodb.events.StartSuiteEvent;
+import com.axway.ats.log.autodb.events.StartTestCaseEvent;
+import com.axway.ats.log.autodb.logqueue.DbEventRequestProcessor;
+import com.axway.ats.log.autodb.logqueue.LogEventRequest;
+import com.axway.ats.log.autodb.logqueue.MpscRingBufferQueue;
+import com.axway.ats.log.autodb.logqueue.QueueLoggerThread;
+import com.axway.ats.log.model.CheckpointResult;
+
+/**
+ * Measures the DB logging pipeline - from the test thread which logs an event, through the appender's events
+ * queue and the {@link QueueLoggerThread}, to the {@link DbEventRequestProcessor} and the DB access layer.
+ *
+ * <p>The DB access layer is {@link InMemoryDbWriteAccess}, so only the cost of ATS itself is measured.
+ * The producer threads put the events in the queue the way the DB appenders do. The queue is bounded,
+ * so once it is full the producers work at the speed of the logger thread.</p>
+ *
+ * <p>The results tell:
+ * <ul>
+ * <li>the events per second logged by all producer threads - the throughput mode</li>
+ * <li>the time a producer thread spends to log one event - the sample time mode</li>
+ * <li>the events which reached the DB access layer and the ones flushed from it in each iteration - the
+ * "dbEvents" and "storedEvents" secondary results</li>
+ * <li>the memory allocated per event - when run with the GC profiler ("-prof gc")</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Run all benchmarks for 1, 2, 4 and 8 producer threads with:
+ * <pre>
+ * mvn package -P benchmarks -DskipTests
+ * java -cp benchmarks/target/benchmarks.jar com.axway.ats.benchmarks.log.LoggingPipelineBenchmark
+ * </pre>
+ * or select what to run using the regular JMH options, for example:
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar LoggingPipelineBenchmark.checkpoint -t 4 -p batchMode=true -prof gc
+ * </pre>
+ * </p>
+ */
+@State( Scope.Benchmark)
+@BenchmarkMode( { Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit( TimeUnit.MICROSECONDS)
+@Warmup( iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement( iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork( 1)
+@Threads( 1)
+public class LoggingPipelineBenchmark {
+
+    private static final String            FQCN                = LoggingPipelineBenchmark.class.getName();
+
+    private static final String            LOAD_QUEUE_NAME     = "benchmark queue";
+
+    // all checkpoints are logged as coming from this thread, it is registered with the load queue
+    private static final String            LOAD_QUEUE_THREAD   = "benchmark queue thread";
+
+    private static final int               QUEUE_CAPACITY      = 100000;
+
+    private static final long              MAX_DRAIN_TIME_MS   = 60000;
+
+    /**
+     * Whether the events are sent to the DB in batches, as done on the ATS Agent side
+     */
+    @Param( { "false", "true" })
+    public boolean                         batchMode;
+
+    /**
+     * The type of the events queue
+     */
+    @Param( { "array", "ringBuffer" })
+    public String                          queueType;
+
+    private Logger                         logger;
+
+    private InMemoryDbWriteAccess          dbAccess;
+
+    private BlockingQueue<LogEventRequest> queue;
+
+    private QueueLoggerThread              queueLogger;
+
+    // the DB access layer counters already reported in the secondary results
+    private long                           reportedEvents;
+    private long                           reportedStoredEvents;
+
+    @Setup( org.openjdk.jmh.annotations.Level.Trial)
+    public void setup() throws Exception {
+
+        logger = Logger.getLogger(LoggingPipelineBenchmark.class);
+
+        DbAppenderConfiguration appenderConfig = new DbAppenderConfiguration();
+        appenderConfig.setMode(batchMode
+                                         ? "batch"
+                                         : "");
+        appenderConfig.setEnableCheckpoints(true);
+
+        dbAccess = new InMemoryDbWriteAccess(batchMode);
+        DbEventRequestProcessor eventProcessor = new DbEventRequestProcessor(appenderConfig,
+                                                                             new PatternLayout("%m"),
+                                                                             dbAccess, batchMode);
+
+        // bring the processor to the state it has while a test is running,
+        // the logger thread is not started yet, so we talk to the processor directly
+        eventProcessor.processEventRequest(request(new StartRunEvent(FQCN, logger, "benchmark run", "os",
+                                                                     "product", "version", "build", "host")));
+        eventProcessor.processEventRequest(request(new StartSuiteEvent(FQCN, logger, "benchmark suite",
+                                                                       "com.axway.ats.benchmarks")));
+        eventProcessor.processEventRequest(request(new StartTestCaseEvent(FQCN, logger,
+                                                                          "com.axway.ats.benchmarks.benchmark suite",
+                                                                          "benchmark suite", "benchmark", "",
+                                                                          "")));
+        eventProcessor.processEventRequest(request(new RememberLoadQueueStateEvent(FQCN, logger, LOAD_QUEUE_NAME,
+                                                                                   1, "all at once", 1)));
+        eventProcessor.processEventRequest(request(new RegisterThreadWithLoadQueueEvent(FQCN, logger,
+                                                                                        LOAD_QUEUE_THREAD,
+                                                                                        LOAD_QUEUE_NAME)));
+
+        if ("ringBuffer".equals(queueType)) {
+            queue = new MpscRingBufferQueue<LogEventRequest>(QUEUE_CAPACITY);
+        } else {
+            queue = new ArrayBlockingQueue<LogEventRequest>(QUEUE_CAPACITY);
+        }
+
+        queueLogger = new QueueLoggerThread(queue, eventProcessor, batchMode);
+        queueLogger.setDaemon(true);
+        queueLogger.start();
+    }
+
+    @TearDown( org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() throws InterruptedException {
+
+        long drainDeadline = System.currentTimeMillis() + MAX_DRAIN_TIME_MS;
+        while (!queue.isEmpty() && System.currentTimeMillis() < drainDeadline) {
+            Thread.sleep(10);
+        }
+
+        queueLogger.interrupt();
+        queueLogger.join(MAX_DRAIN_TIME_MS);
+    }
+
+    /**
+     * Take the events which reached the DB access layer since the previous call
+     *
+     * @param counters where to add the events
+     */
+    synchronized void takeDbAccessEvents( DbAccessCounters counters ) {
+
+        long events = dbAccess.getNumberEvents();
+        long storedEvents = dbAccess.getNumberStoredEvents();
+
+        counters.dbEvents += events - reportedEvents;
+        counters.storedEvents += storedEvents - reportedStoredEvents;
+
+        reportedEvents = events;
+        reportedStoredEvents = storedEvents;
+    }
+
+    /**
+     * The DB access layer counters, JMH sums them for all producer threads and shows them as secondary results.
+     *
+     * <p>The events are taken from the DB access layer at the end of each iteration by the first producer thread
+     * which gets there. Less stored than logged events means the logger thread does not keep up with the
+     * producers.</p>
+     */
+    @State( Scope.Thread)
+    @AuxCounters( AuxCounters.Type.EVENTS)
+    public static class DbAccessCounters {
+
+        /**
+         * The events which reached the DB access layer
+         */
+        public long dbEvents;
+
+        /**
+         * The events flushed from the DB access layer
+         */
+        public long storedEvents;
+
+        @TearDown( org.openjdk.jmh.annotations.Level.Iteration)
+        public void takeEvents( LoggingPipelineBenchmark benchmark ) {
+
+            benchmark.takeDbAccessEvents(this);
+        }
+    }
+
+    /**
+     * Log a message, as done by a regular log4j call in a test
+     *
+     * @param counters makes JMH report the DB access layer counters
+     */
+    @Benchmark
+    public void message( DbAccessCounters counters ) throws InterruptedException {
+
+        queue.put(request(new LoggingEvent(FQCN, logger, Level.INFO, "Benchmark message", null)));
+    }
+
+    /**
+     * Log a passed checkpoint, as done by a performance test
+     *
+     * @param counters makes JMH report the DB access layer counters
+     */
+    @Benchmark
+    public void checkpoint( DbAccessCounters counters ) throws InterruptedException {
+
+        queue.put(request(new InsertCheckpointEvent(FQCN, logger, "benchmark checkpoint",
+                                                    System.currentTimeMillis(), 10, 1024, "KB",
+                                                    LOAD_QUEUE_THREAD, CheckpointResult.PASSED)));
+    }
+
+    private static LogEventRequest request( LoggingEvent event ) {
+
+        return new LogEventRequest(Thread.currentThread().getName(), event, System.currentTimeMillis());
+    }
+
+    /**
+     * Run all benchmarks for 1, 2, 4 and 8 producer threads, measuring the allocations as well
+     *
+     * @param args not used
+     * @throws RunnerException
+     */
+    public static void main( String[] args ) throws RunnerException {
+
+        for (int threads : new int[]{ 1, 2, 4, 8 }) {
+            Options options = new OptionsBuilder().include(LoggingPipelineBenchmark.class.getSimpleName())
+                                                  .threads(threads)
+                                                  .addProfiler(GCProfiler.class)
+                                                  .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -54,6 +54,8 @@ public ParentProcessReadingBean getNewCopy() {
         ParentProcessReadingBean newBean = new ParentProcessReadingBean();
 
         newBean.value = this.value;
+        newBean.numericValue = this.numericValue;
+        newBean.hasNumericValue = this.hasNumericValue;
         newBean.monitorClass = this.monitorClass;
         newBean.name = this.name;
         newBean.unit = this.unit;
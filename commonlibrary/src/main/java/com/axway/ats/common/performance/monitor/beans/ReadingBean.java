@@ -57,6 +57,13 @@ public class ReadingBean implements Serializable {
      */
     protected String              value;
 
+    /**
+     * The bean value, when it is set as a number. This way it is not converted
+     * to a String and back on its way to the log DB
+     */
+    protected float               numericValue;
+    protected boolean             hasNumericValue;
+
     @PublicAtsApi
     public ReadingBean() {
 
@@ -77,6 +84,8 @@ public ReadingBean getNewCopy() {
         ReadingBean newBean = new ReadingBean();
 
         newBean.value = this.value;
+        newBean.numericValue = this.numericValue;
+        newBean.hasNumericValue = this.hasNumericValue;
         newBean.monitorClass = this.monitorClass;
         newBean.name = this.name;
         newBean.unit = this.unit;
@@ -170,6 +179,9 @@ public void setParameters(
     @PublicAtsApi
     public String getValue() {
 
+        if (value == null && hasNumericValue) {
+            return String.valueOf(numericValue);
+        }
         return value;
     }
 
@@ -178,6 +190,40 @@ public void setValue(
                           String value ) {
 
         this.value = value;
+        this.hasNumericValue = false;
+    }
+
+    /**
+     * @return the value as a number
+     * @throws NumberFormatException if the value was set as a String which is not a number
+     */
+    public float getNumericValue() {
+
+        if (hasNumericValue) {
+            return numericValue;
+        }
+        return Float.parseFloat(value);
+    }
+
+    /**
+     * Set the value as a number
+     *
+     * @param numericValue the value
+     */
+    public void setNumericValue(
+                                 float numericValue ) {
+
+        this.numericValue = numericValue;
+        this.hasNumericValue = true;
+        this.value = null;
+    }
+
+    /**
+     * @return whether the value is set as a number
+     */
+    public boolean hasNumericValue() {
+
+        return hasNumericValue;
     }
 
     public String getDescription() {
@@ -51,10 +51,68 @@ public class AtsSystemProperties {
     public static final String AGENT__TEMPLATE_ACTIONS_FOLDER                                    = "ats.agent.template.actions.folder";
     public static final String AGENT__TEMPLATE_ACTIONS_MATCH_FILES_BY_SIZE                       = "ats.agent.template.actions.match.files.by.size";
     public static final String AGENT__TEMPLATE_ACTIONS_MATCH_FILES_BY_CONTENT                    = "ats.agent.template.actions.match.files.by.content";
+    /**
+     * How often (in milliseconds) the aggregated checkpoints of a load queue are sent to the log DB,
+     * when the checkpoint log level is AGGREGATED. Default is 1000 ms
+     */
+    @PublicAtsApi
+    public static final String AGENT__CHECKPOINTS_AGGREGATION_INTERVAL                           = "ats.agent.checkpoints.aggregation.interval";
+    /**
+     * When true - each thread of the load queues is a virtual thread instead of a platform one.<br>
+     * Applicable when the ATS Agent runs on Java 21 or newer, otherwise platform threads are used.
+     * It allows simulating many more users when the actions spend most of their time waiting for I/O.
+     * Default value is <strong>false</strong>
+     */
+    @PublicAtsApi
+    public static final String AGENT__LOAD_QUEUE_VIRTUAL_THREADS                                 = "ats.agent.load.queue.virtual.threads";
+    /**
+     * When true - the values of the parameter data providers of a load queue are generated without locking,
+     * so the threads do not wait for each other. The values given to each thread are the same as by default.<br>
+     * Applicable when all data providers of the queue are list, range or file name providers
+     * and the file name patterns do not refer to other parameters.
+     * Default value is <strong>false</strong>
+     */
+    @PublicAtsApi
+    public static final String AGENT__DATA_PROVIDERS_LOCK_FREE                                   = "ats.agent.data.providers.lock.free";
+    /**
+     * When true - the test executor sends the remote actions to the agents in a compact binary form
+     * over persistent HTTP connections instead of through the agent web service.<br>
+     * The agents which do not support it are called through the web service as before.
+     * Default value is <strong>false</strong>
+     */
+    @PublicAtsApi
+    public static final String AGENT__BINARY_ACTIONS_TRANSPORT                                   = "ats.agent.binary.actions.transport";
 
     // Log properties
     @PublicAtsApi
     public static final String LOG__MONITOR_EVENTS_QUEUE                                         = "ats.log.monitor.events.queue";
+    /**
+     * When true - the DB appenders use a lock-free multi-producer/single-consumer ring buffer
+     * for their events queue, instead of the default lock based one.<br>
+     * It reduces the contention when many threads are logging at the same time.
+     * */
+    @PublicAtsApi
+    public static final String LOG__RING_BUFFER_EVENTS_QUEUE                                     = "ats.log.ring.buffer.events.queue";
+    /**
+     * The number of threads writing checkpoints, messages and statistics into the log DB.<br>
+     * Applicable for the ATS Agent side only. Each thread uses its own DB connection.
+     * Events are distributed by the thread that created them, while the run/suite/testcase
+     * life cycle events are still executed one by one.<br>
+     * Default value is <strong>1</strong> which means a single writer thread
+     * */
+    @PublicAtsApi
+    public static final String LOG__DB_WRITER_THREADS                                            = "ats.log.db.writer.threads";
+    /**
+     * A folder for the DB appenders events journal.<br>
+     * When set, once the events queue is 80% full, the new events are written into memory-mapped files in
+     * this folder instead of blocking the logging threads. They are sent to the log DB, in the same order,
+     * as soon as the DB logging catches up.
+     * The events which could not be sent because the connection to the log DB was lost are kept in the journal
+     * as well and are sent again when the connection is back.
+     * The journal is a spill buffer only - the events in it are lost if the process ends before they are sent.
+     * */
+    @PublicAtsApi
+    public static final String LOG__EVENTS_JOURNAL_FOLDER                                        = "ats.log.events.journal.folder";
     @PublicAtsApi
     public static final String LOG__CLASSPATH_ON_START                                           = "ats.log.classpath.on.start";
 
@@ -81,6 +139,29 @@ public class AtsSystemProperties {
     @PublicAtsApi
     public static final String LOG__MAX_CACHE_EVENTS_FLUSH_TIMEOUT                               = "ats.log.db.max.cache.events.flush.timeout";
 
+    /** When the test execution db logging is in batch mode and the log DB is PostgreSQL, send the cached
+     * checkpoints, testcase messages and statistics with the PostgreSQL COPY command instead of
+     * a batch of stored procedure calls.<br>
+     * The data is copied into temporary tables and then passed to the stored procedures with a single statement,
+     * so the DB user must be allowed to create temporary tables. Default value is false
+     * */
+    @PublicAtsApi
+    public static final String LOG__PG_COPY_BULK_INSERT                                          = "ats.log.db.pg.copy.bulk.insert";
+
+    /** When the test execution db logging is in batch mode, adapt the number of cached events to the
+     * observed flush time and to the number of events waiting in the queue.<br>
+     * Bigger batches are sent when the DB logging is behind and smaller ones when it is idle.
+     * The configured cache size is used as a starting point. Default value is false
+     * */
+    @PublicAtsApi
+    public static final String LOG__ADAPTIVE_FLUSH                                               = "ats.log.db.adaptive.flush";
+
+    /** The flush time (in milliseconds) the adaptive flush policy aims for when the DB logging is not behind.
+     * Used only when {@link AtsSystemProperties#LOG__ADAPTIVE_FLUSH} is true. Default value is 1000 ms
+     * */
+    @PublicAtsApi
+    public static final String LOG__ADAPTIVE_FLUSH_TARGET_TIME                                   = "ats.log.db.adaptive.flush.target.time";
+
     // TestHarness properties
     // Run name for JUnit executions
     @PublicAtsApi
@@ -127,6 +208,8 @@ public class AtsSystemProperties {
      * <ol>
      *  <li><strong>sigar</strong> (default one)</li>
      *  <li><strong>oshi</strong></li>
+     *  <li><strong>linux</strong> - Linux only, reads the /proc file system directly and needs no native libraries.
+     *  It is the cheapest one to poll, so use it for short polling intervals</li>
      * </ol>
      * 
      * */
@@ -132,6 +132,9 @@ public class SystemMonitorDefinitions {
     public static final String       READING_PROCESS_MEMORY__SHARED                     = "Process Memory - Shared";
     public static final String       READING_PROCESS_MEMORY__PAGE_FAULTS                = "Process Memory - Page faults";
 
+    // System process - the cost of finding the monitored processes
+    public static final String       READING_PROCESS_MATCHING__TIME                     = "Process matching - Time";
+
     // ATS Agent
     public static final String       ATS_AGENT__USER_ACTIVITY                           = "User activity";
 
@@ -15,28 +15,29 @@
  */
 package com.axway.ats.core.threads;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * This class keeps track of all the threads, that each caller has triggered.
  * It is used in AgentWsImpl, LocalExecutor and LocalLoadExecutor classes.
+ * 
+ * The caller is kept in an inheritable thread local variable, so looking it up does not block
+ * the other threads, and the threads started by a registered thread know the same caller.
  */
 public class ThreadsPerCaller {
 
-    private static Map<String, String> threads = new HashMap<String, String>();
+    private static final InheritableThreadLocal<String> callers = new InheritableThreadLocal<String>();
 
     /**
      * Register this thread for the given caller.
      * 
      * Should be called right after the thread start.
+     * The threads started after this call by the current thread will have the same caller.
      * 
      * @param caller
      */
-    synchronized public static void registerThread(
-                                                    String caller ) {
+    public static void registerThread(
+                                       String caller ) {
 
-        threads.put(Thread.currentThread().getName(), caller);
+        callers.set(caller);
     }
 
     /**
@@ -44,9 +45,9 @@ synchronized public static void registerThread(
      * 
      * Should be called right before existing the thread.
      */
-    synchronized public static void unregisterThread() {
+    public static void unregisterThread() {
 
-        threads.remove(Thread.currentThread().getName());
+        callers.remove();
     }
 
     /**
@@ -54,8 +55,8 @@ synchronized public static void unregisterThread() {
      * 
      * @return
      */
-    synchronized public static String getCaller() {
+    public static String getCaller() {
 
-        return threads.get(Thread.currentThread().getName());
+        return callers.get();
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.core.threads;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.axway.ats.core.BaseTest;
+
+public class Test_ThreadsPerCaller extends BaseTest {
+
+    @After
+    public void tearDown() {
+
+        ThreadsPerCaller.unregisterThread();
+    }
+
+    @Test
+    public void registerAndUnregister() {
+
+        Assert.assertNull(ThreadsPerCaller.getCaller());
+
+        ThreadsPerCaller.registerThread("caller 1");
+        Assert.assertEquals("caller 1", ThreadsPerCaller.getCaller());
+
+        ThreadsPerCaller.unregisterThread();
+        Assert.assertNull(ThreadsPerCaller.getCaller());
+    }
+
+    @Test
+    public void sameThreadNames() throws Exception {
+
+        // the threads of different callers may have the same names
+        ThreadsPerCaller.registerThread("caller 1");
+        String threadName = Thread.currentThread().getName();
+
+        AtomicReference<String> otherCaller = runInThread(new Runnable() {
+            @Override
+            public void run() {
+
+                Thread.currentThread().setName(threadName);
+                ThreadsPerCaller.registerThread("caller 2");
+            }
+        });
+
+        Assert.assertEquals("caller 2", otherCaller.get());
+        Assert.assertEquals("caller 1", ThreadsPerCaller.getCaller());
+    }
+
+    @Test
+    public void childThreadsKnowTheCaller() throws Exception {
+
+        ThreadsPerCaller.registerThread("caller 1");
+
+        AtomicReference<String> childCaller = runInThread(new Runnable() {
+            @Override
+            public void run() {
+
+                // not registered
+            }
+        });
+        Assert.assertEquals("caller 1", childCaller.get());
+
+        // the child thread can be used for another caller without changing the caller of its parent
+        childCaller = runInThread(new Runnable() {
+            @Override
+            public void run() {
+
+                ThreadsPerCaller.registerThread("caller 2");
+            }
+        });
+        Assert.assertEquals("caller 2", childCaller.get());
+        Assert.assertEquals("caller 1", ThreadsPerCaller.getCaller());
+    }
+
+    /**
+     * Run some code in a new thread
+     *
+     * @return the caller known by the new thread after running the code
+     */
+    private AtomicReference<String> runInThread( final Runnable code ) throws InterruptedException {
+
+        final AtomicReference<String> caller = new AtomicReference<String>();
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+
+                code.run();
+                caller.set(ThreadsPerCaller.getCaller());
+            }
+        });
+        thread.start();
+        thread.join();
+
+        return caller;
+    }
+}
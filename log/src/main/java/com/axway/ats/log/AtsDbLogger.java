@@ -26,6 +26,7 @@
 import com.axway.ats.common.PublicAtsApi;
 import com.axway.ats.log.appenders.ActiveDbAppender;
 import com.axway.ats.log.appenders.PassiveDbAppender;
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
 import com.axway.ats.log.autodb.TestCaseState;
 import com.axway.ats.log.autodb.entities.TestcaseMetainfo;
 import com.axway.ats.log.autodb.events.AddRunMetainfoEvent;
@@ -43,8 +44,10 @@
 import com.axway.ats.log.autodb.events.EndSuiteEvent;
 import com.axway.ats.log.autodb.events.EndTestCaseEvent;
 import com.axway.ats.log.autodb.events.GetCurrentTestCaseEvent;
+import com.axway.ats.log.autodb.events.InsertAggregatedCheckpointEvent;
 import com.axway.ats.log.autodb.events.InsertCheckpointEvent;
 import com.axway.ats.log.autodb.events.InsertMessageEvent;
+import com.axway.ats.log.autodb.events.InsertStatisticsBatchEvent;
 import com.axway.ats.log.autodb.events.InsertSystemStatisticEvent;
 import com.axway.ats.log.autodb.events.InsertUserActivityStatisticEvent;
 import com.axway.ats.log.autodb.events.JoinTestCaseEvent;
@@ -754,6 +757,47 @@ public void insertCheckpoint(
                                             result));
     }
 
+    /**
+     * Insert the aggregated data of all checkpoints with same name, executed in some time interval
+     *
+     * @param name the name of the checkpoints
+     * @param startTimestamp the start of the interval
+     * @param endTimestamp the end of the interval
+     * @param responseTimes the response times of the passed checkpoints
+     * @param numberFailed the number of failed checkpoints
+     * @param transferSize the data transferred by the passed checkpoints
+     * @param minTransferRate the min transfer rate of a passed checkpoint
+     * @param maxTransferRate the max transfer rate of a passed checkpoint
+     * @param sumTransferRate the sum of the transfer rates of the passed checkpoints
+     * @param transferUnit the transfer unit
+     */
+    public void insertAggregatedCheckpoint(
+                                            String name,
+                                            long startTimestamp,
+                                            long endTimestamp,
+                                            ResponseTimeHistogram responseTimes,
+                                            int numberFailed,
+                                            long transferSize,
+                                            double minTransferRate,
+                                            double maxTransferRate,
+                                            double sumTransferRate,
+                                            String transferUnit ) {
+
+        sendEvent(new InsertAggregatedCheckpointEvent(ATS_DB_LOGGER_CLASS_NAME,
+                                                      logger,
+                                                      name,
+                                                      startTimestamp,
+                                                      endTimestamp,
+                                                      responseTimes,
+                                                      numberFailed,
+                                                      transferSize,
+                                                      minTransferRate,
+                                                      maxTransferRate,
+                                                      sumTransferRate,
+                                                      transferUnit,
+                                                      Thread.currentThread().getName()));
+    }
+
     /**
      * Insert system statistics identified by their DB IDs
      *
@@ -798,6 +842,54 @@ public void insertUserActivityStatistcs(
                                                        timestamp));
     }
 
+    /**
+     * Insert many system statistics at once, for example all readings of one monitoring poll.
+     * The i-th value belongs to the i-th statistic ID and timestamp.
+     *
+     * @param monitoredMachine the monitored machine
+     * @param statisticIds the statistics' DB IDs
+     * @param statisticValues the statistics' values
+     * @param timestamps the statistics' timestamps
+     */
+    public void insertSystemStatistics(
+                                        String monitoredMachine,
+                                        int[] statisticIds,
+                                        float[] statisticValues,
+                                        long[] timestamps ) {
+
+        sendEvent(new InsertStatisticsBatchEvent(ATS_DB_LOGGER_CLASS_NAME,
+                                                 logger,
+                                                 false,
+                                                 monitoredMachine,
+                                                 statisticIds,
+                                                 statisticValues,
+                                                 timestamps));
+    }
+
+    /**
+     * Insert many user activity statistics at once.
+     * The i-th value belongs to the i-th statistic ID and timestamp.
+     *
+     * @param monitoredMachine the monitored machine
+     * @param statisticIds the statistics' DB IDs
+     * @param statisticValues the statistics' values
+     * @param timestamps the statistics' timestamps
+     */
+    public void insertUserActivityStatistics(
+                                              String monitoredMachine,
+                                              int[] statisticIds,
+                                              float[] statisticValues,
+                                              long[] timestamps ) {
+
+        sendEvent(new InsertStatisticsBatchEvent(ATS_DB_LOGGER_CLASS_NAME,
+                                                 logger,
+                                                 true,
+                                                 monitoredMachine,
+                                                 statisticIds,
+                                                 statisticValues,
+                                                 timestamps));
+    }
+
     /**
      * Join to an existing test case
      *
@@ -16,7 +16,11 @@
 
 package com.axway.ats.log.appenders;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import org.apache.log4j.AppenderSkeleton;
 import org.apache.log4j.Layout;
@@ -30,8 +34,12 @@
 import com.axway.ats.log.autodb.exceptions.DbAppenederException;
 import com.axway.ats.log.autodb.exceptions.InvalidAppenderConfigurationException;
 import com.axway.ats.log.autodb.logqueue.DbEventRequestProcessor;
+import com.axway.ats.log.autodb.logqueue.EventsJournal;
 import com.axway.ats.log.autodb.logqueue.LogEventRequest;
+import com.axway.ats.log.autodb.logqueue.MpscRingBufferQueue;
 import com.axway.ats.log.autodb.logqueue.QueueLoggerThread;
+import com.axway.ats.log.autodb.logqueue.ShardedQueueLoggerThread;
+import com.axway.ats.log.autodb.logqueue.SpillingEventsQueue;
 import com.axway.ats.log.autodb.model.EventRequestProcessorListener;
 
 /**
@@ -45,7 +53,7 @@ public abstract class AbstractDbAppender extends AppenderSkeleton {
     /**
      * The appender's data for the current thread
      */
-    protected ArrayBlockingQueue<LogEventRequest> queue;
+    protected BlockingQueue<LogEventRequest>      queue;
 
     /**
      * the logger thread
@@ -74,6 +82,16 @@ public abstract class AbstractDbAppender extends AppenderSkeleton {
      * enough.
      */
     private boolean                               isMonitoringEventsQueue;
+
+    /**
+     * When true - the events queue is a lock-free ring buffer instead of an ArrayBlockingQueue
+     */
+    private boolean                               isRingBufferEventsQueue;
+
+    /**
+     * When set - the events over the queue high-water mark are written into a journal in this folder
+     */
+    private String                                eventsJournalFolder;
     private long                                  lastQueueCapacityTick;
 
     /**
@@ -109,6 +127,9 @@ public AbstractDbAppender() {
 
         isMonitoringEventsQueue = AtsSystemProperties.getPropertyAsBoolean(AtsSystemProperties.LOG__MONITOR_EVENTS_QUEUE,
                                                                            false);
+        isRingBufferEventsQueue = AtsSystemProperties.getPropertyAsBoolean(AtsSystemProperties.LOG__RING_BUFFER_EVENTS_QUEUE,
+                                                                           false);
+        eventsJournalFolder = AtsSystemProperties.getPropertyAsString(AtsSystemProperties.LOG__EVENTS_JOURNAL_FOLDER);
     }
 
     /*
@@ -130,7 +151,19 @@ public void activateOptions() {
         appenderConfig.setLoggingThreshold(getThreshold());
 
         // the logging queue
-        queue = new ArrayBlockingQueue<LogEventRequest>(getMaxNumberLogEvents());
+        if (isRingBufferEventsQueue) {
+            queue = new MpscRingBufferQueue<LogEventRequest>(getMaxNumberLogEvents());
+        } else {
+            queue = new ArrayBlockingQueue<LogEventRequest>(getMaxNumberLogEvents());
+        }
+
+        if (eventsJournalFolder != null) {
+            // spill the events to the disk when the queue is 80% full
+            EventsJournal journal = new EventsJournal(new File(eventsJournalFolder),
+                                                      getName() + "-" + System.currentTimeMillis(),
+                                                      EventsJournal.DEFAULT_SEGMENT_SIZE);
+            queue = new SpillingEventsQueue(queue, Math.max(1, getMaxNumberLogEvents() * 8 / 10), journal);
+        }
 
     }
 
@@ -143,18 +176,37 @@ protected void initializeDbLogging() {
             isBatchMode = isBatchMode();
         }
 
+        // use more than one DB writer thread at ATS Agent side only
+        int writerThreadsCount = 1;
+        if (isWorkingAtAgentSide) {
+            writerThreadsCount = AtsSystemProperties.getPropertyAsNumber(AtsSystemProperties.LOG__DB_WRITER_THREADS,
+                                                                         1);
+        }
+
         // create new event processor
+        List<DbEventRequestProcessor> writerEventProcessors = new ArrayList<DbEventRequestProcessor>();
         try {
             eventProcessor = new DbEventRequestProcessor(appenderConfig,
                                                          layout,
                                                          getEventRequestProcessorListener(),
                                                          isBatchMode);
+            if (writerThreadsCount > 1) {
+                // each writer thread has its own event processor, so it works with its own DB connection
+                for (int i = 0; i < writerThreadsCount; i++) {
+                    writerEventProcessors.add(new DbEventRequestProcessor(appenderConfig, layout, isBatchMode));
+                }
+            }
         } catch (DatabaseAccessException e) {
             throw new RuntimeException("Unable to create DB event processor", e);
         }
 
         // start the logging thread
-        queueLogger = new QueueLoggerThread(queue, eventProcessor, isBatchMode);
+        if (writerEventProcessors.isEmpty()) {
+            queueLogger = new QueueLoggerThread(queue, eventProcessor, isBatchMode);
+        } else {
+            queueLogger = new ShardedQueueLoggerThread(queue, eventProcessor, writerEventProcessors,
+                                                       getMaxNumberLogEvents(), isBatchMode);
+        }
         queueLogger.setDaemon(true);
         queueLogger.start();
     }
@@ -218,6 +270,9 @@ public void close() {
         if (queueLogger != null) {
             queueLogger.interrupt();
         }
+        if (queue instanceof SpillingEventsQueue) {
+            ((SpillingEventsQueue) queue).close();
+        }
     }
 
     /*
@@ -245,6 +300,9 @@ public void setLayout(
         if (eventProcessor != null) {
             eventProcessor.setLayout(layout);
         }
+        if (queueLogger instanceof ShardedQueueLoggerThread) {
+            ((ShardedQueueLoggerThread) queueLogger).setLayout(layout);
+        }
     }
 
     /**
@@ -24,6 +24,7 @@ public class CheckpointInfo {
     private int    checkpointSummaryId; // id from the checkpoint summary table
     private long   checkpointId;        // id from the checkpoint details table
     private long   startTimestamp;      // the checkpoint start time
+    private int    loadQueueId;         // the load queue of the thread which started the checkpoint
 
     public CheckpointInfo() {
 
@@ -57,6 +58,16 @@ public long getStartTimestamp() {
         return startTimestamp;
     }
 
+    public int getLoadQueueId() {
+
+        return loadQueueId;
+    }
+
+    public void setLoadQueueId( int loadQueueId ) {
+
+        this.loadQueueId = loadQueueId;
+    }
+
     public boolean isRunning() {
 
         return startTimestamp > 0;
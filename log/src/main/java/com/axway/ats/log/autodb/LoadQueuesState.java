@@ -42,7 +42,7 @@ public class LoadQueuesState {
      * This map holds the IDs of all started queues:
      *     Map<queue name, queue DB ID>
      */
-    private Map<String, Integer>             queueNamesToDbIds;
+    private Map<String, Integer>                             queueNamesToDbIds;
 
     /**
      * Each thread must first be registered with a queue if a checkpoint
@@ -51,14 +51,27 @@ public class LoadQueuesState {
      * This map keeps all threads per queue:
      *     Map<queue DB ID, List<thread name>>
      */
-    private Map<Integer, List<String>>       threadsPerQueue;
+    private Map<Integer, List<String>>                       threadsPerQueue;
+
+    /**
+     * The same as above, used to find the load queue of a checkpoint without going through all threads.
+     * When a thread is registered with more than one load queue, the one with the lowest ID is kept.
+     *     Map<thread name, queue DB ID>
+     */
+    private Map<String, Integer>                             queueIdsPerThread;
 
     /**
      * This map keeps current checkpoints per thread. Several started at particular moment are supported.
      * This allows to keep track of nested or interweaving tasks/checkpoints.
      *     Map<thread name, Checkpoint Info>
      */
-    private Map<String, Set<CheckpointInfo>> checkpointsPerThread;
+    private Map<String, Set<CheckpointInfo>>                 checkpointsPerThread;
+
+    /**
+     * The response times of the passed checkpoints, used to calculate the checkpoint summary percentiles.
+     *     Map<queue DB ID, Map<checkpoint name, response times>>
+     */
+    private Map<Integer, Map<String, ResponseTimeHistogram>> responseTimesPerQueue;
 
     /**
      * Constructor
@@ -68,7 +81,9 @@ public LoadQueuesState() {
         //use tree maps for better performance when searching
         this.queueNamesToDbIds = new TreeMap<String, Integer>();
         this.threadsPerQueue = new TreeMap<Integer, List<String>>();
+        this.queueIdsPerThread = new HashMap<String, Integer>();
         this.checkpointsPerThread = new HashMap<String, Set<CheckpointInfo>>();
+        this.responseTimesPerQueue = new HashMap<Integer, Map<String, ResponseTimeHistogram>>();
     }
 
     /**
@@ -102,7 +117,24 @@ public synchronized void removeLoadQueue( String name, int id ) throws NoSuchLoa
         }
 
         queueNamesToDbIds.remove(name);
-        threadsPerQueue.remove(id);
+        List<String> threadNames = threadsPerQueue.remove(id);
+        responseTimesPerQueue.remove(id);
+
+        if (threadNames != null) {
+            for (String threadName : threadNames) {
+                Integer threadQueueId = queueIdsPerThread.get(threadName);
+                if (threadQueueId != null && threadQueueId == id) {
+                    queueIdsPerThread.remove(threadName);
+                    // the thread may be registered with another load queue as well
+                    for (Entry<Integer, List<String>> loadQueueEntry : threadsPerQueue.entrySet()) {
+                        if (loadQueueEntry.getValue().contains(threadName)) {
+                            queueIdsPerThread.put(threadName, loadQueueEntry.getKey());
+                            break;
+                        }
+                    }
+                }
+            }
+        }
     }
 
     /**
@@ -139,6 +171,10 @@ public synchronized void registerThreadWithLoadQueue( String threadName,
         }
 
         threadNames.add(threadName);
+        Integer threadQueueId = queueIdsPerThread.get(threadName);
+        if (threadQueueId == null || loadQueueId < threadQueueId) {
+            queueIdsPerThread.put(threadName, loadQueueId);
+        }
         clearThreadAllCheckpoints(threadName);
     }
 
@@ -166,16 +202,12 @@ public synchronized int getLoadQueueId( String loadQueueName ) throws NoSuchLoad
      */
     public synchronized int getLoadQueueIdForThread( String threadName ) throws ThreadNotRegisteredWithLoadQueue {
 
-        for (Entry<Integer, List<String>> loadQueueEntry : threadsPerQueue.entrySet()) {
-            List<String> threads = loadQueueEntry.getValue();
-            for (String thread : threads) {
-                if (thread.equals(threadName)) {
-                    return loadQueueEntry.getKey();
-                }
-            }
+        Integer loadQueueId = queueIdsPerThread.get(threadName);
+        if (loadQueueId == null) {
+            throw new ThreadNotRegisteredWithLoadQueue(threadName);
         }
 
-        throw new ThreadNotRegisteredWithLoadQueue(threadName);
+        return loadQueueId;
     }
 
     /**
@@ -250,6 +282,66 @@ public synchronized CheckpointInfo endCheckpoint( String threadName, String chec
         return currentCheckpointInfo;
     }
 
+    /**
+     * Remember the response time of a passed checkpoint
+     *
+     * @param loadQueueId the load queue id
+     * @param checkpointName the name of the checkpoint
+     * @param responseTime the response time
+     */
+    public synchronized void recordResponseTime( int loadQueueId, String checkpointName, long responseTime ) {
+
+        getResponseTimesHistogram(loadQueueId, checkpointName).record(responseTime);
+    }
+
+    /**
+     * Remember the response times of many passed checkpoints
+     *
+     * @param loadQueueId the load queue id
+     * @param checkpointName the name of the checkpoints
+     * @param responseTimes the response times
+     */
+    public synchronized void recordResponseTimes( int loadQueueId, String checkpointName,
+                                                  ResponseTimeHistogram responseTimes ) {
+
+        getResponseTimesHistogram(loadQueueId, checkpointName).merge(responseTimes);
+    }
+
+    /**
+     * Return the response times of the passed checkpoints in a load queue
+     *
+     * @param loadQueueId the load queue id
+     * @return Map<checkpoint name, response times>, it is empty if no checkpoints passed
+     */
+    public synchronized Map<String, ResponseTimeHistogram> getResponseTimes( int loadQueueId ) {
+
+        Map<String, ResponseTimeHistogram> responseTimes = new TreeMap<String, ResponseTimeHistogram>();
+        Map<String, ResponseTimeHistogram> queueResponseTimes = responseTimesPerQueue.get(loadQueueId);
+        if (queueResponseTimes != null) {
+            for (Entry<String, ResponseTimeHistogram> entry : queueResponseTimes.entrySet()) {
+                responseTimes.put(entry.getKey(), entry.getValue().copy());
+            }
+        }
+
+        return responseTimes;
+    }
+
+    private ResponseTimeHistogram getResponseTimesHistogram( int loadQueueId, String checkpointName ) {
+
+        Map<String, ResponseTimeHistogram> responseTimes = responseTimesPerQueue.get(loadQueueId);
+        if (responseTimes == null) {
+            responseTimes = new TreeMap<String, ResponseTimeHistogram>();
+            responseTimesPerQueue.put(loadQueueId, responseTimes);
+        }
+
+        ResponseTimeHistogram histogram = responseTimes.get(checkpointName);
+        if (histogram == null) {
+            histogram = new ResponseTimeHistogram();
+            responseTimes.put(checkpointName, histogram);
+        }
+        return histogram;
+    }
+
     /**
      * Clear all load queue data
      */
@@ -257,7 +349,9 @@ public synchronized void clearAll() {
 
         queueNamesToDbIds.clear();
         threadsPerQueue.clear();
+        queueIdsPerThread.clear();
         checkpointsPerThread.clear();
+        responseTimesPerQueue.clear();
     }
 
     private void registerCheckpointWithThread( String threadName,
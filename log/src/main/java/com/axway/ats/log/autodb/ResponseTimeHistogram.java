@@ -0,0 +1,284 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb;
+
+import java.io.Serializable;
+
+/**
+ * A compact histogram of response times (or any other non negative long values).
+ *
+ * <p>Values below 32 are counted exactly. Bigger values go into log-linear buckets - each
+ * power of two range is split into 16 equal buckets, so the relative error of a returned
+ * percentile is never more than about 6%. The histogram has a fixed size no matter how many
+ * values are recorded and two histograms can be merged, for example when
+ * they come from different threads or agents.</p>
+ *
+ * <p>This class is not thread-safe, the callers are expected to synchronize the access.</p>
+ */
+public class ResponseTimeHistogram implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // values below this one are counted in buckets of width 1
+    private static final int  EXACT_VALUES     = 32;
+    private static final int  SUB_BUCKETS      = 16;
+    // the exponent of the highest bit of EXACT_VALUES
+    private static final int  FIRST_EXPONENT   = 5;
+    private static final int  BUCKETS_COUNT    = EXACT_VALUES + (63 - FIRST_EXPONENT) * SUB_BUCKETS;
+
+    private long[]            counts           = new long[BUCKETS_COUNT];
+
+    private long              count;
+    private long              sum;
+    private long              min              = Long.MAX_VALUE;
+    private long              max              = Long.MIN_VALUE;
+
+    /**
+     * Record a single value. Negative values are recorded as 0
+     *
+     * @param value the value to record
+     */
+    public void record( long value ) {
+
+        if (value < 0) {
+            value = 0;
+        }
+
+        counts[getBucketIndex(value)]++;
+        count++;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Add all values recorded in another histogram to this one
+     *
+     * @param other the other histogram
+     */
+    public void merge( ResponseTimeHistogram other ) {
+
+        if (other == null || other.count == 0) {
+            return;
+        }
+
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Forget all recorded values
+     */
+    public void reset() {
+
+        counts = new long[BUCKETS_COUNT];
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+    }
+
+    /**
+     * @return a copy of this histogram
+     */
+    public ResponseTimeHistogram copy() {
+
+        ResponseTimeHistogram copy = new ResponseTimeHistogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Get the histogram as text, so it can be stored in the log DB or sent over the network.
+     * <br>
+     * The format is <i>count,sum,min,max;index:count,index:count...</i> where only the not empty buckets are listed
+     *
+     * @return the histogram as text
+     */
+    public String toCompactString() {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(count).append(',').append(sum).append(',').append(getMin()).append(',').append(getMax());
+        sb.append(';');
+        boolean isFirstBucket = true;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            if (counts[i] > 0) {
+                if (!isFirstBucket) {
+                    sb.append(',');
+                }
+                sb.append(i).append(':').append(counts[i]);
+                isFirstBucket = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Create a histogram from its text representation
+     *
+     * @param text the text returned by {@link #toCompactString()}
+     * @return the histogram
+     * @throws IllegalArgumentException if the text is not a valid histogram
+     */
+    public static ResponseTimeHistogram fromCompactString( String text ) {
+
+        ResponseTimeHistogram histogram = new ResponseTimeHistogram();
+        try {
+            int separatorIndex = text.indexOf(';');
+            String[] totals = text.substring(0, separatorIndex).split(",");
+            histogram.count = Long.parseLong(totals[0]);
+            histogram.sum = Long.parseLong(totals[1]);
+            if (histogram.count > 0) {
+                histogram.min = Long.parseLong(totals[2]);
+                histogram.max = Long.parseLong(totals[3]);
+            }
+
+            String buckets = text.substring(separatorIndex + 1);
+            if (!buckets.isEmpty()) {
+                for (String bucket : buckets.split(",")) {
+                    int colonIndex = bucket.indexOf(':');
+                    int bucketIndex = Integer.parseInt(bucket.substring(0, colonIndex));
+                    histogram.counts[bucketIndex] = Long.parseLong(bucket.substring(colonIndex + 1));
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid response time histogram '" + text + "'", e);
+        }
+        return histogram;
+    }
+
+    public long getCount() {
+
+        return count;
+    }
+
+    public long getSum() {
+
+        return sum;
+    }
+
+    /**
+     * @return the minimum recorded value or 0 if nothing is recorded
+     */
+    public long getMin() {
+
+        return count == 0
+                          ? 0
+                          : min;
+    }
+
+    /**
+     * @return the maximum recorded value or 0 if nothing is recorded
+     */
+    public long getMax() {
+
+        return count == 0
+                          ? 0
+                          : max;
+    }
+
+    /**
+     * @return the average of the recorded values or 0 if nothing is recorded
+     */
+    public double getMean() {
+
+        return count == 0
+                          ? 0
+                          : (double) sum / count;
+    }
+
+    /**
+     * Get the value below which are the given percentage of all recorded values.
+     *
+     * @param percentile a number between 0 and 100, for example 99 or 99.9
+     * @return the (approximated) value at this percentile or 0 if nothing is recorded
+     */
+    public long getValueAtPercentile( double percentile ) {
+
+        if (count == 0) {
+            return 0;
+        }
+        if (percentile <= 0) {
+            return min;
+        }
+        if (percentile >= 100) {
+            return max;
+        }
+
+        // the position of the searched value when all values are sorted, starting from 1
+        long rank = (long) Math.ceil(percentile / 100 * count);
+        if (rank < 1) {
+            rank = 1;
+        }
+
+        long passed = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            passed += counts[i];
+            if (passed >= rank) {
+                // return the middle of the bucket, but never go out of the recorded range
+                long value = getBucketLowerBound(i) + (getBucketWidth(i) - 1) / 2;
+                return Math.max(min, Math.min(max, value));
+            }
+        }
+
+        return max;
+    }
+
+    private static int getBucketIndex( long value ) {
+
+        if (value < EXACT_VALUES) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - (FIRST_EXPONENT - 1);
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+
+        return EXACT_VALUES + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long getBucketLowerBound( int index ) {
+
+        if (index < EXACT_VALUES) {
+            return index;
+        }
+
+        int exponent = (index - EXACT_VALUES) / SUB_BUCKETS + FIRST_EXPONENT;
+        int subBucket = (index - EXACT_VALUES) % SUB_BUCKETS;
+        int shift = exponent - (FIRST_EXPONENT - 1);
+
+        return ((long) (SUB_BUCKETS + subBucket)) << shift;
+    }
+
+    private static long getBucketWidth( int index ) {
+
+        if (index < EXACT_VALUES) {
+            return 1;
+        }
+
+        int exponent = (index - EXACT_VALUES) / SUB_BUCKETS + FIRST_EXPONENT;
+        return 1L << (exponent - (FIRST_EXPONENT - 1));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statistics with same timestamp as '_' delimited IDs and values,
+ * the way they are passed in one stored procedure call
+ */
+public class StatisticsChunk {
+
+    // the max length of the IDs and values passed in one stored procedure call
+    public static final int MAX_LENGTH_STATISTIC_IDS    = 950;
+    public static final int MAX_LENGTH_STATISTIC_VALUES = 7950;
+
+    private String          ids;
+    private String          values;
+    private long            timestamp;
+
+    public StatisticsChunk( String ids, String values, long timestamp ) {
+
+        this.ids = ids;
+        this.values = values;
+        this.timestamp = timestamp;
+    }
+
+    public String getIds() {
+
+        return ids;
+    }
+
+    public String getValues() {
+
+        return values;
+    }
+
+    public long getTimestamp() {
+
+        return timestamp;
+    }
+
+    /**
+     * Split the statistics into chunks. There is one chunk per timestamp, unless the IDs or values get longer
+     * than {@link #MAX_LENGTH_STATISTIC_IDS} or {@link #MAX_LENGTH_STATISTIC_VALUES} - then the statistics
+     * of this timestamp are split into more chunks.
+     *
+     * @param statisticIds the statistic IDs
+     * @param statisticValues the statistic values
+     * @param timestamps the statistic timestamps, the statistics with same timestamp must be next to each other
+     * @return the chunks
+     */
+    public static List<StatisticsChunk> split( int[] statisticIds, float[] statisticValues, long[] timestamps ) {
+
+        List<StatisticsChunk> chunks = new ArrayList<>();
+
+        StringBuilder ids = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < statisticIds.length; i++) {
+            ids.append(statisticIds[i]).append('_');
+            values.append(statisticValues[i]).append('_');
+
+            if (i == statisticIds.length - 1 || timestamps[i + 1] != timestamps[i]
+                || ids.length() > MAX_LENGTH_STATISTIC_IDS || values.length() > MAX_LENGTH_STATISTIC_VALUES) {
+                // the last statistic for this timestamp or we have to send a chunk
+                ids.setLength(ids.length() - 1);
+                values.setLength(values.length() - 1);
+
+                chunks.add(new StatisticsChunk(ids.toString(), values.toString(), timestamps[i]));
+
+                ids.setLength(0);
+                values.setLength(0);
+            }
+        }
+
+        return chunks;
+    }
+}
@@ -34,6 +34,12 @@ public class CheckpointSummary extends DbEntity {
     public double avgResponseTime;
     public int    maxResponseTime;
 
+    // the response time percentiles, 0 when the log DB does not keep them
+    public int p50ResponseTime;
+    public int p90ResponseTime;
+    public int p95ResponseTime;
+    public int p99ResponseTime;
+
     public double minTransferRate;
     public double avgTransferRate;
     public double maxTransferRate;
@@ -67,6 +73,10 @@ public String toString() {
         sb.append(", minResponseTime=").append(minResponseTime);
         sb.append(", avgResponseTime=").append(avgResponseTime);
         sb.append(", maxResponseTime=").append(maxResponseTime);
+        sb.append(", p50ResponseTime=").append(p50ResponseTime);
+        sb.append(", p90ResponseTime=").append(p90ResponseTime);
+        sb.append(", p95ResponseTime=").append(p95ResponseTime);
+        sb.append(", p99ResponseTime=").append(p99ResponseTime);
         sb.append(", minTransferRate=").append(minTransferRate);
         sb.append(", avgTransferRate=").append(avgTransferRate);
         sb.append(", maxTransferRate=").append(maxTransferRate);
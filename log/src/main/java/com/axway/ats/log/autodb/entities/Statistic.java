@@ -40,6 +40,9 @@ public class Statistic extends DbEntity {
     public float               sumValue;
     public float               countValue;
     public float               totalValue;
+    // set when many values are reduced to one, for example when downsampling
+    public float               minValue;
+    public float               maxValue;
 
     public float               transferSize;
 
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017 Axway Software
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.events;
+
+import org.apache.log4j.Logger;
+
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
+import com.axway.ats.log.autodb.model.LoggingEventType;
+import com.axway.ats.log.autodb.model.TestCaseLoggingEvent;
+
+/**
+ * Carries the data of all checkpoints with same name, executed in some time interval
+ */
+@SuppressWarnings( "serial")
+public class InsertAggregatedCheckpointEvent extends TestCaseLoggingEvent {
+
+    private String                name;
+    private long                  startTimestamp;
+    private long                  endTimestamp;
+    private ResponseTimeHistogram responseTimes;
+    private int                   numberFailed;
+    private long                  transferSize;
+    private double                minTransferRate;
+    private double                maxTransferRate;
+    private double                sumTransferRate;
+    private String                transferUnit;
+    private String                threadName;
+
+    public InsertAggregatedCheckpointEvent( String fqnOfCategoryClass,
+                                            Logger logger,
+                                            String name,
+                                            long startTimestamp,
+                                            long endTimestamp,
+                                            ResponseTimeHistogram responseTimes,
+                                            int numberFailed,
+                                            long transferSize,
+                                            double minTransferRate,
+                                            double maxTransferRate,
+                                            double sumTransferRate,
+                                            String transferUnit,
+                                            String threadName ) {
+
+        super(fqnOfCategoryClass,
+              logger,
+              "Insert aggregated checkpoint '" + name + "'",
+              LoggingEventType.INSERT_AGGREGATED_CHECKPOINT);
+
+        this.name = name;
+        this.startTimestamp = startTimestamp;
+        this.endTimestamp = endTimestamp;
+        this.responseTimes = responseTimes;
+        this.numberFailed = numberFailed;
+        this.transferSize = transferSize;
+        this.minTransferRate = minTransferRate;
+        this.maxTransferRate = maxTransferRate;
+        this.sumTransferRate = sumTransferRate;
+        this.transferUnit = transferUnit;
+        this.threadName = threadName;
+    }
+
+    public String getName() {
+
+        return name;
+    }
+
+    /**
+     * @return the start of the aggregation interval
+     */
+    public long getStartTimestamp() {
+
+        return startTimestamp;
+    }
+
+    /**
+     * @return the end of the aggregation interval
+     */
+    public long getEndTimestamp() {
+
+        return endTimestamp;
+    }
+
+    /**
+     * @return the response times of the passed checkpoints
+     */
+    public ResponseTimeHistogram getResponseTimes() {
+
+        return responseTimes;
+    }
+
+    /**
+     * @return the number of failed checkpoints
+     */
+    public int getNumberFailed() {
+
+        return numberFailed;
+    }
+
+    /**
+     * @return the data transferred by the passed checkpoints
+     */
+    public long getTransferSize() {
+
+        return transferSize;
+    }
+
+    public double getMinTransferRate() {
+
+        return minTransferRate;
+    }
+
+    public double getMaxTransferRate() {
+
+        return maxTransferRate;
+    }
+
+    /**
+     * @return the sum of the transfer rates of the passed checkpoints, used to calculate the average transfer rate
+     */
+    public double getSumTransferRate() {
+
+        return sumTransferRate;
+    }
+
+    /**
+     * Get the transfer unit for this checkpoint
+     *
+     * @return the transfer unit, null if not set
+     */
+    public String getTransferUnit() {
+
+        return transferUnit;
+    }
+
+    /**
+     * @return the name of the thread which sent this checkpoint
+     */
+    public String getThread() {
+
+        return threadName;
+    }
+}
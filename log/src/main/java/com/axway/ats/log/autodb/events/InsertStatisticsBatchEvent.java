@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.events;
+
+import org.apache.log4j.Logger;
+
+import com.axway.ats.log.autodb.model.LoggingEventType;
+import com.axway.ats.log.autodb.model.TestCaseLoggingEvent;
+
+/**
+ * Event for inserting many system or user activity statistics in the log DB at once.
+ * The values are kept as numbers, the i-th value belongs to the i-th statistic ID and timestamp.
+ */
+@SuppressWarnings( "serial")
+public class InsertStatisticsBatchEvent extends TestCaseLoggingEvent {
+
+    private boolean isUserActivity;
+    private String  monitoredMachine;
+    private int[]   statisticIds;
+    private float[] statisticValues;
+    private long[]  timestamps;
+
+    /**
+     * Constructor
+     *
+     * @param loggerFQCN
+     * @param logger
+     * @param isUserActivity whether these are user activity or system statistics
+     * @param monitoredMachine
+     * @param statisticIds
+     * @param statisticValues
+     * @param timestamps
+     */
+    public InsertStatisticsBatchEvent( String loggerFQCN,
+                                       Logger logger,
+                                       boolean isUserActivity,
+                                       String monitoredMachine,
+                                       int[] statisticIds,
+                                       float[] statisticValues,
+                                       long[] timestamps ) {
+
+        super(loggerFQCN, logger, "Insert " + statisticIds.length + " statistics",
+              LoggingEventType.INSERT_STATISTICS_BATCH);
+
+        if (statisticIds.length != statisticValues.length || statisticIds.length != timestamps.length) {
+            throw new IllegalArgumentException("Got " + statisticIds.length + " statistic IDs, "
+                                               + statisticValues.length + " values and " + timestamps.length
+                                               + " timestamps. They must be the same number");
+        }
+
+        this.isUserActivity = isUserActivity;
+        this.monitoredMachine = monitoredMachine;
+        this.statisticIds = statisticIds;
+        this.statisticValues = statisticValues;
+        this.timestamps = timestamps;
+    }
+
+    /**
+     * @return whether these are user activity statistics
+     */
+    public boolean isUserActivity() {
+
+        return isUserActivity;
+    }
+
+    /**
+     * @return the name of the monitored machine
+     */
+    public String getMonitoredMachine() {
+
+        return monitoredMachine;
+    }
+
+    /**
+     * @return the DB IDs of the statistics
+     */
+    public int[] getStatisticIds() {
+
+        return statisticIds;
+    }
+
+    /**
+     * @return the values of the statistics
+     */
+    public float[] getStatisticValues() {
+
+        return statisticValues;
+    }
+
+    /**
+     * @return the timestamps of the statistics
+     */
+    public long[] getTimestamps() {
+
+        return timestamps;
+    }
+}
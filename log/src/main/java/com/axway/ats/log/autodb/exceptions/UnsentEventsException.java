@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.exceptions;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Thrown in batch mode when some of the cached events could not be sent to the DB.
+ * The cached events are numbered in the order they are cached, this exception tells which of them are not sent,
+ * so the caller can send them again.
+ */
+@SuppressWarnings( "serial")
+public class UnsentEventsException extends DatabaseAccessException {
+
+    private Set<Long> unsentEventNumbers;
+
+    public UnsentEventsException( String message, Throwable cause, Collection<Long> unsentEventNumbers ) {
+
+        super(message, cause);
+
+        this.unsentEventNumbers = new HashSet<Long>(unsentEventNumbers);
+    }
+
+    /**
+     * @param fromEventNumber the first event number
+     * @param toEventNumber the last event number
+     * @return whether any of the events in this range is not sent
+     */
+    public boolean isUnsent( long fromEventNumber, long toEventNumber ) {
+
+        for (long eventNumber = fromEventNumber; eventNumber <= toEventNumber; eventNumber++) {
+            if (unsentEventNumbers.contains(eventNumber)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add the unsent events of another failed flush
+     *
+     * @param other the other exception
+     */
+    public void addUnsentEvents( UnsentEventsException other ) {
+
+        unsentEventNumbers.addAll(other.unsentEventNumbers);
+    }
+
+    public int getNumberUnsentEvents() {
+
+        return unsentEventNumbers.size();
+    }
+}
@@ -18,6 +18,10 @@
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
 import java.sql.Timestamp;
 import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
@@ -319,6 +323,33 @@ protected String formatDateFromEpoch( float timeOffset ) {
         return DATE_FORMAT_IN_UTC.format(fdate.getTime());
     }
 
+    /**
+     * @param error the error
+     * @return whether the error is caused by a lost or refused DB connection
+     */
+    public static boolean isConnectionLost( Throwable error ) {
+
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (UNABLE_TO_CONNECT_ERRROR.equals(cause.getMessage())
+                || cause instanceof SQLRecoverableException
+                || cause instanceof SQLTransientConnectionException
+                || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                // the SQL states of class 08 are connection exceptions
+                String sqlState = ((SQLException) cause).getSQLState();
+                if (sqlState != null && sqlState.startsWith("08")) {
+                    return true;
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
     /**
      * Convert duration in seconds to days, hours, minutes and seconds
      * @param time time in seconds
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.io;
+
+import java.util.concurrent.TimeUnit;
+
+import com.axway.ats.common.systemproperties.AtsSystemProperties;
+
+/**
+ * Decides when the events cached in batch mode are sent to the DB.
+ *
+ * <p>When not adaptive, the cache is flushed once it reaches the configured size or when
+ * its oldest event waits for too long - the way it has always worked.</p>
+ *
+ * <p>When adaptive, the configured size is just a starting point:
+ * <ul>
+ * <li>the batch size is chosen so a flush takes about the target time, according to the average time per event
+ * of the last flushes</li>
+ * <li>when many events wait in the queue, the batch size grows fast, as a few big batches are sent
+ * faster than many small ones</li>
+ * <li>when the queue is almost empty, the batch size goes down and the events do not wait long in the cache,
+ * so they appear in the DB soon</li>
+ * </ul>
+ * The batch size is always between 1/10 and 10 times the configured size.</p>
+ *
+ * <p>It is used by the DB writer thread only, so it is not thread-safe.</p>
+ */
+public class AdaptiveFlushPolicy {
+
+    private static final int    DEFAULT_TARGET_FLUSH_TIME_MS = 1000;
+
+    // the logging is behind when the queue is filled more than this
+    private static final double HIGH_QUEUE_OCCUPANCY         = 0.5;
+    // the logging is idle when the queue is filled less than this
+    private static final double LOW_QUEUE_OCCUPANCY          = 0.1;
+
+    // the weight of the last flush in the average time per event
+    private static final double FLUSH_TIME_SMOOTHING         = 0.2;
+
+    // the max time events wait in the cache when the logging is idle
+    private static final long   IDLE_MAX_CACHE_WAIT_TIME     = 1000;
+
+    private final boolean       isAdaptive;
+    private final long          targetFlushTime;
+    private final long          maxCacheWaitTime;
+
+    private int                 configuredBatchSize          = AbstractDbAccess.DEFAULT_CHUNK_SIZE;
+    private int                 minBatchSize;
+    private int                 maxBatchSize;
+    private int                 batchSize;
+
+    // average flush time per event in milliseconds, negative until the first flush
+    private double              averageFlushTimePerEvent     = -1;
+
+    private double              queueOccupancy;
+
+    public AdaptiveFlushPolicy() {
+
+        this(AtsSystemProperties.getPropertyAsBoolean(AtsSystemProperties.LOG__ADAPTIVE_FLUSH, false),
+             AtsSystemProperties.getPropertyAsNumber(AtsSystemProperties.LOG__ADAPTIVE_FLUSH_TARGET_TIME,
+                                                     DEFAULT_TARGET_FLUSH_TIME_MS),
+             TimeUnit.SECONDS.toMillis(AtsSystemProperties.getPropertyAsNumber(AtsSystemProperties.LOG__MAX_CACHE_EVENTS_FLUSH_TIMEOUT,
+                                                                               10)));
+    }
+
+    /**
+     * @param isAdaptive whether to adapt the batch size or always use the configured one
+     * @param targetFlushTime the flush time in milliseconds to aim for
+     * @param maxCacheWaitTime the max time in milliseconds an event waits in the cache
+     */
+    public AdaptiveFlushPolicy( boolean isAdaptive, long targetFlushTime, long maxCacheWaitTime ) {
+
+        this.isAdaptive = isAdaptive;
+        this.targetFlushTime = Math.max(1, targetFlushTime);
+        this.maxCacheWaitTime = maxCacheWaitTime;
+
+        setConfiguredBatchSize(AbstractDbAccess.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Set the batch size requested by the user
+     *
+     * @param configuredBatchSize the batch size
+     */
+    public void setConfiguredBatchSize( int configuredBatchSize ) {
+
+        this.configuredBatchSize = Math.max(1, configuredBatchSize);
+        this.minBatchSize = Math.max(1, this.configuredBatchSize / 10);
+        this.maxBatchSize = (int) Math.min(Integer.MAX_VALUE, this.configuredBatchSize * 10L);
+        this.batchSize = this.configuredBatchSize;
+    }
+
+    /**
+     * @return whether the batch size is adapted at runtime
+     */
+    public boolean isAdaptive() {
+
+        return isAdaptive;
+    }
+
+    /**
+     * @return the number of cached events which must be flushed now
+     */
+    public int getBatchSize() {
+
+        return batchSize;
+    }
+
+    /**
+     * @return the max time in milliseconds an event can wait in the cache
+     */
+    public long getMaxCacheWaitTime() {
+
+        if (isAdaptive && queueOccupancy <= LOW_QUEUE_OCCUPANCY) {
+            return Math.min(maxCacheWaitTime, IDLE_MAX_CACHE_WAIT_TIME);
+        }
+        return maxCacheWaitTime;
+    }
+
+    /**
+     * @param numberCachedEvents the number of events in the cache
+     * @param cacheBirthTime when the first cached event was added
+     * @return whether the cache must be flushed now
+     */
+    public boolean isTimeToFlush( int numberCachedEvents, long cacheBirthTime ) {
+
+        return numberCachedEvents > 0 && (numberCachedEvents >= getBatchSize()
+                                          || System.currentTimeMillis() - cacheBirthTime >= getMaxCacheWaitTime());
+    }
+
+    /**
+     * Called by the writer thread when it takes events from the queue
+     *
+     * @param queuedEvents the number of events waiting in the queue
+     * @param queueCapacity the queue capacity
+     */
+    public void setQueueOccupancy( int queuedEvents, int queueCapacity ) {
+
+        queueOccupancy = queueCapacity > 0
+                                           ? Math.min(1, (double) queuedEvents / queueCapacity)
+                                           : 0;
+        adapt();
+    }
+
+    /**
+     * Called after each flush
+     *
+     * @param numberEvents the number of flushed events
+     * @param flushTime the flush time in milliseconds
+     */
+    public void onFlush( int numberEvents, long flushTime ) {
+
+        if (numberEvents <= 0) {
+            return;
+        }
+
+        double flushTimePerEvent = (double) flushTime / numberEvents;
+        if (averageFlushTimePerEvent < 0) {
+            averageFlushTimePerEvent = flushTimePerEvent;
+        } else {
+            averageFlushTimePerEvent = FLUSH_TIME_SMOOTHING * flushTimePerEvent
+                                       + (1 - FLUSH_TIME_SMOOTHING) * averageFlushTimePerEvent;
+        }
+        adapt();
+    }
+
+    private void adapt() {
+
+        if (!isAdaptive) {
+            return;
+        }
+
+        // the number of events we can flush in the target time
+        long sizeForTargetTime = configuredBatchSize;
+        if (averageFlushTimePerEvent > 0) {
+            sizeForTargetTime = (long) (targetFlushTime / averageFlushTimePerEvent);
+        } else if (averageFlushTimePerEvent == 0) {
+            // the flushes are too fast to be measured
+            sizeForTargetTime = maxBatchSize;
+        }
+
+        long newBatchSize;
+        if (queueOccupancy >= HIGH_QUEUE_OCCUPANCY) {
+            // we are behind, bigger batches mean less round trips to the DB
+            newBatchSize = Math.max(batchSize * 2L, sizeForTargetTime);
+        } else if (queueOccupancy <= LOW_QUEUE_OCCUPANCY) {
+            // we are idle, do not keep the events for long
+            newBatchSize = Math.min(batchSize / 2, sizeForTargetTime);
+        } else {
+            newBatchSize = sizeForTargetTime;
+        }
+
+        batchSize = (int) Math.max(minBatchSize, Math.min(maxBatchSize, newBatchSize));
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.axway.ats.common.PublicAtsApi;
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
+
+/**
+ * Statistics about the events sent to the log DB in batch mode by one DB writer.
+ *
+ * <p>The metrics of all writers in this JVM are available through {@link #getAllMetrics()}.
+ * A writer is forgotten once it is not used anymore.</p>
+ */
+@PublicAtsApi
+public class DbWriterMetrics {
+
+    // { writer -> its metrics }
+    private static final Map<Object, DbWriterMetrics> instances           = Collections.synchronizedMap(new WeakHashMap<Object, DbWriterMetrics>());
+
+    // used to tell apart the writers to the same DB
+    private static final AtomicInteger                instancesCounter    = new AtomicInteger();
+
+    private final String                              name;
+
+    private long                                      firstFlushTimestamp;
+    private long                                      lastFlushTimestamp;
+    private long                                      numberFlushes;
+    private long                                      numberEvents;
+    private final ResponseTimeHistogram               flushTimes          = new ResponseTimeHistogram();
+    private long                                      numberDroppedEvents;
+
+    private int                                       queuedEvents;
+    private int                                       queueCapacity;
+
+    private int                                       currentBatchSize;
+
+    private DbWriterMetrics( String name ) {
+
+        this.name = name;
+    }
+
+    /**
+     * Create the metrics of a DB writer
+     *
+     * @param writer the DB writer
+     * @param name the name the metrics are presented with, a sequence number is appended to it
+     * @return the new metrics
+     */
+    static DbWriterMetrics register( Object writer, String name ) {
+
+        DbWriterMetrics metrics = new DbWriterMetrics(name + " #" + instancesCounter.incrementAndGet());
+        instances.put(writer, metrics);
+        return metrics;
+    }
+
+    /**
+     * @return the metrics of all DB writers working in batch mode
+     */
+    @PublicAtsApi
+    public static List<DbWriterMetrics> getAllMetrics() {
+
+        synchronized (instances) {
+            return new ArrayList<DbWriterMetrics>(instances.values());
+        }
+    }
+
+    synchronized void recordFlush( int numberFlushedEvents, long flushTime, int batchSize ) {
+
+        long now = System.currentTimeMillis();
+        if (numberFlushes == 0) {
+            // the first events were waiting for a while before this flush
+            firstFlushTimestamp = now - flushTime;
+        }
+        lastFlushTimestamp = now;
+        numberFlushes++;
+        numberEvents += numberFlushedEvents;
+        flushTimes.record(flushTime);
+        currentBatchSize = batchSize;
+    }
+
+    synchronized void recordDroppedEvents( int numberDroppedEvents ) {
+
+        this.numberDroppedEvents += numberDroppedEvents;
+    }
+
+    synchronized void recordQueueOccupancy( int queuedEvents, int queueCapacity ) {
+
+        this.queuedEvents = queuedEvents;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * @return the name of the DB writer
+     */
+    @PublicAtsApi
+    public String getName() {
+
+        return name;
+    }
+
+    /**
+     * @return the number of flushes
+     */
+    @PublicAtsApi
+    public synchronized long getNumberFlushes() {
+
+        return numberFlushes;
+    }
+
+    /**
+     * @return the number of flushed events
+     */
+    @PublicAtsApi
+    public synchronized long getNumberEvents() {
+
+        return numberEvents;
+    }
+
+    /**
+     * @return the number of events dropped because their flush failed. When the connection to the DB
+     * is lost, the events logger may send them again
+     */
+    @PublicAtsApi
+    public synchronized long getNumberDroppedEvents() {
+
+        return numberDroppedEvents;
+    }
+
+    /**
+     * @return the average number of flushed events per second, between the first and the last flush
+     */
+    @PublicAtsApi
+    public synchronized double getEventsPerSecond() {
+
+        long duration = lastFlushTimestamp - firstFlushTimestamp;
+        if (numberFlushes == 0) {
+            return 0;
+        }
+        return numberEvents * 1000.0 / Math.max(1, duration);
+    }
+
+    /**
+     * @return the average number of events per flush
+     */
+    @PublicAtsApi
+    public synchronized double getAverageBatchSize() {
+
+        return numberFlushes == 0
+                                  ? 0
+                                  : (double) numberEvents / numberFlushes;
+    }
+
+    /**
+     * @return the number of events which cause a flush at the moment
+     */
+    @PublicAtsApi
+    public synchronized int getCurrentBatchSize() {
+
+        return currentBatchSize;
+    }
+
+    /**
+     * @param percentile a percentile between 0 and 100
+     * @return the flush time in milliseconds at the given percentile
+     */
+    @PublicAtsApi
+    public synchronized long getFlushTimeAtPercentile( double percentile ) {
+
+        return flushTimes.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * @return the number of events waiting in the queue, as seen on the last check
+     */
+    @PublicAtsApi
+    public synchronized int getQueuedEvents() {
+
+        return queuedEvents;
+    }
+
+    /**
+     * @return how full the queue is, as a percentage of its capacity
+     */
+    @PublicAtsApi
+    public synchronized double getQueueOccupancy() {
+
+        return queueCapacity == 0
+                                  ? 0
+                                  : Math.min(100, queuedEvents * 100.0 / queueCapacity);
+    }
+
+    @Override
+    public synchronized String toString() {
+
+        return String.format("%s: %.1f events/sec, %d flushes, average batch %.1f events, current batch %d events, "
+                             + "flush time p50/p90/p99 %d/%d/%d ms, queue occupancy %.1f%%, %d dropped events",
+                             name, getEventsPerSecond(), numberFlushes, getAverageBatchSize(), currentBatchSize,
+                             flushTimes.getValueAtPercentile(50), flushTimes.getValueAtPercentile(90),
+                             flushTimes.getValueAtPercentile(99), getQueueOccupancy(), numberDroppedEvents);
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.axway.ats.log.autodb.io;
 
+import java.io.StringReader;
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -25,12 +26,20 @@
 import java.util.ArrayList;
 import java.util.List;
 
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import com.axway.ats.common.systemproperties.AtsSystemProperties;
 import com.axway.ats.core.dbaccess.DbConnection;
 import com.axway.ats.core.dbaccess.DbUtils;
+import com.axway.ats.core.utils.ExceptionUtils;
 import com.axway.ats.core.utils.StringUtils;
 import com.axway.ats.log.autodb.CheckpointInfo;
+import com.axway.ats.log.autodb.StatisticsChunk;
 import com.axway.ats.log.autodb.exceptions.DatabaseAccessException;
+import com.axway.ats.log.autodb.exceptions.UnsentEventsException;
 import com.axway.ats.log.model.CheckpointLogLevel;
+import com.axway.ats.log.model.CheckpointResult;
 
 public class PGDbWriteAccess extends SQLServerDbWriteAccess {
 
@@ -38,10 +47,75 @@ public class PGDbWriteAccess extends SQLServerDbWriteAccess {
     // it shadows the DbWriteAccess's private variable with the same name
     protected PGInsertEventStatementsFactory insertFactory;
 
+    // caches the events sent with the COPY command, used in batch mode only
+    protected PGCopyEventsCache              copyEventsCache;
+
     public PGDbWriteAccess( DbConnection dbConnection, boolean isBatchMode ) throws DatabaseAccessException {
 
         super(dbConnection, isBatchMode);
         this.insertFactory = new PGInsertEventStatementsFactory(isBatchMode);
+
+        if (isBatchMode
+            && AtsSystemProperties.getPropertyAsBoolean(AtsSystemProperties.LOG__PG_COPY_BULK_INSERT, false)) {
+            // it uses the same flush policy as the regular events cache
+            this.copyEventsCache = new PGCopyEventsCache();
+        }
+    }
+
+    /**
+     * Expected to be called only in batch mode. Flush any pending events
+     *
+     * @throws DatabaseAccessException
+     */
+    @Override
+    public void flushCache() throws DatabaseAccessException {
+
+        DatabaseAccessException flushError = null;
+        try {
+            super.flushCache();
+        } catch (DatabaseAccessException e) {
+            // the events cached for the COPY command are flushed anyway
+            flushError = e;
+        }
+        if (copyEventsCache != null) {
+            try {
+                copyEventsCache.flushCache();
+            } catch (DatabaseAccessException e) {
+                if (flushError instanceof UnsentEventsException && e instanceof UnsentEventsException) {
+                    ((UnsentEventsException) flushError).addUnsentEvents((UnsentEventsException) e);
+                } else if (flushError == null) {
+                    flushError = e;
+                }
+            }
+        }
+        if (flushError != null) {
+            throw flushError;
+        }
+    }
+
+    /**
+     * Expected to be called only in batch mode. Flush any pending events in
+     * case the cache is full or it is too old
+     *
+     * @throws DatabaseAccessException
+     */
+    @Override
+    public void flushCacheIfNeeded() throws DatabaseAccessException {
+
+        super.flushCacheIfNeeded();
+        if (copyEventsCache != null) {
+            copyEventsCache.flushCacheIfNeeded();
+        }
+    }
+
+    @Override
+    public int getNumberOfCachedEvents() {
+
+        int numberEvents = super.getNumberOfCachedEvents();
+        if (copyEventsCache != null) {
+            numberEvents += copyEventsCache.getNumberCachedEvents();
+        }
+        return numberEvents;
     }
 
     /**
@@ -159,6 +233,11 @@ public boolean insertMessage( String message, int level, boolean escapeHtml, Str
 
         timestamp = inUTC(timestamp);
 
+        if (copyEventsCache != null) {
+            return copyEventsCache.addTestcaseMessage(message, level, escapeHtml, machineName, threadName,
+                                                      timestamp, testCaseId);
+        }
+
         Connection currentConnection;
         if (!isBatchMode) {
             currentConnection = refreshInternalConnection();
@@ -361,7 +440,7 @@ public CheckpointInfo startCheckpoint( String name, long startTimestamp, String
             callableStatement = connection.prepareCall("{ call sp_start_checkpoint(?, ?, ?, ?, ?, ?) }");
             callableStatement.setInt(1, loadQueueId);
             callableStatement.setString(2, name);
-            callableStatement.setInt(3, checkpointLogLevel.toInt());
+            callableStatement.setInt(3, checkpointLogLevel.toDbValue());
             callableStatement.setString(4, transferRateUnit);
             callableStatement.registerOutParameter(indexCheckpointSummaryId, Types.INTEGER);
             callableStatement.registerOutParameter(indexCheckpointId, Types.BIGINT);
@@ -374,7 +453,7 @@ public CheckpointInfo startCheckpoint( String name, long startTimestamp, String
             }
 
             // we update the checkpoint table only in FULL mode
-            if (checkpointLogLevel == CheckpointLogLevel.FULL && callableStatement.getInt(indexCheckpointId) == 0) {
+            if (checkpointLogLevel != CheckpointLogLevel.SHORT && callableStatement.getInt(indexCheckpointId) == 0) {
                 throw new DatabaseAccessException(errMsg + " - checkpoint ID returned was 0");
             }
 
@@ -400,6 +479,11 @@ public boolean insertCheckpoint( String name, long startTimestamp, long response
 
         startTimestamp = inUTC(startTimestamp);
 
+        if (copyEventsCache != null) {
+            return copyEventsCache.addCheckpoint(name, responseTime, startTimestamp + responseTime, transferSize,
+                                                 transferUnit, result, loadQueueId);
+        }
+
         Connection currentConnection;
         if (!isBatchMode) {
             currentConnection = refreshInternalConnection();
@@ -433,7 +517,7 @@ public boolean insertCheckpoint( String name, long startTimestamp, long response
                 argValues.add(transferSize);
                 argValues.add(transferUnit);
                 argValues.add(result);
-                argValues.add(checkpointLogLevel.toInt());
+                argValues.add(checkpointLogLevel.toDbValue());
 
                 errMsg += " using the following statement: "
                           + constructStoredProcedureArgumentsMap(procedureName, argValues);
@@ -451,6 +535,19 @@ public boolean insertCheckpoint( String name, long startTimestamp, long response
 
     }
 
+    @Override
+    public void insertSystemStatistics( int testCaseId, String machine, String statisticIds,
+                                        String statisticValues, long timestamp,
+                                        boolean closeConnection ) throws DatabaseAccessException {
+
+        if (copyEventsCache != null) {
+            copyEventsCache.addStatistics(testCaseId, machine, statisticIds, statisticValues, inUTC(timestamp));
+        } else {
+            super.insertSystemStatistics(testCaseId, machine, statisticIds, statisticValues, timestamp,
+                                         closeConnection);
+        }
+    }
+
     @Override
     public void insertUserActivityStatistics( int testCaseId, String machine, String statisticIds,
                                               String statisticValues, long timestamp,
@@ -458,6 +555,11 @@ public void insertUserActivityStatistics( int testCaseId, String machine, String
 
         timestamp = inUTC(timestamp);
 
+        if (copyEventsCache != null) {
+            copyEventsCache.addStatistics(testCaseId, machine, statisticIds, statisticValues, timestamp);
+            return;
+        }
+
         CallableStatement callableStatement = null;
         try {
             refreshInternalConnection();
@@ -485,6 +587,49 @@ public void insertUserActivityStatistics( int testCaseId, String machine, String
         }
     }
 
+    @Override
+    public void insertSystemStatistics( int testCaseId, String machine, int[] statisticIds,
+                                        float[] statisticValues, long[] timestamps,
+                                        boolean closeConnection ) throws DatabaseAccessException {
+
+        if (copyEventsCache != null) {
+            addStatisticsToCopyCache(testCaseId, machine, statisticIds, statisticValues, timestamps);
+        } else {
+            super.insertSystemStatistics(testCaseId, machine, statisticIds, statisticValues, timestamps,
+                                         closeConnection);
+        }
+    }
+
+    @Override
+    public void insertUserActivityStatistics( int testCaseId, String machine, int[] statisticIds,
+                                              float[] statisticValues, long[] timestamps,
+                                              boolean closeConnection ) throws DatabaseAccessException {
+
+        if (copyEventsCache != null) {
+            addStatisticsToCopyCache(testCaseId, machine, statisticIds, statisticValues, timestamps);
+        } else {
+            super.insertUserActivityStatistics(testCaseId, machine, statisticIds, statisticValues, timestamps,
+                                               closeConnection);
+        }
+    }
+
+    private void addStatisticsToCopyCache( int testCaseId, String machine, int[] statisticIds,
+                                           float[] statisticValues,
+                                           long[] timestamps ) throws DatabaseAccessException {
+
+        // one cached row per chunk, the way the stored procedures expect them
+        for (StatisticsChunk chunk : StatisticsChunk.split(statisticIds, statisticValues, timestamps)) {
+            copyEventsCache.addStatistics(testCaseId, machine, chunk.getIds(), chunk.getValues(),
+                                          inUTC(chunk.getTimestamp()));
+        }
+    }
+
+    @Override
+    protected String getTableName( String tableName ) {
+
+        return "\"" + tableName + "\"";
+    }
+
     public boolean isRunPresent( int runId ) throws DatabaseAccessException {
 
         Connection connection = getConnection();
@@ -550,6 +695,378 @@ public boolean isTestcasePresent( int testcaseId ) throws DatabaseAccessExceptio
         return false;
     }
 
+    /**
+     * Caches testcase messages, checkpoints and statistics in batch mode and sends them
+     * with the PostgreSQL COPY command.
+     *
+     * <p>The data is copied into temporary tables of the current DB session. From there the checkpoints and statistics
+     * are inserted with one INSERT ... SELECT statement per table, after their checkpoint summary and machine IDs
+     * are resolved with a join. The checkpoint summaries are updated with one statement as well.
+     * The messages are still passed to the stored procedure, as it splits the long messages and keeps the unique ones,
+     * but with a single statement executed in the DB. This way we make just a few round trips to the DB per flush.</p>
+     */
+    protected class PGCopyEventsCache {
+
+        private static final String CHECKPOINTS_TABLE        = "tmp_ats_copy_checkpoints";
+        private static final String MESSAGES_TABLE           = "tmp_ats_copy_messages";
+        private static final String STATISTICS_TABLE         = "tmp_ats_copy_statistics";
+
+        private long                cacheBirthTime;
+
+        // the data in the COPY text format, one line per row
+        private StringBuilder       checkpointsData          = new StringBuilder();
+        private StringBuilder       messagesData             = new StringBuilder();
+        private StringBuilder       statisticsData           = new StringBuilder();
+
+        private int                 numberCachedCheckpoints;
+        private int                 numberCachedMessages;
+        private int                 numberCachedStatistics;
+
+        // keeps the order of the events of the same kind
+        private long                sequence;
+
+        // the numbers of the cached events, reported when they could not be sent
+        private List<Long>          cachedEventNumbers       = new ArrayList<>();
+
+        // the connection (DB session) the temporary tables are created for
+        private Connection          stagingTablesConnection;
+
+        public boolean addCheckpoint( String name, long responseTime, long endTimestamp, long transferSize,
+                                      String transferUnit, int result,
+                                      int loadQueueId ) throws DatabaseAccessException {
+
+            appendRow(checkpointsData, ++sequence, loadQueueId, name, responseTime, new Timestamp(endTimestamp),
+                      transferSize, transferUnit, result);
+            numberCachedCheckpoints++;
+
+            return onEventAdded();
+        }
+
+        public boolean addTestcaseMessage( String message, int level, boolean escapeHtml, String machineName,
+                                           String threadName, long timestamp,
+                                           int testCaseId ) throws DatabaseAccessException {
+
+            appendRow(messagesData, ++sequence, testCaseId, level, message, escapeHtml, machineName, threadName,
+                      new Timestamp(timestamp));
+            numberCachedMessages++;
+
+            return onEventAdded();
+        }
+
+        public boolean addStatistics( int testCaseId, String machine, String statisticIds, String statisticValues,
+                                      long timestamp ) throws DatabaseAccessException {
+
+            appendRow(statisticsData, ++sequence, testCaseId, machine, statisticIds, statisticValues,
+                      new Timestamp(timestamp));
+            numberCachedStatistics++;
+
+            return onEventAdded();
+        }
+
+        public boolean flushCacheIfNeeded() throws DatabaseAccessException {
+
+            if (flushPolicy.isTimeToFlush(getNumberCachedEvents(), cacheBirthTime)) {
+                flushCache();
+                return true;
+            }
+
+            return false;
+        }
+
+        public void flushCache() throws DatabaseAccessException {
+
+            int numberEvents = getNumberCachedEvents();
+            if (numberEvents == 0) {
+                return;
+            }
+
+            long batchStartTime = System.currentTimeMillis();
+            Connection connection = dbEventsCache.getConnection();
+            try {
+                createStagingTables(connection);
+
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                if (numberCachedCheckpoints > 0) {
+                    copyManager.copyIn("COPY " + CHECKPOINTS_TABLE
+                                       + " (seq, loadQueueId, name, responseTime, endTime, transferSize, transferUnit, result)"
+                                       + " FROM STDIN",
+                                       new StringReader(checkpointsData.toString()));
+                    insertCheckpoints(connection);
+                }
+                if (numberCachedMessages > 0) {
+                    copyManager.copyIn("COPY " + MESSAGES_TABLE + " FROM STDIN",
+                                       new StringReader(messagesData.toString()));
+                    insertInOrder(connection, MESSAGES_TABLE,
+                                  "sp_insert_message(r.testcaseId, r.level, r.message, r.escapeHtml, r.machineName, r.threadName, r.timestamp)");
+                }
+                if (numberCachedStatistics > 0) {
+                    copyManager.copyIn("COPY " + STATISTICS_TABLE + " FROM STDIN",
+                                       new StringReader(statisticsData.toString()));
+                    insertStatistics(connection);
+                }
+
+                // data sent to the DB, commit the transaction. This also empties the temporary tables
+                connection.commit();
+            } catch (Exception e) {
+                try {
+                    connection.rollback();
+                    log.getLog4jLogger()
+                       .error(ExceptionUtils.getExceptionMsg(e,
+                                                             "Commit failed while inserting " + numberEvents
+                                                                + " events with the COPY command in one transaction"));
+                } catch (Exception rollbackException) {
+                    log.getLog4jLogger()
+                       .error(ExceptionUtils.getExceptionMsg(rollbackException,
+                                                             "Commit and rollback both failed while inserting "
+                                                                                + numberEvents
+                                                                                + " events with the COPY command in one transaction."
+                                                                                + " Following is the rollback exception ..."));
+                }
+                // create the temporary tables again on the next flush, in case the DB session is broken
+                stagingTablesConnection = null;
+
+                if (reportUnsentEvents && isConnectionLost(e)) {
+                    // the caller will send these events again, for example when the DB connection was lost
+                    throw new UnsentEventsException("Unable to send " + numberEvents
+                                                    + " cached events to the log DB with the COPY command", e,
+                                                    cachedEventNumbers);
+                }
+                // the error is already logged, these events are lost
+                onCacheFlushFailed(numberEvents);
+                return;
+            } finally {
+                resetCache();
+            }
+
+            long batchTime = System.currentTimeMillis() - batchStartTime;
+            onCacheFlushed(numberEvents, batchTime);
+
+            if (isMonitorEventsQueue) {
+                log.getLog4jLogger()
+                   .info("Flushed " + numberEvents + " events with the COPY command in " + batchTime + " ms. "
+                         + writerMetrics);
+            }
+        }
+
+        private boolean onEventAdded() throws DatabaseAccessException {
+
+            cachedEventNumbers.add(nextCachedEventNumber());
+            if (getNumberCachedEvents() == 1) {
+                cacheBirthTime = System.currentTimeMillis();
+            }
+
+            return flushCacheIfNeeded();
+        }
+
+        private int getNumberCachedEvents() {
+
+            return numberCachedCheckpoints + numberCachedMessages + numberCachedStatistics;
+        }
+
+        private void resetCache() {
+
+            checkpointsData.setLength(0);
+            messagesData.setLength(0);
+            statisticsData.setLength(0);
+            numberCachedCheckpoints = 0;
+            numberCachedMessages = 0;
+            numberCachedStatistics = 0;
+            cachedEventNumbers.clear();
+            cacheBirthTime = 0;
+        }
+
+        private void createStagingTables( Connection connection ) throws SQLException {
+
+            if (stagingTablesConnection == connection) {
+                return;
+            }
+
+            // the column types match the types of the parameters we pass to the stored procedures in the regular batch mode,
+            // the checkpoint summary ID and the transfer rate are not copied, they are set before inserting the checkpoints
+            executeUpdate(connection, "CREATE TEMPORARY TABLE IF NOT EXISTS " + CHECKPOINTS_TABLE
+                                      + " (seq BIGINT, loadQueueId INTEGER, name VARCHAR, responseTime BIGINT,"
+                                      + " endTime TIMESTAMP, transferSize BIGINT, transferUnit VARCHAR, result INTEGER,"
+                                      + " checkpointSummaryId INTEGER, transferRate DOUBLE PRECISION)"
+                                      + " ON COMMIT DELETE ROWS");
+            executeUpdate(connection, "CREATE TEMPORARY TABLE IF NOT EXISTS " + MESSAGES_TABLE
+                                      + " (seq BIGINT, testcaseId INTEGER, level INTEGER, message VARCHAR,"
+                                      + " escapeHtml BOOLEAN, machineName VARCHAR, threadName VARCHAR, timestamp TIMESTAMP)"
+                                      + " ON COMMIT DELETE ROWS");
+            executeUpdate(connection, "CREATE TEMPORARY TABLE IF NOT EXISTS " + STATISTICS_TABLE
+                                      + " (seq BIGINT, testcaseId INTEGER, machine VARCHAR,"
+                                      + " statisticIds VARCHAR, statisticValues VARCHAR, timestamp TIMESTAMP)"
+                                      + " ON COMMIT DELETE ROWS");
+
+            stagingTablesConnection = connection;
+        }
+
+        private void executeUpdate( Connection connection, String sql ) throws SQLException {
+
+            PreparedStatement statement = null;
+            try {
+                statement = connection.prepareStatement(sql);
+                statement.executeUpdate();
+            } finally {
+                DbUtils.closeStatement(statement);
+            }
+        }
+
+        /**
+         * Insert the copied checkpoints and add them to their checkpoint summaries.
+         *
+         * <p>Does what the sp_insert_checkpoint stored procedure does for each checkpoint, but with a statement
+         * per table. The checkpoint summaries must already exist, they are created when the checkpoints are started.</p>
+         */
+        private void insertCheckpoints( Connection connection ) throws SQLException, DatabaseAccessException {
+
+            // resolve the checkpoint summary IDs, the failed checkpoints have no response time and transfer rate
+            executeUpdate(connection, "UPDATE " + CHECKPOINTS_TABLE + " c"
+                                      + " SET checkpointSummaryId = cs.checkpointSummaryId,"
+                                      + " responseTime = CASE WHEN c.result = " + CheckpointResult.FAILED.toInt()
+                                      + " THEN 0 ELSE c.responseTime END,"
+                                      + " transferRate = CASE WHEN c.result = " + CheckpointResult.FAILED.toInt()
+                                      + " OR c.responseTime <= 0 THEN 0 ELSE c.transferSize * 1000.0 / c.responseTime END"
+                                      + " FROM " + getTableName("tCheckpointsSummary") + " cs"
+                                      + " WHERE cs.loadQueueId = c.loadQueueId AND cs.name = c.name");
+
+            PreparedStatement statement = null;
+            ResultSet rs = null;
+            try {
+                statement = connection.prepareStatement("SELECT name, loadQueueId FROM " + CHECKPOINTS_TABLE
+                                                        + " WHERE checkpointSummaryId IS NULL LIMIT 1");
+                rs = statement.executeQuery();
+                if (rs.next()) {
+                    throw new DatabaseAccessException("No summary found for checkpoint '" + rs.getString(1)
+                                                      + "' of load queue " + rs.getInt(2));
+                }
+            } finally {
+                DbUtils.closeResultSet(rs);
+                DbUtils.closeStatement(statement);
+            }
+
+            if (checkpointLogLevel != CheckpointLogLevel.SHORT) {
+                // the checkpoint IDs follow the order the checkpoints were cached
+                executeUpdate(connection, "INSERT INTO " + getTableName("tCheckpoints")
+                                          + " (checkpointSummaryId, name, responseTime, transferRate, transferRateUnit, result, endTime)"
+                                          + " SELECT checkpointSummaryId, name, responseTime, transferRate, transferUnit, result, endTime"
+                                          + " FROM " + CHECKPOINTS_TABLE + " ORDER BY seq");
+            }
+
+            // add the values of all copied checkpoints to their summaries,
+            // all expressions on the right side use the summary values before the update
+            executeUpdate(connection, "UPDATE " + getTableName("tCheckpointsSummary") + " cs"
+                                      + " SET numPassed = cs.numPassed + c.numPassed, numFailed = cs.numFailed + c.numFailed,"
+                                      + " minResponseTime = CASE WHEN c.numPassed > 0 AND (cs.numPassed = 0 OR c.minResponseTime < cs.minResponseTime) THEN c.minResponseTime ELSE cs.minResponseTime END,"
+                                      + " maxResponseTime = CASE WHEN c.numPassed > 0 AND (cs.numPassed = 0 OR c.maxResponseTime > cs.maxResponseTime) THEN c.maxResponseTime ELSE cs.maxResponseTime END,"
+                                      + " avgResponseTime = CASE WHEN c.numPassed > 0 THEN (cs.avgResponseTime * cs.numPassed + c.sumResponseTime) / (cs.numPassed + c.numPassed) ELSE cs.avgResponseTime END,"
+                                      + " minTransferRate = CASE WHEN c.numPassed > 0 AND (cs.numPassed = 0 OR c.minTransferRate < cs.minTransferRate) THEN c.minTransferRate ELSE cs.minTransferRate END,"
+                                      + " maxTransferRate = CASE WHEN c.numPassed > 0 AND (cs.numPassed = 0 OR c.maxTransferRate > cs.maxTransferRate) THEN c.maxTransferRate ELSE cs.maxTransferRate END,"
+                                      + " avgTransferRate = CASE WHEN c.numPassed > 0 THEN (cs.avgTransferRate * cs.numPassed + c.sumTransferRate) / (cs.numPassed + c.numPassed) ELSE cs.avgTransferRate END"
+                                      + " FROM (SELECT checkpointSummaryId,"
+                                      + " SUM(CASE WHEN result = " + CheckpointResult.PASSED.toInt() + " THEN 1 ELSE 0 END) AS numPassed,"
+                                      + " SUM(CASE WHEN result = " + CheckpointResult.FAILED.toInt() + " THEN 1 ELSE 0 END) AS numFailed,"
+                                      + " MIN(CASE WHEN result = " + CheckpointResult.PASSED.toInt() + " THEN responseTime END) AS minResponseTime,"
+                                      + " MAX(CASE WHEN result = " + CheckpointResult.PASSED.toInt() + " THEN responseTime END) AS maxResponseTime,"
+                                      + " SUM(CASE WHEN result = " + CheckpointResult.PASSED.toInt() + " THEN responseTime ELSE 0 END) AS sumResponseTime,"
+                                      + " MIN(CASE WHEN result = " + CheckpointResult.PASSED.toInt() + " THEN transferRate END) AS minTransferRate,"
+                                      + " MAX(CASE WHEN result = " + CheckpointResult.PASSED.toInt() + " THEN transferRate END) AS maxTransferRate,"
+                                      + " SUM(CASE WHEN result = " + CheckpointResult.PASSED.toInt() + " THEN transferRate ELSE 0 END) AS sumTransferRate"
+                                      + " FROM " + CHECKPOINTS_TABLE + " GROUP BY checkpointSummaryId) c"
+                                      + " WHERE cs.checkpointSummaryId = c.checkpointSummaryId");
+        }
+
+        /**
+         * Insert the copied statistics, one row per statistic.
+         *
+         * <p>Does what the sp_insert_system_statistic_by_ids and sp_insert_user_activity_statistic_by_ids
+         * stored procedures do for each chunk of statistics - the machines not known yet are added
+         * and the '_' delimited IDs and values are split - but with a statement per table.</p>
+         */
+        private void insertStatistics( Connection connection ) throws SQLException {
+
+            // the new machines are added in the order they were first used
+            executeUpdate(connection, "INSERT INTO " + getTableName("tMachines") + " (machineName)"
+                                      + " SELECT s.machine FROM " + STATISTICS_TABLE + " s"
+                                      + " WHERE NOT EXISTS (SELECT 1 FROM " + getTableName("tMachines")
+                                      + " m WHERE m.machineName = s.machine)"
+                                      + " GROUP BY s.machine ORDER BY MIN(s.seq)");
+
+            // the statistic IDs follow the order the statistics were cached
+            executeUpdate(connection, "INSERT INTO " + getTableName("tSystemStats")
+                                      + " (testcaseId, machineId, statsTypeId, timestamp, value)"
+                                      + " SELECT s.testcaseId,"
+                                      + " (SELECT MIN(m.machineId) FROM " + getTableName("tMachines")
+                                      + " m WHERE m.machineName = s.machine),"
+                                      + " CAST(u.statisticId AS INTEGER), s.timestamp, CAST(u.statisticValue AS REAL)"
+                                      + " FROM " + STATISTICS_TABLE + " s,"
+                                      + " unnest(string_to_array(s.statisticIds, '_'), string_to_array(s.statisticValues, '_'))"
+                                      + " WITH ORDINALITY AS u(statisticId, statisticValue, position)"
+                                      + " ORDER BY s.seq, u.position");
+        }
+
+        /**
+         * Call a stored procedure for each row of a temporary table, in the order the rows were cached.
+         *
+         * <p>The calls are made in a PL/pgSQL loop, as the order of the calls in a 'SELECT sp(...) FROM (... ORDER BY)'
+         * statement is not guaranteed. The procedure arguments refer to the current row as 'r'.</p>
+         */
+        private void insertInOrder( Connection connection, String table, String procedureCall ) throws SQLException {
+
+            executeStatement(connection, "DO $$DECLARE r RECORD; BEGIN FOR r IN SELECT * FROM " + table
+                                         + " ORDER BY seq LOOP PERFORM " + procedureCall + "; END LOOP; END$$");
+        }
+
+        private void executeStatement( Connection connection, String sql ) throws SQLException {
+
+            PreparedStatement statement = null;
+            try {
+                statement = connection.prepareStatement(sql);
+                statement.execute();
+            } finally {
+                DbUtils.closeStatement(statement);
+            }
+        }
+
+        /**
+         * Append a row in the COPY text format - tab separated values, \N for null values
+         */
+        private void appendRow( StringBuilder data, Object... values ) {
+
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    data.append('\t');
+                }
+
+                Object value = values[i];
+                if (value == null) {
+                    data.append("\\N");
+                } else {
+                    String stringValue = value.toString();
+                    for (int j = 0; j < stringValue.length(); j++) {
+                        char ch = stringValue.charAt(j);
+                        switch (ch) {
+                            case '\\':
+                                data.append("\\\\");
+                                break;
+                            case '\t':
+                                data.append("\\t");
+                                break;
+                            case '\n':
+                                data.append("\\n");
+                                break;
+                            case '\r':
+                                data.append("\\r");
+                                break;
+                            default:
+                                data.append(ch);
+                        }
+                    }
+                }
+            }
+            data.append('\n');
+        }
+    }
+
     /**
      * Provides the event statements
      */
@@ -602,7 +1119,7 @@ CallableStatement getInsertCheckpointStatement( Connection connection, String na
                 theStatement.setLong(5, transferSize);
                 theStatement.setString(6, transferUnit);
                 theStatement.setInt(7, result);
-                theStatement.setInt(8, checkpointLogLevel.toInt());
+                theStatement.setInt(8, checkpointLogLevel.toDbValue());
 
                 return theStatement;
             } catch (Exception e) {
@@ -19,6 +19,7 @@
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -49,6 +50,7 @@
 import com.axway.ats.log.autodb.entities.TestcaseMetainfo;
 import com.axway.ats.log.autodb.exceptions.DatabaseAccessException;
 import com.axway.ats.log.autodb.model.IDbReadAccess;
+import com.axway.ats.log.autodb.model.StatisticHandler;
 
 public class SQLServerDbReadAccess extends AbstractDbAccess implements IDbReadAccess {
 
@@ -1069,7 +1071,58 @@ public List<Statistic> getSystemStatistics(
                                                 int utcTimeOffset,
                                                 boolean dayLightSavingOn ) throws DatabaseAccessException {
 
-        List<Statistic> allStatistics = new ArrayList<Statistic>();
+        final List<Statistic> allStatistics = new ArrayList<Statistic>();
+
+        getSystemStatistics(timeOffset, testcaseIds, machineIds, statsTypeIds, whereClause, utcTimeOffset,
+                            dayLightSavingOn, new StatisticHandler() {
+
+                                @Override
+                                public void handle( Statistic statistic ) {
+
+                                    allStatistics.add(statistic);
+                                }
+                            });
+
+        return allStatistics;
+
+    }
+
+    public List<Statistic> getSystemStatistics(
+                                                float timeOffset,
+                                                String testcaseIds,
+                                                String machineIds,
+                                                String statsTypeIds,
+                                                String whereClause,
+                                                int utcTimeOffset,
+                                                boolean dayLightSavingOn,
+                                                long resolution ) throws DatabaseAccessException {
+
+        final List<Statistic> allStatistics = new ArrayList<Statistic>();
+
+        StatisticsDownsampler downsampler = new StatisticsDownsampler(resolution, new StatisticHandler() {
+
+            @Override
+            public void handle( Statistic statistic ) {
+
+                allStatistics.add(statistic);
+            }
+        });
+        getSystemStatistics(timeOffset, testcaseIds, machineIds, statsTypeIds, whereClause, utcTimeOffset,
+                            dayLightSavingOn, downsampler);
+        downsampler.flush();
+
+        return allStatistics;
+    }
+
+    public void getSystemStatistics(
+                                     float timeOffset,
+                                     String testcaseIds,
+                                     String machineIds,
+                                     String statsTypeIds,
+                                     String whereClause,
+                                     int utcTimeOffset,
+                                     boolean dayLightSavingOn,
+                                     StatisticHandler handler ) throws DatabaseAccessException {
 
         String sqlLog = new SqlRequestFormatter().add("fdate", formatDateFromEpoch(timeOffset))
                                                  .add("testcase ids", testcaseIds)
@@ -1113,8 +1166,7 @@ public List<Statistic> getSystemStatistics(
                 statistic.testcaseId = rs.getInt("testcaseId");
 
                 numberRecords++;
-                // add the combined statistics to the others
-                allStatistics.add(statistic);
+                handler.handle(statistic);
             }
 
             logQuerySuccess(sqlLog, "system statistics", numberRecords);
@@ -1124,9 +1176,6 @@ public List<Statistic> getSystemStatistics(
             DbUtils.closeResultSet(rs);
             DbUtils.close(connection, callableStatement);
         }
-
-        return allStatistics;
-
     }
 
     /**
@@ -1216,7 +1265,74 @@ public List<Statistic> getCheckpointStatistics( float timeOffset, String testcas
                                                     int utcTimeOffset,
                                                     boolean dayLightSavingOn ) throws DatabaseAccessException {
 
-        List<Statistic> allStatistics = new ArrayList<Statistic>();
+        final List<Statistic> allStatistics = new ArrayList<Statistic>();
+        final List<Statistic> combinedStatistics = new ArrayList<Statistic>();
+
+        getCheckpointStatistics(timeOffset, testcaseIds, actionNames, actionParents, expectedSingleActionUIDs,
+                                expectedCombinedActionUIDs, utcTimeOffset, dayLightSavingOn,
+                                new StatisticHandler() {
+
+                                    @Override
+                                    public void handle( Statistic statistic ) {
+
+                                        if (Statistic.COMBINED_STATISTICS_CONTAINER.equals(statistic.parentName)) {
+                                            combinedStatistics.add(statistic);
+                                        } else {
+                                            allStatistics.add(statistic);
+                                        }
+                                    }
+                                });
+
+        if (combinedStatistics.size() > 0) {
+            // sort the combined statistics by their timestamps
+            Collections.sort(combinedStatistics, new Comparator<Statistic>() {
+
+                @Override
+                public int compare( Statistic stat1, Statistic stat2 ) {
+
+                    return Long.compare(stat1.getStartTimestamp(), stat2.getStartTimestamp());
+                }
+            });
+
+            // add the combined statistics to the others
+            allStatistics.addAll(combinedStatistics);
+        }
+
+        return allStatistics;
+    }
+
+    public List<Statistic> getCheckpointStatistics( float timeOffset, String testcaseIds, String actionNames,
+                                                    String actionParents,
+                                                    Set<String> expectedSingleActionUIDs,
+                                                    Set<String> expectedCombinedActionUIDs,
+                                                    int utcTimeOffset,
+                                                    boolean dayLightSavingOn,
+                                                    long resolution ) throws DatabaseAccessException {
+
+        final List<Statistic> allStatistics = new ArrayList<Statistic>();
+
+        StatisticsDownsampler downsampler = new StatisticsDownsampler(resolution, new StatisticHandler() {
+
+            @Override
+            public void handle( Statistic statistic ) {
+
+                allStatistics.add(statistic);
+            }
+        });
+        getCheckpointStatistics(timeOffset, testcaseIds, actionNames, actionParents, expectedSingleActionUIDs,
+                                expectedCombinedActionUIDs, utcTimeOffset, dayLightSavingOn, downsampler);
+        downsampler.flush();
+
+        return allStatistics;
+    }
+
+    public void getCheckpointStatistics( float timeOffset, String testcaseIds, String actionNames,
+                                         String actionParents,
+                                         Set<String> expectedSingleActionUIDs,
+                                         Set<String> expectedCombinedActionUIDs,
+                                         int utcTimeOffset,
+                                         boolean dayLightSavingOn,
+                                         StatisticHandler handler ) throws DatabaseAccessException {
 
         String sqlLog = new SqlRequestFormatter().add("fdate", formatDateFromEpoch(timeOffset))
                                                  .add("testcase ids", testcaseIds)
@@ -1226,16 +1342,6 @@ public List<Statistic> getCheckpointStatistics( float timeOffset, String testcas
 
         Map<String, Integer> fakeStatisticIds = new HashMap<String, Integer>();
 
-        /*
-         * The DB does not contain combined statistics, so we must create them.
-         *
-         * All statistics with same name are combined in one statistic(no matter how many queues are).
-         * In cases when there are more than one hits at same timestamp, we do not sum the values, but we
-         * pass the same number of statistics for this timestamp - users see balloon marker on Test Explorer
-         */
-        Map<String, Statistic> combinedStatistics = new HashMap<String, Statistic>();
-        Map<String, Integer> combinedStatisticHitsAtSameTimestamp = new HashMap<String, Integer>();
-
         Connection connection = getConnection();
         CallableStatement callableStatement = null;
         ResultSet rs = null;
@@ -1272,76 +1378,32 @@ public List<Statistic> getCheckpointStatistics( float timeOffset, String testcas
                 statistic.statisticTypeId = getStatisticFakeId(START_FAKE_ID_VALUE_FOR_CHECKPOINTS,
                                                                fakeStatisticIds, statistic);
 
-                // add to single statistics
+                // pass the single statistic
                 if (expectedSingleActionUIDs.contains(statistic.getUid())) {
-                    allStatistics.add(statistic);
+                    handler.handle(statistic);
                 }
 
-                // add to combined statistics
+                /*
+                 * The DB does not contain combined statistics, so we must create them.
+                 *
+                 * All statistics with same name are combined in one statistic(no matter how many queues are).
+                 * In cases when there are more than one hits at same timestamp, we do not sum the values, but we
+                 * pass the same number of statistics for this timestamp - users see balloon marker on Test Explorer
+                 */
                 if (expectedCombinedActionUIDs.contains(statistic.getCombinedStatisticUid())) {
 
-                    String statisticKey = statistic.getStartTimestamp() + "->" + statistic.name;
-                    Integer timesHaveThisStatisticAtThisTimestamp = combinedStatisticHitsAtSameTimestamp.get(statisticKey);
-
-                    Statistic combinedStatistic;
-                    if (timesHaveThisStatisticAtThisTimestamp == null) {
-                        // create a new combined statistic
-                        combinedStatistic = new Statistic();
-                        combinedStatistic.name = statistic.name;
-                        combinedStatistic.parentName = Statistic.COMBINED_STATISTICS_CONTAINER;
-                        combinedStatistic.unit = statistic.unit;
-
-                        combinedStatistic.setStartTimestamp(statistic.getStartTimestamp());
-                        combinedStatistic.setTimeOffset(statistic.getTimeOffset());
-
-                        combinedStatistic.machineId = statistic.machineId;
-                        combinedStatistic.testcaseId = statistic.testcaseId;
-
-                        // this is the first such statistic at this timestamp
-                        timesHaveThisStatisticAtThisTimestamp = 1;
-                    } else {
-                        // create another copy of this statistic
-                        combinedStatistic = combinedStatistics.get(statisticKey + "->"
-                                                                   + timesHaveThisStatisticAtThisTimestamp)
-                                                              .newInstance();
-
-                        // we already had such statistic at this timestamp
-                        timesHaveThisStatisticAtThisTimestamp++;
-                    }
-
+                    Statistic combinedStatistic = statistic.newInstance();
+                    combinedStatistic.parentName = Statistic.COMBINED_STATISTICS_CONTAINER;
                     combinedStatistic.value = statistic.value;
                     combinedStatistic.statisticTypeId = getStatisticFakeId(START_FAKE_ID_VALUE_FOR_CHECKPOINTS,
                                                                            fakeStatisticIds,
                                                                            combinedStatistic);
-
-                    // remember how many times we got same statistic at same timestamp
-                    combinedStatisticHitsAtSameTimestamp.put(statisticKey,
-                                                             timesHaveThisStatisticAtThisTimestamp);
-                    // Remember this statistic in the list
-                    // The way we create the map key assures the proper time ordering
-                    combinedStatistics.put(statisticKey + "->" + timesHaveThisStatisticAtThisTimestamp,
-                                           combinedStatistic);
+                    handler.handle(combinedStatistic);
                 }
 
                 numberRecords++;
             }
 
-            if (combinedStatistics.size() > 0) {
-                // sort the combined statistics by their timestamps
-                List<Statistic> sortedStatistics = new ArrayList<Statistic>(combinedStatistics.values());
-                Collections.sort(sortedStatistics, new Comparator<Statistic>() {
-
-                    @Override
-                    public int compare( Statistic stat1, Statistic stat2 ) {
-
-                        return (int) (stat1.getStartTimestamp() - stat2.getStartTimestamp());
-                    }
-                });
-
-                // add the combined statistics to the others
-                allStatistics.addAll(sortedStatistics);
-            }
-
             logQuerySuccess(sqlLog, "action response statistics", numberRecords);
         } catch (Exception e) {
             throw new DatabaseAccessException("Error when " + sqlLog, e);
@@ -1349,8 +1411,6 @@ public int compare( Statistic stat1, Statistic stat2 ) {
             DbUtils.closeResultSet(rs);
             DbUtils.close(connection, callableStatement);
         }
-
-        return allStatistics;
     }
 
     /**
@@ -1374,6 +1434,23 @@ private Integer getStatisticFakeId( int startValue, Map<String, Integer> statist
         return statisticId;
     }
 
+    /**
+     * @param rs a result set
+     * @param columnName a column name
+     * @return whether the result set has such column
+     * @throws SQLException
+     */
+    private boolean hasColumn( ResultSet rs, String columnName ) throws SQLException {
+
+        ResultSetMetaData metaData = rs.getMetaData();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (columnName.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public List<LoadQueue> getLoadQueues( String whereClause, String sortColumn, boolean ascending,
                                           int utcTimeOffset ) throws DatabaseAccessException {
 
@@ -1480,6 +1557,8 @@ public List<CheckpointSummary> getCheckpointsSummary( String whereClause, String
                                                       : "DESC"));
 
             rs = callableStatement.executeQuery();
+            // older log DBs do not keep the percentiles
+            boolean hasPercentiles = hasColumn(rs, "p99ResponseTime");
             int numberRecords = 0;
             while (rs.next()) {
                 CheckpointSummary checkpointSummary = new CheckpointSummary();
@@ -1498,6 +1577,12 @@ public List<CheckpointSummary> getCheckpointsSummary( String whereClause, String
                 }
                 checkpointSummary.avgResponseTime = rs.getDouble("avgResponseTime");
                 checkpointSummary.maxResponseTime = rs.getInt("maxResponseTime");
+                if (hasPercentiles) {
+                    checkpointSummary.p50ResponseTime = rs.getInt("p50ResponseTime");
+                    checkpointSummary.p90ResponseTime = rs.getInt("p90ResponseTime");
+                    checkpointSummary.p95ResponseTime = rs.getInt("p95ResponseTime");
+                    checkpointSummary.p99ResponseTime = rs.getInt("p99ResponseTime");
+                }
 
                 checkpointSummary.minTransferRate = rs.getDouble("minTransferRate");
                 if (checkpointSummary.minTransferRate == Integer.MAX_VALUE) {
@@ -20,13 +20,15 @@
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
-import java.util.concurrent.TimeUnit;
 
 import com.axway.ats.common.systemproperties.AtsSystemProperties;
 import com.axway.ats.core.AtsVersion;
@@ -34,8 +36,11 @@
 import com.axway.ats.core.dbaccess.DbUtils;
 import com.axway.ats.core.utils.ExceptionUtils;
 import com.axway.ats.log.autodb.CheckpointInfo;
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
+import com.axway.ats.log.autodb.StatisticsChunk;
 import com.axway.ats.log.autodb.entities.Testcase;
 import com.axway.ats.log.autodb.exceptions.DatabaseAccessException;
+import com.axway.ats.log.autodb.exceptions.UnsentEventsException;
 import com.axway.ats.log.autodb.model.IDbWriteAccess;
 import com.axway.ats.log.model.CheckpointLogLevel;
 import com.axway.ats.log.model.CheckpointResult;
@@ -54,6 +59,12 @@ public class SQLServerDbWriteAccess extends AbstractDbAccess implements IDbWrite
     // the events cache
     protected DbEventsCache                dbEventsCache;
 
+    // decides when the cached events are flushed
+    protected AdaptiveFlushPolicy          flushPolicy;
+
+    // statistics about the flushed events
+    protected DbWriterMetrics              writerMetrics;
+
     // the DB statements provider
     protected InsertEventStatementsFactory insertFactory;
 
@@ -74,6 +85,15 @@ public class SQLServerDbWriteAccess extends AbstractDbAccess implements IDbWrite
      * */
     protected boolean                      skipUTCConversion  = false;
 
+    // whether a failed flush of the cached events is reported to the caller, so it can send them again
+    protected boolean                      reportUnsentEvents = false;
+
+    // the number of the last cached event, the events are numbered in the order they are cached
+    private long                           lastCachedEventNumber;
+
+    // Map<load queue ID and checkpoint name, checkpoint summary ID> of the aggregated checkpoints
+    private Map<String, Integer>           aggregatedCheckpointSummaryIds = new HashMap<>();
+
     public SQLServerDbWriteAccess( DbConnection dbConnection,
                                    boolean isBatchMode ) throws DatabaseAccessException {
 
@@ -82,6 +102,11 @@ public SQLServerDbWriteAccess( DbConnection dbConnection,
         this.insertFactory = new InsertEventStatementsFactory(isBatchMode);
 
         if (isBatchMode) {
+            flushPolicy = new AdaptiveFlushPolicy();
+            writerMetrics = DbWriterMetrics.register(this, getClass().getSimpleName() + " to "
+                                                           + dbConnection.getHost() + "/"
+                                                           + dbConnection.getDb());
+
             // some events are sent to the DB in batch mode, we cache them here
             dbEventsCache = new DbEventsCache(this);
 
@@ -101,6 +126,59 @@ public void setMaxNumberOfCachedEvents( int maxNumberOfCachedEvents ) {
 
     }
 
+    @Override
+    public void setEventsQueueOccupancy( int queuedEvents, int queueCapacity ) {
+
+        if (flushPolicy != null) {
+            flushPolicy.setQueueOccupancy(queuedEvents, queueCapacity);
+            writerMetrics.recordQueueOccupancy(queuedEvents, queueCapacity);
+        }
+    }
+
+    @Override
+    public void setReportUnsentEvents( boolean reportUnsentEvents ) {
+
+        this.reportUnsentEvents = reportUnsentEvents;
+    }
+
+    @Override
+    public long getLastCachedEventNumber() {
+
+        return lastCachedEventNumber;
+    }
+
+    /**
+     * Called in batch mode when an event is cached
+     *
+     * @return the number of the cached event
+     */
+    protected long nextCachedEventNumber() {
+
+        return ++lastCachedEventNumber;
+    }
+
+    /**
+     * Called in batch mode after some cached events are sent to the DB
+     *
+     * @param numberEvents the number of sent events
+     * @param flushTime how long it took in milliseconds
+     */
+    protected void onCacheFlushed( int numberEvents, long flushTime ) {
+
+        flushPolicy.onFlush(numberEvents, flushTime);
+        writerMetrics.recordFlush(numberEvents, flushTime, flushPolicy.getBatchSize());
+    }
+
+    /**
+     * Called in batch mode when some cached events could not be sent to the DB and are dropped
+     *
+     * @param numberEvents the number of dropped events
+     */
+    protected void onCacheFlushFailed( int numberEvents ) {
+
+        writerMetrics.recordDroppedEvents(numberEvents);
+    }
+
     /**
      * Insert a new run in the database
      *
@@ -1155,7 +1233,7 @@ public boolean insertCheckpoint(
                 argValues.add(transferSize);
                 argValues.add(transferUnit);
                 argValues.add(result);
-                argValues.add(checkpointLogLevel.toInt());
+                argValues.add(checkpointLogLevel.toDbValue());
 
                 errMsg += MSG_USING_THE_FOLLOWING_STATEMENT
                           + constructStoredProcedureArgumentsMap(procedureName, argValues);
@@ -1187,7 +1265,9 @@ public static CheckpointLogLevel getCheckpointLogLevel() {
      * @param newCheckpointLogLevel Options are {@link CheckpointLogLevel#FULL} - logging every single action into the
      *                               DB. <em>Note</em> that this might rapidly grow your DB. <br />
      *                               For {@link CheckpointLogLevel#SHORT} only total summary (aggregated status) is
-     *                               updated.
+     *                               updated. <br />
+     *                               For {@link CheckpointLogLevel#AGGREGATED} the ATS Agent load queues log one
+     *                               aggregated row per checkpoint name and interval.
      */
     public static void setCheckpointLogLevel(
                                               CheckpointLogLevel newCheckpointLogLevel ) {
@@ -1217,7 +1297,7 @@ public CheckpointInfo startCheckpoint(
             callableStatement = connection.prepareCall("{ call sp_start_checkpoint(?, ?, ?, ?, ?, ?) }");
             callableStatement.setInt(1, loadQueueId);
             callableStatement.setString(2, name);
-            callableStatement.setInt(3, checkpointLogLevel.toInt());
+            callableStatement.setInt(3, checkpointLogLevel.toDbValue());
             callableStatement.setString(4, transferUnit);
             callableStatement.registerOutParameter(indexCheckpointSummaryId, Types.INTEGER);
             callableStatement.registerOutParameter(indexCheckpointId, Types.BIGINT);
@@ -1230,7 +1310,7 @@ public CheckpointInfo startCheckpoint(
             }
 
             // we update the checkpoint table only in FULL mode
-            if (checkpointLogLevel == CheckpointLogLevel.FULL
+            if (checkpointLogLevel != CheckpointLogLevel.SHORT
                 && callableStatement.getLong(indexCheckpointId) == 0) {
                 throw new DatabaseAccessException(errMsg + " - checkpoint ID returned was 0");
             }
@@ -1279,7 +1359,7 @@ public void endCheckpoint(
                                                           : 0);
             callableStatement.setLong(4, transferSize);
             callableStatement.setInt(5, result);
-            callableStatement.setInt(6, checkpointLogLevel.toInt());
+            callableStatement.setInt(6, checkpointLogLevel.toDbValue());
             callableStatement.setTimestamp(7, new Timestamp(endTimestamp));
             callableStatement.registerOutParameter(indexRowsInserted, Types.INTEGER);
 
@@ -1359,6 +1439,248 @@ public void insertCheckpointSummary(
         }
     }
 
+    public void insertAggregatedCheckpoint(
+                                            String name,
+                                            long startTimestamp,
+                                            long endTimestamp,
+                                            ResponseTimeHistogram responseTimes,
+                                            int numberFailed,
+                                            long transferSize,
+                                            double minTransferRate,
+                                            double maxTransferRate,
+                                            double sumTransferRate,
+                                            String transferUnit,
+                                            int loadQueueId,
+                                            boolean closeConnection ) throws DatabaseAccessException {
+
+        final String errMsg = "Unable to insert aggregated checkpoint '" + name + "' for load queue "
+                              + loadQueueId;
+
+        PreparedStatement insertStatement = null;
+        PreparedStatement updateSummaryStatement = null;
+        try {
+            refreshInternalConnection();
+
+            int checkpointSummaryId = getAggregatedCheckpointSummaryId(loadQueueId, name, transferUnit);
+
+            if (isBatchMode) {
+                // sent with the other cached events
+                dbEventsCache.addInsertAggregatedCheckpointEventToBatch(checkpointSummaryId, startTimestamp,
+                                                                        endTimestamp, responseTimes,
+                                                                        numberFailed, transferSize,
+                                                                        minTransferRate, maxTransferRate,
+                                                                        sumTransferRate);
+                return;
+            }
+
+            boolean originalAutoCommitState = connection.getAutoCommit();
+            try {
+                connection.setAutoCommit(false);
+
+                insertStatement = connection.prepareStatement(getInsertAggregatedCheckpointSql());
+                setInsertAggregatedCheckpointParameters(insertStatement, checkpointSummaryId, startTimestamp,
+                                                        endTimestamp, responseTimes, numberFailed, transferSize);
+                insertStatement.executeUpdate();
+
+                updateSummaryStatement = connection.prepareStatement(getUpdateAggregatedCheckpointSummarySql(responseTimes));
+                setUpdateAggregatedCheckpointSummaryParameters(updateSummaryStatement, checkpointSummaryId,
+                                                               responseTimes, numberFailed, minTransferRate,
+                                                               maxTransferRate, sumTransferRate);
+                if (updateSummaryStatement.executeUpdate() != 1) {
+                    throw new DatabaseAccessException(errMsg + " - checkpoint summary " + checkpointSummaryId
+                                                      + " was not updated");
+                }
+
+                if (originalAutoCommitState) {
+                    connection.commit();
+                }
+            } catch (SQLException | DatabaseAccessException e) {
+                if (originalAutoCommitState) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                connection.setAutoCommit(originalAutoCommitState);
+            }
+        } catch (DatabaseAccessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DatabaseAccessException(errMsg, e);
+        } finally {
+            DbUtils.closeStatement(insertStatement);
+            if (closeConnection) {
+                DbUtils.close(connection, updateSummaryStatement);
+            } else {
+                DbUtils.closeStatement(updateSummaryStatement);
+            }
+        }
+    }
+
+    private String getInsertAggregatedCheckpointSql() {
+
+        return "INSERT INTO " + getTableName("tCheckpointsAggregated")
+               + " (checkpointSummaryId, startTime, endTime, numPassed, numFailed,"
+               + " minResponseTime, maxResponseTime, sumResponseTime, transferSize, responseTimes)"
+               + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    private void setInsertAggregatedCheckpointParameters(
+                                                          PreparedStatement statement,
+                                                          int checkpointSummaryId,
+                                                          long startTimestamp,
+                                                          long endTimestamp,
+                                                          ResponseTimeHistogram responseTimes,
+                                                          int numberFailed,
+                                                          long transferSize ) throws SQLException {
+
+        statement.setInt(1, checkpointSummaryId);
+        statement.setTimestamp(2, new Timestamp(inUTC(startTimestamp)));
+        statement.setTimestamp(3, new Timestamp(inUTC(endTimestamp)));
+        statement.setLong(4, responseTimes.getCount());
+        statement.setInt(5, numberFailed);
+        statement.setLong(6, responseTimes.getMin());
+        statement.setLong(7, responseTimes.getMax());
+        statement.setLong(8, responseTimes.getSum());
+        statement.setLong(9, transferSize);
+        statement.setString(10, responseTimes.toCompactString());
+    }
+
+    /**
+     * Adds the exact values of an interval to the checkpoint summary,
+     * all expressions on the right side use the summary values before the update.
+     * The response times and transfer rates are updated only when there are passed checkpoints in the interval
+     */
+    private String getUpdateAggregatedCheckpointSummarySql(
+                                                            ResponseTimeHistogram responseTimes ) {
+
+        if (responseTimes.getCount() > 0) {
+            return "UPDATE " + getTableName("tCheckpointsSummary")
+                   + " SET numPassed = numPassed + ?, numFailed = numFailed + ?,"
+                   + " minResponseTime = CASE WHEN numPassed = 0 OR ? < minResponseTime THEN ? ELSE minResponseTime END,"
+                   + " maxResponseTime = CASE WHEN numPassed = 0 OR ? > maxResponseTime THEN ? ELSE maxResponseTime END,"
+                   + " avgResponseTime = (avgResponseTime * numPassed + ?) / (numPassed + ?),"
+                   + " minTransferRate = CASE WHEN numPassed = 0 OR ? < minTransferRate THEN ? ELSE minTransferRate END,"
+                   + " maxTransferRate = CASE WHEN numPassed = 0 OR ? > maxTransferRate THEN ? ELSE maxTransferRate END,"
+                   + " avgTransferRate = (avgTransferRate * numPassed + ?) / (numPassed + ?)"
+                   + " WHERE checkpointSummaryId = ?";
+        } else {
+            return "UPDATE " + getTableName("tCheckpointsSummary")
+                   + " SET numFailed = numFailed + ?"
+                   + " WHERE checkpointSummaryId = ?";
+        }
+    }
+
+    private void setUpdateAggregatedCheckpointSummaryParameters(
+                                                                 PreparedStatement statement,
+                                                                 int checkpointSummaryId,
+                                                                 ResponseTimeHistogram responseTimes,
+                                                                 int numberFailed,
+                                                                 double minTransferRate,
+                                                                 double maxTransferRate,
+                                                                 double sumTransferRate ) throws SQLException {
+
+        long numberPassed = responseTimes.getCount();
+        if (numberPassed > 0) {
+            int index = 1;
+            statement.setLong(index++, numberPassed);
+            statement.setInt(index++, numberFailed);
+            statement.setLong(index++, responseTimes.getMin());
+            statement.setLong(index++, responseTimes.getMin());
+            statement.setLong(index++, responseTimes.getMax());
+            statement.setLong(index++, responseTimes.getMax());
+            statement.setDouble(index++, responseTimes.getSum());
+            statement.setLong(index++, numberPassed);
+            statement.setDouble(index++, minTransferRate);
+            statement.setDouble(index++, minTransferRate);
+            statement.setDouble(index++, maxTransferRate);
+            statement.setDouble(index++, maxTransferRate);
+            statement.setDouble(index++, sumTransferRate);
+            statement.setLong(index++, numberPassed);
+            statement.setInt(index++, checkpointSummaryId);
+        } else {
+            statement.setInt(1, numberFailed);
+            statement.setInt(2, checkpointSummaryId);
+        }
+    }
+
+    /**
+     * Find the summary of the given checkpoint, it is created when the load queue starts.
+     * If not, as it happens for the checkpoints which are not actions, it is created now
+     */
+    private int getAggregatedCheckpointSummaryId(
+                                                  int loadQueueId,
+                                                  String name,
+                                                  String transferUnit ) throws SQLException,
+                                                                        DatabaseAccessException {
+
+        String key = loadQueueId + ":" + name;
+        Integer checkpointSummaryId = aggregatedCheckpointSummaryIds.get(key);
+        if (checkpointSummaryId == null) {
+            PreparedStatement preparedStatement = null;
+            ResultSet rs = null;
+            try {
+                preparedStatement = connection.prepareStatement("SELECT checkpointSummaryId FROM "
+                                                                + getTableName("tCheckpointsSummary")
+                                                                + " WHERE loadQueueId = ? AND name = ?");
+                preparedStatement.setInt(1, loadQueueId);
+                preparedStatement.setString(2, name);
+                rs = preparedStatement.executeQuery();
+                if (rs.next()) {
+                    checkpointSummaryId = rs.getInt(1);
+                }
+            } finally {
+                DbUtils.closeResultSet(rs);
+                DbUtils.closeStatement(preparedStatement);
+            }
+
+            if (checkpointSummaryId == null) {
+                checkpointSummaryId = populateCheckpointSummary(loadQueueId, name, transferUnit, false);
+            }
+            aggregatedCheckpointSummaryIds.put(key, checkpointSummaryId);
+        }
+
+        return checkpointSummaryId;
+    }
+
+    public void updateCheckpointSummaryPercentiles(
+                                                    int loadQueueId,
+                                                    String name,
+                                                    int p50ResponseTime,
+                                                    int p90ResponseTime,
+                                                    int p95ResponseTime,
+                                                    int p99ResponseTime,
+                                                    boolean closeConnection ) throws DatabaseAccessException {
+
+        final String errMsg = "Unable to update the percentiles of checkpoint summary '" + name + "' in load queue "
+                              + loadQueueId;
+
+        PreparedStatement preparedStatement = null;
+        try {
+            refreshInternalConnection();
+
+            preparedStatement = connection.prepareStatement("UPDATE " + getTableName("tCheckpointsSummary")
+                                                            + " SET p50ResponseTime = ?, p90ResponseTime = ?,"
+                                                            + " p95ResponseTime = ?, p99ResponseTime = ?"
+                                                            + " WHERE loadQueueId = ? AND name = ?");
+            preparedStatement.setInt(1, p50ResponseTime);
+            preparedStatement.setInt(2, p90ResponseTime);
+            preparedStatement.setInt(3, p95ResponseTime);
+            preparedStatement.setInt(4, p99ResponseTime);
+            preparedStatement.setInt(5, loadQueueId);
+            preparedStatement.setString(6, name);
+
+            preparedStatement.executeUpdate();
+        } catch (Exception e) {
+            throw new DatabaseAccessException(errMsg, e);
+        } finally {
+            if (closeConnection) {
+                DbUtils.close(connection, preparedStatement);
+            } else {
+                DbUtils.closeStatement(preparedStatement);
+            }
+        }
+    }
+
     public void insertSystemStatistics(
                                         int testCaseId,
                                         String machine,
@@ -1431,6 +1753,110 @@ public void insertUserActivityStatistics(
         }
     }
 
+    public void insertSystemStatistics(
+                                        int testCaseId,
+                                        String machine,
+                                        int[] statisticIds,
+                                        float[] statisticValues,
+                                        long[] timestamps,
+                                        boolean closeConnection ) throws DatabaseAccessException {
+
+        if (statisticIds.length == 0) {
+            return;
+        }
+
+        try {
+            refreshInternalConnection();
+
+            insertStatisticsWithProcedure("sp_insert_system_statistic_by_ids", testCaseId, machine,
+                                          statisticIds, statisticValues, timestamps);
+        } catch (Exception e) {
+            String errMsg = "Unable to insert " + statisticIds.length + " system statistics for machine '"
+                            + machine + "'";
+            throw new DatabaseAccessException(errMsg, e);
+        } finally {
+            if (closeConnection) {
+                DbUtils.closeConnection(connection);
+            }
+        }
+    }
+
+    public void insertUserActivityStatistics(
+                                              int testCaseId,
+                                              String machine,
+                                              int[] statisticIds,
+                                              float[] statisticValues,
+                                              long[] timestamps,
+                                              boolean closeConnection ) throws DatabaseAccessException {
+
+        if (statisticIds.length == 0) {
+            return;
+        }
+
+        try {
+            refreshInternalConnection();
+
+            insertStatisticsWithProcedure("sp_insert_user_activity_statistic_by_ids", testCaseId, machine,
+                                          statisticIds, statisticValues, timestamps);
+        } catch (Exception e) {
+            String errMsg = "Unable to insert " + statisticIds.length + " user activity statistics for machine '"
+                            + machine + "'";
+            throw new DatabaseAccessException(errMsg, e);
+        } finally {
+            if (closeConnection) {
+                DbUtils.closeConnection(connection);
+            }
+        }
+    }
+
+    /**
+     * Insert the statistics by calling the given stored procedure once per chunk of statistics,
+     * all calls are sent in one JDBC batch
+     *
+     * @param procedureName the stored procedure accepting '_' delimited IDs and values
+     * @param testCaseId
+     * @param machine
+     * @param statisticIds
+     * @param statisticValues
+     * @param timestamps
+     * @throws SQLException
+     */
+    protected void insertStatisticsWithProcedure(
+                                                  String procedureName,
+                                                  int testCaseId,
+                                                  String machine,
+                                                  int[] statisticIds,
+                                                  float[] statisticValues,
+                                                  long[] timestamps ) throws SQLException {
+
+        CallableStatement callableStatement = null;
+        try {
+            callableStatement = connection.prepareCall("{ call " + procedureName + "(?, ?, ?, ?, ?) }");
+
+            for (StatisticsChunk chunk : StatisticsChunk.split(statisticIds, statisticValues, timestamps)) {
+                callableStatement.setInt(1, testCaseId);
+                callableStatement.setString(2, machine);
+                callableStatement.setString(3, chunk.getIds());
+                callableStatement.setString(4, chunk.getValues());
+                callableStatement.setTimestamp(5, new Timestamp(inUTC(chunk.getTimestamp())));
+                callableStatement.addBatch();
+            }
+            callableStatement.executeBatch();
+        } finally {
+            DbUtils.closeStatement(callableStatement);
+        }
+    }
+
+    /**
+     * @param tableName the table name
+     * @return the table name as it must appear in a query
+     */
+    protected String getTableName(
+                                   String tableName ) {
+
+        return tableName;
+    }
+
     public int populateCheckpointSummary( int loadQueueId, String name, String transferRateUnit,
                                           boolean closeConnection ) throws DatabaseAccessException {
 
@@ -1645,6 +2071,14 @@ public void flushCacheIfNeeded() throws DatabaseAccessException {
         dbEventsCache.flushCacheIfNeeded();
     }
 
+    public int getNumberOfCachedEvents() {
+
+        if (dbEventsCache == null) {
+            return 0;
+        }
+        return dbEventsCache.getNumberOfCachedEvents();
+    }
+
     public void runDbSanityCheck() throws DatabaseAccessException {
 
         DatabaseAccessException dbae = null;
@@ -1918,34 +2352,48 @@ protected String constructStoredProcedureArgumentsMap( String procedureName, Lis
      */
     protected class DbEventsCache {
 
-        private long maxCacheWaitTime = TimeUnit.SECONDS.toMillis(
-                AtsSystemProperties.getPropertyAsNumber(AtsSystemProperties.LOG__MAX_CACHE_EVENTS_FLUSH_TIMEOUT, 10));
-
         private long cacheBirthTime;
-        private int  maxNumberOfCachedEvents = AbstractDbAccess.DEFAULT_CHUNK_SIZE;
 
         protected Connection connection;
 
         private CallableStatement insertRunMessageStatement = null;
         private int               numberCachedRunMessages;
+        private List<Long>        runMessageNumbers         = new ArrayList<>();
 
         private CallableStatement      insertSuiteMessageStatement = null;
         private int                    numberCachedSuiteMessages;
+        private List<Long>             suiteMessageNumbers         = new ArrayList<>();
 
         private CallableStatement      insertTestcaseMessageStatement = null;
         private int                    numberCachedTestcaseMessages;
+        private List<Long>             testcaseMessageNumbers         = new ArrayList<>();
 
         private CallableStatement      insertCheckpointStatement      = null;
         private int                    numberCachedCheckpoints;
+        private List<Long>             checkpointNumbers              = new ArrayList<>();
+
+        // the summaries of the intervals with passed checkpoints and of the ones with failed checkpoints only
+        // are updated with different statements
+        private PreparedStatement      insertAggregatedCheckpointStatement   = null;
+        private PreparedStatement      updatePassedCheckpointSummaryStatement = null;
+        private PreparedStatement      updateFailedCheckpointSummaryStatement = null;
+        private int                    numberCachedAggregatedCheckpoints;
+        private List<Long>             aggregatedCheckpointNumbers    = new ArrayList<>();
 
         private SQLServerDbWriteAccess parent;
 
-        // temporary variables used for telling the user how long it takes to
+        // temporary variables used for measuring how long it takes to
         // commit the cached events
         private long                   batchStartTime;
         private int                    batchCheckpoints;
         private int                    batchMessages;
 
+        // the first error while sending the cached events, reported when the flush ends
+        private Exception              flushError;
+        // the events of the current flush which are not sent because of an error
+        private int                    batchDroppedEvents;
+        private List<Long>             unsentEventNumbers             = new ArrayList<>();
+
         public DbEventsCache( SQLServerDbWriteAccess parent ) throws DatabaseAccessException {
 
             this.parent = parent;
@@ -1960,6 +2408,7 @@ public DbEventsCache( SQLServerDbWriteAccess parent ) throws DatabaseAccessExcep
             numberCachedSuiteMessages = 0;
             numberCachedTestcaseMessages = 0;
             numberCachedCheckpoints = 0;
+            numberCachedAggregatedCheckpoints = 0;
         }
 
         public Connection getConnection() {
@@ -1970,12 +2419,13 @@ public Connection getConnection() {
         /**
          * Specify max number of events to be collected for batch mode.
          * Note that if invoked this should be done early enough before any DB insert operation
-         * Default value is {@link AbstractDbAccess#DEFAULT_CHUNK_SIZE}
+         * Default value is {@link AbstractDbAccess#DEFAULT_CHUNK_SIZE}.
+         * When the flush policy is adaptive, this is just the initial value.
          * @param maxNumberOfCachedEvents
          */
         public void setMaxNumberOfCachedEvents( int maxNumberOfCachedEvents ) {
 
-            this.maxNumberOfCachedEvents = maxNumberOfCachedEvents;
+            parent.flushPolicy.setConfiguredBatchSize(maxNumberOfCachedEvents);
         }
 
         public boolean addInsertRunMessageEventToBatch(
@@ -1987,6 +2437,7 @@ public boolean addInsertRunMessageEventToBatch(
             try {
                 this.insertRunMessageStatement.addBatch();
                 ++numberCachedRunMessages;
+                runMessageNumbers.add(parent.nextCachedEventNumber());
             } catch (Exception e) {
                 throw new DatabaseAccessException("Unable to schedule run message for batch execution", e);
             }
@@ -2005,6 +2456,7 @@ public boolean addInsertSuiteMessageEventToBatch(
             try {
                 this.insertSuiteMessageStatement.addBatch();
                 ++numberCachedSuiteMessages;
+                suiteMessageNumbers.add(parent.nextCachedEventNumber());
             } catch (Exception e) {
                 throw new DatabaseAccessException("Unable to schedule suite message for batch execution",
                                                   e);
@@ -2024,6 +2476,7 @@ public boolean addInsertTestcaseMessageEventToBatch(
             try {
                 this.insertTestcaseMessageStatement.addBatch();
                 ++numberCachedTestcaseMessages;
+                testcaseMessageNumbers.add(parent.nextCachedEventNumber());
             } catch (Exception e) {
                 throw new DatabaseAccessException("Unable to schedule testcase message for batch execution",
                                                   e);
@@ -2043,6 +2496,7 @@ protected boolean addInsertCheckpointEventToBatch(
             try {
                 this.insertCheckpointStatement.addBatch();
                 ++numberCachedCheckpoints;
+                checkpointNumbers.add(parent.nextCachedEventNumber());
             } catch (Exception e) {
                 throw new DatabaseAccessException("Unable to schedule a checkpoint for batch execution", e);
             }
@@ -2052,12 +2506,61 @@ protected boolean addInsertCheckpointEventToBatch(
             return flushCacheIfNeeded();
         }
 
+        protected boolean addInsertAggregatedCheckpointEventToBatch(
+                                                                     int checkpointSummaryId,
+                                                                     long startTimestamp,
+                                                                     long endTimestamp,
+                                                                     ResponseTimeHistogram responseTimes,
+                                                                     int numberFailed,
+                                                                     long transferSize,
+                                                                     double minTransferRate,
+                                                                     double maxTransferRate,
+                                                                     double sumTransferRate ) throws DatabaseAccessException {
+
+            try {
+                if (this.insertAggregatedCheckpointStatement == null) {
+                    this.insertAggregatedCheckpointStatement = connection.prepareStatement(parent.getInsertAggregatedCheckpointSql());
+                }
+                parent.setInsertAggregatedCheckpointParameters(this.insertAggregatedCheckpointStatement,
+                                                               checkpointSummaryId, startTimestamp, endTimestamp,
+                                                               responseTimes, numberFailed, transferSize);
+                this.insertAggregatedCheckpointStatement.addBatch();
+
+                PreparedStatement updateSummaryStatement;
+                if (responseTimes.getCount() > 0) {
+                    if (this.updatePassedCheckpointSummaryStatement == null) {
+                        this.updatePassedCheckpointSummaryStatement = connection.prepareStatement(parent.getUpdateAggregatedCheckpointSummarySql(responseTimes));
+                    }
+                    updateSummaryStatement = this.updatePassedCheckpointSummaryStatement;
+                } else {
+                    if (this.updateFailedCheckpointSummaryStatement == null) {
+                        this.updateFailedCheckpointSummaryStatement = connection.prepareStatement(parent.getUpdateAggregatedCheckpointSummarySql(responseTimes));
+                    }
+                    updateSummaryStatement = this.updateFailedCheckpointSummaryStatement;
+                }
+                parent.setUpdateAggregatedCheckpointSummaryParameters(updateSummaryStatement, checkpointSummaryId,
+                                                                      responseTimes, numberFailed, minTransferRate,
+                                                                      maxTransferRate, sumTransferRate);
+                updateSummaryStatement.addBatch();
+
+                ++numberCachedAggregatedCheckpoints;
+                aggregatedCheckpointNumbers.add(parent.nextCachedEventNumber());
+            } catch (Exception e) {
+                throw new DatabaseAccessException("Unable to schedule an aggregated checkpoint for batch execution",
+                                                  e);
+            }
+
+            updateCacheBirthtime();
+
+            return flushCacheIfNeeded();
+        }
+
         private void updateCacheBirthtime() {
 
             // if this is the first event, we have to remember the cache birth
             // time
             if (numberCachedRunMessages + numberCachedSuiteMessages + numberCachedTestcaseMessages
-                + numberCachedCheckpoints == 1) {
+                + numberCachedCheckpoints + numberCachedAggregatedCheckpoints == 1) {
                 cacheBirthTime = System.currentTimeMillis();
             }
         }
@@ -2065,46 +2568,64 @@ private void updateCacheBirthtime() {
         public void flushCache() throws DatabaseAccessException {
 
             if (numberCachedRunMessages + numberCachedSuiteMessages + numberCachedTestcaseMessages
-                + numberCachedCheckpoints == 0) {
+                + numberCachedCheckpoints + numberCachedAggregatedCheckpoints == 0) {
                 // no events in the cache
                 return;
             }
 
-            if (isMonitorEventsQueue) {
-                batchStartTime = System.currentTimeMillis();
-                batchCheckpoints = numberCachedCheckpoints;
-                batchMessages = numberCachedRunMessages + numberCachedSuiteMessages
-                                + numberCachedTestcaseMessages;
-            }
+            batchStartTime = System.currentTimeMillis();
+            batchCheckpoints = numberCachedCheckpoints + numberCachedAggregatedCheckpoints;
+            batchMessages = numberCachedRunMessages + numberCachedSuiteMessages
+                            + numberCachedTestcaseMessages;
+            batchDroppedEvents = 0;
 
             flushInsertRunMessageEvents();
             flushInsertSuiteMessageEvents();
             flushInsertTestcaseMessageEvents();
             flushInsertCheckpointEvents();
+            flushInsertAggregatedCheckpointEvents();
 
             cacheBirthTime = 0;
 
+            if (flushError != null) {
+                Exception e = flushError;
+                flushError = null;
+                List<Long> eventNumbers = new ArrayList<>(unsentEventNumbers);
+                unsentEventNumbers.clear();
+                if (parent.reportUnsentEvents && isConnectionLost(e)) {
+                    // the caller will send these events again, for example when the DB connection was lost
+                    throw new UnsentEventsException("Unable to send " + batchDroppedEvents + " of "
+                                                    + (batchCheckpoints + batchMessages)
+                                                    + " cached events to the log DB", e, eventNumbers);
+                }
+                // the error is already logged, these events are lost
+                parent.onCacheFlushFailed(batchDroppedEvents);
+                return;
+            }
+
+            long batchTime = System.currentTimeMillis() - batchStartTime;
+            parent.onCacheFlushed(batchCheckpoints + batchMessages, batchTime);
+
             if (isMonitorEventsQueue) {
                 log.getLog4jLogger()
                    .info("Flushed "
                          + batchCheckpoints + " checkpoints and " + batchMessages + " messages in "
-                         + (System.currentTimeMillis() - batchStartTime) + " ms");
+                         + batchTime + " ms. " + parent.writerMetrics);
             }
         }
 
-        private boolean flushCacheIfNeeded() throws DatabaseAccessException {
+        int getNumberOfCachedEvents() {
+
+            return numberCachedRunMessages + numberCachedSuiteMessages + numberCachedTestcaseMessages
+                   + numberCachedCheckpoints + numberCachedAggregatedCheckpoints;
+        }
 
-            boolean isTimeToFlush = false;
+        private boolean flushCacheIfNeeded() throws DatabaseAccessException {
 
             int numberEvents = numberCachedRunMessages + numberCachedSuiteMessages
-                               + numberCachedTestcaseMessages + numberCachedCheckpoints;
-            if (numberEvents > 0) {
-                if (numberEvents >= maxNumberOfCachedEvents) {
-                    isTimeToFlush = true;
-                } else if (System.currentTimeMillis() - cacheBirthTime >= maxCacheWaitTime) {
-                    isTimeToFlush = true;
-                }
-            }
+                               + numberCachedTestcaseMessages + numberCachedCheckpoints
+                               + numberCachedAggregatedCheckpoints;
+            boolean isTimeToFlush = parent.flushPolicy.isTimeToFlush(numberEvents, cacheBirthTime);
 
             if (isTimeToFlush) {
                 flushCache();
@@ -2133,6 +2654,12 @@ private void flushInsertRunMessageEvents() throws DatabaseAccessException {
                  * BatchUpdateException ) e ); }
                  */
 
+                if (flushError == null) {
+                    flushError = e;
+                }
+                batchDroppedEvents += numberCachedRunMessages;
+                unsentEventNumbers.addAll(runMessageNumbers);
+
                 // rollback the entire transaction
                 try {
                     connection.rollback();
@@ -2182,6 +2709,12 @@ private void flushInsertSuiteMessageEvents() throws DatabaseAccessException {
                  * BatchUpdateException ) e ); }
                  */
 
+                if (flushError == null) {
+                    flushError = e;
+                }
+                batchDroppedEvents += numberCachedSuiteMessages;
+                unsentEventNumbers.addAll(suiteMessageNumbers);
+
                 // rollback the entire transaction
                 try {
                     connection.rollback();
@@ -2231,6 +2764,12 @@ private void flushInsertTestcaseMessageEvents() throws DatabaseAccessException {
                  * BatchUpdateException ) e ); }
                  */
 
+                if (flushError == null) {
+                    flushError = e;
+                }
+                batchDroppedEvents += numberCachedTestcaseMessages;
+                unsentEventNumbers.addAll(testcaseMessageNumbers);
+
                 // rollback the entire transaction
                 try {
                     connection.rollback();
@@ -2280,6 +2819,12 @@ private void flushInsertCheckpointEvents() throws DatabaseAccessException {
                  * BatchUpdateException ) e ); }
                  */
 
+                if (flushError == null) {
+                    flushError = e;
+                }
+                batchDroppedEvents += numberCachedCheckpoints;
+                unsentEventNumbers.addAll(checkpointNumbers);
+
                 // rollback the entire transaction
                 try {
                     connection.rollback();
@@ -2309,16 +2854,84 @@ private void flushInsertCheckpointEvents() throws DatabaseAccessException {
             }
         }
 
+        private void flushInsertAggregatedCheckpointEvents() throws DatabaseAccessException {
+
+            if (numberCachedAggregatedCheckpoints == 0) {
+                return;
+            }
+
+            boolean gotError = false;
+            try {
+                insertAggregatedCheckpointStatement.executeBatch();
+                updateCheckpointSummaries(updatePassedCheckpointSummaryStatement);
+                updateCheckpointSummaries(updateFailedCheckpointSummaryStatement);
+
+                // data sent to the DB, commit the transaction
+                connection.commit();
+            } catch (Exception e) {
+
+                if (flushError == null) {
+                    flushError = e;
+                }
+                batchDroppedEvents += numberCachedAggregatedCheckpoints;
+                unsentEventNumbers.addAll(aggregatedCheckpointNumbers);
+
+                // rollback the entire transaction
+                try {
+                    connection.rollback();
+
+                    log.getLog4jLogger()
+                       .error(ExceptionUtils.getExceptionMsg(e,
+                                                             "Commit failed while inserting "
+                                                                + numberCachedAggregatedCheckpoints
+                                                                + " aggregated checkpoints in one transaction"));
+                } catch (Exception rollbackException) {
+                    gotError = true;
+
+                    log.getLog4jLogger()
+                       .error(ExceptionUtils.getExceptionMsg(rollbackException,
+                                                             "Commit and rollback both failed while inserting "
+                                                                                + numberCachedAggregatedCheckpoints
+                                                                                + " aggregated checkpoints in one transaction."
+                                                                                + " Following is the rollback exception ..."));
+                    rollbackException.printStackTrace();
+                }
+            } finally {
+                resetAggregatedCheckpointsCache();
+            }
+
+            if (gotError) {
+                connection = parent.refreshInternalConnection();
+            }
+        }
+
+        private void updateCheckpointSummaries(
+                                                PreparedStatement updateSummaryStatement ) throws SQLException,
+                                                                                           DatabaseAccessException {
+
+            if (updateSummaryStatement == null) {
+                return;
+            }
+
+            for (int updatedRecords : updateSummaryStatement.executeBatch()) {
+                if (updatedRecords != 1 && updatedRecords != Statement.SUCCESS_NO_INFO) {
+                    throw new DatabaseAccessException("The checkpoint summary of an aggregated checkpoint was not updated");
+                }
+            }
+        }
+
         protected void resetCache() {
 
             resetRunMessagesCache();
             resetSuiteMessagesCache();
             resetTestcaseMessagesCache();
             resetCheckpointsCache();
+            resetAggregatedCheckpointsCache();
         }
 
         private void resetRunMessagesCache() {
 
+            runMessageNumbers.clear();
             if (numberCachedRunMessages > 0) {
                 numberCachedRunMessages = 0;
                 try {
@@ -2330,6 +2943,7 @@ private void resetRunMessagesCache() {
 
         private void resetSuiteMessagesCache() {
 
+            suiteMessageNumbers.clear();
             if (numberCachedSuiteMessages > 0) {
                 numberCachedSuiteMessages = 0;
                 try {
@@ -2341,6 +2955,7 @@ private void resetSuiteMessagesCache() {
 
         private void resetTestcaseMessagesCache() {
 
+            testcaseMessageNumbers.clear();
             if (numberCachedTestcaseMessages > 0) {
                 numberCachedTestcaseMessages = 0;
                 try {
@@ -2352,6 +2967,7 @@ private void resetTestcaseMessagesCache() {
 
         private void resetCheckpointsCache() {
 
+            checkpointNumbers.clear();
             if (numberCachedCheckpoints > 0) {
                 numberCachedCheckpoints = 0;
                 try {
@@ -2361,6 +2977,18 @@ private void resetCheckpointsCache() {
             }
         }
 
+        private void resetAggregatedCheckpointsCache() {
+
+            aggregatedCheckpointNumbers.clear();
+            numberCachedAggregatedCheckpoints = 0;
+            DbUtils.closeStatement(insertAggregatedCheckpointStatement);
+            DbUtils.closeStatement(updatePassedCheckpointSummaryStatement);
+            DbUtils.closeStatement(updateFailedCheckpointSummaryStatement);
+            insertAggregatedCheckpointStatement = null;
+            updatePassedCheckpointSummaryStatement = null;
+            updateFailedCheckpointSummaryStatement = null;
+        }
+
         /*
          * NOT SURE IF WE NEED TO DO SUCH CHECKS private static void
          * processUpdateCounts( BatchUpdateException bue ) {
@@ -2569,7 +3197,7 @@ CallableStatement getInsertCheckpointStatement(
                 theStatement.setString(6, transferUnit);
                 theStatement.setInt(7, result);
 
-                theStatement.setInt(8, checkpointLogLevel.toInt());
+                theStatement.setInt(8, checkpointLogLevel.toDbValue());
                 return theStatement;
             } catch (Exception e) {
                 throw new DatabaseAccessException("Unable to set parameters for inserting a checkpoint '"
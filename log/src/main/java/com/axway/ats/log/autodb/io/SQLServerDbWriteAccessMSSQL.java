@@ -24,12 +24,11 @@
 import java.sql.Timestamp;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
-import com.axway.ats.common.systemproperties.AtsSystemProperties;
 import com.axway.ats.core.dbaccess.DbConnection;
 import com.axway.ats.core.dbaccess.DbUtils;
 import com.axway.ats.core.dbaccess.exceptions.DbException;
+import com.axway.ats.core.utils.ExceptionUtils;
 import com.axway.ats.core.utils.StringUtils;
 import com.axway.ats.log.autodb.entities.CheckpointSummary;
 import com.axway.ats.log.autodb.exceptions.DatabaseAccessException;
@@ -71,8 +70,35 @@ public void setMaxNumberOfCachedEvents( int maxNumberOfCachedEvents ) {
      */
     public void flushCache() throws DatabaseAccessException {
 
-        super.flushCache();
-        dbCheckpointsCache.flush();
+        DatabaseAccessException flushError = null;
+        try {
+            super.flushCache();
+        } catch (DatabaseAccessException e) {
+            // the checkpoints are flushed anyway
+            flushError = e;
+        }
+        try {
+            dbCheckpointsCache.flush();
+        } catch (RuntimeException e) {
+            if (flushError == null) {
+                throw e;
+            }
+            // the events which can be sent again are reported
+            log.getLog4jLogger().error(ExceptionUtils.getExceptionMsg(e, "Could not flush the cached checkpoints"));
+        }
+        if (flushError != null) {
+            throw flushError;
+        }
+    }
+
+    @Override
+    public int getNumberOfCachedEvents() {
+
+        int numberEvents = super.getNumberOfCachedEvents();
+        if (dbCheckpointsCache != null) {
+            numberEvents += dbCheckpointsCache.numberOfCachedCheckpoints;
+        }
+        return numberEvents;
     }
 
     @Override
@@ -122,12 +148,6 @@ protected class DbCheckpointsCache {
 
         private long lastInsertCheckpointTimestamp = 0;
 
-        /**
-         * the maximum amount of time that the cache will be held not flushed
-         * */
-        private long maxCacheWaitTime = TimeUnit.SECONDS.toMillis(
-                AtsSystemProperties.getPropertyAsNumber(AtsSystemProperties.LOG__MAX_CACHE_EVENTS_FLUSH_TIMEOUT, 10));
-
         /*
          * { loadQueueId -> { checkpointName -> checkpoint summary } }
          * */
@@ -148,6 +168,7 @@ public DbCheckpointsCache( Connection connection ) {
 
         public void flush() throws DatabaseAccessException {
 
+            batchStartTime = System.currentTimeMillis();
             boolean exceptionThrown = false;
             try {
                 exceptionThrown = true; // precondition to detect exception without catching it
@@ -155,15 +176,20 @@ public void flush() throws DatabaseAccessException {
                 flushCheckpointSummaries();
 
                 exceptionThrown = false; // above methods passed without throwing exception
-                if (isMonitorEventsQueue) {
-                    log.getLog4jLogger()
-                       .info("Flushed " + numberOfCachedCheckpoints + " checkpoints in "
-                             + (System.currentTimeMillis() - batchStartTime) + " ms");
+                if (numberOfCachedCheckpoints > 0) {
+                    long batchTime = System.currentTimeMillis() - batchStartTime;
+                    onCacheFlushed(numberOfCachedCheckpoints, batchTime);
+                    if (isMonitorEventsQueue) {
+                        log.getLog4jLogger()
+                           .info("Flushed " + numberOfCachedCheckpoints + " checkpoints in " + batchTime + " ms. "
+                                 + writerMetrics);
+                    }
                 }
             } finally {
                 // TODO - limit number of logged warnings
                 if (exceptionThrown) {
                     log.warn("Could not flush " + numberOfCachedCheckpoints + " checkpoints (or summaries) into DB! ");
+                    onCacheFlushFailed(numberOfCachedCheckpoints);
                 }
                 // cleanup cache
                 numberOfCachedCheckpoints = 0;
@@ -239,7 +265,7 @@ public boolean addCheckpoint( String name, long startTimestamp, long responseTim
                 updateCheckpointSummary(name, startTimestamp, responseTime, transferSize, transferUnit, result,
                                         loadQueueId);
 
-                if (numberOfCachedCheckpoints >= cacheSize || isTimeToFlush()) {
+                if (flushPolicy.isTimeToFlush(numberOfCachedCheckpoints, lastInsertCheckpointTimestamp)) {
                     // flush to DB
                     flush();
                     flushed = true;
@@ -287,15 +313,10 @@ private int getCheckpointSummaryId( int loadQueueId, String name, String transfe
             return id;
         }
 
-        private boolean isTimeToFlush() {
-
-            return (System.currentTimeMillis() - lastInsertCheckpointTimestamp) >= maxCacheWaitTime;
-        }
-
         private void doAddCheckpoint( String name, long startTimestamp, long responseTime, long transferSize,
                                       String transferUnit, int result, int loadQueueId ) {
 
-            if (SQLServerDbWriteAccess.checkpointLogLevel == CheckpointLogLevel.FULL) {
+            if (SQLServerDbWriteAccess.checkpointLogLevel != CheckpointLogLevel.SHORT) {
                 int checkpointSummaryId = checkpointSummaries.get(loadQueueId).get(name).checkpointSummaryId;
                 StringBuilder loadQueueCheckpointsInsertData = checkpointsInsertData.get(loadQueueId);
 
@@ -449,10 +470,6 @@ private void flushCheckpoints() {
                 return;
             }
 
-            if (isMonitorEventsQueue) {
-                batchStartTime = System.currentTimeMillis();
-            }
-
             SQLServerBulkCopy bulkCopy = null;
             ByteArrayInputStream sis = null;
             try {
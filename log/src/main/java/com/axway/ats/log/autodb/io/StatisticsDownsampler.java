@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.io;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.axway.ats.log.autodb.entities.Statistic;
+import com.axway.ats.log.autodb.model.StatisticHandler;
+
+/**
+ * Reduces the statistics read from the log DB to one statistic per time bucket.
+ *
+ * <p>The values of a statistic which fall in the same bucket are replaced by a single statistic
+ * at the bucket start time, with their average as value and also their min, max, sum and count.
+ * Only the current bucket of each statistic is kept in memory, so the statistics
+ * are expected to come ordered by time, the way the log DB returns them.</p>
+ */
+public class StatisticsDownsampler implements StatisticHandler {
+
+    private final long                resolution;
+    private final StatisticHandler    downstream;
+
+    // { statistic UID -> its current bucket }
+    private final Map<String, Bucket> buckets    = new LinkedHashMap<String, Bucket>();
+
+    /**
+     * @param resolution the bucket length, in the units of the statistics' timestamps
+     * @param downstream receives a statistic each time a bucket is complete
+     */
+    public StatisticsDownsampler( long resolution, StatisticHandler downstream ) {
+
+        if (resolution <= 0) {
+            throw new IllegalArgumentException("The resolution must be a positive number, but it is "
+                                               + resolution);
+        }
+        this.resolution = resolution;
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void handle( Statistic statistic ) {
+
+        // the timestamp in UTC, the way it is in the DB
+        long timestamp = statistic.getStartTimestamp() - statistic.getTimeOffset();
+        long bucketStart = Math.floorDiv(timestamp, resolution) * resolution;
+
+        String uid = statistic.getUid();
+        Bucket bucket = buckets.get(uid);
+        if (bucket != null && bucket.startTimestamp != bucketStart) {
+            downstream.handle(bucket.toStatistic());
+            bucket = null;
+        }
+        if (bucket == null) {
+            bucket = new Bucket(statistic, bucketStart);
+            buckets.put(uid, bucket);
+        }
+        bucket.add(statistic.value);
+    }
+
+    /**
+     * Pass the last buckets to the downstream handler. Must be called after the last statistic.
+     */
+    public void flush() {
+
+        for (Bucket bucket : buckets.values()) {
+            downstream.handle(bucket.toStatistic());
+        }
+        buckets.clear();
+    }
+
+    /**
+     * Downsample a list of statistics
+     *
+     * @param statistics the statistics, ordered by time
+     * @param resolution the bucket length, in the units of the statistics' timestamps
+     * @return one statistic per bucket
+     */
+    public static List<Statistic> downsample( List<Statistic> statistics, long resolution ) {
+
+        final List<Statistic> result = new ArrayList<Statistic>();
+        StatisticsDownsampler downsampler = new StatisticsDownsampler(resolution, new StatisticHandler() {
+
+            @Override
+            public void handle( Statistic statistic ) {
+
+                result.add(statistic);
+            }
+        });
+        for (Statistic statistic : statistics) {
+            downsampler.handle(statistic);
+        }
+        downsampler.flush();
+
+        return result;
+    }
+
+    private static class Bucket {
+
+        private final Statistic template;
+        private final long      startTimestamp;
+
+        private int             count;
+        private double          sum;
+        private float           min = Float.MAX_VALUE;
+        private float           max = -Float.MAX_VALUE;
+
+        Bucket( Statistic template, long startTimestamp ) {
+
+            this.template = template;
+            this.startTimestamp = startTimestamp;
+        }
+
+        void add( float value ) {
+
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        Statistic toStatistic() {
+
+            Statistic statistic = template.newInstance();
+            statistic.statisticTypeId = template.statisticTypeId;
+            statistic.setStartTimestamp(startTimestamp);
+
+            statistic.value = (float) (sum / count);
+            statistic.avgValue = statistic.value;
+            statistic.sumValue = (float) sum;
+            statistic.countValue = count;
+            statistic.minValue = min;
+            statistic.maxValue = max;
+
+            return statistic;
+        }
+    }
+}
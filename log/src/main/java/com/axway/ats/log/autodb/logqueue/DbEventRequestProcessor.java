@@ -47,6 +47,7 @@
 import com.axway.ats.log.autodb.CheckpointInfo;
 import com.axway.ats.log.autodb.DbAppenderConfiguration;
 import com.axway.ats.log.autodb.LoadQueuesState;
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
 import com.axway.ats.log.autodb.TestCaseState;
 import com.axway.ats.log.autodb.entities.Run;
 import com.axway.ats.log.autodb.entities.Testcase;
@@ -57,8 +58,10 @@
 import com.axway.ats.log.autodb.events.EndCheckpointEvent;
 import com.axway.ats.log.autodb.events.EndLoadQueueEvent;
 import com.axway.ats.log.autodb.events.EndTestCaseEvent;
+import com.axway.ats.log.autodb.events.InsertAggregatedCheckpointEvent;
 import com.axway.ats.log.autodb.events.InsertCheckpointEvent;
 import com.axway.ats.log.autodb.events.InsertMessageEvent;
+import com.axway.ats.log.autodb.events.InsertStatisticsBatchEvent;
 import com.axway.ats.log.autodb.events.InsertSystemStatisticEvent;
 import com.axway.ats.log.autodb.events.InsertUserActivityStatisticEvent;
 import com.axway.ats.log.autodb.events.JoinTestCaseEvent;
@@ -86,6 +89,7 @@
 import com.axway.ats.log.autodb.model.EventRequestProcessor;
 import com.axway.ats.log.autodb.model.EventRequestProcessorListener;
 import com.axway.ats.log.autodb.model.IDbWriteAccess;
+import com.axway.ats.log.model.CheckpointResult;
 import com.axway.ats.log.model.SystemLogLevel;
 
 public class DbEventRequestProcessor implements EventRequestProcessor {
@@ -191,6 +195,13 @@ public class DbEventRequestProcessor implements EventRequestProcessor {
      * */
     private int                           lastEndedSuiteId               = -1;
 
+    /*
+     * Becomes false if the checkpoint summary percentiles could not be saved,
+     * for example when the log DB is too old, so we do not try again.
+     * The percentile columns are added by the *_add_checkpoint_statistics.sql scripts
+     * */
+    private boolean                       saveCheckpointPercentiles      = true;
+
     /**
      * Do not use this constructor.
      * It is implemented only to be used, when a dummy db event request processor is needed to be created.
@@ -204,7 +215,7 @@ public DbEventRequestProcessor() {
     public DbEventRequestProcessor( DbAppenderConfiguration appenderConfig, Layout layout,
                                     boolean isBatchMode ) throws DatabaseAccessException {
 
-        this(appenderConfig, layout, null, isBatchMode);
+        this(appenderConfig, layout, (EventRequestProcessorListener) null, isBatchMode);
     }
 
     public DbEventRequestProcessor( DbAppenderConfiguration appenderConfig, Layout layout,
@@ -291,6 +302,30 @@ public DbEventRequestProcessor( DbAppenderConfiguration appenderConfig, Layout l
         }
     }
 
+    /**
+     * Create a processor which works with the provided DB access layer instead of connecting to a log DB.
+     * Used to test or benchmark the logging pipeline without a database.
+     *
+     * @param appenderConfig the appender configuration
+     * @param layout the layout for logging messages
+     * @param dbAccess the DB access layer
+     * @param isBatchMode whether the events are sent to the DB in batches
+     */
+    public DbEventRequestProcessor( DbAppenderConfiguration appenderConfig, Layout layout,
+                                    IDbWriteAccess dbAccess, boolean isBatchMode ) {
+
+        this.appenderConfig = appenderConfig;
+        this.isBatchMode = isBatchMode;
+        this.dbAccess = dbAccess;
+        if (appenderConfig.getChunkSize() != null) {
+            this.dbAccess.setMaxNumberOfCachedEvents(Integer.parseInt(appenderConfig.getChunkSize()));
+        }
+
+        this.eventProcessorState = new EventProcessorState();
+        this.layout = layout;
+        this.machineName = "localhost";
+    }
+
     /**
      * Set the layout for logging messages
      *
@@ -301,6 +336,49 @@ public void setLayout( Layout layout ) {
         this.layout = layout;
     }
 
+    /**
+     * Tell the DB access layer how many events wait to be processed.
+     * Used in batch mode only, to adapt how often the cached events are flushed.
+     *
+     * @param queuedEvents number of events in the queue
+     * @param queueCapacity the queue capacity
+     */
+    public void setEventsQueueOccupancy( int queuedEvents, int queueCapacity ) {
+
+        if (isBatchMode && dbAccess != null) {
+            dbAccess.setEventsQueueOccupancy(queuedEvents, queueCapacity);
+        }
+    }
+
+    public int getNumberOfCachedEvents() {
+
+        if (isBatchMode && dbAccess != null) {
+            return dbAccess.getNumberOfCachedEvents();
+        }
+        return 0;
+    }
+
+    /**
+     * Tell the DB access layer whether a flush of the cached events, failed because the DB connection is lost,
+     * is reported, so the events can be sent again. Used in batch mode only.
+     *
+     * @param reportUnsentEvents whether to report the unsent events
+     */
+    public void setReportUnsentEvents( boolean reportUnsentEvents ) {
+
+        if (isBatchMode && dbAccess != null) {
+            dbAccess.setReportUnsentEvents(reportUnsentEvents);
+        }
+    }
+
+    public long getLastCachedEventNumber() {
+
+        if (isBatchMode && dbAccess != null) {
+            return dbAccess.getLastCachedEventNumber();
+        }
+        return 0;
+    }
+
     public int getRunId() {
 
         return eventProcessorState.getRunId();
@@ -525,12 +603,18 @@ public void processEventRequest( LogEventRequest eventRequest ) throws LoggingEx
                 case INSERT_CHECKPOINT:
                     insertCheckpoint((InsertCheckpointEvent) event);
                     break;
+                case INSERT_AGGREGATED_CHECKPOINT:
+                    insertAggregatedCheckpoint((InsertAggregatedCheckpointEvent) event);
+                    break;
                 case INSERT_SYSTEM_STAT:
                     insertSystemStatistics((InsertSystemStatisticEvent) event);
                     break;
                 case INSERT_USER_ACTIVITY_STAT:
                     insertUserActivityStatistics((InsertUserActivityStatisticEvent) event);
                     break;
+                case INSERT_STATISTICS_BATCH:
+                    insertStatisticsBatch((InsertStatisticsBatchEvent) event);
+                    break;
                 case INSERT_MESSAGE:
                     InsertMessageEvent insertMessageEvent = (InsertMessageEvent) event;
                     insertMessage(eventRequest, insertMessageEvent.isEscapeHtml(),
@@ -943,6 +1027,7 @@ private void endLoadQueue( EndLoadQueueEvent endLoadQueueEvent,
 
         if (loadQueueId > 0) {
             try {
+                saveCheckpointPercentiles(loadQueueId, loadQueuesState.getResponseTimes(loadQueueId));
 
                 dbAccess.endLoadQueue(endLoadQueueEvent.getResult().toInt(), timestamp, loadQueueId, true);
             } finally {
@@ -954,6 +1039,30 @@ private void endLoadQueue( EndLoadQueueEvent endLoadQueueEvent,
         }
     }
 
+    private void saveCheckpointPercentiles( int loadQueueId, Map<String, ResponseTimeHistogram> responseTimes ) {
+
+        if (!saveCheckpointPercentiles) {
+            return;
+        }
+
+        for (Map.Entry<String, ResponseTimeHistogram> entry : responseTimes.entrySet()) {
+            ResponseTimeHistogram histogram = entry.getValue();
+            try {
+                dbAccess.updateCheckpointSummaryPercentiles(loadQueueId, entry.getKey(),
+                                                            (int) histogram.getValueAtPercentile(50),
+                                                            (int) histogram.getValueAtPercentile(90),
+                                                            (int) histogram.getValueAtPercentile(95),
+                                                            (int) histogram.getValueAtPercentile(99), true);
+            } catch (DatabaseAccessException e) {
+                // the checkpoint summaries are still there, only the percentiles are missing
+                saveCheckpointPercentiles = false;
+                log.warn("Checkpoint summary percentiles will not be saved as the log DB does not accept them: "
+                         + e.getMessage());
+                return;
+            }
+        }
+    }
+
     private void
             registerThreadWithLoadQueue( RegisterThreadWithLoadQueueEvent registerThreadWithLoadQueueEvent ) throws NoSuchLoadQueueException,
                                                                                                              ThreadAlreadyRegisteredWithLoadQueueException,
@@ -985,6 +1094,8 @@ private void startCheckpoint( StartCheckpointEvent startCheckpointEvent ) throws
                                                                                         startCheckpointEvent.getStartTimestamp(),
                                                                                         startCheckpointEvent.getTransferUnit(),
                                                                                         loadQueueId, true);
+                        // kept for the end of the checkpoint
+                        startedCheckpointInfo.setLoadQueueId(loadQueueId);
                         loadQueuesState.startCheckpoint(startedCheckpointInfo,
                                                         startCheckpointEvent.getThread());
 
@@ -1006,6 +1117,12 @@ private void endCheckpoint( EndCheckpointEvent endCheckpointEvent ) throws Loggi
                                                                                  endCheckpointEvent.getName(),
                                                                                  endCheckpointEvent.getEndTimestamp());
 
+            if (endCheckpointEvent.getResult() == CheckpointResult.PASSED) {
+                long responseTime = endCheckpointEvent.getEndTimestamp() - runningCheckpointInfo.getStartTimestamp();
+                loadQueuesState.recordResponseTime(runningCheckpointInfo.getLoadQueueId(),
+                                                   endCheckpointEvent.getName(), responseTime);
+            }
+
             final int testcaseId = eventProcessorState.getTestCaseId();
             if (!deletedTestcases.contains(testcaseId)) {
                 try {
@@ -1027,6 +1144,11 @@ private void insertCheckpoint( InsertCheckpointEvent insertCheckpointEvent ) thr
             LoadQueuesState loadQueuesState = eventProcessorState.getLoadQueuesState();
             int loadQueueId = loadQueuesState.getLoadQueueIdForThread(insertCheckpointEvent.getThread());
 
+            if (insertCheckpointEvent.getResult() == CheckpointResult.PASSED) {
+                loadQueuesState.recordResponseTime(loadQueueId, insertCheckpointEvent.getName(),
+                                                   insertCheckpointEvent.getResponseTime());
+            }
+
             final int testcaseId = eventProcessorState.getTestCaseId();
             if (!deletedTestcases.contains(testcaseId)) {
                 try {
@@ -1043,6 +1165,39 @@ private void insertCheckpoint( InsertCheckpointEvent insertCheckpointEvent ) thr
         }
     }
 
+    private void insertAggregatedCheckpoint(
+                                             InsertAggregatedCheckpointEvent insertAggregatedCheckpointEvent ) throws LoggingException {
+
+        //check if checkpoints are enabled at all
+        if (appenderConfig.getEnableCheckpoints()) {
+
+            LoadQueuesState loadQueuesState = eventProcessorState.getLoadQueuesState();
+            int loadQueueId = loadQueuesState.getLoadQueueIdForThread(insertAggregatedCheckpointEvent.getThread());
+
+            loadQueuesState.recordResponseTimes(loadQueueId, insertAggregatedCheckpointEvent.getName(),
+                                                insertAggregatedCheckpointEvent.getResponseTimes());
+
+            final int testcaseId = eventProcessorState.getTestCaseId();
+            if (!deletedTestcases.contains(testcaseId)) {
+                try {
+                    dbAccess.insertAggregatedCheckpoint(insertAggregatedCheckpointEvent.getName(),
+                                                        insertAggregatedCheckpointEvent.getStartTimestamp(),
+                                                        insertAggregatedCheckpointEvent.getEndTimestamp(),
+                                                        insertAggregatedCheckpointEvent.getResponseTimes(),
+                                                        insertAggregatedCheckpointEvent.getNumberFailed(),
+                                                        insertAggregatedCheckpointEvent.getTransferSize(),
+                                                        insertAggregatedCheckpointEvent.getMinTransferRate(),
+                                                        insertAggregatedCheckpointEvent.getMaxTransferRate(),
+                                                        insertAggregatedCheckpointEvent.getSumTransferRate(),
+                                                        insertAggregatedCheckpointEvent.getTransferUnit(),
+                                                        loadQueueId, true);
+                } catch (LoggingException e) {
+                    handleDeletedTestcase(e, testcaseId);
+                }
+            }
+        }
+    }
+
     private void
             insertSystemStatistics( InsertSystemStatisticEvent insertSystemStatEvent ) throws LoggingException {
 
@@ -1077,6 +1232,31 @@ private void insertCheckpoint( InsertCheckpointEvent insertCheckpointEvent ) thr
         }
     }
 
+    private void
+            insertStatisticsBatch( InsertStatisticsBatchEvent insertStatisticsEvent ) throws LoggingException {
+
+        final int testcaseId = eventProcessorState.getTestCaseId();
+        if (!deletedTestcases.contains(testcaseId)) {
+            try {
+                if (insertStatisticsEvent.isUserActivity()) {
+                    dbAccess.insertUserActivityStatistics(testcaseId,
+                                                          insertStatisticsEvent.getMonitoredMachine(),
+                                                          insertStatisticsEvent.getStatisticIds(),
+                                                          insertStatisticsEvent.getStatisticValues(),
+                                                          insertStatisticsEvent.getTimestamps(), true);
+                } else {
+                    dbAccess.insertSystemStatistics(testcaseId,
+                                                    insertStatisticsEvent.getMonitoredMachine(),
+                                                    insertStatisticsEvent.getStatisticIds(),
+                                                    insertStatisticsEvent.getStatisticValues(),
+                                                    insertStatisticsEvent.getTimestamps(), true);
+                }
+            } catch (LoggingException e) {
+                handleDeletedTestcase(e, testcaseId);
+            }
+        }
+    }
+
     private void insertMessage( LogEventRequest eventRequest, boolean escapeHtml,
                                 boolean isRunMessage ) throws LoggingException {
 
@@ -1151,7 +1331,14 @@ private String getLoggingMesage( LoggingEvent event ) {
         String message = layout.format(event);
         // then append the exception stack trace
         if (throwable != null) {
-            message = getExceptionMsg(throwable, message);
+            message = getExceptionMsg(getStackTraceInfo(throwable), message);
+        } else if (throwableInfo != null && throwableInfo.getThrowableStrRep() != null) {
+            // the event is read back from the events journal, only the text of the exception is available
+            StringBuilder stackTraceInfo = new StringBuilder();
+            for (String line : throwableInfo.getThrowableStrRep()) {
+                stackTraceInfo.append(line).append(System.lineSeparator());
+            }
+            message = getExceptionMsg(stackTraceInfo.toString(), message);
         }
 
         return message;
@@ -1252,22 +1439,20 @@ private int convertMsgLevel( org.apache.log4j.Level level ) {
         }
     }
 
-    private String getExceptionMsg( Throwable throwable, String usrMsg ) {
+    private String getExceptionMsg( String stackTraceInfo, String usrMsg ) {
 
         StringBuffer msg = new StringBuffer();
-        if (throwable != null) {
-            msg.append("EXCEPTION\n");
+        msg.append("EXCEPTION\n");
 
-            if (usrMsg != null && usrMsg.length() > 0) {
-                msg.append("USER message:\n\t");
-                msg.append(usrMsg);
-                msg.append("\n");
-            }
-
-            msg.append("\nCALL STACK:");
-            msg.append(getStackTraceInfo(throwable));
+        if (usrMsg != null && usrMsg.length() > 0) {
+            msg.append("USER message:\n\t");
+            msg.append(usrMsg);
+            msg.append("\n");
         }
 
+        msg.append("\nCALL STACK:");
+        msg.append(stackTraceInfo);
+
         return msg.toString();
     }
 
@@ -1280,6 +1465,11 @@ private String getStackTraceInfo( Throwable throwable ) {
         return writer.toString();
     }
 
+    public EventProcessorState getEventProcessorState() {
+
+        return eventProcessorState;
+    }
+
     public void setEventProcessorState( EventProcessorState eventProcessorState ) {
 
         this.eventProcessorState = eventProcessorState;
@@ -0,0 +1,410 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.logqueue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.spi.LoggingEvent;
+import org.apache.log4j.spi.ThrowableInformation;
+
+import com.axway.ats.log.autodb.exceptions.LoggingException;
+
+/**
+ * An append-only journal of log event requests, kept in memory-mapped files.
+ *
+ * <p>The journal consists of segment files which are written one after another.
+ * A segment file is deleted as soon as all its events are read back.</p>
+ *
+ * <p>Each event is stored as a record with the following format:
+ * <ul>
+ * <li>int - the length of the record data</li>
+ * <li>byte - the record type</li>
+ * <li>the record data - the serialized event</li>
+ * </ul>
+ * The events are kept as text, so an exception of an event is stored as its stack trace and a message object
+ * is stored as its rendered message.</p>
+ *
+ * <p>The journal is a spill buffer for the events which do not fit in memory, not a durable log. The files are
+ * not forced to the disk and are not read again by another process, so the events in the journal are lost if
+ * the process ends before they are read back.</p>
+ *
+ * <p>The journal is not thread-safe, the callers are expected to synchronize the access.</p>
+ */
+public class EventsJournal {
+
+    public static final int                  DEFAULT_SEGMENT_SIZE   = 64 * 1024 * 1024;
+
+    private static final String              SEGMENT_FILE_PREFIX    = "ats-log-journal-";
+    private static final String              SEGMENT_FILE_EXTENSION = ".dat";
+
+    private static final byte                RECORD_SERIALIZED      = 0;
+    // tells the reader to go to the next segment
+    private static final byte                RECORD_END_OF_SEGMENT  = 1;
+
+    // the size of the record length and record type
+    private static final int                 RECORD_HEADER_SIZE     = 5;
+
+    private final File                       folder;
+    private final String                     journalName;
+    private final int                        segmentSize;
+
+    private final ArrayDeque<Segment>        segments               = new ArrayDeque<Segment>();
+    private int                              nextSegmentNumber;
+
+    private int                              size;
+
+    /**
+     * @param folder the folder for the journal files
+     * @param journalName a name used in the file names
+     * @param segmentSize the size of each journal file
+     */
+    public EventsJournal( File folder, String journalName, int segmentSize ) {
+
+        this.folder = folder;
+        this.journalName = journalName;
+        this.segmentSize = segmentSize;
+
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            throw new IllegalArgumentException("Unable to create events journal folder " + folder);
+        }
+    }
+
+    /**
+     * Append an event to the end of the journal
+     *
+     * @param eventRequest the event
+     * @throws LoggingException if the event can not be serialized or the journal file can not be written
+     */
+    public void append( LogEventRequest eventRequest ) throws LoggingException {
+
+        byte[] data = serialize(eventRequest);
+
+        Segment segment = segments.peekLast();
+        if (segment == null || !segment.hasSpaceFor(data.length)) {
+            if (segment != null) {
+                segment.close();
+            }
+            // make sure a single big event always fits in a segment
+            segment = openSegment(Math.max(segmentSize, data.length + 2 * RECORD_HEADER_SIZE));
+            segments.addLast(segment);
+        }
+
+        segment.write(RECORD_SERIALIZED, data);
+        size++;
+    }
+
+    /**
+     * Insert events at the beginning of the journal, so they are read before all other events.
+     * The events are written into a new segment file which fits them exactly.
+     *
+     * @param eventRequests the events in the order they must be read
+     * @throws LoggingException if some event can not be serialized or the journal file can not be written
+     */
+    public void prepend( List<LogEventRequest> eventRequests ) throws LoggingException {
+
+        if (eventRequests.isEmpty()) {
+            return;
+        }
+
+        List<byte[]> records = new ArrayList<byte[]>(eventRequests.size());
+        int recordsSize = 0;
+        for (LogEventRequest eventRequest : eventRequests) {
+            byte[] data = serialize(eventRequest);
+            records.add(data);
+            recordsSize += RECORD_HEADER_SIZE + data.length;
+        }
+
+        Segment segment = openSegment(recordsSize + RECORD_HEADER_SIZE);
+        for (byte[] data : records) {
+            segment.write(RECORD_SERIALIZED, data);
+        }
+        segment.close();
+
+        segments.addFirst(segment);
+        size += records.size();
+    }
+
+    /**
+     * Read and remove the first event of the journal
+     *
+     * @return the event or null if the journal is empty
+     * @throws LoggingException if the journal file can not be read
+     */
+    public LogEventRequest poll() throws LoggingException {
+
+        while (size > 0) {
+            Segment segment = segments.peekFirst();
+            byte recordType = segment.readRecordType();
+            if (recordType == RECORD_END_OF_SEGMENT) {
+                // all events in this segment are read
+                segments.removeFirst();
+                segment.delete();
+                continue;
+            }
+
+            byte[] data = segment.readRecordData();
+            size--;
+            if (size == 0) {
+                // do not keep the files while the journal is not used
+                for (Segment emptySegment : segments) {
+                    emptySegment.delete();
+                }
+                segments.clear();
+            }
+            return deserialize(data);
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the number of events in the journal
+     */
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * Delete all journal files
+     */
+    public void clear() {
+
+        for (Segment segment : segments) {
+            segment.delete();
+        }
+        segments.clear();
+        size = 0;
+    }
+
+    private Segment openSegment( int newSegmentSize ) throws LoggingException {
+
+        File file = null;
+        try {
+            // a new file each time, even when another journal with the same name uses this folder
+            file = File.createTempFile(SEGMENT_FILE_PREFIX + journalName + "-" + (nextSegmentNumber++) + "-",
+                                       SEGMENT_FILE_EXTENSION, folder);
+            return new Segment(file, newSegmentSize);
+        } catch (IOException ioe) {
+            throw new LoggingException("Unable to create events journal file "
+                                       + (file != null
+                                                       ? file
+                                                       : "in " + folder),
+                                       ioe);
+        }
+    }
+
+    private byte[] serialize( LogEventRequest eventRequest ) throws LoggingException {
+
+        LoggingEvent event = eventRequest.getEvent();
+        if (event.getClass() == LoggingEvent.class && event.getThrowableInformation() == null
+            && event.getMessage() instanceof Throwable) {
+            // logging through methods like error(new Exception), keep the stack trace of the exception.
+            // For all other events the serialization keeps the rendered message and the exception stack trace
+            event = new LoggingEvent(event.getFQNOfLoggerClass(), event.getLogger(), event.getTimeStamp(),
+                                     event.getLevel(), event.getRenderedMessage(), event.getThreadName(),
+                                     new ThrowableInformation((Throwable) event.getMessage()), event.getNDC(),
+                                     event.getLocationInformation(), event.getProperties());
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+            ObjectOutputStream out = new ObjectOutputStream(bytes);
+            out.writeObject(eventRequest.getThreadName());
+            out.writeLong(eventRequest.getTimestamp());
+            out.writeObject(event);
+            out.close();
+
+            return bytes.toByteArray();
+        } catch (IOException ioe) {
+            // some events refer to objects which are not serializable
+            throw new LoggingException("Unable to write a log event into the events journal", ioe);
+        }
+    }
+
+    private LogEventRequest deserialize( byte[] data ) throws LoggingException {
+
+        try {
+            ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data));
+            String threadName = (String) in.readObject();
+            long timestamp = in.readLong();
+            LoggingEvent event = (LoggingEvent) in.readObject();
+            in.close();
+
+            return new LogEventRequest(threadName, event, timestamp);
+        } catch (Exception e) {
+            throw new LoggingException("Unable to read a log event from the events journal", e);
+        }
+    }
+
+    /**
+     * One memory-mapped journal file
+     */
+    private static class Segment {
+
+        private final File       file;
+        private MappedByteBuffer buffer;
+        private int              writePosition;
+        private int              readPosition;
+        private boolean          isClosed;
+
+        Segment( File file, int size ) throws IOException {
+
+            this.file = file;
+
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+            try {
+                randomAccessFile.setLength(size);
+                buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } finally {
+                // the mapping stays valid after the file is closed
+                randomAccessFile.close();
+            }
+        }
+
+        boolean hasSpaceFor( int recordDataSize ) {
+
+            // always leave space for the end of segment mark
+            return !isClosed && writePosition + 2 * RECORD_HEADER_SIZE + recordDataSize <= buffer.capacity();
+        }
+
+        void write( byte recordType, byte[] data ) {
+
+            buffer.putInt(writePosition, data.length);
+            buffer.put(writePosition + 4, recordType);
+            ByteBuffer dataBuffer = buffer.duplicate();
+            dataBuffer.position(writePosition + RECORD_HEADER_SIZE);
+            dataBuffer.put(data);
+            writePosition += RECORD_HEADER_SIZE + data.length;
+        }
+
+        /**
+         * No more records will be written in this segment
+         */
+        void close() {
+
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            buffer.putInt(writePosition, 0);
+            buffer.put(writePosition + 4, RECORD_END_OF_SEGMENT);
+            writePosition += RECORD_HEADER_SIZE;
+        }
+
+        byte readRecordType() {
+
+            if (readPosition >= writePosition) {
+                // can not happen while the journal is not empty
+                throw new IllegalStateException("No more records in events journal file " + file);
+            }
+            return buffer.get(readPosition + 4);
+        }
+
+        byte[] readRecordData() {
+
+            int length = buffer.getInt(readPosition);
+            byte[] data = new byte[length];
+            ByteBuffer dataBuffer = buffer.duplicate();
+            dataBuffer.position(readPosition + RECORD_HEADER_SIZE);
+            dataBuffer.get(data);
+            readPosition += RECORD_HEADER_SIZE + length;
+
+            return data;
+        }
+
+        void delete() {
+
+            // the file can not be deleted on Windows while it is mapped. The buffer must not be used after this point
+            BufferUnmapper.unmap(buffer);
+            buffer = null;
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Releases the memory mapping of a buffer right away, instead of waiting for the buffer to be garbage collected.
+     * There is no public API for this, so the JDK internal cleaner is called through reflection.
+     */
+    private static class BufferUnmapper {
+
+        // Java 9 and newer: sun.misc.Unsafe.invokeCleaner(ByteBuffer)
+        private static Object unsafe;
+        private static Method invokeCleanerMethod;
+
+        // Java 8: ((sun.nio.ch.DirectBuffer) buffer).cleaner().clean()
+        private static Method cleanMethod;
+
+        private static boolean isUnmappingSupported;
+
+        static {
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                invokeCleanerMethod = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafeField = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafeField.setAccessible(true);
+                unsafe = theUnsafeField.get(null);
+                isUnmappingSupported = true;
+            } catch (Exception e) {
+                try {
+                    cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+                    isUnmappingSupported = true;
+                } catch (Exception e2) {
+                    QueueLoggerThread.CONSOLE_LOG.warn("Unable to release the memory mapping of the events journal files."
+                                                       + " They may stay on the disk until this JVM exits");
+                }
+            }
+        }
+
+        static void unmap( MappedByteBuffer buffer ) {
+
+            if (!isUnmappingSupported) {
+                return;
+            }
+
+            try {
+                if (invokeCleanerMethod != null) {
+                    invokeCleanerMethod.invoke(unsafe, buffer);
+                } else {
+                    Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    Object cleaner = cleanerMethod.invoke(buffer);
+                    if (cleaner != null) {
+                        cleanMethod.invoke(cleaner);
+                    }
+                }
+            } catch (Exception e) {
+                // the mapping is released when the buffer is garbage collected
+            }
+        }
+    }
+}
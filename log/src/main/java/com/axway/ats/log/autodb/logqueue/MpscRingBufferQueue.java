@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.logqueue;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded lock-free queue for many producer threads and exactly one consumer thread.
+ *
+ * <p>Producers claim a slot with a single CAS on the tail counter and publish the
+ * element through a per-slot sequence number, so they never block each other on a lock.
+ * The consumer is the only thread that moves the head, which allows it to drain
+ * many elements at once without any synchronization.</p>
+ *
+ * <p>Only one thread may call the consuming methods ({@link #poll()}, {@link #take()},
+ * {@link #drainTo(Collection)} and their overloads). This matches the way the
+ * {@link QueueLoggerThread} works with the DB appenders.</p>
+ */
+public class MpscRingBufferQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    // how long a blocked producer waits before checking again for free space
+    private static final long             PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final int                     capacity;
+
+    private final AtomicReferenceArray<E> buffer;
+
+    /**
+     * For each slot keeps the position it is expected to be written (by a producer)
+     * or read (by the consumer) at
+     */
+    private final AtomicLongArray         sequences;
+
+    // next position to be claimed by a producer
+    private final AtomicLong              tail                = new AtomicLong();
+
+    // next position to be read by the consumer. Written by the consumer thread only
+    private volatile long                 head;
+
+    // the consumer thread, when it is parked waiting for new elements
+    private volatile Thread               waitingConsumer;
+
+    public MpscRingBufferQueue( int capacity ) {
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be a positive number, but it is "
+                                               + capacity);
+        }
+
+        this.capacity = capacity;
+        this.buffer = new AtomicReferenceArray<E>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    @Override
+    public boolean offer( E e ) {
+
+        if (e == null) {
+            throw new NullPointerException();
+        }
+
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position % capacity);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (capacity == 1 && position != head) {
+                    // with a single slot, a published element and a released slot have the same sequence number
+                    return false;
+                }
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer.lazySet(index, e);
+                    // publish the element to the consumer
+                    sequences.set(index, position + 1);
+
+                    Thread consumer = waitingConsumer;
+                    if (consumer != null) {
+                        LockSupport.unpark(consumer);
+                    }
+                    return true;
+                }
+            } else if (difference < 0) {
+                // the consumer has not released this slot yet, the queue is full
+                return false;
+            }
+            // else another producer claimed this position, try the next one
+        }
+    }
+
+    @Override
+    public boolean offer( E e, long timeout, TimeUnit unit ) throws InterruptedException {
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(this, Math.min(remaining, PRODUCER_PARK_NANOS));
+        }
+        return true;
+    }
+
+    @Override
+    public void put( E e ) throws InterruptedException {
+
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+        }
+    }
+
+    @Override
+    public E poll() {
+
+        long position = head;
+        int index = (int) (position % capacity);
+        if (sequences.get(index) != position + 1) {
+            // empty, or the producer of this slot has not published its element yet
+            return null;
+        }
+
+        E e = buffer.get(index);
+        buffer.lazySet(index, null);
+        // release the slot for the producers of the next round
+        sequences.lazySet(index, position + capacity);
+        head = position + 1;
+
+        return e;
+    }
+
+    @Override
+    public E poll( long timeout, TimeUnit unit ) throws InterruptedException {
+
+        return awaitNext(System.nanoTime() + unit.toNanos(timeout), true);
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+
+        return awaitNext(0, false);
+    }
+
+    private E awaitNext( long deadline, boolean isTimed ) throws InterruptedException {
+
+        E e = poll();
+        while (e == null) {
+            long remaining = 0;
+            if (isTimed) {
+                remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+            }
+
+            waitingConsumer = Thread.currentThread();
+            try {
+                // check again, a producer may have published just before we registered for a wake up
+                e = poll();
+                if (e != null) {
+                    return e;
+                }
+                if (isTimed) {
+                    LockSupport.parkNanos(this, remaining);
+                } else {
+                    LockSupport.park(this);
+                }
+            } finally {
+                waitingConsumer = null;
+            }
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            e = poll();
+        }
+
+        return e;
+    }
+
+    @Override
+    public int drainTo( Collection<? super E> c ) {
+
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo( Collection<? super E> c, int maxElements ) {
+
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+
+        int drained = 0;
+        E e;
+        while (drained < maxElements && (e = poll()) != null) {
+            c.add(e);
+            drained++;
+        }
+        return drained;
+    }
+
+    @Override
+    public E peek() {
+
+        long position = head;
+        int index = (int) (position % capacity);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        return buffer.get(index);
+    }
+
+    @Override
+    public int size() {
+
+        // read the head first, so we never see it ahead of the tail
+        long currentHead = head;
+        long size = tail.get() - currentHead;
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, capacity);
+    }
+
+    @Override
+    public int remainingCapacity() {
+
+        return capacity - size();
+    }
+
+    /**
+     * @return a weakly consistent snapshot of the currently published elements.
+     * Removing elements through the iterator is not supported.
+     */
+    @Override
+    public Iterator<E> iterator() {
+
+        List<E> snapshot = new ArrayList<E>();
+        long end = tail.get();
+        for (long position = head; position < end; position++) {
+            int index = (int) (position % capacity);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            E e = buffer.get(index);
+            if (e == null) {
+                break;
+            }
+            snapshot.add(e);
+        }
+
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+}
@@ -19,13 +19,20 @@
 
 package com.axway.ats.log.autodb.logqueue;
 
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
+
 import org.apache.log4j.spi.LoggingEvent;
 
+import com.axway.ats.common.systemproperties.AtsSystemProperties;
 import com.axway.ats.core.log.AtsConsoleLogger;
 import com.axway.ats.core.utils.ExceptionUtils;
 import com.axway.ats.log.autodb.exceptions.LoggingException;
+import com.axway.ats.log.autodb.exceptions.UnsentEventsException;
 import com.axway.ats.log.autodb.io.AbstractDbAccess;
 import com.axway.ats.log.autodb.model.AbstractLoggingEvent;
 import com.axway.ats.log.autodb.model.EventRequestProcessor;
@@ -39,25 +46,57 @@ public class QueueLoggerThread extends Thread {
     final static AtsConsoleLogger               CONSOLE_LOG                            = new AtsConsoleLogger(QueueLoggerThread.class);
     // max count of exceptions to log for "not critical" SQL exceptions
     private static final int                    MINOR_SQL_EXCEPTIONS_MAX_LOGGING_COUNT = 5;
+    // max count of events taken from the queue at once, after the first one is received
+    private static final int                    MAX_DRAINED_EVENTS                     = 1000;
+    // how long to wait for an event in batch mode, when the flush policy is adaptive
+    private static final long                   ADAPTIVE_FLUSH_POLL_TIMEOUT_MS         = 1000;
+    // how long to wait before sending again the events which failed because the DB connection was lost
+    private static final long                   MIN_RECONNECT_WAIT_MS                  = 1000;
+    private static final long                   MAX_RECONNECT_WAIT_MS                  = 30000;
     private EventRequestProcessor               eventProcessor;
     private LoggingException                    loggingException;
 
     private boolean                             isBatchMode;
 
+    // how long to wait for an event in batch mode, the cached events are flushed on timeout
+    private long                                batchModePollTimeout;
+
     private boolean                             isUnableToConnect                      = false;
 
     /**
      * The queue of events waiting to be logged into DB
      */
-    private ArrayBlockingQueue<LogEventRequest> queue;
+    private BlockingQueue<LogEventRequest>      queue;
     private int                                 minorSqlExceptionsCounter              = 0;                                            // counter for minor SQL exceptions. Used to prevent flooding of the log
 
-    public QueueLoggerThread( ArrayBlockingQueue<LogEventRequest> queue, EventRequestProcessor eventProcessor,
+    /**
+     * The processed events which are cached and not sent to the DB yet. Used when the queue
+     * can take back the events, which could not be sent because the DB connection was lost
+     */
+    private List<CachedEventRequest>            unsentEventRequests                    = new ArrayList<CachedEventRequest>();
+    private long                                reconnectWaitTime                      = 0;
+
+    /**
+     * The events taken from the queue at once and not processed yet
+     */
+    private ArrayDeque<LogEventRequest>         drainedEventRequests                   = new ArrayDeque<LogEventRequest>(MAX_DRAINED_EVENTS);
+
+    public QueueLoggerThread( BlockingQueue<LogEventRequest> queue, EventRequestProcessor eventProcessor,
                               boolean isBatchMode ) {
 
         this.queue = queue;
         this.eventProcessor = eventProcessor;
         this.isBatchMode = isBatchMode;
+        if (AtsSystemProperties.getPropertyAsBoolean(AtsSystemProperties.LOG__ADAPTIVE_FLUSH, false)) {
+            // the policy decides how long the events stay in the cache, we just check often enough
+            this.batchModePollTimeout = ADAPTIVE_FLUSH_POLL_TIMEOUT_MS;
+        } else {
+            this.batchModePollTimeout = TimeUnit.SECONDS.toMillis(AtsSystemProperties.getPropertyAsNumber(AtsSystemProperties.LOG__MAX_CACHE_EVENTS_FLUSH_TIMEOUT,
+                                                                                                          10));
+        }
+
+        // the failed events are sent again only when the queue can take them back
+        eventProcessor.setReportUnsentEvents(queue instanceof SpillingEventsQueue);
 
         // It is the user's responsibility to close appenders before
         // exiting.
@@ -73,99 +112,260 @@ public void run() {
 
         CONSOLE_LOG.info(
                          "Started logger thread named '"
-                         + getName() + "' with queue of maximum " + queue.remainingCapacity() + queue.size()
+                         + getName() + "' with " + queue.getClass().getSimpleName() + " of maximum "
+                         + (queue.remainingCapacity() + queue.size())
                          + " events. Batch mode is " + (isBatchMode
                                                                     ? "enabled"
                                                                     : "disabled"));
+
         while (true) {
             LogEventRequest logEventRequest = null;
             try {
                 if (isBatchMode) {
-                    // get the next event, wait no more than 10 seconds
-                    logEventRequest = queue.poll(10, TimeUnit.SECONDS);
+                    // get the next event, wait no more than the max time the events can stay in the cache
+                    logEventRequest = queue.poll(batchModePollTimeout, TimeUnit.MILLISECONDS);
+
+                    // let the cache know if we are behind
+                    int queuedEvents = queue.size();
+                    eventProcessor.setEventsQueueOccupancy(queuedEvents, queuedEvents + queue.remainingCapacity());
                 } else {
                     // we are not in a hurry,
                     // block until receive an event in the queue
                     logEventRequest = queue.take();
                 }
-                eventProcessor.processEventRequest(logEventRequest);
             } catch (InterruptedException ie) {
                 // NOTE: In this method we talk to the user using console only as we cannot send it to the log DB
                 CONSOLE_LOG.error(
                                   "Logging thread is interrupted and will stop logging.");
                 break;
-            } catch (Exception e) {
-                if (e instanceof LoggingException && logEventRequest != null) {
-                    LoggingException le = (LoggingException) e;
-                    LoggingEvent event = logEventRequest.getEvent();
-                    if (event instanceof AbstractLoggingEvent) {
-                        AbstractLoggingEvent dbAppenderEvent = (AbstractLoggingEvent) event;
-                        LoggingEventType eventType = dbAppenderEvent.getEventType();
-                        // If START_* log entity event do not work, we can not end it
-                        // nor we can insert into that entity its sub-entities
-
-                        // We do not remember other type of failed events, as these are the only ones we check in the main thread.
-                        // The Join Testcase event is the one that connects to the DB on the side of ATS Agent
-                        if (eventType == LoggingEventType.START_RUN
-                            || eventType == LoggingEventType.START_SUITE
-                            || eventType == LoggingEventType.START_TEST_CASE
-                            || eventType == LoggingEventType.JOIN_TEST_CASE
-                            || eventType == LoggingEventType.START_CHECKPOINT) {
-
-                            CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(le,
-                                                                             "Error running "
-                                                                                 + eventType
-                                                                                 + " event"));
-
-                            synchronized (this) {
-                                this.loggingException = le;
-                            }
-                        } else {
-                            // Other "not critical" exceptions. We limit logging of such failures as it would be too 
-                            // verbose
-                            /**
-                             * Explicitly skip error when a message can not be inserted in Log DB
-                             * or when Thread has already been registered with a load queue.
-                             * This is done, because those errors are expected in some cases when using ATS
-                             * */
-                            if (eventType != LoggingEventType.REGISTER_THREAD_WITH_LOADQUEUE
-                                && eventType != LoggingEventType.INSERT_MESSAGE) {
-                                if (minorSqlExceptionsCounter < MINOR_SQL_EXCEPTIONS_MAX_LOGGING_COUNT) {
-                                    CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(le, "Error running " + eventType
-                                                                                         + " event"));
-                                    minorSqlExceptionsCounter++;
-                                }
+            } catch (RuntimeException re) {
+                // we do not let a broken queue stop the logging
+                CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(re, "Error getting the next log event"));
+                continue;
+            }
+
+            processEventRequest(logEventRequest);
+
+            if (logEventRequest != null) {
+                // take at once all other events which are already waiting,
+                // this way we do not pay the queue hand off for each of them
+                queue.drainTo(drainedEventRequests, MAX_DRAINED_EVENTS);
+                LogEventRequest drainedEventRequest;
+                while ((drainedEventRequest = drainedEventRequests.poll()) != null) {
+                    processEventRequest(drainedEventRequest);
+                }
+            }
+        }
+    }
+
+    /**
+     * Process a single event request. Errors are only logged to the console and
+     * remembered when needed, they never break the logger thread.
+     *
+     * @param logEventRequest the request, null means the queue was idle for a while
+     */
+    protected void processEventRequest( LogEventRequest logEventRequest ) {
+
+        boolean canResendEvents = queue instanceof SpillingEventsQueue;
+        long lastCachedEventNumber = canResendEvents
+                                                     ? eventProcessor.getLastCachedEventNumber()
+                                                     : 0;
+        try {
+            eventProcessor.processEventRequest(logEventRequest);
+
+            if (canResendEvents) {
+                rememberUnsentEventRequest(logEventRequest, lastCachedEventNumber);
+            }
+        } catch (Exception e) {
+            if (canResendEvents && isConnectionLost(e)) {
+                resendEventRequests(logEventRequest, lastCachedEventNumber, e);
+            } else if (e instanceof LoggingException && logEventRequest != null) {
+                LoggingException le = (LoggingException) e;
+                LoggingEvent event = logEventRequest.getEvent();
+                if (event instanceof AbstractLoggingEvent) {
+                    AbstractLoggingEvent dbAppenderEvent = (AbstractLoggingEvent) event;
+                    LoggingEventType eventType = dbAppenderEvent.getEventType();
+                    // If START_* log entity event do not work, we can not end it
+                    // nor we can insert into that entity its sub-entities
+
+                    // We do not remember other type of failed events, as these are the only ones we check in the main thread.
+                    // The Join Testcase event is the one that connects to the DB on the side of ATS Agent
+                    if (eventType == LoggingEventType.START_RUN
+                        || eventType == LoggingEventType.START_SUITE
+                        || eventType == LoggingEventType.START_TEST_CASE
+                        || eventType == LoggingEventType.JOIN_TEST_CASE
+                        || eventType == LoggingEventType.START_CHECKPOINT) {
+
+                        CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(le,
+                                                                         "Error running "
+                                                                             + eventType
+                                                                             + " event"));
+
+                        synchronized (this) {
+                            this.loggingException = le;
+                        }
+                    } else {
+                        // Other "not critical" exceptions. We limit logging of such failures as it would be too 
+                        // verbose
+                        /**
+                         * Explicitly skip error when a message can not be inserted in Log DB
+                         * or when Thread has already been registered with a load queue.
+                         * This is done, because those errors are expected in some cases when using ATS
+                         * */
+                        if (eventType != LoggingEventType.REGISTER_THREAD_WITH_LOADQUEUE
+                            && eventType != LoggingEventType.INSERT_MESSAGE) {
+                            if (minorSqlExceptionsCounter < MINOR_SQL_EXCEPTIONS_MAX_LOGGING_COUNT) {
+                                CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(le, "Error running " + eventType
+                                                                                     + " event"));
+                                minorSqlExceptionsCounter++;
                             }
                         }
-                    } else if (le.getMessage().equalsIgnoreCase(AbstractDbAccess.UNABLE_TO_CONNECT_ERRROR)
-                               && !isUnableToConnect) {
-                        // We do not log the no connectivity problem on each failure, we do it just once.
-                        // This case is likely to happen on a remote Agent host without set DNS servers - in such
-                        // case providing FQDN in the log4j.xml makes the DB logging impossible
-                        CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(e,
-                                                                         "Error processing log event"));
-
-                        isUnableToConnect = true;
                     }
+                } else if (le.getMessage().equalsIgnoreCase(AbstractDbAccess.UNABLE_TO_CONNECT_ERRROR)
+                           && !isUnableToConnect) {
+                    // We do not log the no connectivity problem on each failure, we do it just once.
+                    // This case is likely to happen on a remote Agent host without set DNS servers - in such
+                    // case providing FQDN in the log4j.xml makes the DB logging impossible
+                    CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(e,
+                                                                     "Error processing log event"));
+
+                    isUnableToConnect = true;
+                }
+            } else {
+                // we do not let this exception break this thread, but only log it into the console
+                // we expect to get here when hit some very unusual errors
+
+                if (logEventRequest != null) {
+                    CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(e,
+                                                                     "Error processing log event "
+                                                                        + logEventRequest.getEvent()
+                                                                                         .getMessage()));
                 } else {
-                    // we do not let this exception break this thread, but only log it into the console
-                    // we expect to get here when hit some very unusual errors
-
-                    if (logEventRequest != null) {
-                        CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(e,
-                                                                         "Error processing log event "
-                                                                            + logEventRequest.getEvent()
-                                                                                             .getMessage()));
-                    } else {
-                        // The 'log event request' object is null because timed out while waiting for it from the queue.
-                        // This happens when running in batch mode.
-                        // Then we tried to flush the current events, but this was not successful, so came here.
-                        CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(e,
-                                                                         "Error processing log events in batch mode"));
-                    }
+                    // The 'log event request' object is null because timed out while waiting for it from the queue.
+                    // This happens when running in batch mode.
+                    // Then we tried to flush the current events, but this was not successful, so came here.
+                    CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(e,
+                                                                     "Error processing log events in batch mode"));
+                }
+            }
+        }
+    }
+
+    /**
+     * Keep the event if it went into the cache of the event processor, forget all kept events once the
+     * cache is sent to the DB
+     */
+    private void rememberUnsentEventRequest( LogEventRequest logEventRequest, long lastCachedEventNumberBefore ) {
+
+        if (eventProcessor.getNumberOfCachedEvents() == 0) {
+            unsentEventRequests.clear();
+            reconnectWaitTime = 0;
+        } else {
+            long lastCachedEventNumber = eventProcessor.getLastCachedEventNumber();
+            if (lastCachedEventNumber > lastCachedEventNumberBefore && logEventRequest != null) {
+                unsentEventRequests.add(new CachedEventRequest(logEventRequest, lastCachedEventNumberBefore + 1,
+                                                               lastCachedEventNumber));
+            }
+        }
+    }
+
+    /**
+     * Return to the queue the failed event and the cached events which were not sent,
+     * then give the DB some time to come back.
+     *
+     * <p>The cached events which were sent or are still in the cache are not returned.
+     * The failed event is returned when it did not go into the cache - then it was not processed at all.</p>
+     */
+    private void resendEventRequests( LogEventRequest failedEventRequest, long lastCachedEventNumberBefore,
+                                      Exception e ) {
+
+        UnsentEventsException unsentEvents = null;
+        for (Throwable cause = e; cause != null && cause.getCause() != cause; cause = cause.getCause()) {
+            if (cause instanceof UnsentEventsException) {
+                unsentEvents = (UnsentEventsException) cause;
+                break;
+            }
+        }
+
+        boolean isFailedEventCached = false;
+        if (failedEventRequest != null) {
+            long lastCachedEventNumber = eventProcessor.getLastCachedEventNumber();
+            if (lastCachedEventNumber > lastCachedEventNumberBefore) {
+                isFailedEventCached = true;
+                unsentEventRequests.add(new CachedEventRequest(failedEventRequest, lastCachedEventNumberBefore + 1,
+                                                               lastCachedEventNumber));
+            }
+        }
+
+        List<LogEventRequest> eventRequests = new ArrayList<LogEventRequest>();
+        if (unsentEvents != null) {
+            Iterator<CachedEventRequest> it = unsentEventRequests.iterator();
+            while (it.hasNext()) {
+                CachedEventRequest cachedEventRequest = it.next();
+                if (unsentEvents.isUnsent(cachedEventRequest.fromEventNumber, cachedEventRequest.toEventNumber)) {
+                    eventRequests.add(cachedEventRequest.eventRequest);
+                    it.remove();
                 }
             }
         }
+        if (failedEventRequest != null && !isFailedEventCached) {
+            eventRequests.add(failedEventRequest);
+        }
+        if (!eventRequests.isEmpty()) {
+            // the events taken from the queue after the failed one must not get in front of the returned events
+            eventRequests.addAll(drainedEventRequests);
+            drainedEventRequests.clear();
+        }
+
+        if (reconnectWaitTime == 0) {
+            CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(e, "The connection to the log DB is lost. "
+                                                                + "The events will be sent again when it is back"));
+            reconnectWaitTime = MIN_RECONNECT_WAIT_MS;
+        } else {
+            reconnectWaitTime = Math.min(2 * reconnectWaitTime, MAX_RECONNECT_WAIT_MS);
+        }
+
+        if (!eventRequests.isEmpty()) {
+            try {
+                ((SpillingEventsQueue) queue).resend(eventRequests);
+            } catch (LoggingException le) {
+                CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(le, "Unable to keep " + eventRequests.size()
+                                                                     + " events which could not be sent to the log DB. "
+                                                                     + "They are lost"));
+            }
+        }
+
+        try {
+            Thread.sleep(reconnectWaitTime);
+        } catch (InterruptedException ie) {
+            // let the main loop find out we are asked to stop
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return whether the error is caused by a lost or refused DB connection
+     */
+    static boolean isConnectionLost( Throwable error ) {
+
+        return AbstractDbAccess.isConnectionLost(error);
+    }
+
+    /**
+     * An event which went into the cache of the event processor, with the numbers of its cached events
+     */
+    private static class CachedEventRequest {
+
+        private final LogEventRequest eventRequest;
+        private final long            fromEventNumber;
+        private final long            toEventNumber;
+
+        CachedEventRequest( LogEventRequest eventRequest, long fromEventNumber, long toEventNumber ) {
+
+            this.eventRequest = eventRequest;
+            this.fromEventNumber = fromEventNumber;
+            this.toEventNumber = toEventNumber;
+        }
     }
 
     public synchronized LoggingException readLoggingException() {
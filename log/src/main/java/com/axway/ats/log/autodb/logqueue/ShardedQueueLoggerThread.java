@@ -0,0 +1,318 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.logqueue;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.log4j.Layout;
+import org.apache.log4j.spi.LoggingEvent;
+
+import com.axway.ats.core.utils.ExceptionUtils;
+import com.axway.ats.log.autodb.events.EndCheckpointEvent;
+import com.axway.ats.log.autodb.events.InsertAggregatedCheckpointEvent;
+import com.axway.ats.log.autodb.events.InsertCheckpointEvent;
+import com.axway.ats.log.autodb.events.RegisterThreadWithLoadQueueEvent;
+import com.axway.ats.log.autodb.events.StartCheckpointEvent;
+import com.axway.ats.log.autodb.exceptions.LoggingException;
+import com.axway.ats.log.autodb.model.AbstractLoggingEvent;
+import com.axway.ats.log.autodb.model.EventRequestProcessor;
+
+/**
+ * A logger thread which distributes the checkpoints, messages and statistics
+ * between a number of writer threads, each one working with its own DB connection.
+ *
+ * <p>The events are distributed according to the thread that created them,
+ * so the start and end of each checkpoint are always processed by the same writer thread in the right order.</p>
+ *
+ * <p>All other events (run, suite, testcase and load queue life cycle) are processed by this thread, but only
+ * after all writer threads are done with the events received before them.
+ * The writer threads share the state of the main event processor, so they always insert into the current testcase.</p>
+ *
+ * <p>The errors of the critical events processed by the writer threads (like starting a checkpoint)
+ * are returned by {@link #readLoggingException()} of this thread.</p>
+ *
+ * <p>Currently used on the ATS Agent side only.</p>
+ */
+public class ShardedQueueLoggerThread extends QueueLoggerThread {
+
+    private final QueueLoggerThread[]              writerThreads;
+
+    private final BlockingQueue<LogEventRequest>[] writerQueues;
+
+    private final WriterEventRequestProcessor[]    writerProcessors;
+
+    /**
+     * Keeps whether a writer thread has received any events since the last time we waited for it
+     */
+    private final boolean[]                        hasPendingEvents;
+
+    @SuppressWarnings( "unchecked")
+    public ShardedQueueLoggerThread( BlockingQueue<LogEventRequest> queue,
+                                     DbEventRequestProcessor eventProcessor,
+                                     List<DbEventRequestProcessor> writerEventProcessors,
+                                     int writerQueueCapacity,
+                                     boolean isBatchMode ) {
+
+        super(queue, eventProcessor, isBatchMode);
+
+        int writersCount = writerEventProcessors.size();
+        this.writerThreads = new QueueLoggerThread[writersCount];
+        this.writerQueues = new BlockingQueue[writersCount];
+        this.writerProcessors = new WriterEventRequestProcessor[writersCount];
+        this.hasPendingEvents = new boolean[writersCount];
+
+        for (int i = 0; i < writersCount; i++) {
+            DbEventRequestProcessor writerEventProcessor = writerEventProcessors.get(i);
+            // all writers work in the context of the current run/suite/testcase and load queues
+            writerEventProcessor.setEventProcessorState(eventProcessor.getEventProcessorState());
+
+            writerQueues[i] = new ArrayBlockingQueue<LogEventRequest>(writerQueueCapacity);
+            writerProcessors[i] = new WriterEventRequestProcessor(writerEventProcessor, isBatchMode);
+            writerThreads[i] = new QueueLoggerThread(writerQueues[i], writerProcessors[i], isBatchMode);
+            writerThreads[i].setName(getName() + "-writer-" + i);
+            writerThreads[i].setDaemon(true);
+        }
+    }
+
+    @Override
+    public void run() {
+
+        for (QueueLoggerThread writerThread : writerThreads) {
+            writerThread.start();
+        }
+
+        try {
+            super.run();
+        } finally {
+            for (QueueLoggerThread writerThread : writerThreads) {
+                writerThread.interrupt();
+            }
+        }
+    }
+
+    @Override
+    protected void processEventRequest( LogEventRequest logEventRequest ) {
+
+        if (logEventRequest == null) {
+            // batch mode timeout, the writer threads flush their own caches on their timeouts
+            super.processEventRequest(null);
+            return;
+        }
+
+        int writerIndex = getWriterIndex(logEventRequest);
+        if (writerIndex < 0) {
+            // keep the order between this event and all events received before it
+            waitForWriters();
+            super.processEventRequest(logEventRequest);
+        } else {
+            try {
+                writerQueues[writerIndex].put(logEventRequest);
+                hasPendingEvents[writerIndex] = true;
+            } catch (InterruptedException ie) {
+                // let the main loop find out we are asked to stop
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return the error of a critical event processed by this thread or by any of the writer threads,
+     * the errors of the other writer threads are returned on the next calls
+     */
+    @Override
+    public LoggingException readLoggingException() {
+
+        LoggingException loggingException = super.readLoggingException();
+        for (int i = 0; loggingException == null && i < writerThreads.length; i++) {
+            loggingException = writerThreads[i].readLoggingException();
+        }
+        return loggingException;
+    }
+
+    /**
+     * Set the layout for logging messages in all writer threads
+     *
+     * @param layout the layout
+     */
+    public void setLayout( Layout layout ) {
+
+        for (WriterEventRequestProcessor writerProcessor : writerProcessors) {
+            writerProcessor.setLayout(layout);
+        }
+    }
+
+    /**
+     * @return the index of the writer thread to process this event or -1 if it must be processed
+     * by this thread
+     */
+    private int getWriterIndex( LogEventRequest logEventRequest ) {
+
+        String threadName;
+        LoggingEvent event = logEventRequest.getEvent();
+        if (event instanceof AbstractLoggingEvent) {
+            switch ( ((AbstractLoggingEvent) event).getEventType()) {
+                case START_CHECKPOINT:
+                    threadName = ((StartCheckpointEvent) event).getThread();
+                    break;
+                case END_CHECKPOINT:
+                    threadName = ((EndCheckpointEvent) event).getThread();
+                    break;
+                case INSERT_CHECKPOINT:
+                    threadName = ((InsertCheckpointEvent) event).getThread();
+                    break;
+                case INSERT_AGGREGATED_CHECKPOINT:
+                    threadName = ((InsertAggregatedCheckpointEvent) event).getThread();
+                    break;
+                case REGISTER_THREAD_WITH_LOADQUEUE:
+                    // must go before the checkpoints of the same thread
+                    threadName = ((RegisterThreadWithLoadQueueEvent) event).getThreadName();
+                    break;
+                case INSERT_MESSAGE:
+                case INSERT_SYSTEM_STAT:
+                case INSERT_USER_ACTIVITY_STAT:
+                case INSERT_STATISTICS_BATCH:
+                    threadName = logEventRequest.getThreadName();
+                    break;
+                default:
+                    return -1;
+            }
+        } else {
+            // a regular log4j message
+            threadName = logEventRequest.getThreadName();
+        }
+
+        if (threadName == null) {
+            return -1;
+        }
+        return (threadName.hashCode() & Integer.MAX_VALUE) % writerThreads.length;
+    }
+
+    /**
+     * Wait until all writer threads process (and flush when in batch mode)
+     * the events they have received so far
+     */
+    private void waitForWriters() {
+
+        for (int i = 0; i < writerThreads.length; i++) {
+            if (!hasPendingEvents[i]) {
+                continue;
+            }
+
+            WriterBarrierRequest barrier = new WriterBarrierRequest();
+            try {
+                writerQueues[i].put(barrier);
+                barrier.await();
+                hasPendingEvents[i] = false;
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * A request which is not logged, but tells when a writer thread reaches it
+     */
+    private static class WriterBarrierRequest extends LogEventRequest {
+
+        private final CountDownLatch reachedLatch = new CountDownLatch(1);
+
+        WriterBarrierRequest() {
+
+            super(null, null, 0);
+        }
+
+        void reached() {
+
+            reachedLatch.countDown();
+        }
+
+        void await() throws InterruptedException {
+
+            reachedLatch.await();
+        }
+    }
+
+    /**
+     * Passes the events to the real event processor of a writer thread and releases
+     * the main thread when a barrier request is reached
+     */
+    private static class WriterEventRequestProcessor implements EventRequestProcessor {
+
+        private final DbEventRequestProcessor eventProcessor;
+
+        private final boolean                 isBatchMode;
+
+        WriterEventRequestProcessor( DbEventRequestProcessor eventProcessor, boolean isBatchMode ) {
+
+            this.eventProcessor = eventProcessor;
+            this.isBatchMode = isBatchMode;
+        }
+
+        @Override
+        public void processEventRequest( LogEventRequest eventRequest ) throws LoggingException {
+
+            if (eventRequest instanceof WriterBarrierRequest) {
+                try {
+                    if (isBatchMode) {
+                        // the main thread will process an event which can not be cached, so flush our cache
+                        eventProcessor.processEventRequest(null);
+                    }
+                } catch (Exception e) {
+                    CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(e,
+                                                                     "Error processing log events in batch mode"));
+                } finally {
+                    ((WriterBarrierRequest) eventRequest).reached();
+                }
+            } else {
+                eventProcessor.processEventRequest(eventRequest);
+            }
+        }
+
+        @Override
+        public void setLayout( Layout layout ) {
+
+            eventProcessor.setLayout(layout);
+        }
+
+        @Override
+        public void setEventsQueueOccupancy( int queuedEvents, int queueCapacity ) {
+
+            eventProcessor.setEventsQueueOccupancy(queuedEvents, queueCapacity);
+        }
+
+        @Override
+        public int getNumberOfCachedEvents() {
+
+            return eventProcessor.getNumberOfCachedEvents();
+        }
+
+        @Override
+        public void setReportUnsentEvents( boolean reportUnsentEvents ) {
+
+            eventProcessor.setReportUnsentEvents(reportUnsentEvents);
+        }
+
+        @Override
+        public long getLastCachedEventNumber() {
+
+            return eventProcessor.getLastCachedEventNumber();
+        }
+    }
+}
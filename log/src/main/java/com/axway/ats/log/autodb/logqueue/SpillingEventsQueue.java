@@ -0,0 +1,360 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.logqueue;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.axway.ats.core.utils.ExceptionUtils;
+import com.axway.ats.log.autodb.exceptions.LoggingException;
+
+/**
+ * An events queue which does not block the logging threads when the DB can not keep up with them.
+ *
+ * <p>The events are passed through an in-memory queue. Once it is filled up to the high-water mark,
+ * all new events are appended to an {@link EventsJournal} on the disk instead. The consumer first takes
+ * the events from the in-memory queue and then replays the journal. When the journal is empty, the events go
+ * through the in-memory queue again. This way the events of each logging thread are always received in the order they
+ * were sent.</p>
+ *
+ * <p>While the queue is not spilling and the in-memory queue is below the high-water mark, the producers add their
+ * events to memory without any lock. Otherwise they decide where an event goes and add it there while holding the
+ * journal lock, so no event of a logging thread can get in memory while there are older events of it in the journal.
+ * If the journal can not be written, the producers wait for the consumer to replay the journal and then use the
+ * in-memory queue.</p>
+ *
+ * <p>The journal is a spill buffer, not a durable log. Its files are not forced to the disk and are deleted when
+ * the appender is closed, so the events in the journal are lost if the process ends before they are sent.</p>
+ *
+ * <p>The events which could not be sent to the DB, because the connection was lost, can be returned with
+ * {@link #resend(List)}. They are received again before all other events.</p>
+ *
+ * <p>Like the other queues used by the DB appenders, it expects exactly one consumer thread.</p>
+ */
+public class SpillingEventsQueue extends AbstractQueue<LogEventRequest>
+        implements BlockingQueue<LogEventRequest> {
+
+    // how long the consumer waits on the in-memory queue before checking the journal again,
+    // also how long a producer waits before checking again whether its event can be added
+    private static final long                    MAX_CONSUMER_WAIT_MILLIS = 100;
+
+    private final BlockingQueue<LogEventRequest> memoryQueue;
+
+    private final int                            highWaterMark;
+
+    // all access to the journal is synchronized on it
+    private final EventsJournal                  journal;
+
+    // true while the journal is not empty, so the new events must go to the journal as well
+    private volatile boolean                     isSpilling;
+
+    private volatile int                         journalSize;
+
+    // the producers which are adding an event to memory without holding the journal lock
+    private final AtomicInteger                  unlockedProducers        = new AtomicInteger();
+
+    private boolean                              isJournalErrorReported;
+
+    /**
+     * @param memoryQueue the in-memory queue
+     * @param highWaterMark the number of events in the in-memory queue after which the new events go to the journal
+     * @param journal the journal
+     */
+    public SpillingEventsQueue( BlockingQueue<LogEventRequest> memoryQueue, int highWaterMark,
+                                EventsJournal journal ) {
+
+        this.memoryQueue = memoryQueue;
+        this.highWaterMark = highWaterMark;
+        this.journal = journal;
+    }
+
+    @Override
+    public boolean offer( LogEventRequest e ) {
+
+        try {
+            return enqueue(e, 0);
+        } catch (InterruptedException ie) {
+            // we do not wait at all, so this can not happen
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean offer( LogEventRequest e, long timeout, TimeUnit unit ) throws InterruptedException {
+
+        return enqueue(e, unit.toMillis(timeout));
+    }
+
+    @Override
+    public void put( LogEventRequest e ) throws InterruptedException {
+
+        enqueue(e, -1);
+    }
+
+    /**
+     * Add the event to the in-memory queue or append it to the journal
+     *
+     * @param e the event
+     * @param timeoutMillis how long to wait when the event can not be added at the moment, negative means forever
+     * @return whether the event is added
+     */
+    private boolean enqueue( LogEventRequest e, long timeoutMillis ) throws InterruptedException {
+
+        if (!isSpilling && memoryQueue.size() < highWaterMark) {
+            // the usual case - there is enough space in memory, so we do not need the lock
+            unlockedProducers.incrementAndGet();
+            try {
+                // check again, as the consumer may have started spilling the events it could not send
+                if (!isSpilling && memoryQueue.offer(e)) {
+                    return true;
+                }
+            } finally {
+                unlockedProducers.decrementAndGet();
+            }
+        }
+
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (journal) {
+            while (true) {
+                if (!isSpilling && memoryQueue.size() < highWaterMark && memoryQueue.offer(e)) {
+                    return true;
+                }
+
+                try {
+                    journal.append(e);
+                    journalSize = journal.size();
+                    isSpilling = true;
+                    return true;
+                } catch (LoggingException le) {
+                    if (!isJournalErrorReported) {
+                        QueueLoggerThread.CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(le,
+                                                                                           "Unable to write into the events journal"));
+                        isJournalErrorReported = true;
+                    }
+                }
+
+                // the event can still go in memory, as long as there are no older events in the journal
+                if (!isSpilling && memoryQueue.offer(e)) {
+                    return true;
+                }
+
+                long waitTime = MAX_CONSUMER_WAIT_MILLIS;
+                if (timeoutMillis >= 0) {
+                    waitTime = Math.min(waitTime, deadline - System.currentTimeMillis());
+                    if (waitTime <= 0) {
+                        return false;
+                    }
+                }
+                // the consumer notifies us when the journal gets empty. It does not notify when it takes
+                // events from memory, so we check again after a while
+                journal.wait(waitTime);
+            }
+        }
+    }
+
+    @Override
+    public LogEventRequest poll() {
+
+        // the events in memory are always older than the ones in the journal
+        LogEventRequest e = memoryQueue.poll();
+        if (e != null || !isSpilling) {
+            return e;
+        }
+
+        synchronized (journal) {
+            // events could have been added in memory just before the spilling started
+            e = memoryQueue.poll();
+            if (e != null) {
+                return e;
+            }
+
+            while (journal.size() > 0) {
+                try {
+                    e = journal.poll();
+                } catch (LoggingException le) {
+                    QueueLoggerThread.CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(le,
+                                                                                       "Unable to read from the events journal"));
+                    e = null;
+                } catch (RuntimeException re) {
+                    // the journal is damaged, we can not read the rest of it
+                    QueueLoggerThread.CONSOLE_LOG.error(ExceptionUtils.getExceptionMsg(re,
+                                                                                       "Unable to read from the events journal, "
+                                                                                           + journal.size()
+                                                                                           + " events are lost"));
+                    journal.clear();
+                    e = null;
+                }
+                if (e != null) {
+                    break;
+                }
+            }
+
+            journalSize = journal.size();
+            if (journalSize == 0) {
+                // the new events can go through the memory again
+                isSpilling = false;
+                journal.notifyAll();
+            }
+        }
+
+        return e;
+    }
+
+    /**
+     * Return events which were taken from this queue, but could not be sent to the DB.
+     * Expected to be called by the consumer thread only.
+     *
+     * @param eventRequests the events in the order they were taken from the queue
+     * @throws LoggingException if the events can not be written into the journal, they are lost then
+     */
+    public void resend( List<LogEventRequest> eventRequests ) throws LoggingException {
+
+        synchronized (journal) {
+            // from now on the producers add their events to the journal, after the returned ones
+            isSpilling = true;
+            // wait for the producers which have just decided to add their events to memory
+            while (unlockedProducers.get() > 0) {
+                Thread.yield();
+            }
+
+            // the events in memory are newer than the returned ones and older than the ones in the journal,
+            // so all of them go at the beginning of the journal. No event can get in memory while we hold the lock
+            List<LogEventRequest> memoryEvents = new ArrayList<LogEventRequest>(memoryQueue.size());
+            memoryQueue.drainTo(memoryEvents);
+
+            List<LogEventRequest> allEvents = new ArrayList<LogEventRequest>(eventRequests);
+            allEvents.addAll(memoryEvents);
+            try {
+                journal.prepend(allEvents);
+            } catch (LoggingException le) {
+                // they fit in memory, as they were just taken from there
+                memoryQueue.addAll(memoryEvents);
+                isSpilling = journal.size() > 0;
+                throw le;
+            }
+
+            journalSize = journal.size();
+        }
+    }
+
+    @Override
+    public LogEventRequest poll( long timeout, TimeUnit unit ) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+        while (true) {
+            LogEventRequest e = poll();
+            if (e != null) {
+                return e;
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            e = memoryQueue.poll(Math.min(remaining, MAX_CONSUMER_WAIT_MILLIS), TimeUnit.MILLISECONDS);
+            if (e != null) {
+                return e;
+            }
+        }
+    }
+
+    @Override
+    public LogEventRequest take() throws InterruptedException {
+
+        while (true) {
+            LogEventRequest e = poll();
+            if (e != null) {
+                return e;
+            }
+
+            e = memoryQueue.poll(MAX_CONSUMER_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            if (e != null) {
+                return e;
+            }
+        }
+    }
+
+    @Override
+    public int drainTo( Collection<? super LogEventRequest> c ) {
+
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo( Collection<? super LogEventRequest> c, int maxElements ) {
+
+        int drained = 0;
+        LogEventRequest e;
+        while (drained < maxElements && (e = poll()) != null) {
+            c.add(e);
+            drained++;
+        }
+        return drained;
+    }
+
+    @Override
+    public LogEventRequest peek() {
+
+        return memoryQueue.peek();
+    }
+
+    /**
+     * @return the number of events in memory and in the journal
+     */
+    @Override
+    public int size() {
+
+        return memoryQueue.size() + journalSize;
+    }
+
+    /**
+     * @return the remaining capacity of the in-memory queue. The journal is limited by the free disk space only.
+     */
+    @Override
+    public int remainingCapacity() {
+
+        return memoryQueue.remainingCapacity();
+    }
+
+    /**
+     * @return an iterator over the events in memory only
+     */
+    @Override
+    public Iterator<LogEventRequest> iterator() {
+
+        return memoryQueue.iterator();
+    }
+
+    /**
+     * Delete the journal files. Not replayed events are lost.
+     */
+    public void close() {
+
+        synchronized (journal) {
+            journal.clear();
+            journalSize = 0;
+            isSpilling = false;
+            journal.notifyAll();
+        }
+    }
+}
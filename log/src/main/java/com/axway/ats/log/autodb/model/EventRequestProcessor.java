@@ -45,4 +45,42 @@ public void processEventRequest(
     public void setLayout(
                            Layout layout );
 
+    /**
+     * Tell how many events wait to be processed. Used in batch mode only.
+     *
+     * @param queuedEvents number of events in the queue
+     * @param queueCapacity the queue capacity
+     */
+    public void setEventsQueueOccupancy( int queuedEvents, int queueCapacity );
+
+    /**
+     * Tell how many processed events are cached and not sent to the DB yet.
+     * It is always 0 when not in batch mode.
+     *
+     * @return the number of cached events
+     */
+    public int getNumberOfCachedEvents();
+
+    /**
+     * Tell whether a flush of the cached events, failed because the DB connection is lost, throws an
+     * {@link com.axway.ats.log.autodb.exceptions.UnsentEventsException}, so the events can be sent again.
+     * Used in batch mode only, does nothing by default.
+     *
+     * @param reportUnsentEvents whether to report the unsent events
+     */
+    public default void setReportUnsentEvents( boolean reportUnsentEvents ) {
+
+    }
+
+    /**
+     * Tell the number of the last cached event, the events are numbered in the order they are cached.
+     * It is always 0 when not in batch mode, as well as by default.
+     *
+     * @return the number of the last cached event
+     */
+    public default long getLastCachedEventNumber() {
+
+        return 0;
+    }
+
 }
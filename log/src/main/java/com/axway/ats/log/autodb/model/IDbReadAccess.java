@@ -152,6 +152,38 @@ public List<Statistic> getSystemStatistics(
                                                 int utcTimeOffset,
                                                 boolean dayLightSavingOn ) throws DatabaseAccessException;
 
+    /**
+     * Get the system statistics reduced to one value per time bucket, see {@link #getSystemStatistics(float, String, String, String, String, int, boolean, StatisticHandler)}.
+     * Each returned statistic has the average value of its bucket, together with the min, max, sum and count.
+     *
+     * @param resolution the bucket length in seconds
+     */
+    public List<Statistic> getSystemStatistics(
+                                                float timeOffset,
+                                                String testcaseIds,
+                                                String machineIds,
+                                                String statsTypeIds,
+                                                String whereClause,
+                                                int utcTimeOffset,
+                                                boolean dayLightSavingOn,
+                                                long resolution ) throws DatabaseAccessException;
+
+    /**
+     * Pass the system statistics to a handler one by one as they are read from the DB,
+     * instead of returning them all in a list
+     *
+     * @param handler receives the statistics
+     */
+    public void getSystemStatistics(
+                                     float timeOffset,
+                                     String testcaseIds,
+                                     String machineIds,
+                                     String statsTypeIds,
+                                     String whereClause,
+                                     int utcTimeOffset,
+                                     boolean dayLightSavingOn,
+                                     StatisticHandler handler ) throws DatabaseAccessException;
+
     public List<Statistic> getSystemStatistics( String testcaseIds,
                                                 String machineIds,
                                                 String statsTypeIds,
@@ -180,6 +212,41 @@ public List<Statistic> getCheckpointStatistics(
                                                     int utcTimeOffset,
                                                     boolean dayLightSavingOn ) throws DatabaseAccessException;
 
+    /**
+     * Get the checkpoint statistics reduced to one value per time bucket, see {@link #getCheckpointStatistics(float, String, String, String, Set, Set, int, boolean, StatisticHandler)}.
+     * Each returned statistic has the average value of its bucket, together with the min, max, sum and count.
+     *
+     * @param resolution the bucket length in seconds
+     */
+    public List<Statistic> getCheckpointStatistics(
+                                                    float timeOffset,
+                                                    String testcaseIds,
+                                                    String actionNames,
+                                                    String actionParents,
+                                                    Set<String> expectedSingleActionUIDs,
+                                                    Set<String> expectedCombinedActionUIDs,
+                                                    int utcTimeOffset,
+                                                    boolean dayLightSavingOn,
+                                                    long resolution ) throws DatabaseAccessException;
+
+    /**
+     * Pass the checkpoint statistics to a handler one by one as they are read from the DB,
+     * instead of returning them all in a list. The combined statistics are passed as they come,
+     * they are not sorted at the end.
+     *
+     * @param handler receives the statistics
+     */
+    public void getCheckpointStatistics(
+                                         float timeOffset,
+                                         String testcaseIds,
+                                         String actionNames,
+                                         String actionParents,
+                                         Set<String> expectedSingleActionUIDs,
+                                         Set<String> expectedCombinedActionUIDs,
+                                         int utcTimeOffset,
+                                         boolean dayLightSavingOn,
+                                         StatisticHandler handler ) throws DatabaseAccessException;
+
     public List<LoadQueue> getLoadQueues(
                                           String whereClause,
                                           String sortColumn,
@@ -18,7 +18,10 @@
 import java.util.List;
 
 import com.axway.ats.log.autodb.CheckpointInfo;
+import com.axway.ats.log.autodb.ResponseTimeHistogram;
+import com.axway.ats.log.autodb.StatisticsChunk;
 import com.axway.ats.log.autodb.exceptions.DatabaseAccessException;
+import com.axway.ats.log.autodb.exceptions.UnsentEventsException;
 
 public interface IDbWriteAccess {
 
@@ -178,6 +181,55 @@ public void insertCheckpointSummary( String name,
                                          String transferRateUnit, int loadQueueId,
                                          boolean closeConnection ) throws DatabaseAccessException;
 
+    /**
+     * Insert the aggregated data of all checkpoints with same name, executed in some time interval,
+     * and add it to the checkpoint summary.
+     * <p>Does nothing by default, so the aggregated checkpoints are not kept in DBs which do not support them.</p>
+     *
+     * @param name the checkpoint name
+     * @param startTimestamp the start of the interval
+     * @param endTimestamp the end of the interval
+     * @param responseTimes the response times of the passed checkpoints
+     * @param numberFailed the number of failed checkpoints
+     * @param transferSize the data transferred by the passed checkpoints
+     * @param minTransferRate the min transfer rate of a passed checkpoint
+     * @param maxTransferRate the max transfer rate of a passed checkpoint
+     * @param sumTransferRate the sum of the transfer rates of the passed checkpoints
+     * @param transferUnit the transfer unit
+     * @param loadQueueId the load queue id
+     * @param closeConnection
+     * @throws DatabaseAccessException
+     */
+    public default void insertAggregatedCheckpoint( String name, long startTimestamp, long endTimestamp,
+                                                    ResponseTimeHistogram responseTimes, int numberFailed,
+                                                    long transferSize, double minTransferRate,
+                                                    double maxTransferRate, double sumTransferRate,
+                                                    String transferUnit, int loadQueueId,
+                                                    boolean closeConnection ) throws DatabaseAccessException {
+
+    }
+
+    /**
+     * Save the response time percentiles of the passed checkpoints in a checkpoint summary.
+     * The log DB gets the percentile columns from the <i>*_add_checkpoint_statistics.sql</i> scripts.
+     * <p>Does nothing by default.</p>
+     *
+     * @param loadQueueId the load queue id
+     * @param name the checkpoint name
+     * @param p50ResponseTime the median response time
+     * @param p90ResponseTime the 90th percentile response time
+     * @param p95ResponseTime the 95th percentile response time
+     * @param p99ResponseTime the 99th percentile response time
+     * @param closeConnection
+     * @throws DatabaseAccessException
+     */
+    public default void updateCheckpointSummaryPercentiles( int loadQueueId, String name, int p50ResponseTime,
+                                                            int p90ResponseTime, int p95ResponseTime,
+                                                            int p99ResponseTime,
+                                                            boolean closeConnection ) throws DatabaseAccessException {
+
+    }
+
     public void insertSystemStatistics( int testCaseId, String machine, String statisticIds,
                                         String statisticValues, long timestamp,
                                         boolean closeConnection ) throws DatabaseAccessException;
@@ -186,6 +238,58 @@ public void insertUserActivityStatistics( int testCaseId, String machine, String
                                               String statisticValues, long timestamp,
                                               boolean closeConnection ) throws DatabaseAccessException;
 
+    /**
+     * Insert many system statistics at once.
+     * The i-th value belongs to the i-th statistic ID and timestamp.
+     * <p>By default the statistics are passed in chunks to
+     * {@link #insertSystemStatistics(int, String, String, String, long, boolean)}</p>
+     *
+     * @param testCaseId
+     * @param machine the monitored machine
+     * @param statisticIds the statistics' DB IDs
+     * @param statisticValues the statistics' values
+     * @param timestamps the statistics' timestamps
+     * @param closeConnection
+     * @throws DatabaseAccessException
+     */
+    public default void insertSystemStatistics( int testCaseId, String machine, int[] statisticIds,
+                                                float[] statisticValues, long[] timestamps,
+                                                boolean closeConnection ) throws DatabaseAccessException {
+
+        List<StatisticsChunk> chunks = StatisticsChunk.split(statisticIds, statisticValues, timestamps);
+        for (int i = 0; i < chunks.size(); i++) {
+            StatisticsChunk chunk = chunks.get(i);
+            insertSystemStatistics(testCaseId, machine, chunk.getIds(), chunk.getValues(), chunk.getTimestamp(),
+                                   closeConnection && i == chunks.size() - 1);
+        }
+    }
+
+    /**
+     * Insert many user activity statistics at once.
+     * The i-th value belongs to the i-th statistic ID and timestamp.
+     * <p>By default the statistics are passed in chunks to
+     * {@link #insertUserActivityStatistics(int, String, String, String, long, boolean)}</p>
+     *
+     * @param testCaseId
+     * @param machine the monitored machine
+     * @param statisticIds the statistics' DB IDs
+     * @param statisticValues the statistics' values
+     * @param timestamps the statistics' timestamps
+     * @param closeConnection
+     * @throws DatabaseAccessException
+     */
+    public default void insertUserActivityStatistics( int testCaseId, String machine, int[] statisticIds,
+                                                      float[] statisticValues, long[] timestamps,
+                                                      boolean closeConnection ) throws DatabaseAccessException {
+
+        List<StatisticsChunk> chunks = StatisticsChunk.split(statisticIds, statisticValues, timestamps);
+        for (int i = 0; i < chunks.size(); i++) {
+            StatisticsChunk chunk = chunks.get(i);
+            insertUserActivityStatistics(testCaseId, machine, chunk.getIds(), chunk.getValues(),
+                                         chunk.getTimestamp(), closeConnection && i == chunks.size() - 1);
+        }
+    }
+
     public int populateSystemStatisticDefinition( String name, String parentName, String internalName,
                                                   String unit, String params ) throws DatabaseAccessException;
 
@@ -221,6 +325,53 @@ public boolean isTestcasePresent(
      */
     public void flushCacheIfNeeded() throws DatabaseAccessException;
 
+    /**
+     * Tell how many events are cached and not sent to the DB yet.
+     * It is always 0 when not in batch mode, as well as by default.
+     *
+     * @return the number of cached events
+     */
+    public default int getNumberOfCachedEvents() {
+
+        return 0;
+    }
+
+    /**
+     * Expected to be called only in batch mode.
+     * Tell how many events wait in the logging queue, so the
+     * cache can adapt how often it is flushed.
+     * <p>Does nothing by default.</p>
+     *
+     * @param queuedEvents number of events in the queue
+     * @param queueCapacity the queue capacity
+     */
+    public default void setEventsQueueOccupancy( int queuedEvents, int queueCapacity ) {
+
+    }
+
+    /**
+     * Expected to be called only in batch mode.
+     * Tell whether a flush of the cached events, failed because the DB connection is lost, throws an
+     * {@link UnsentEventsException}, so the caller can send these events again. Otherwise the error is only logged.
+     * <p>Does nothing by default.</p>
+     *
+     * @param reportUnsentEvents whether to report the unsent events
+     */
+    public default void setReportUnsentEvents( boolean reportUnsentEvents ) {
+
+    }
+
+    /**
+     * The cached events are numbered in the order they are cached, starting from 1.
+     * It is always 0 when not in batch mode, as well as by default.
+     *
+     * @return the number of the last cached event
+     */
+    public default long getLastCachedEventNumber() {
+
+        return 0;
+    }
+
     public void runDbSanityCheck() throws DatabaseAccessException;
 
 }
@@ -169,6 +169,11 @@ public enum LoggingEventType {
      */
     INSERT_CHECKPOINT,
 
+    /**
+     * Insert the aggregated data of many checkpoints with same name
+     */
+    INSERT_AGGREGATED_CHECKPOINT,
+
     /**
      * Set the checkpoint log level
      */
@@ -184,6 +189,11 @@ public enum LoggingEventType {
      */
     INSERT_USER_ACTIVITY_STAT,
 
+    /**
+     * Insert many system or user activity statistics at once
+     */
+    INSERT_STATISTICS_BATCH,
+
     /**
      *
      */
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.model;
+
+import com.axway.ats.log.autodb.entities.Statistic;
+
+/**
+ * Receives the statistics read from the log DB one by one,
+ * so they do not have to be all kept in memory.
+ */
+public interface StatisticHandler {
+
+    /**
+     * This method will be called for each statistic
+     *
+     * @param statistic the statistic
+     */
+    public void handle( Statistic statistic );
+}
@@ -20,7 +20,15 @@
  */
 public enum CheckpointLogLevel {
 
-    SHORT(0), FULL(1);
+    SHORT(0), FULL(1),
+    /**
+     * Like {@link #FULL}, but the checkpoints of the ATS Agent load queues are collected
+     * and sent to the DB once per interval as one aggregated row per checkpoint name.
+     * <br>
+     * The aggregated rows are kept in table tCheckpointsAggregated, which is added to the log DB by the
+     * scripts in the <i>com/axway/ats/log/autodb/schema</i> folder of the ATS log library
+     */
+    AGGREGATED(2);
 
     private int value;
 
@@ -33,4 +41,17 @@ public int toInt() {
 
         return value;
     }
+
+    /**
+     * The log DB stored procedures know only {@link #SHORT} and {@link #FULL}.
+     * For them {@link #AGGREGATED} is {@link #FULL}, as the checkpoints which are not aggregated are all logged.
+     *
+     * @return the value passed to the log DB stored procedures
+     */
+    public int toDbValue() {
+
+        return this == AGGREGATED
+                                  ? FULL.value
+                                  : value;
+    }
 }
@@ -0,0 +1,38 @@
+-- Adds the checkpoint statistics used by the ATS log library to an existing ATS log DB on Microsoft SQL Server.
+-- The script can be run more than once.
+
+-- the response time percentiles of the checkpoint summaries, saved when a load queue ends
+IF COL_LENGTH('tCheckpointsSummary', 'p50ResponseTime') IS NULL
+BEGIN
+    ALTER TABLE tCheckpointsSummary ADD
+        p50ResponseTime         INT          NULL,
+        p90ResponseTime         INT          NULL,
+        p95ResponseTime         INT          NULL,
+        p99ResponseTime         INT          NULL
+END
+GO
+
+-- the checkpoints of ATS Agent load queues aggregated per interval, used with the AGGREGATED checkpoint log level
+IF OBJECT_ID('tCheckpointsAggregated', 'U') IS NULL
+BEGIN
+    CREATE TABLE tCheckpointsAggregated (
+        checkpointAggregatedId  BIGINT IDENTITY(1,1) NOT NULL,
+        checkpointSummaryId     INT          NOT NULL,
+        startTime               DATETIME     NOT NULL,
+        endTime                 DATETIME     NOT NULL,
+        numPassed               BIGINT       NOT NULL,
+        numFailed               INT          NOT NULL,
+        minResponseTime         BIGINT       NOT NULL,
+        maxResponseTime         BIGINT       NOT NULL,
+        sumResponseTime         BIGINT       NOT NULL,
+        transferSize            BIGINT       NOT NULL,
+        -- the histogram of the response times of the passed checkpoints
+        responseTimes           VARCHAR(MAX) NOT NULL,
+        CONSTRAINT PK_tCheckpointsAggregated PRIMARY KEY CLUSTERED (checkpointAggregatedId),
+        CONSTRAINT FK_tCheckpointsAggregated_tCheckpointsSummary FOREIGN KEY (checkpointSummaryId)
+            REFERENCES tCheckpointsSummary (checkpointSummaryId) ON DELETE CASCADE
+    )
+
+    CREATE INDEX IX_tCheckpointsAggregated_checkpointSummaryId ON tCheckpointsAggregated (checkpointSummaryId, startTime)
+END
+GO
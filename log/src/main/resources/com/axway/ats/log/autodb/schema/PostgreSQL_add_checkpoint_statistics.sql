@@ -0,0 +1,27 @@
+-- Adds the checkpoint statistics used by the ATS log library to an existing ATS log DB on PostgreSQL.
+-- The script can be run more than once.
+
+-- the response time percentiles of the checkpoint summaries, saved when a load queue ends
+ALTER TABLE "tCheckpointsSummary"
+    ADD COLUMN IF NOT EXISTS p50ResponseTime INTEGER,
+    ADD COLUMN IF NOT EXISTS p90ResponseTime INTEGER,
+    ADD COLUMN IF NOT EXISTS p95ResponseTime INTEGER,
+    ADD COLUMN IF NOT EXISTS p99ResponseTime INTEGER;
+
+-- the checkpoints of ATS Agent load queues aggregated per interval, used with the AGGREGATED checkpoint log level
+CREATE TABLE IF NOT EXISTS "tCheckpointsAggregated" (
+    checkpointAggregatedId  BIGSERIAL PRIMARY KEY,
+    checkpointSummaryId     INTEGER   NOT NULL REFERENCES "tCheckpointsSummary" (checkpointSummaryId) ON DELETE CASCADE,
+    startTime               TIMESTAMP NOT NULL,
+    endTime                 TIMESTAMP NOT NULL,
+    numPassed               BIGINT    NOT NULL,
+    numFailed               INTEGER   NOT NULL,
+    minResponseTime         BIGINT    NOT NULL,
+    maxResponseTime         BIGINT    NOT NULL,
+    sumResponseTime         BIGINT    NOT NULL,
+    transferSize            BIGINT    NOT NULL,
+    -- the histogram of the response times of the passed checkpoints
+    responseTimes           TEXT      NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS "IX_tCheckpointsAggregated_checkpointSummaryId" ON "tCheckpointsAggregated" (checkpointSummaryId, startTime);
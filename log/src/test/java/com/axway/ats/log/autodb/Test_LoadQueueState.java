@@ -18,6 +18,9 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -114,6 +117,26 @@ public void registerThreadWithLoadQueuePositive() throws LoggingException {
         assertEquals(loadQueueState.getLoadQueueIdForThread("thread-14002"), 123);
     }
 
+    @Test
+    public void loadQueueIdForThreadAfterRemovingLoadQueue() throws LoggingException {
+
+        loadQueueState.addLoadQueue("load queue 1", 123);
+        loadQueueState.addLoadQueue("load queue 2", 124);
+        loadQueueState.registerThreadWithLoadQueue(NAME_THREAD_14000, 124);
+        loadQueueState.registerThreadWithLoadQueue(NAME_THREAD_14000, 123);
+        loadQueueState.registerThreadWithLoadQueue("thread-14001", 123);
+
+        // the load queue with the lowest id wins
+        assertEquals(123, loadQueueState.getLoadQueueIdForThread(NAME_THREAD_14000));
+
+        loadQueueState.removeLoadQueue("load queue 1", 123);
+        assertEquals(124, loadQueueState.getLoadQueueIdForThread(NAME_THREAD_14000));
+        try {
+            loadQueueState.getLoadQueueIdForThread("thread-14001");
+            fail();
+        } catch (ThreadNotRegisteredWithLoadQueue e) {}
+    }
+
     @Test( expected = NoSuchLoadQueueException.class)
     public void registerThreadWithLoadQueueNegativeNoSuchLoadQueue() throws LoggingException {
 
@@ -216,4 +239,24 @@ public void clearAllPositive() throws LoggingException {
         loadQueueState.clearAll();
         assertFalse(loadQueueState.isLoadQueueRunning("load queue 1"));
     }
+
+    @Test
+    public void responseTimesPerCheckpoint() throws LoggingException {
+
+        loadQueueState.addLoadQueue("load queue 1", 123);
+        for (int i = 1; i <= 100; i++) {
+            loadQueueState.recordResponseTime(123, "checkpoint 1", i);
+        }
+        loadQueueState.recordResponseTime(123, "checkpoint 2", 5);
+
+        Map<String, ResponseTimeHistogram> responseTimes = loadQueueState.getResponseTimes(123);
+        assertEquals(2, responseTimes.size());
+        assertEquals(100, responseTimes.get("checkpoint 1").getCount());
+        assertEquals(1, responseTimes.get("checkpoint 2").getCount());
+        assertEquals(5, responseTimes.get("checkpoint 2").getValueAtPercentile(99));
+
+        // the queue is over, its response times are forgotten
+        loadQueueState.removeLoadQueue("load queue 1", 123);
+        assertTrue(loadQueueState.getResponseTimes(123).isEmpty());
+    }
 }
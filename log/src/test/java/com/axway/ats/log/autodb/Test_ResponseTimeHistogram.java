@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class Test_ResponseTimeHistogram {
+
+    @Test
+    public void emptyHistogram() {
+
+        ResponseTimeHistogram histogram = new ResponseTimeHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+
+        ResponseTimeHistogram histogram = new ResponseTimeHistogram();
+        for (int i = 1; i <= 20; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(20, histogram.getCount());
+        assertEquals(210, histogram.getSum());
+        assertEquals(1, histogram.getMin());
+        assertEquals(20, histogram.getMax());
+        assertEquals(10, histogram.getValueAtPercentile(50));
+        assertEquals(19, histogram.getValueAtPercentile(95));
+        assertEquals(20, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void bigValuesAreApproximated() {
+
+        ResponseTimeHistogram histogram = new ResponseTimeHistogram();
+        for (int i = 1; i <= 100000; i++) {
+            histogram.record(i);
+        }
+
+        assertPercentile(histogram, 50, 50000);
+        assertPercentile(histogram, 90, 90000);
+        assertPercentile(histogram, 99, 99000);
+        assertEquals(100000, histogram.getMax());
+    }
+
+    @Test
+    public void merge() {
+
+        ResponseTimeHistogram first = new ResponseTimeHistogram();
+        ResponseTimeHistogram second = new ResponseTimeHistogram();
+        for (int i = 1; i <= 500; i++) {
+            first.record(i);
+            second.record(i + 500);
+        }
+
+        first.merge(second);
+        assertEquals(1000, first.getCount());
+        assertEquals(1, first.getMin());
+        assertEquals(1000, first.getMax());
+        assertPercentile(first, 50, 500);
+
+        first.reset();
+        assertEquals(0, first.getCount());
+        assertEquals(500, second.getCount());
+    }
+
+    @Test
+    public void compactString() {
+
+        ResponseTimeHistogram histogram = new ResponseTimeHistogram();
+        for (int i = 1; i <= 5000; i += 7) {
+            histogram.record(i);
+        }
+
+        ResponseTimeHistogram restored = ResponseTimeHistogram.fromCompactString(histogram.toCompactString());
+        assertEquals(histogram.getCount(), restored.getCount());
+        assertEquals(histogram.getSum(), restored.getSum());
+        assertEquals(histogram.getMin(), restored.getMin());
+        assertEquals(histogram.getMax(), restored.getMax());
+        for (double percentile : new double[]{ 1, 50, 90, 99, 99.9 }) {
+            assertEquals(histogram.getValueAtPercentile(percentile), restored.getValueAtPercentile(percentile));
+        }
+        assertEquals(histogram.toCompactString(), restored.toCompactString());
+    }
+
+    @Test
+    public void compactStringOfEmptyHistogram() {
+
+        ResponseTimeHistogram restored = ResponseTimeHistogram.fromCompactString(new ResponseTimeHistogram().toCompactString());
+        assertEquals(0, restored.getCount());
+        assertEquals(0, restored.getMin());
+        assertEquals(0, restored.getMax());
+
+        // new values are recorded as usual
+        restored.record(10);
+        assertEquals(10, restored.getMin());
+        assertEquals(10, restored.getMax());
+    }
+
+    @Test( expected = IllegalArgumentException.class)
+    public void invalidCompactString() {
+
+        ResponseTimeHistogram.fromCompactString("1,2,3");
+    }
+
+    private void assertPercentile( ResponseTimeHistogram histogram, double percentile, long expected ) {
+
+        long actual = histogram.getValueAtPercentile(percentile);
+        assertTrue("Value at percentile " + percentile + " is " + actual + ", expected about " + expected,
+                   Math.abs(actual - expected) <= expected * 0.07);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class Test_StatisticsChunk {
+
+    @Test
+    public void oneChunkPerTimestamp() {
+
+        List<StatisticsChunk> chunks = StatisticsChunk.split(new int[]{ 1, 2, 3 },
+                                                             new float[]{ 1.5f, 2, 3 },
+                                                             new long[]{ 1000, 1000, 2000 });
+
+        assertEquals(2, chunks.size());
+        assertEquals("1_2", chunks.get(0).getIds());
+        assertEquals("1.5_2.0", chunks.get(0).getValues());
+        assertEquals(1000, chunks.get(0).getTimestamp());
+        assertEquals("3", chunks.get(1).getIds());
+        assertEquals("3.0", chunks.get(1).getValues());
+        assertEquals(2000, chunks.get(1).getTimestamp());
+    }
+
+    @Test
+    public void longTimestampIsSplit() {
+
+        int numberStatistics = 1000;
+        int[] ids = new int[numberStatistics];
+        float[] values = new float[numberStatistics];
+        long[] timestamps = new long[numberStatistics];
+        for (int i = 0; i < numberStatistics; i++) {
+            ids[i] = 1000 + i;
+            values[i] = i;
+            timestamps[i] = 1000;
+        }
+
+        List<StatisticsChunk> chunks = StatisticsChunk.split(ids, values, timestamps);
+
+        assertTrue(chunks.size() > 1);
+        int numberChunkedStatistics = 0;
+        for (StatisticsChunk chunk : chunks) {
+            // the limit may be passed by the last added statistic only
+            assertTrue(chunk.getIds().length() <= StatisticsChunk.MAX_LENGTH_STATISTIC_IDS + 4);
+            assertEquals(1000, chunk.getTimestamp());
+            numberChunkedStatistics += chunk.getIds().split("_").length;
+        }
+        assertEquals(numberStatistics, numberChunkedStatistics);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class Test_AdaptiveFlushPolicy {
+
+    @Test
+    public void notAdaptive() {
+
+        AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(false, 1000, 10000);
+        policy.setConfiguredBatchSize(100);
+
+        policy.setQueueOccupancy(90, 100);
+        policy.onFlush(100, 5000);
+        assertEquals(100, policy.getBatchSize());
+        assertEquals(10000, policy.getMaxCacheWaitTime());
+
+        assertFalse(policy.isTimeToFlush(0, 0));
+        assertFalse(policy.isTimeToFlush(99, System.currentTimeMillis()));
+        assertTrue(policy.isTimeToFlush(100, System.currentTimeMillis()));
+        assertTrue(policy.isTimeToFlush(1, System.currentTimeMillis() - 10000));
+    }
+
+    @Test
+    public void biggerBatchesWhenBehind() {
+
+        AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(true, 1000, 10000);
+        policy.setConfiguredBatchSize(100);
+
+        policy.setQueueOccupancy(80, 100);
+        assertEquals(200, policy.getBatchSize());
+        policy.setQueueOccupancy(80, 100);
+        assertEquals(400, policy.getBatchSize());
+
+        // never more than 10 times the configured size
+        for (int i = 0; i < 10; i++) {
+            policy.setQueueOccupancy(100, 100);
+        }
+        assertEquals(1000, policy.getBatchSize());
+        assertEquals(10000, policy.getMaxCacheWaitTime());
+    }
+
+    @Test
+    public void smallerBatchesWhenIdle() {
+
+        AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(true, 1000, 10000);
+        policy.setConfiguredBatchSize(100);
+
+        policy.setQueueOccupancy(0, 100);
+        assertEquals(50, policy.getBatchSize());
+        assertEquals(1000, policy.getMaxCacheWaitTime());
+
+        // never less than 1/10 of the configured size
+        for (int i = 0; i < 10; i++) {
+            policy.setQueueOccupancy(0, 100);
+        }
+        assertEquals(10, policy.getBatchSize());
+    }
+
+    @Test
+    public void batchSizeFollowsFlushTime() {
+
+        AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(true, 1000, 10000);
+        policy.setConfiguredBatchSize(100);
+        policy.setQueueOccupancy(30, 100);
+
+        // 4 ms per event, so 250 events can be flushed for 1 second
+        policy.onFlush(100, 400);
+        assertEquals(250, policy.getBatchSize());
+
+        // flushes get slower, 20 ms per event in average
+        for (int i = 0; i < 50; i++) {
+            policy.onFlush(100, 2000);
+        }
+        assertEquals(50, policy.getBatchSize());
+    }
+}
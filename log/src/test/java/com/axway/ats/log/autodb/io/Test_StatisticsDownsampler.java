@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.axway.ats.log.autodb.entities.Statistic;
+
+public class Test_StatisticsDownsampler {
+
+    @Test
+    public void oneStatisticPerBucket() {
+
+        List<Statistic> statistics = new ArrayList<Statistic>();
+        statistics.add(newStatistic("CPU", 100, 10));
+        statistics.add(newStatistic("CPU", 105, 20));
+        statistics.add(newStatistic("CPU", 109, 60));
+        statistics.add(newStatistic("CPU", 110, 5));
+
+        List<Statistic> downsampled = StatisticsDownsampler.downsample(statistics, 10);
+        assertEquals(2, downsampled.size());
+
+        Statistic first = downsampled.get(0);
+        assertEquals(100, first.getStartTimestamp());
+        assertEquals(30, first.value, 0.001);
+        assertEquals(10, first.minValue, 0.001);
+        assertEquals(60, first.maxValue, 0.001);
+        assertEquals(90, first.sumValue, 0.001);
+        assertEquals(3, first.countValue, 0.001);
+        assertEquals(7, first.statisticTypeId);
+
+        Statistic second = downsampled.get(1);
+        assertEquals(110, second.getStartTimestamp());
+        assertEquals(5, second.value, 0.001);
+        assertEquals(1, second.countValue, 0.001);
+    }
+
+    @Test
+    public void statisticsAreNotMixed() {
+
+        List<Statistic> statistics = new ArrayList<Statistic>();
+        statistics.add(newStatistic("CPU", 100, 10));
+        statistics.add(newStatistic("Memory", 101, 1000));
+        statistics.add(newStatistic("CPU", 102, 20));
+        statistics.add(newStatistic("Memory", 103, 3000));
+
+        List<Statistic> downsampled = StatisticsDownsampler.downsample(statistics, 60);
+        assertEquals(2, downsampled.size());
+        assertEquals("CPU", downsampled.get(0).name);
+        assertEquals(15, downsampled.get(0).value, 0.001);
+        assertEquals("Memory", downsampled.get(1).name);
+        assertEquals(2000, downsampled.get(1).value, 0.001);
+    }
+
+    @Test( expected = IllegalArgumentException.class)
+    public void badResolution() {
+
+        StatisticsDownsampler.downsample(new ArrayList<Statistic>(), 0);
+    }
+
+    private Statistic newStatistic( String name, long timestamp, float value ) {
+
+        Statistic statistic = new Statistic();
+        statistic.statisticTypeId = 7;
+        statistic.name = name;
+        statistic.parentName = "system";
+        statistic.setStartTimestamp(timestamp);
+        statistic.value = value;
+        return statistic;
+    }
+}
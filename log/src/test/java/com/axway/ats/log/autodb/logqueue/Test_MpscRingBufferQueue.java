@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.logqueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class Test_MpscRingBufferQueue {
+
+    @Test
+    public void offerAndPollInOrder() {
+
+        MpscRingBufferQueue<Integer> queue = new MpscRingBufferQueue<Integer>(3);
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertTrue(queue.offer(3));
+        assertFalse(queue.offer(4));
+        assertEquals(3, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+
+        assertEquals(Integer.valueOf(1), queue.poll());
+        assertTrue(queue.offer(4));
+        assertEquals(Integer.valueOf(2), queue.poll());
+        assertEquals(Integer.valueOf(3), queue.poll());
+        assertEquals(Integer.valueOf(4), queue.poll());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test( expected = IllegalStateException.class)
+    public void addWhenFull() {
+
+        MpscRingBufferQueue<Integer> queue = new MpscRingBufferQueue<Integer>(1);
+        queue.add(1);
+        queue.add(2);
+    }
+
+    @Test
+    public void drainToWithLimit() {
+
+        MpscRingBufferQueue<Integer> queue = new MpscRingBufferQueue<Integer>(10);
+        for (int i = 0; i < 7; i++) {
+            queue.add(i);
+        }
+
+        List<Integer> drained = new ArrayList<Integer>();
+        assertEquals(5, queue.drainTo(drained, 5));
+        assertEquals(2, queue.drainTo(drained));
+        for (int i = 0; i < 7; i++) {
+            assertEquals(Integer.valueOf(i), drained.get(i));
+        }
+    }
+
+    @Test
+    public void pollTimesOutWhenEmpty() throws InterruptedException {
+
+        MpscRingBufferQueue<Integer> queue = new MpscRingBufferQueue<Integer>(2);
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void manyProducersOneConsumer() throws InterruptedException {
+
+        final int producersCount = 8;
+        final int eventsPerProducer = 20000;
+        final MpscRingBufferQueue<int[]> queue = new MpscRingBufferQueue<int[]>(128);
+
+        List<Thread> producers = new ArrayList<Thread>();
+        for (int p = 0; p < producersCount; p++) {
+            final int producerId = p;
+            Thread producer = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    try {
+                        for (int i = 0; i < eventsPerProducer; i++) {
+                            queue.put(new int[]{ producerId, i });
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+
+        // each producer's events must come in the order they were put
+        int[] lastReceived = new int[producersCount];
+        for (int p = 0; p < producersCount; p++) {
+            lastReceived[p] = -1;
+        }
+        for (int received = 0; received < producersCount * eventsPerProducer; received++) {
+            int[] event = queue.take();
+            assertEquals(lastReceived[event[0]] + 1, event[1]);
+            lastReceived[event[0]] = event[1];
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertNull(queue.poll());
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.logqueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import org.apache.log4j.Layout;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.axway.ats.log.autodb.exceptions.DatabaseAccessException;
+import com.axway.ats.log.autodb.exceptions.LoggingException;
+import com.axway.ats.log.autodb.exceptions.UnsentEventsException;
+import com.axway.ats.log.autodb.io.AbstractDbAccess;
+import com.axway.ats.log.autodb.model.EventRequestProcessor;
+
+public class Test_QueueLoggerThread {
+
+    private static final Logger logger = Logger.getLogger(Test_QueueLoggerThread.class);
+
+    @Rule
+    public TemporaryFolder      folder = new TemporaryFolder();
+
+    private File                journalFolder;
+
+    @Before
+    public void before() throws IOException {
+
+        journalFolder = folder.newFolder("journal");
+    }
+
+    @Test
+    public void eventsAreSentAgainWhenTheConnectionIsBack() throws Exception {
+
+        SpillingEventsQueue queue = new SpillingEventsQueue(new ArrayBlockingQueue<LogEventRequest>(10), 5,
+                                                            new EventsJournal(journalFolder, "test", 4096));
+        // the DB is not reachable on the first attempt
+        FailingEventRequestProcessor eventProcessor = new FailingEventRequestProcessor(1);
+
+        QueueLoggerThread loggerThread = new QueueLoggerThread(queue, eventProcessor, false);
+        loggerThread.setDaemon(true);
+        loggerThread.start();
+        try {
+            queue.add(createEventRequest("first"));
+            queue.add(createEventRequest("second"));
+
+            long deadline = System.currentTimeMillis() + 10000;
+            while (eventProcessor.getProcessedMessages().size() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+        } finally {
+            loggerThread.interrupt();
+        }
+
+        assertEquals(Arrays.asList("first", "second"), eventProcessor.getProcessedMessages());
+        assertEquals(0, journalFolder.list().length);
+    }
+
+    @Test
+    public void onlyTheUnsentEventsAreSentAgain() throws Exception {
+
+        SpillingEventsQueue queue = new SpillingEventsQueue(new ArrayBlockingQueue<LogEventRequest>(10), 5,
+                                                            new EventsJournal(journalFolder, "test", 4096));
+        // the checkpoints are not sent on the first flush
+        CachingEventRequestProcessor eventProcessor = new CachingEventRequestProcessor("checkpoint");
+
+        QueueLoggerThread loggerThread = new QueueLoggerThread(queue, eventProcessor, false);
+        assertTrue(eventProcessor.isReportUnsentEvents());
+        loggerThread.setDaemon(true);
+        loggerThread.start();
+        try {
+            for (String message : new String[]{ "checkpoint 1", "message 1", "checkpoint 2", "message 2",
+                                                "message 3", "message 4" }) {
+                queue.add(createEventRequest(message));
+            }
+
+            long deadline = System.currentTimeMillis() + 10000;
+            while (eventProcessor.getStoredMessages().size() < 6 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+        } finally {
+            loggerThread.interrupt();
+        }
+
+        // the messages are not sent twice and the checkpoints are in front of the events which followed them
+        assertEquals(Arrays.asList("message 1", "message 2", "checkpoint 1", "checkpoint 2", "message 3",
+                                   "message 4"),
+                     eventProcessor.getStoredMessages());
+    }
+
+    @Test
+    public void unsentEventsAreNotReportedWithoutJournal() {
+
+        CachingEventRequestProcessor eventProcessor = new CachingEventRequestProcessor("checkpoint");
+        eventProcessor.setReportUnsentEvents(true);
+
+        new QueueLoggerThread(new ArrayBlockingQueue<LogEventRequest>(10), eventProcessor, true);
+        assertFalse(eventProcessor.isReportUnsentEvents());
+    }
+
+    @Test
+    public void queueErrorDoesNotStopTheLogging() throws Exception {
+
+        ArrayBlockingQueue<LogEventRequest> queue = new ArrayBlockingQueue<LogEventRequest>(10) {
+
+            private static final long serialVersionUID = 1L;
+
+            private boolean           isFailed;
+
+            @Override
+            public LogEventRequest take() throws InterruptedException {
+
+                if (!isFailed) {
+                    isFailed = true;
+                    throw new IllegalStateException("broken queue");
+                }
+                return super.take();
+            }
+        };
+        FailingEventRequestProcessor eventProcessor = new FailingEventRequestProcessor(0);
+
+        QueueLoggerThread loggerThread = new QueueLoggerThread(queue, eventProcessor, false);
+        loggerThread.setDaemon(true);
+        loggerThread.start();
+        try {
+            queue.add(createEventRequest("first"));
+
+            long deadline = System.currentTimeMillis() + 10000;
+            while (eventProcessor.getProcessedMessages().size() < 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+        } finally {
+            loggerThread.interrupt();
+        }
+
+        assertEquals(Arrays.asList("first"), eventProcessor.getProcessedMessages());
+    }
+
+    @Test
+    public void connectionErrors() {
+
+        assertTrue(QueueLoggerThread.isConnectionLost(new DatabaseAccessException(AbstractDbAccess.UNABLE_TO_CONNECT_ERRROR)));
+        assertTrue(QueueLoggerThread.isConnectionLost(new LoggingException("error",
+                                                                           new SQLException("connection reset",
+                                                                                            "08S01"))));
+        assertFalse(QueueLoggerThread.isConnectionLost(new LoggingException("error",
+                                                                            new SQLException("duplicate key",
+                                                                                             "23505"))));
+        assertFalse(QueueLoggerThread.isConnectionLost(new LoggingException("error")));
+    }
+
+    private LogEventRequest createEventRequest( String message ) {
+
+        return new LogEventRequest("thread",
+                                   new LoggingEvent(Logger.class.getName(), logger, Level.INFO, message, null),
+                                   System.currentTimeMillis());
+    }
+
+    /**
+     * Caches the events and flushes them on every 4 events.
+     * The events starting with some text are not sent on the first flush, as if the connection was lost.
+     */
+    private static class CachingEventRequestProcessor implements EventRequestProcessor {
+
+        private String            failedPrefix;
+
+        private boolean           reportUnsentEvents;
+
+        private long              lastCachedEventNumber;
+
+        private Map<Long, String> cachedMessages = new LinkedHashMap<Long, String>();
+
+        private List<String>      storedMessages = new ArrayList<String>();
+
+        CachingEventRequestProcessor( String failedPrefix ) {
+
+            this.failedPrefix = failedPrefix;
+        }
+
+        @Override
+        public synchronized void processEventRequest( LogEventRequest eventRequest ) throws LoggingException {
+
+            cachedMessages.put(++lastCachedEventNumber, eventRequest.getEvent().getRenderedMessage());
+            if (cachedMessages.size() == 4) {
+                flush();
+            }
+        }
+
+        private void flush() throws UnsentEventsException {
+
+            List<Long> unsentEventNumbers = new ArrayList<Long>();
+            for (Map.Entry<Long, String> cachedMessage : cachedMessages.entrySet()) {
+                if (failedPrefix != null && cachedMessage.getValue().startsWith(failedPrefix)) {
+                    unsentEventNumbers.add(cachedMessage.getKey());
+                } else {
+                    storedMessages.add(cachedMessage.getValue());
+                }
+            }
+            cachedMessages.clear();
+
+            if (!unsentEventNumbers.isEmpty()) {
+                failedPrefix = null;
+                throw new UnsentEventsException("Unable to send " + unsentEventNumbers.size() + " events",
+                                                new SQLException("connection reset", "08S01"),
+                                                unsentEventNumbers);
+            }
+        }
+
+        synchronized List<String> getStoredMessages() {
+
+            return new ArrayList<String>(storedMessages);
+        }
+
+        boolean isReportUnsentEvents() {
+
+            return reportUnsentEvents;
+        }
+
+        @Override
+        public void setLayout( Layout layout ) {
+
+        }
+
+        @Override
+        public void setEventsQueueOccupancy( int queuedEvents, int queueCapacity ) {
+
+        }
+
+        @Override
+        public synchronized int getNumberOfCachedEvents() {
+
+            return cachedMessages.size();
+        }
+
+        @Override
+        public void setReportUnsentEvents( boolean reportUnsentEvents ) {
+
+            this.reportUnsentEvents = reportUnsentEvents;
+        }
+
+        @Override
+        public synchronized long getLastCachedEventNumber() {
+
+            return lastCachedEventNumber;
+        }
+    }
+
+    private static class FailingEventRequestProcessor implements EventRequestProcessor {
+
+        private int          numberFailures;
+
+        private List<String> processedMessages = new ArrayList<String>();
+
+        FailingEventRequestProcessor( int numberFailures ) {
+
+            this.numberFailures = numberFailures;
+        }
+
+        @Override
+        public synchronized void processEventRequest( LogEventRequest eventRequest ) throws LoggingException {
+
+            if (numberFailures > 0) {
+                numberFailures--;
+                throw new DatabaseAccessException(AbstractDbAccess.UNABLE_TO_CONNECT_ERRROR);
+            }
+            processedMessages.add(eventRequest.getEvent().getRenderedMessage());
+        }
+
+        synchronized List<String> getProcessedMessages() {
+
+            return new ArrayList<String>(processedMessages);
+        }
+
+        @Override
+        public void setLayout( Layout layout ) {
+
+        }
+
+        @Override
+        public void setEventsQueueOccupancy( int queuedEvents, int queueCapacity ) {
+
+        }
+
+        @Override
+        public int getNumberOfCachedEvents() {
+
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.logqueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.After;
+import org.junit.Test;
+
+import com.axway.ats.log.autodb.events.EndTestCaseEvent;
+import com.axway.ats.log.autodb.events.StartCheckpointEvent;
+import com.axway.ats.log.autodb.exceptions.LoggingException;
+import com.axway.ats.log.autodb.model.AbstractLoggingEvent;
+import com.axway.ats.log.autodb.model.LoggingEventType;
+import com.axway.ats.log.model.TestCaseResult;
+
+public class Test_ShardedQueueLoggerThread {
+
+    private static final Logger      logger          = Logger.getLogger(Test_ShardedQueueLoggerThread.class);
+
+    private static final int         WRITERS_COUNT   = 4;
+
+    // all processed events as "<processing thread>:<event message>", in the order they were processed
+    private final List<String>       processedEvents = new ArrayList<String>();
+
+    private ShardedQueueLoggerThread loggerThread;
+
+    @After
+    public void after() {
+
+        if (loggerThread != null) {
+            loggerThread.interrupt();
+        }
+    }
+
+    @Test
+    public void eventsOfOneThreadAreProcessedByOneWriterInOrder() throws Exception {
+
+        BlockingQueue<LogEventRequest> queue = startLoggerThread(null);
+        for (int i = 0; i < 20; i++) {
+            for (int thread = 0; thread < 10; thread++) {
+                queue.put(createMessageRequest("thread" + thread, "thread" + thread + "-" + i));
+            }
+        }
+        waitForProcessedEvents(200);
+
+        Map<String, String> writerOfThread = new HashMap<String, String>();
+        Map<String, Integer> lastIndexOfThread = new HashMap<String, Integer>();
+        for (String processedEvent : getProcessedEvents()) {
+            String processingThread = processedEvent.substring(0, processedEvent.indexOf(':'));
+            String message = processedEvent.substring(processedEvent.indexOf(':') + 1);
+            String thread = message.substring(0, message.indexOf('-'));
+            int index = Integer.parseInt(message.substring(message.indexOf('-') + 1));
+
+            assertTrue(processingThread.contains("-writer-"));
+            // always the same writer thread for the same logging thread
+            if (writerOfThread.containsKey(thread)) {
+                assertEquals(writerOfThread.get(thread), processingThread);
+            } else {
+                writerOfThread.put(thread, processingThread);
+            }
+            // in the order they were logged
+            Integer lastIndex = lastIndexOfThread.get(thread);
+            assertEquals(lastIndex == null
+                                           ? 0
+                                           : lastIndex + 1,
+                         index);
+            lastIndexOfThread.put(thread, index);
+        }
+        assertEquals(10, writerOfThread.size());
+    }
+
+    @Test
+    public void lifeCycleEventsWaitForTheWriters() throws Exception {
+
+        BlockingQueue<LogEventRequest> queue = startLoggerThread(null);
+        for (int i = 0; i < 100; i++) {
+            queue.put(createMessageRequest("thread" + (i % 10), "message" + i));
+        }
+        queue.put(new LogEventRequest("main",
+                                      new EndTestCaseEvent(Logger.class.getName(), logger, TestCaseResult.PASSED),
+                                      System.currentTimeMillis()));
+        queue.put(createMessageRequest("thread0", "after end"));
+        waitForProcessedEvents(102);
+
+        List<String> processedEvents = getProcessedEvents();
+        int endTestCaseIndex = processedEvents.indexOf(loggerThread.getName() + ":End test case");
+        // all events received before the end of the test case are processed before it
+        assertEquals(100, endTestCaseIndex);
+        assertTrue(processedEvents.get(101).endsWith(":after end"));
+    }
+
+    @Test
+    public void writerErrorsAreReturnedByTheMainThread() throws Exception {
+
+        BlockingQueue<LogEventRequest> queue = startLoggerThread(LoggingEventType.START_CHECKPOINT);
+        assertNull(loggerThread.readLoggingException());
+
+        queue.put(new LogEventRequest("thread0",
+                                      new StartCheckpointEvent(Logger.class.getName(), logger, "checkpoint",
+                                                               "KB", "thread0"),
+                                      System.currentTimeMillis()));
+
+        LoggingException loggingException = null;
+        long deadline = System.currentTimeMillis() + 10000;
+        while (loggingException == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            loggingException = loggerThread.readLoggingException();
+        }
+        assertNotNull(loggingException);
+        assertEquals("Failed START_CHECKPOINT", loggingException.getCause().getMessage());
+
+        // returned just once
+        assertNull(loggerThread.readLoggingException());
+    }
+
+    private BlockingQueue<LogEventRequest> startLoggerThread( LoggingEventType failingEventType ) {
+
+        List<DbEventRequestProcessor> writerEventProcessors = new ArrayList<DbEventRequestProcessor>();
+        for (int i = 0; i < WRITERS_COUNT; i++) {
+            writerEventProcessors.add(new RecordingEventRequestProcessor(failingEventType));
+        }
+
+        BlockingQueue<LogEventRequest> queue = new ArrayBlockingQueue<LogEventRequest>(1000);
+        loggerThread = new ShardedQueueLoggerThread(queue, new RecordingEventRequestProcessor(null),
+                                                    writerEventProcessors, 10, false);
+        loggerThread.setDaemon(true);
+        loggerThread.start();
+        return queue;
+    }
+
+    private void waitForProcessedEvents( int numberEvents ) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (getProcessedEvents().size() < numberEvents && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(numberEvents, getProcessedEvents().size());
+    }
+
+    private List<String> getProcessedEvents() {
+
+        synchronized (processedEvents) {
+            return new ArrayList<String>(processedEvents);
+        }
+    }
+
+    private LogEventRequest createMessageRequest( String threadName, String message ) {
+
+        return new LogEventRequest(threadName,
+                                   new LoggingEvent(Logger.class.getName(), logger, Level.INFO, message, null),
+                                   System.currentTimeMillis());
+    }
+
+    /**
+     * Does not access any DB, but remembers which thread processed each event
+     */
+    private class RecordingEventRequestProcessor extends DbEventRequestProcessor {
+
+        private final LoggingEventType failingEventType;
+
+        RecordingEventRequestProcessor( LoggingEventType failingEventType ) {
+
+            this.failingEventType = failingEventType;
+        }
+
+        @Override
+        public void processEventRequest( LogEventRequest eventRequest ) throws LoggingException {
+
+            if (eventRequest == null) {
+                return;
+            }
+
+            LoggingEvent event = eventRequest.getEvent();
+            if (event instanceof AbstractLoggingEvent
+                && ((AbstractLoggingEvent) event).getEventType() == failingEventType) {
+                throw new LoggingException("Failed " + failingEventType);
+            }
+            synchronized (processedEvents) {
+                processedEvents.add(Thread.currentThread().getName() + ":" + event.getRenderedMessage());
+            }
+        }
+    }
+}
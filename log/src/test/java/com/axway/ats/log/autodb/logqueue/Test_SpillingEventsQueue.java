@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.autodb.logqueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.axway.ats.log.autodb.exceptions.LoggingException;
+
+public class Test_SpillingEventsQueue {
+
+    private static final Logger logger = Logger.getLogger(Test_SpillingEventsQueue.class);
+
+    @Rule
+    public TemporaryFolder      folder = new TemporaryFolder();
+
+    private File                journalFolder;
+
+    @Before
+    public void before() throws IOException {
+
+        journalFolder = folder.newFolder("journal");
+    }
+
+    @Test
+    public void eventsOverHighWaterMarkAreReplayedInOrder() throws InterruptedException {
+
+        // small segments, so the events go through a few journal files
+        SpillingEventsQueue queue = new SpillingEventsQueue(new ArrayBlockingQueue<LogEventRequest>(10), 5,
+                                                            new EventsJournal(journalFolder, "test", 4096));
+        for (int i = 0; i < 100; i++) {
+            queue.add(createEventRequest("message " + i));
+        }
+        assertEquals(100, queue.size());
+        assertEquals(5, queue.remainingCapacity());
+
+        for (int i = 0; i < 100; i++) {
+            LogEventRequest eventRequest = queue.poll(1, TimeUnit.SECONDS);
+            assertNotNull(eventRequest);
+            assertEquals("message " + i, eventRequest.getEvent().getRenderedMessage());
+            assertEquals("thread", eventRequest.getThreadName());
+        }
+        assertNull(queue.poll());
+
+        // all journal files are deleted after being read
+        assertEquals(0, journalFolder.list().length);
+
+        // the journal is empty, the new events go through the memory again
+        LogEventRequest eventRequest = createEventRequest("in memory");
+        queue.add(eventRequest);
+        assertSame(eventRequest, queue.poll());
+    }
+
+    @Test
+    public void eventsWithExceptionsAreJournaledAsText() {
+
+        SpillingEventsQueue queue = new SpillingEventsQueue(new ArrayBlockingQueue<LogEventRequest>(10), 1,
+                                                            new EventsJournal(journalFolder, "test", 4096));
+        queue.add(createEventRequest("first"));
+
+        Exception exception = new Exception("some error");
+        queue.add(new LogEventRequest("thread",
+                                      new LoggingEvent(Logger.class.getName(), logger, Level.ERROR, "second",
+                                                       exception),
+                                      System.currentTimeMillis()));
+        // logging an exception as a message
+        queue.add(new LogEventRequest("thread",
+                                      new LoggingEvent(Logger.class.getName(), logger, Level.ERROR, exception, null),
+                                      System.currentTimeMillis()));
+        queue.add(createEventRequest("fourth"));
+
+        assertEquals("first", queue.poll().getEvent().getRenderedMessage());
+
+        LoggingEvent event = queue.poll().getEvent();
+        assertEquals("second", event.getRenderedMessage());
+        assertEquals("java.lang.Exception: some error", event.getThrowableStrRep()[0]);
+
+        event = queue.poll().getEvent();
+        assertEquals("java.lang.Exception: some error", event.getRenderedMessage());
+        assertEquals("java.lang.Exception: some error", event.getThrowableStrRep()[0]);
+
+        assertEquals("fourth", queue.poll().getEvent().getRenderedMessage());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void resentEventsAreReceivedFirst() throws LoggingException {
+
+        SpillingEventsQueue queue = new SpillingEventsQueue(new ArrayBlockingQueue<LogEventRequest>(10), 2,
+                                                            new EventsJournal(journalFolder, "test", 4096));
+        for (int i = 0; i < 5; i++) {
+            queue.add(createEventRequest("message " + i));
+        }
+        // "message 0" and "message 1" are in memory, the others are in the journal
+        LogEventRequest first = queue.poll();
+        assertEquals("message 0", first.getEvent().getRenderedMessage());
+
+        // the first event could not be sent to the DB
+        queue.resend(Arrays.asList(first));
+        // new events must go after the resent ones
+        queue.add(createEventRequest("message 5"));
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals("message " + i, queue.poll().getEvent().getRenderedMessage());
+        }
+        assertNull(queue.poll());
+        assertEquals(0, journalFolder.list().length);
+    }
+
+    @Test
+    public void closeDeletesTheJournal() {
+
+        SpillingEventsQueue queue = new SpillingEventsQueue(new ArrayBlockingQueue<LogEventRequest>(10), 1,
+                                                            new EventsJournal(journalFolder, "test", 4096));
+        for (int i = 0; i < 10; i++) {
+            queue.add(createEventRequest("message " + i));
+        }
+        queue.close();
+
+        assertEquals(0, journalFolder.list().length);
+        assertEquals(1, queue.size());
+    }
+
+    private LogEventRequest createEventRequest( String message ) {
+
+        return new LogEventRequest("thread",
+                                   new LoggingEvent(Logger.class.getName(), logger, Level.INFO, message, null),
+                                   System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 Axway Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.axway.ats.log.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class Test_CheckpointLogLevel {
+
+    @Test
+    public void eachLevelHasItsOwnValue() {
+
+        Set<Integer> values = new HashSet<Integer>();
+        for (CheckpointLogLevel level : CheckpointLogLevel.values()) {
+            values.add(level.toInt());
+        }
+
+        assertEquals(CheckpointLogLevel.values().length, values.size());
+    }
+
+    @Test
+    public void aggregatedIsFullForTheDb() {
+
+        assertEquals(0, CheckpointLogLevel.SHORT.toDbValue());
+        assertEquals(1, CheckpointLogLevel.FULL.toDbValue());
+        assertEquals(CheckpointLogLevel.FULL.toDbValue(), CheckpointLogLevel.AGGREGATED.toDbValue());
+    }
+}
@@ -215,6 +215,13 @@ public static final class MONITOR_PROCESS_MEMORY {
         public static final String PAGE_FAULTS = SystemMonitorDefinitions.READING_PROCESS_MEMORY__PAGE_FAULTS;
     }
 
+    /** The time spent on each poll for finding the processes to monitor among all system processes */
+    @PublicAtsApi
+    public static final class MONITOR_PROCESS_MATCHING {
+        @PublicAtsApi
+        public static final String TIME = SystemMonitorDefinitions.READING_PROCESS_MATCHING__TIME;
+    }
+
     /** JVM related statistics */
     @PublicAtsApi
     public static final class MONITOR_JVM {